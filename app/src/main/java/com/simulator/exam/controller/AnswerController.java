@@ -2,10 +2,10 @@ package com.simulator.exam.controller;
 
 import java.util.List;
 
+import com.simulator.exam.dto.BulkResultDo;
 import com.simulator.exam.entity.Answer;
 import com.simulator.exam.service.AnswerService;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -14,7 +14,6 @@ import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping(path = "/v1/answers")
-@Transactional
 public class AnswerController {
 
     private final AnswerService answerService;
@@ -32,4 +31,9 @@ public class AnswerController {
     public ResponseEntity<Answer> updateAnswer(@RequestBody final Answer answer, @PathVariable final Long id) {
         return ResponseEntity.ok(answerService.updateAnswerById(answer, id));
     }
+
+    @PutMapping("/bulk")
+    public ResponseEntity<BulkResultDo> bulkUpdateAnswers(@RequestBody final List<Answer> answers) {
+        return ResponseEntity.ok(answerService.bulkUpdateAnswers(answers));
+    }
 }
@@ -0,0 +1,67 @@
+package com.simulator.exam.controller;
+
+import java.net.URI;
+import java.util.List;
+
+import com.simulator.exam.dto.ExamResultDo;
+import com.simulator.exam.dto.ExamSessionDo;
+import com.simulator.exam.dto.ExamSubmissionDo;
+import com.simulator.exam.dto.QuestionsStructureDo;
+import com.simulator.exam.metrics.RequestMetrics;
+import com.simulator.exam.service.ExamSessionService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(path = "/v1/exam-sessions")
+public class ExamSessionController {
+
+    private final ExamSessionService examSessionService;
+
+    public ExamSessionController(final ExamSessionService examSessionService) {
+        this.examSessionService = examSessionService;
+    }
+
+    /**
+     * Creates an exam session with random questions following the given structure.
+     *
+     * @param structureList the modules and the number of questions of each one
+     * @return the session (CREATED), the correctness of the answers is not part of it
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ExamSessionDo> createSession(@RequestBody final List<QuestionsStructureDo> structureList) {
+        RequestMetrics.tagModules(structureList.stream().map(QuestionsStructureDo::getModule).toList());
+        final ExamSessionDo session = examSessionService.createSession(structureList);
+        return ResponseEntity.created(URI.create("/v1/exam-sessions/" + session.getSessionId())).body(session);
+    }
+
+    /**
+     * Retrieves an active exam session.
+     *
+     * @param sessionId the session id
+     * @return the session
+     */
+    @GetMapping("/{sessionId}")
+    public ResponseEntity<ExamSessionDo> getSession(@PathVariable final String sessionId) {
+        return ResponseEntity.ok(examSessionService.getSession(sessionId));
+    }
+
+    /**
+     * Submits the answers of an exam session, they are graded by the server.
+     *
+     * @param sessionId  the session id
+     * @param submission the ids of the selected answers by question id
+     * @return the result of the exam
+     */
+    @PostMapping(path = "/{sessionId}/submission", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ExamResultDo> submit(@PathVariable final String sessionId,
+            @RequestBody final ExamSubmissionDo submission) {
+        return ResponseEntity.ok(examSessionService.submit(sessionId, submission));
+    }
+}
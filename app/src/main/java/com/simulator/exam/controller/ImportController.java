@@ -0,0 +1,31 @@
+package com.simulator.exam.controller;
+
+import com.simulator.exam.dto.ImportJobDo;
+import com.simulator.exam.service.ImportJobService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(path = "/v1/imports")
+public class ImportController {
+
+    private final ImportJobService importJobService;
+
+    public ImportController(final ImportJobService importJobService) {
+        this.importJobService = importJobService;
+    }
+
+    /**
+     * Retrieves the status and the progress of an import job.
+     *
+     * @param jobId the job id returned by the import request
+     * @return the import job
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJobDo> getImportJob(@PathVariable final String jobId) {
+        return ResponseEntity.ok(importJobService.getJob(jobId));
+    }
+}
@@ -0,0 +1,55 @@
+package com.simulator.exam.controller;
+
+import java.util.List;
+
+import com.simulator.exam.dto.ModuleStatisticsDo;
+import com.simulator.exam.dto.QuestionStatisticsDo;
+import com.simulator.exam.service.ModuleStatisticsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(path = "/v1/modules")
+public class ModuleController {
+
+    private final ModuleStatisticsService moduleStatisticsService;
+
+    public ModuleController(final ModuleStatisticsService moduleStatisticsService) {
+        this.moduleStatisticsService = moduleStatisticsService;
+    }
+
+    /**
+     * Retrieves the statistics of every module of the bank.
+     *
+     * @return the module statistics
+     */
+    @GetMapping
+    public ResponseEntity<List<ModuleStatisticsDo>> getModules() {
+        return ResponseEntity.ok(moduleStatisticsService.getModules());
+    }
+
+    /**
+     * Retrieves the statistics of a module.
+     *
+     * @param module the module name
+     * @return the module statistics
+     */
+    @GetMapping("/{module}")
+    public ResponseEntity<ModuleStatisticsDo> getModule(@PathVariable final String module) {
+        return ResponseEntity.ok(moduleStatisticsService.getModule(module));
+    }
+
+    /**
+     * Retrieves how often the questions of a module are answered correctly.
+     *
+     * @param module the module name
+     * @return the statistics of the attempted questions
+     */
+    @GetMapping("/{module}/questions")
+    public ResponseEntity<List<QuestionStatisticsDo>> getQuestionStatistics(@PathVariable final String module) {
+        return ResponseEntity.ok(moduleStatisticsService.getQuestionStatistics(module));
+    }
+}
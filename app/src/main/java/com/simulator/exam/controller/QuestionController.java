@@ -1,18 +1,30 @@
 package com.simulator.exam.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.BulkResultDo;
+import com.simulator.exam.dto.ImportJobDo;
 import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.dto.QuestionPageDo;
+import com.simulator.exam.dto.QuestionSearchPageDo;
 import com.simulator.exam.dto.QuestionsStructureDo;
 import com.simulator.exam.entity.Answer;
 import com.simulator.exam.entity.Question;
+import com.simulator.exam.metrics.RequestMetrics;
+import com.simulator.exam.service.ExamPoolService;
+import com.simulator.exam.service.ImportJobService;
+import com.simulator.exam.service.QuestionJsonWriter;
+import com.simulator.exam.service.QuestionSearchService;
 import com.simulator.exam.service.QuestionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -25,17 +37,29 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(path = "/v1/questions")
-@Transactional
 public class QuestionController {
 
     private final QuestionService questionService;
+    private final ExamPoolService examPoolService;
+    private final ImportJobService importJobService;
+    private final QuestionJsonWriter questionJsonWriter;
+    private final QuestionSearchService questionSearchService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public QuestionController(final QuestionService questionService) {
+    public QuestionController(final QuestionService questionService, final ExamPoolService examPoolService,
+            final ImportJobService importJobService, final QuestionJsonWriter questionJsonWriter,
+            final QuestionSearchService questionSearchService, final ObjectMapper objectMapper) {
         this.questionService = questionService;
+        this.examPoolService = examPoolService;
+        this.importJobService = importJobService;
+        this.questionJsonWriter = questionJsonWriter;
+        this.questionSearchService = questionSearchService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -43,26 +67,25 @@ public class QuestionController {
      *
      * @param fileName   the name of the file that needs to be imported
      * @param moduleName The module name of the importing questions.
-     * @return HTTP status indicating success (ACCEPTED).
+     * @return the queued import job (ACCEPTED), its progress is available from /v1/imports/{jobId}.
      */
     @PostMapping(value = { "/import/{fileName}/{moduleName}", "/import/{fileName}" })
-    public HttpStatus importLocalQuestionsToDatabase(@PathVariable("fileName") final String fileName,
+    public ResponseEntity<ImportJobDo> importLocalQuestionsToDatabase(@PathVariable("fileName") final String fileName,
             @PathVariable(value = "moduleName", required = false) final String moduleName) {
 
-        questionService.saveImportLocalQuestionByFileName(fileName, moduleName);
-        return HttpStatus.CREATED;
+        return accepted(importJobService.submitLocalFile(fileName, moduleName));
     }
 
     /**
      * Retrieves all questions randomly.
      *
-     * @return List of randomly selected questions.
+     * @return List of randomly selected questions, written from their cached JSON.
      */
     @GetMapping("/random")
-    public ResponseEntity<List<QuestionDo>> getAllQuestionsRandom() {
+    public ResponseEntity<StreamingResponseBody> getAllQuestionsRandom() {
 
-        final List<QuestionDo> questions = questionService.getRandomQuestions();
-        return ResponseEntity.ok(questions);
+        final long version = questionJsonWriter.version();
+        return jsonArray(questionService.getRandomQuestions(), version);
     }
 
     /**
@@ -70,29 +93,28 @@ public class QuestionController {
      *
      * @param module            The module name.
      * @param numberOfQuestions The desired number of questions.
-     * @return List of randomly selected questions.
+     * @return List of randomly selected questions, served from the exam pool when one is ready.
      */
     @GetMapping(value = "/random", params = { "module", "numberOfQuestions" })
-    public ResponseEntity<List<QuestionDo>> getRandomQuestionsByModuleAndNumber(@RequestParam final String module,
+    public ResponseEntity<byte[]> getRandomQuestionsByModuleAndNumber(@RequestParam final String module,
             @RequestParam final int numberOfQuestions) {
 
-        final List<QuestionDo> questions = questionService.getRandomQuestionsByModule(module, numberOfQuestions);
-        return ResponseEntity.ok(questions);
+        final byte[] exam = examPoolService.getExam(List.of(new QuestionsStructureDo(module, numberOfQuestions)));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(exam);
     }
 
     /**
      * Retrieves questions based on a given structure.
      *
      * @param questionDo List of question structures.
-     * @return List of matching questions.
+     * @return List of matching questions, served from the exam pool when one is ready.
      */
     @GetMapping("/exam-structure")
-    public ResponseEntity<List<QuestionDo>> getQuestionStructure(
-            @RequestBody final List<QuestionsStructureDo> questionDo) {
-
-        final List<QuestionDo> questions = questionService.getQuestionsByStructure(questionDo);
-        return ResponseEntity.ok(questions);
+    public ResponseEntity<byte[]> getQuestionStructure(@RequestBody final List<QuestionsStructureDo> questionDo) {
 
+        RequestMetrics.tagModules(questionDo.stream().map(QuestionsStructureDo::getModule).toList());
+        final byte[] exam = examPoolService.getExam(questionDo);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(exam);
     }
 
     /**
@@ -100,19 +122,67 @@ public class QuestionController {
      *
      * @param multipartFile The uploaded file containing questions.
      * @param moduleName    The module name of where the questions belong
-     * @return HTTP status indicating success or failure.
+     * @return the queued import job (ACCEPTED), its progress is available from /v1/imports/{jobId}.
      */
     @PostMapping(value = "/import/from-file/{moduleName}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public HttpStatus importQuestionsToDatabaseFromFile(@RequestPart("file") final MultipartFile multipartFile,
-            @PathVariable final String moduleName) {
+    public ResponseEntity<ImportJobDo> importQuestionsToDatabaseFromFile(
+            @RequestPart("file") final MultipartFile multipartFile, @PathVariable final String moduleName) {
 
-        questionService.saveImportQuestionsFromFile(multipartFile, moduleName);
-        return HttpStatus.CREATED;
+        return accepted(importJobService.submitUpload(multipartFile, moduleName));
     }
 
     @GetMapping
-    public ResponseEntity<List<QuestionDo>> getAllQuestions() {
-        return new ResponseEntity<>(questionService.getAllQuestions(), HttpStatus.OK);
+    public ResponseEntity<StreamingResponseBody> getAllQuestions() {
+        final long version = questionJsonWriter.version();
+        return jsonArray(questionService.getAllQuestions(), version);
+    }
+
+    /**
+     * Retrieves a page of questions ordered by id.
+     *
+     * @param after the nextCursor of the previous page, missing for the first page
+     * @param size  the page size
+     * @return the page with the cursor of the next one
+     */
+    @GetMapping(params = "size")
+    public ResponseEntity<QuestionPageDo> getQuestionsPage(@RequestParam(required = false) final Long after,
+            @RequestParam final int size) {
+        return ResponseEntity.ok(questionService.getQuestionsPage(after, size));
+    }
+
+    /**
+     * Searches the questions holding all the keywords in their description or answer options.
+     *
+     * @param query  the keywords
+     * @param module the module the search is restricted to, all the modules when missing
+     * @param page   the page number, starting at 0
+     * @param size   the page size
+     * @return the page of matching questions, the most relevant first
+     */
+    @GetMapping(value = "/search", params = "query")
+    public ResponseEntity<QuestionSearchPageDo> searchQuestions(@RequestParam final String query,
+            @RequestParam(required = false) final String module, @RequestParam(defaultValue = "0") final int page,
+            @RequestParam(defaultValue = "20") final int size) {
+        return ResponseEntity.ok(questionSearchService.search(query, module, page, size));
+    }
+
+    /**
+     * Exports all the questions as newline delimited JSON, one question per line. The questions are written while
+     * they are read, the response is never held in memory.
+     *
+     * @return the streamed questions
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportQuestions() {
+        final StreamingResponseBody body = outputStream -> questionService.exportQuestions(question -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(question));
+                outputStream.write('\n');
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/{id}")
@@ -181,4 +251,33 @@ public class QuestionController {
     public ResponseEntity<List<QuestionDo>> updateQuestionProperties(@RequestBody final List<Question> question) {
         return ResponseEntity.ok(questionService.updatedQuestionsPropertiesById(question));
     }
+
+    @PutMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkResultDo> bulkUpdateQuestions(@RequestBody final List<Question> questions) {
+        return ResponseEntity.ok(questionService.bulkUpdateQuestions(questions));
+    }
+
+    @PatchMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkResultDo> bulkUpdateQuestionsProperties(@RequestBody final List<Question> questions) {
+        return ResponseEntity.ok(questionService.bulkUpdateQuestionsProperties(questions));
+    }
+
+    @DeleteMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkResultDo> bulkDeleteQuestions(@RequestBody final List<Long> ids) {
+        return ResponseEntity.ok(questionService.bulkDeleteQuestions(ids));
+    }
+
+    /**
+     * The questions are read before the response is committed, so the errors are still handled by the exception
+     * handlers, only the JSON is written by the streaming body.
+     */
+    private ResponseEntity<StreamingResponseBody> jsonArray(final List<QuestionDo> questions, final long version) {
+        final StreamingResponseBody body = outputStream -> questionJsonWriter.writeJsonArray(questions, version,
+                outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private static ResponseEntity<ImportJobDo> accepted(final ImportJobDo job) {
+        return ResponseEntity.accepted().location(URI.create("/v1/imports/" + job.getJobId())).body(job);
+    }
 }
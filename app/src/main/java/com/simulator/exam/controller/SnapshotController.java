@@ -0,0 +1,49 @@
+package com.simulator.exam.controller;
+
+import java.net.URI;
+
+import com.simulator.exam.dto.ImportJobDo;
+import com.simulator.exam.dto.QuestionBankSnapshotDo;
+import com.simulator.exam.service.ImportJobService;
+import com.simulator.exam.service.QuestionSnapshotService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(path = "/v1/snapshots")
+public class SnapshotController {
+
+    private final QuestionSnapshotService questionSnapshotService;
+    private final ImportJobService importJobService;
+
+    public SnapshotController(final QuestionSnapshotService questionSnapshotService,
+            final ImportJobService importJobService) {
+        this.questionSnapshotService = questionSnapshotService;
+        this.importJobService = importJobService;
+    }
+
+    /**
+     * Exports the whole question bank to the configured binary snapshot.
+     *
+     * @return the summary of the snapshot
+     */
+    @PostMapping
+    public ResponseEntity<QuestionBankSnapshotDo> exportSnapshot() {
+        return ResponseEntity.ok(questionSnapshotService.exportSnapshot());
+    }
+
+    /**
+     * Imports the questions of a snapshot stored with the question files, every question keeps its module.
+     *
+     * @param fileName the name of the snapshot file
+     * @return the queued import job (ACCEPTED), its progress is available from /v1/imports/{jobId}.
+     */
+    @PostMapping("/{fileName}/import")
+    public ResponseEntity<ImportJobDo> importSnapshot(@PathVariable final String fileName) {
+        final ImportJobDo job = importJobService.submitSnapshot(fileName);
+        return ResponseEntity.accepted().location(URI.create("/v1/imports/" + job.getJobId())).body(job);
+    }
+}
@@ -5,10 +5,8 @@ import java.util.Objects;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import lombok.Setter;
 
 @AllArgsConstructor
-@Setter
 @Getter
 @NoArgsConstructor
 public class AnswerDo {
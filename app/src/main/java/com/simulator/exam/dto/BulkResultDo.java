@@ -0,0 +1,20 @@
+package com.simulator.exam.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk operation: the number of requested and modified rows and the ids that matched no row.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResultDo {
+
+    private int requested;
+    private int affected;
+    private List<Long> missingIds;
+}
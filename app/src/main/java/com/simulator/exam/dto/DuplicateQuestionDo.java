@@ -0,0 +1,30 @@
+package com.simulator.exam.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.lang.Nullable;
+
+/**
+ * Imported question found to duplicate another one, either persisted before or imported earlier. The similarity is
+ * the Jaccard similarity of the words and pairs of words of the descriptions, 1 for the same description.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateQuestionDo {
+
+    private String description;
+    @Nullable
+    private Long duplicateOfId;
+    private String duplicateOf;
+    private double similarity;
+    private boolean skipped;
+
+    @Override
+    public String toString() {
+        return "DuplicateQuestionDo{" + "description='" + description + '\'' + ", duplicateOfId=" + duplicateOfId
+                + ", duplicateOf='" + duplicateOf + '\'' + ", similarity=" + String.format("%.2f", similarity)
+                + ", skipped=" + skipped + '}';
+    }
+}
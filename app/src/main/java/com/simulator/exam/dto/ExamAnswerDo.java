@@ -0,0 +1,17 @@
+package com.simulator.exam.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Answer option shown to the candidate of an exam session, its correctness is only known by the server.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExamAnswerDo {
+
+    private Long id;
+    private String option;
+}
@@ -0,0 +1,24 @@
+package com.simulator.exam.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.lang.Nullable;
+
+/**
+ * Question of an exam session, without the correctness of its answers.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExamQuestionDo {
+
+    private long id;
+    private String description;
+    private List<ExamAnswerDo> answers;
+
+    @Nullable
+    private String moduleName;
+}
@@ -0,0 +1,23 @@
+package com.simulator.exam.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Score of a submitted exam session. A question is correct when exactly its correct answers are selected, the score
+ * is the percentage of correct questions.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExamResultDo {
+
+    private String sessionId;
+    private int questions;
+    private int correctQuestions;
+    private double score;
+    private List<Long> incorrectQuestionIds;
+}
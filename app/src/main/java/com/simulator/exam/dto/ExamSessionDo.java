@@ -0,0 +1,22 @@
+package com.simulator.exam.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Exam session handed to the candidate. The answers are submitted with the session id before the expiration.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExamSessionDo {
+
+    private String sessionId;
+    private Instant createdAt;
+    private Instant expiresAt;
+    private List<ExamQuestionDo> questions;
+}
@@ -0,0 +1,22 @@
+package com.simulator.exam.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Answers of a candidate: the ids of the selected answers by question id. A question missing from the map is
+ * considered answered with no selected answer.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExamSubmissionDo {
+
+    private Map<Long, List<Long>> answers;
+}
@@ -0,0 +1,40 @@
+package com.simulator.exam.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.lang.Nullable;
+
+/**
+ * Status and progress of an import job. The questions and answers are the rows committed so far, the bytes give the
+ * progress through the imported file. The duplicates found so far are counted, the first ones are listed.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobDo {
+
+    private String jobId;
+    @Nullable
+    private String moduleName;
+    private String source;
+    private ImportJobStatus status;
+    private Instant submittedAt;
+    @Nullable
+    private Instant startedAt;
+    @Nullable
+    private Instant finishedAt;
+    private long questions;
+    private long answers;
+    private long processedBytes;
+    private long totalBytes;
+    private double rowsPerSecond;
+    private long exactDuplicates;
+    private long nearDuplicates;
+    private List<DuplicateQuestionDo> duplicates;
+    @Nullable
+    private String error;
+}
@@ -0,0 +1,11 @@
+package com.simulator.exam.dto;
+
+/**
+ * Lifecycle of an import job.
+ */
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
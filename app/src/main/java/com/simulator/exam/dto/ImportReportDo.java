@@ -0,0 +1,48 @@
+package com.simulator.exam.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Summary of a question import with the duration of each phase of the pipeline. The duplicates are counted in full,
+ * only the first ones are listed.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ImportReportDo {
+
+    private String moduleName;
+    private long questions;
+    private long answers;
+    private long parseMillis;
+    private long dedupeMillis;
+    private long persistMillis;
+    private long exactDuplicates;
+    private long nearDuplicates;
+    private List<DuplicateQuestionDo> duplicates = new ArrayList<>();
+
+    public long getTotalMillis() {
+        return parseMillis + dedupeMillis + persistMillis;
+    }
+
+    /**
+     * @return the number of persisted rows, questions and answers, per second of the whole import
+     */
+    public double getRowsPerSecond() {
+        final long totalMillis = getTotalMillis();
+        return totalMillis == 0 ? 0 : (questions + answers) * 1000.0 / totalMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportReportDo{" + "moduleName='" + moduleName + '\'' + ", questions=" + questions + ", answers="
+                + answers + ", parseMillis=" + parseMillis + ", dedupeMillis=" + dedupeMillis + ", persistMillis="
+                + persistMillis + ", exactDuplicates=" + exactDuplicates + ", nearDuplicates=" + nearDuplicates
+                + ", rowsPerSecond=" + String.format("%.1f", getRowsPerSecond()) + '}';
+    }
+}
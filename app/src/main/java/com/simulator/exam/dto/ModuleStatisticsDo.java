@@ -0,0 +1,22 @@
+package com.simulator.exam.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Statistics of a module: the size of its question bank and the graded attempts of its questions. The success rate
+ * is the percentage of correct attempts.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModuleStatisticsDo {
+
+    private String moduleName;
+    private long questions;
+    private long answers;
+    private long attempts;
+    private long correctAttempts;
+    private double successRate;
+}
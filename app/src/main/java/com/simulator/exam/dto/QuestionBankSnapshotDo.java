@@ -0,0 +1,22 @@
+package com.simulator.exam.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Summary of an exported question bank snapshot. The distinct options are the entries of its string table.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionBankSnapshotDo {
+
+    private String fileName;
+    private int modules;
+    private long questions;
+    private long answers;
+    private int distinctOptions;
+    private long bytes;
+    private long millis;
+}
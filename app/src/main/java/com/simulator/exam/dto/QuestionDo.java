@@ -6,11 +6,9 @@ import java.util.Objects;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import lombok.Setter;
 import org.springframework.lang.Nullable;
 
 @Getter
-@Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class QuestionDo {
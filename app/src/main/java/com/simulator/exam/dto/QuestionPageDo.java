@@ -0,0 +1,23 @@
+package com.simulator.exam.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.lang.Nullable;
+
+/**
+ * Page of questions ordered by id. The next page is requested with the {@code nextCursor} as {@code after}, the
+ * cursor is null on the last page.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionPageDo {
+
+    private List<QuestionDo> questions;
+
+    @Nullable
+    private Long nextCursor;
+}
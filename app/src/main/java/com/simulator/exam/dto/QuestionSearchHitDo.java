@@ -0,0 +1,17 @@
+package com.simulator.exam.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Question matching a search with its relevance score, the higher the better.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionSearchHitDo {
+
+    private double score;
+    private QuestionDo question;
+}
@@ -0,0 +1,22 @@
+package com.simulator.exam.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Page of the questions matching a search, ordered by decreasing score. The total is the number of matching
+ * questions over all the pages.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionSearchPageDo {
+
+    private long total;
+    private int page;
+    private int size;
+    private List<QuestionSearchHitDo> hits;
+}
@@ -0,0 +1,19 @@
+package com.simulator.exam.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Graded attempts of a question. The success rate is the percentage of correct attempts.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionStatisticsDo {
+
+    private Long questionId;
+    private long attempts;
+    private long correctAttempts;
+    private double successRate;
+}
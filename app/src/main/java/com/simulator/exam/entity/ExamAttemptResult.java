@@ -0,0 +1,44 @@
+package com.simulator.exam.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Graded answer of a question of a submitted exam session. The rows are written with JDBC batches by the
+ * write-behind pipeline of the submissions, the entity only describes the table.
+ */
+@Entity
+@Table(name = "exam_attempt_results")
+@IdClass(ExamAttemptResultId.class)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExamAttemptResult {
+
+    @Id
+    @Column(name = "session_id", length = 36, nullable = false)
+    private String sessionId;
+
+    @Id
+    @Column(name = "question_id", nullable = false)
+    private Long questionId;
+
+    /**
+     * The ids of the selected answers, sorted and comma separated.
+     */
+    @Column(name = "selected_answer_ids", length = 1000)
+    private String selectedAnswerIds;
+
+    private boolean correct;
+
+    @Column(name = "submitted_at", nullable = false)
+    private Instant submittedAt;
+}
@@ -0,0 +1,36 @@
+package com.simulator.exam.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Key of an {@link ExamAttemptResult}: a question is graded once per exam session.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExamAttemptResultId implements Serializable {
+
+    private String sessionId;
+    private Long questionId;
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ExamAttemptResultId other)) {
+            return false;
+        }
+        return Objects.equals(sessionId, other.sessionId) && Objects.equals(questionId, other.questionId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sessionId, questionId);
+    }
+}
@@ -1,8 +1,9 @@
 package com.simulator.exam.entity;
 
 import java.util.List;
-import java.util.Objects;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.simulator.exam.util.MinHash;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -10,27 +11,34 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.lang.Nullable;
 
 @Entity
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
-@Table(name = "questions", uniqueConstraints = @UniqueConstraint(columnNames = "question"))
+@Table(name = "questions", uniqueConstraints = @UniqueConstraint(columnNames = "description"),
+        indexes = { @Index(name = "questions_module_name_idx", columnList = "moduleName"),
+                @Index(name = "questions_min_hash_band0_idx", columnList = "minHashBand0"),
+                @Index(name = "questions_min_hash_band1_idx", columnList = "minHashBand1"),
+                @Index(name = "questions_min_hash_band2_idx", columnList = "minHashBand2"),
+                @Index(name = "questions_min_hash_band3_idx", columnList = "minHashBand3") })
 public class Question {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "question_sequence")
     @SequenceGenerator(initialValue = 1000, name = "question_sequence", sequenceName = "question_sequence",
-            allocationSize = 1)
+            allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
     private String description;
@@ -38,9 +46,33 @@ public class Question {
     @Nullable
     private String moduleName;
 
+    // The batch size only covers the paths that can't use a fetch join, like the native random query
     @OneToMany(mappedBy = "question", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+    @BatchSize(size = 100)
     private List<Answer> answers;
 
+    // The MinHash band keys of the description, the near-duplicate lookups of the imports go through their indexes
+    @JsonIgnore
+    @Nullable
+    private Long minHashBand0;
+    @JsonIgnore
+    @Nullable
+    private Long minHashBand1;
+    @JsonIgnore
+    @Nullable
+    private Long minHashBand2;
+    @JsonIgnore
+    @Nullable
+    private Long minHashBand3;
+
+    public Question(final Long id, final String description, @Nullable final String moduleName,
+            final List<Answer> answers) {
+        this.id = id;
+        this.description = description;
+        this.moduleName = moduleName;
+        this.answers = answers;
+    }
+
     public Question(final String description, final List<Answer> answers, @Nullable final String moduleName) {
         this.description = description;
         this.answers = answers;
@@ -49,27 +81,58 @@ public class Question {
 
     public void setAnswers(final List<Answer> answers) {
         this.answers = answers;
+        linkAnswers();
+    }
+
+    /**
+     * Points every answer back to this question. The answers own the relation, an answer is only written with its
+     * question once it is linked.
+     */
+    public void linkAnswers() {
         if (answers != null) {
             answers.forEach(answer -> answer.setQuestion(this));
         }
     }
 
+    /**
+     * Computes the MinHash band keys of the description before the question is written, so the stored keys always
+     * match the stored description.
+     */
+    @PrePersist
+    @PreUpdate
+    public void updateMinHashBands() {
+        final long[] keys = MinHash.bandKeys(description);
+        minHashBand0 = keys == null ? null : keys[0];
+        minHashBand1 = keys == null ? null : keys[1];
+        minHashBand2 = keys == null ? null : keys[2];
+        minHashBand3 = keys == null ? null : keys[3];
+    }
+
+    /**
+     * Persisted questions are equal when they have the same id. Questions not persisted yet are equal when they have
+     * the same description, the unique business key of a question, a question without description is only equal to
+     * itself. The update paths change the description, so it is never hashed: a persisted question hashes its id and
+     * the questions not persisted yet share one hash code. A question changes its hash code when it receives its id,
+     * it is persisted before it is added to a hash based collection. Comparing or hashing a question never walks its
+     * answers or triggers a lazy load.
+     */
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
             return true;
         }
-        if (o == null || getClass() != o.getClass()) {
+        if (!(o instanceof Question other)) {
             return false;
         }
-        final Question question = (Question) o;
-        return Objects.equals(id, question.id) && Objects.equals(description, question.description) && Objects.equals(
-                moduleName, question.moduleName) && Objects.equals(answers, question.answers);
+        if (id != null || other.getId() != null) {
+            return id != null && id.equals(other.getId());
+        }
+        return description != null && description.equals(other.getDescription());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, description, moduleName, answers);
+        return id == null ? Question.class.hashCode() : id.hashCode();
     }
 
     @Override
@@ -0,0 +1,15 @@
+package com.simulator.exam.exception;
+
+public class ExamAttemptRejectedException extends RuntimeException {
+
+    private static final String MESSAGE = "The results of the exam session %s can't be recorded, try again later";
+
+    /**
+     * Exception thrown when the queue of the exam results to persist stays full, or is closed.
+     *
+     * @param sessionId the session id
+     */
+    public ExamAttemptRejectedException(final String sessionId) {
+        super(String.format(MESSAGE, sessionId));
+    }
+}
@@ -0,0 +1,15 @@
+package com.simulator.exam.exception;
+
+public class ExamSessionNotFoundException extends RuntimeException {
+
+    private static final String MESSAGE = "Exam session %s doesn't exist or has expired";
+
+    /**
+     * Exception thrown when an exam session is unknown or expired.
+     *
+     * @param sessionId the session id
+     */
+    public ExamSessionNotFoundException(final String sessionId) {
+        super(String.format(MESSAGE, sessionId));
+    }
+}
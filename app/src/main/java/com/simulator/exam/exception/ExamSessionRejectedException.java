@@ -0,0 +1,15 @@
+package com.simulator.exam.exception;
+
+public class ExamSessionRejectedException extends RuntimeException {
+
+    private static final String MESSAGE = "Too many active exam sessions, the limit is %s";
+
+    /**
+     * Exception thrown when the number of active exam sessions has reached its limit.
+     *
+     * @param maxActiveSessions the maximum number of active sessions
+     */
+    public ExamSessionRejectedException(final int maxActiveSessions) {
+        super(String.format(MESSAGE, maxActiveSessions));
+    }
+}
@@ -0,0 +1,15 @@
+package com.simulator.exam.exception;
+
+public class ExamSessionSubmittedException extends RuntimeException {
+
+    private static final String MESSAGE = "The answers of the exam session %s have already been submitted";
+
+    /**
+     * Exception thrown when the answers of an exam session are submitted a second time.
+     *
+     * @param sessionId the session id
+     */
+    public ExamSessionSubmittedException(final String sessionId) {
+        super(String.format(MESSAGE, sessionId));
+    }
+}
@@ -0,0 +1,15 @@
+package com.simulator.exam.exception;
+
+public class ImportJobNotFoundException extends RuntimeException {
+
+    private static final String MESSAGE = "Import job %s doesn't exist";
+
+    /**
+     * Exception thrown when an import job is unknown or no longer retained.
+     *
+     * @param jobId the job id
+     */
+    public ImportJobNotFoundException(final String jobId) {
+        super(String.format(MESSAGE, jobId));
+    }
+}
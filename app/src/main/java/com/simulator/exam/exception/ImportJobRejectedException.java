@@ -0,0 +1,16 @@
+package com.simulator.exam.exception;
+
+public class ImportJobRejectedException extends RuntimeException {
+
+    private static final String MESSAGE = "Too many pending imports, the import of %s was rejected";
+
+    /**
+     * Exception thrown when the queue of the import jobs is full.
+     *
+     * @param source the name of the imported file
+     * @param cause  the previous exception cause
+     */
+    public ImportJobRejectedException(final String source, final Throwable cause) {
+        super(String.format(MESSAGE, source), cause);
+    }
+}
@@ -0,0 +1,24 @@
+package com.simulator.exam.exception;
+
+public class InvalidPageRequestException extends RuntimeException {
+
+    private static final String ERROR_MESSAGE = "The page size %s is not between 1 and %s";
+    private static final String NEGATIVE_PAGE_MESSAGE = "The page number %s is negative";
+
+    /**
+     * Exception thrown when a page of questions is requested with an unsupported size
+     * @param size the requested page size
+     * @param maxSize the maximum page size
+     */
+    public InvalidPageRequestException(final int size, final int maxSize) {
+        super(String.format(ERROR_MESSAGE, size, maxSize));
+    }
+
+    /**
+     * Exception thrown when a page of questions is requested with a negative number
+     * @param page the requested page number
+     */
+    public InvalidPageRequestException(final int page) {
+        super(String.format(NEGATIVE_PAGE_MESSAGE, page));
+    }
+}
@@ -0,0 +1,23 @@
+package com.simulator.exam.exception;
+
+public class QuestionBankSnapshotException extends RuntimeException {
+
+    /**
+     * Exception thrown when a question bank snapshot can't be written or isn't a valid snapshot.
+     *
+     * @param message the exception message
+     */
+    public QuestionBankSnapshotException(final String message) {
+        super(message);
+    }
+
+    /**
+     * Exception thrown when a question bank snapshot can't be read or written.
+     *
+     * @param message the exception message
+     * @param cause   the previous exception cause
+     */
+    public QuestionBankSnapshotException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
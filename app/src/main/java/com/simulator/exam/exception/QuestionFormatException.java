@@ -0,0 +1,23 @@
+package com.simulator.exam.exception;
+
+public class QuestionFormatException extends RuntimeException {
+
+    /**
+     * Exception thrown when a streamed questions document doesn't have the expected format.
+     *
+     * @param message the exception message
+     */
+    public QuestionFormatException(final String message) {
+        super(message);
+    }
+
+    /**
+     * Exception thrown when a streamed questions document can't be parsed.
+     *
+     * @param message the exception message
+     * @param cause   the previous exception cause
+     */
+    public QuestionFormatException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,45 @@
+package com.simulator.exam.handler;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.simulator.exam.exception.ExamAttemptRejectedException;
+import com.simulator.exam.exception.ExamSessionNotFoundException;
+import com.simulator.exam.exception.ExamSessionRejectedException;
+import com.simulator.exam.exception.ExamSessionSubmittedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+@ControllerAdvice
+public class ExamSessionExceptionHandler {
+
+    private static final Logger LOGGER = Logger.getLogger("application.logger");
+
+    @ExceptionHandler(ExamSessionNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleExamSessionNotFoundException(final ExamSessionNotFoundException ex) {
+        final ErrorResponse errorResponse = new ErrorResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(ExamSessionSubmittedException.class)
+    public ResponseEntity<ErrorResponse> handleExamSessionSubmittedException(final ExamSessionSubmittedException ex) {
+        final ErrorResponse errorResponse = new ErrorResponse(HttpStatus.CONFLICT.value(), ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(ExamSessionRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleExamSessionRejectedException(final ExamSessionRejectedException ex) {
+        LOGGER.log(Level.WARNING, ex.getMessage());
+        final ErrorResponse errorResponse = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(ExamAttemptRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleExamAttemptRejectedException(final ExamAttemptRejectedException ex) {
+        LOGGER.log(Level.WARNING, ex.getMessage());
+        final ErrorResponse errorResponse = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
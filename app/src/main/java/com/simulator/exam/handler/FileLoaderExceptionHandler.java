@@ -6,6 +6,8 @@ import java.util.logging.Logger;
 import com.simulator.exam.exception.LocalFileLoaderException;
 import com.simulator.exam.exception.LocalFileNotFoundException;
 import com.simulator.exam.exception.MultipartFileLoaderException;
+import com.simulator.exam.exception.QuestionBankSnapshotException;
+import com.simulator.exam.exception.QuestionFormatException;
 import com.simulator.exam.exception.QuestionLoaderException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -52,4 +54,18 @@ public class FileLoaderExceptionHandler {
         final ErrorResponse errorResponse = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler(QuestionFormatException.class)
+    public ResponseEntity<ErrorResponse> handleQuestionFormatException(final QuestionFormatException ex) {
+        LOGGER.log(Level.WARNING, "The format of the streamed questions is not correct", ex);
+        final ErrorResponse errorResponse = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(QuestionBankSnapshotException.class)
+    public ResponseEntity<ErrorResponse> handleQuestionBankSnapshotException(final QuestionBankSnapshotException ex) {
+        LOGGER.log(Level.WARNING, "Exception encountered with the question bank snapshot", ex);
+        final ErrorResponse errorResponse = new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
 }
@@ -0,0 +1,30 @@
+package com.simulator.exam.handler;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.simulator.exam.exception.ImportJobNotFoundException;
+import com.simulator.exam.exception.ImportJobRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+@ControllerAdvice
+public class ImportJobExceptionHandler {
+
+    private static final Logger LOGGER = Logger.getLogger("application.logger");
+
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleImportJobNotFoundException(final ImportJobNotFoundException ex) {
+        final ErrorResponse errorResponse = new ErrorResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(ImportJobRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleImportJobRejectedException(final ImportJobRejectedException ex) {
+        LOGGER.log(Level.WARNING, ex.getMessage());
+        final ErrorResponse errorResponse = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
@@ -0,0 +1,29 @@
+package com.simulator.exam.metrics;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the entities loaded by Hibernate for the {@link RequestMetrics} of the current request. The rows read through
+ * the projections and the JDBC templates are not entities and are not counted.
+ */
+@Component
+@ConditionalOnProperty(name = "app.metrics.request.enabled", havingValue = "true", matchIfMissing = true)
+class EntityLoadListener implements PostLoadEventListener {
+
+    public EntityLoadListener(final EntityManagerFactory entityManagerFactory) {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class).getServiceRegistry()
+                .getService(EventListenerRegistry.class).appendListeners(EventType.POST_LOAD, this);
+    }
+
+    @Override
+    public void onPostLoad(final PostLoadEvent event) {
+        RequestMetrics.entityLoaded();
+    }
+}
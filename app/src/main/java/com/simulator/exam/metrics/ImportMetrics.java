@@ -0,0 +1,55 @@
+package com.simulator.exam.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import com.simulator.exam.dto.ImportReportDo;
+import com.simulator.exam.service.QuestionsImportedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records the reports of the finished imports per module: the time of every phase, the YAML parsing included, the
+ * rows imported and the duplicates skipped, which give the import rates, and the rows per second of every import. An
+ * import of a snapshot, on several modules, is tagged {@value ModuleTags#NONE}.
+ */
+@Component
+class ImportMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final ModuleTags moduleTags;
+
+    public ImportMetrics(final MeterRegistry meterRegistry, final ModuleTags moduleTags) {
+        this.meterRegistry = meterRegistry;
+        this.moduleTags = moduleTags;
+    }
+
+    @EventListener
+    public void onQuestionsImported(final QuestionsImportedEvent event) {
+        final ImportReportDo report = event.getReport();
+        final String module = moduleTags.tagOf(report.getModuleName(), true);
+
+        phase(module, "parse", report.getParseMillis());
+        phase(module, "dedupe", report.getDedupeMillis());
+        phase(module, "persist", report.getPersistMillis());
+        rows(module, "imported", "question", report.getQuestions());
+        rows(module, "imported", "answer", report.getAnswers());
+        rows(module, "exact-duplicate", "question", report.getExactDuplicates());
+        rows(module, "near-duplicate", "question", report.getNearDuplicates());
+        DistributionSummary.builder("exam.import.throughput").description("Rows persisted per second of an import")
+                .baseUnit("rows/s").tag("module", module).register(meterRegistry).record(report.getRowsPerSecond());
+    }
+
+    private void phase(final String module, final String phase, final long millis) {
+        Timer.builder("exam.import.phase").description("Time of the phases of the imports")
+                .tags("module", module, "phase", phase).register(meterRegistry).record(millis, TimeUnit.MILLISECONDS);
+    }
+
+    private void rows(final String module, final String result, final String kind, final long count) {
+        Counter.builder("exam.import.rows").description("Rows of the imported files")
+                .tags("module", module, "result", result, "kind", kind).register(meterRegistry).increment(count);
+    }
+}
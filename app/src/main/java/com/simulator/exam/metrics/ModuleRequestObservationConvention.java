@@ -0,0 +1,23 @@
+package com.simulator.exam.metrics;
+
+import io.micrometer.common.KeyValues;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the module of the request, left by the {@link RequestMetricsFilter}, to the tags of the http.server.requests
+ * timer of every endpoint.
+ */
+@Component
+@ConditionalOnProperty(name = "app.metrics.request.enabled", havingValue = "true", matchIfMissing = true)
+class ModuleRequestObservationConvention extends DefaultServerRequestObservationConvention {
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(final ServerRequestObservationContext context) {
+        final Object module = context.getCarrier().getAttribute(RequestMetricsFilter.MODULE_TAG_ATTRIBUTE);
+        return super.getLowCardinalityKeyValues(context)
+                .and("module", module == null ? ModuleTags.NONE : module.toString());
+    }
+}
@@ -0,0 +1,57 @@
+package com.simulator.exam.metrics;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Values of the module tag of the meters. Every tag value makes new time series, so the values are bounded: a module
+ * becomes a tag value the first time it is used by a successful request, until the maximum number of values is
+ * reached, the other modules are tagged {@value #OTHER}. The modules of the failed requests, which may not exist,
+ * never become a tag value.
+ */
+@Component
+public class ModuleTags {
+
+    /**
+     * Tag of the meters not related to a module.
+     */
+    public static final String NONE = "none";
+
+    /**
+     * Tag of the modules beyond the maximum number of values.
+     */
+    public static final String OTHER = "other";
+
+    private final Set<String> modules = ConcurrentHashMap.newKeySet();
+
+    @Setter
+    @Value("${app.metrics.max-module-tags:100}")
+    private int maxModuleTags = 100;
+
+    /**
+     * Returns the tag value of a module. Concurrent requests may add a few values beyond the maximum.
+     *
+     * @param module     the module, may be null
+     * @param successful whether the module was used successfully, an unknown module is only added when it was
+     * @return the tag value
+     */
+    public String tagOf(@Nullable final String module, final boolean successful) {
+        if (!StringUtils.hasText(module)) {
+            return NONE;
+        }
+        if (modules.contains(module)) {
+            return module;
+        }
+        if (!successful || modules.size() >= maxModuleTags) {
+            return OTHER;
+        }
+        modules.add(module);
+        return module;
+    }
+}
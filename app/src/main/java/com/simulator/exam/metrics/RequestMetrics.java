@@ -0,0 +1,97 @@
+package com.simulator.exam.metrics;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Work done by the request of the current thread: the SQL statements executed, their time and the entities loaded. The
+ * counters are opened and recorded by the {@link RequestMetricsFilter}, the work done outside of a request, by the
+ * background jobs, is not counted here.
+ */
+public final class RequestMetrics {
+
+    /**
+     * Request attribute of the module of the request, when it isn't a request parameter or a path variable.
+     */
+    public static final String MODULE_ATTRIBUTE = RequestMetrics.class.getName() + ".module";
+
+    /**
+     * Module of the requests on several modules.
+     */
+    public static final String MULTIPLE_MODULES = "multiple";
+
+    private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long sqlNanos;
+    private int entitiesLoaded;
+
+    private RequestMetrics() {
+    }
+
+    /**
+     * Sets the module of the current request from the modules it reads, for the requests whose modules are in the
+     * body.
+     *
+     * @param modules the modules of the request
+     */
+    public static void tagModules(final Collection<String> modules) {
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        final Set<String> distinct = modules.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (!distinct.isEmpty()) {
+            attributes.setAttribute(MODULE_ATTRIBUTE, distinct.size() == 1 ? distinct.iterator().next()
+                    : MULTIPLE_MODULES, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    static RequestMetrics open() {
+        final RequestMetrics metrics = new RequestMetrics();
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @param nanos the execution time of a statement, or of a batch, run by the current thread
+     * @return whether the statement belongs to a request
+     */
+    static boolean statementExecuted(final long nanos) {
+        final RequestMetrics metrics = CURRENT.get();
+        if (metrics == null) {
+            return false;
+        }
+        metrics.statements++;
+        metrics.sqlNanos += nanos;
+        return true;
+    }
+
+    static void entityLoaded() {
+        final RequestMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.entitiesLoaded++;
+        }
+    }
+
+    int getStatements() {
+        return statements;
+    }
+
+    long getSqlNanos() {
+        return sqlNanos;
+    }
+
+    int getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+}
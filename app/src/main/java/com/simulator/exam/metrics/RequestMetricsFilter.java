@@ -0,0 +1,90 @@
+package com.simulator.exam.metrics;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records the SQL statements, the SQL time and the entities loaded by every request, with the tags of the
+ * http.server.requests timer of the endpoint and the module of the request. The filter runs within the observation of
+ * the request and leaves the module tag in a request attribute, so the timer of the endpoint is tagged with the same
+ * module by the {@link ModuleRequestObservationConvention}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.metrics.request.enabled", havingValue = "true", matchIfMissing = true)
+class RequestMetricsFilter extends OncePerRequestFilter {
+
+    static final String MODULE_TAG_ATTRIBUTE = RequestMetricsFilter.class.getName() + ".moduleTag";
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final ModuleTags moduleTags;
+
+    public RequestMetricsFilter(final MeterRegistry meterRegistry, final ModuleTags moduleTags) {
+        this.meterRegistry = meterRegistry;
+        this.moduleTags = moduleTags;
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+            final FilterChain filterChain) throws ServletException, IOException {
+        final RequestMetrics metrics = RequestMetrics.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestMetrics.close();
+            record(request, response.getStatus(), metrics);
+        }
+    }
+
+    private void record(final HttpServletRequest request, final int status, final RequestMetrics metrics) {
+        final String module = moduleTags.tagOf(moduleOf(request), status < 400);
+        request.setAttribute(MODULE_TAG_ATTRIBUTE, module);
+        final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        final Tags tags = Tags.of("method", request.getMethod(), "uri",
+                pattern == null ? UNKNOWN_URI : pattern.toString(), "module", module);
+
+        DistributionSummary.builder("exam.request.sql.statements").description("SQL statements executed per request")
+                .baseUnit("statements").tags(tags).register(meterRegistry).record(metrics.getStatements());
+        Timer.builder("exam.request.sql.time").description("Time spent executing SQL statements per request")
+                .tags(tags).register(meterRegistry).record(metrics.getSqlNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("exam.request.entities.loaded").description("Entities loaded per request")
+                .baseUnit("entities").tags(tags).register(meterRegistry).record(metrics.getEntitiesLoaded());
+    }
+
+    /**
+     * The module of a request is set by its handler, or is its module parameter or path variable.
+     */
+    @Nullable
+    private static String moduleOf(final HttpServletRequest request) {
+        final Object module = request.getAttribute(RequestMetrics.MODULE_ATTRIBUTE);
+        if (module != null) {
+            return module.toString();
+        }
+        final String parameter = request.getParameter("module");
+        if (parameter != null) {
+            return parameter;
+        }
+        if (request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables) {
+            final Object variable = variables.containsKey("moduleName") ? variables.get("moduleName")
+                    : variables.get("module");
+            return variable == null ? null : variable.toString();
+        }
+        return null;
+    }
+}
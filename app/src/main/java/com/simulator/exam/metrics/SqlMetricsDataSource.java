@@ -0,0 +1,123 @@
+package com.simulator.exam.metrics;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Data source timing the statements executed on its connections. Every execution, a batch counting as one, is added to
+ * the {@link RequestMetrics} of the current request and to the exam.sql.statements timer, tagged with whether it ran
+ * for a request or in the background. Only the execute calls are timed, the reads of the result sets are not.
+ */
+public class SqlMetricsDataSource extends DelegatingDataSource {
+
+    private static final ClassLoader CLASS_LOADER = SqlMetricsDataSource.class.getClassLoader();
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private volatile Timer requestStatements;
+    private volatile Timer backgroundStatements;
+
+    /**
+     * @param targetDataSource the data source of the connections
+     * @param meterRegistry    the registry of the timer, resolved on the first statement
+     */
+    public SqlMetricsDataSource(final DataSource targetDataSource, final ObjectProvider<MeterRegistry> meterRegistry) {
+        super(targetDataSource);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return instrument(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return instrument(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection instrument(final Connection connection) {
+        return (Connection) Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    if (isIdentityMethod(method)) {
+                        return identity(proxy, method, args);
+                    }
+                    final Object result = invoke(connection, method, args);
+                    // createStatement, prepareStatement and prepareCall
+                    if (result instanceof Statement statement && Statement.class.isAssignableFrom(
+                            method.getReturnType())) {
+                        return instrument(statement, method.getReturnType());
+                    }
+                    return result;
+                });
+    }
+
+    private Object instrument(final Statement statement, final Class<?> type) {
+        return Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[] { type }, (proxy, method, args) -> {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            if (!method.getName().startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+            final long start = System.nanoTime();
+            try {
+                return invoke(statement, method, args);
+            } finally {
+                record(System.nanoTime() - start);
+            }
+        });
+    }
+
+    private void record(final long nanos) {
+        final boolean request = RequestMetrics.statementExecuted(nanos);
+        Timer timer = request ? requestStatements : backgroundStatements;
+        if (timer == null) {
+            // registering twice returns the same timer
+            timer = Timer.builder("exam.sql.statements").description("SQL statements and batches executed")
+                    .tag("scope", request ? "request" : "background").register(meterRegistry.getObject());
+            if (request) {
+                requestStatements = timer;
+            } else {
+                backgroundStatements = timer;
+            }
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static boolean isIdentityMethod(final Method method) {
+        return method.getDeclaringClass() == Object.class;
+    }
+
+    /**
+     * A proxy is only equal to itself, the pools and the transaction managers compare the connections they handed
+     * out.
+     */
+    private static Object identity(final Object proxy, final Method method, final Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> proxy.getClass().getName() + '@' + Integer.toHexString(System.identityHashCode(proxy));
+        };
+    }
+
+    private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (final InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.simulator.exam.metrics;
+
+import javax.sql.DataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps the data sources of the context in a {@link SqlMetricsDataSource}, so the statements of the repositories, of
+ * Hibernate and of the JDBC templates are all counted. The registry is resolved lazily, a post processor being created
+ * before the beans it would depend on.
+ */
+@Component
+@ConditionalOnProperty(name = "app.metrics.request.enabled", havingValue = "true", matchIfMissing = true)
+class SqlMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public SqlMetricsPostProcessor(final ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof SqlMetricsDataSource)) {
+            return new SqlMetricsDataSource(dataSource, meterRegistry);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,75 @@
+package com.simulator.exam.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import com.simulator.exam.entity.ExamAttemptResult;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes the graded answers of the submitted exam sessions with JDBC batches of plain INSERT statements.
+ */
+@Repository
+@Transactional
+public class ExamAttemptRepository {
+
+    private static final String INSERT_RESULT = "INSERT INTO exam_attempt_results "
+            + "(session_id, question_id, selected_answer_ids, correct, submitted_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String COUNT_RESULTS_BY_QUESTION = "SELECT q.module_name, r.question_id, COUNT(*), "
+            + "SUM(CASE WHEN r.correct THEN 1 ELSE 0 END) FROM exam_attempt_results r "
+            + "JOIN questions q ON q.id = r.question_id WHERE q.module_name IS NOT NULL "
+            + "GROUP BY q.module_name, r.question_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Setter
+    @Value("${app.exam.attempts.batch-size:500}")
+    private int batchSize = 500;
+
+    public ExamAttemptRepository(final JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts the results in a single transaction.
+     *
+     * @param results the results
+     */
+    public void insertResults(final List<ExamAttemptResult> results) {
+        jdbcTemplate.batchUpdate(INSERT_RESULT, results, batchSize, (ps, result) -> {
+            ps.setString(1, result.getSessionId());
+            ps.setLong(2, result.getQuestionId());
+            ps.setString(3, result.getSelectedAnswerIds());
+            ps.setBoolean(4, result.isCorrect());
+            ps.setTimestamp(5, Timestamp.from(result.getSubmittedAt()));
+        });
+    }
+
+    /**
+     * Counts the persisted results of every question still in the bank, grouped by the current module of the
+     * question.
+     *
+     * @return the attempt counts by question
+     */
+    @Transactional(readOnly = true)
+    public List<QuestionAttemptCount> countResultsByQuestion() {
+        return jdbcTemplate.query(COUNT_RESULTS_BY_QUESTION, (rs, rowNum) -> new QuestionAttemptCount(
+                rs.getString(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)));
+    }
+
+    /**
+     * Counts the persisted results.
+     *
+     * @return the number of results
+     */
+    @Transactional(readOnly = true)
+    public long countResults() {
+        final Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM exam_attempt_results", Long.class);
+        return count == null ? 0 : count;
+    }
+}
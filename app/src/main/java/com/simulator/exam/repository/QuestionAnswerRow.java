@@ -0,0 +1,25 @@
+package com.simulator.exam.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.lang.Nullable;
+
+/**
+ * Row of the join of a question with one of its answers, built by the projection queries without loading any entity.
+ * The answer columns are null for a question without answers.
+ */
+@Getter
+@AllArgsConstructor
+public class QuestionAnswerRow {
+
+    private Long questionId;
+    private String description;
+    @Nullable
+    private String moduleName;
+    @Nullable
+    private Long answerId;
+    @Nullable
+    private String option;
+    @Nullable
+    private Boolean correct;
+}
@@ -0,0 +1,17 @@
+package com.simulator.exam.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Number of persisted attempts of a question and how many of them were correct.
+ */
+@Getter
+@AllArgsConstructor
+public class QuestionAttemptCount {
+
+    private String moduleName;
+    private long questionId;
+    private long attempts;
+    private long correctAttempts;
+}
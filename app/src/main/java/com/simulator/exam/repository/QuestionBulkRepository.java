@@ -0,0 +1,232 @@
+package com.simulator.exam.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.simulator.exam.entity.Answer;
+import com.simulator.exam.entity.Question;
+import com.simulator.exam.util.MinHash;
+import jakarta.persistence.EntityManager;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+/**
+ * Set based writes of the question bank. The rows are modified with JDBC batches of plain UPDATE and DELETE
+ * statements, without loading the entities. Pending changes of the persistence context are flushed before the
+ * statements and the context is cleared after them, so no stale entity survives a bulk operation. The statements
+ * changing a description write its MinHash band keys as well, as the entity callbacks do.
+ */
+@Repository
+@Transactional
+public class QuestionBulkRepository {
+
+    private static final String UPDATE_QUESTION = "UPDATE questions SET description = ?, module_name = ?, "
+            + "min_hash_band0 = ?, min_hash_band1 = ?, min_hash_band2 = ?, min_hash_band3 = ? WHERE id = ?";
+    private static final String PATCH_QUESTION = "UPDATE questions SET description = COALESCE(?, description), "
+            + "module_name = COALESCE(?, module_name), min_hash_band0 = COALESCE(?, min_hash_band0), "
+            + "min_hash_band1 = COALESCE(?, min_hash_band1), min_hash_band2 = COALESCE(?, min_hash_band2), "
+            + "min_hash_band3 = COALESCE(?, min_hash_band3) WHERE id = ?";
+    private static final String QUESTIONS_WITHOUT_MIN_HASH = "SELECT id, description FROM questions WHERE id > ? "
+            + "AND min_hash_band0 IS NULL AND description IS NOT NULL ORDER BY id FETCH FIRST ? ROWS ONLY";
+    private static final String UPDATE_MIN_HASH = "UPDATE questions SET min_hash_band0 = ?, min_hash_band1 = ?, "
+            + "min_hash_band2 = ?, min_hash_band3 = ? WHERE id = ?";
+    private static final String DELETE_QUESTION_ANSWERS = "DELETE FROM answers WHERE question_id = ?";
+    private static final String DELETE_QUESTION = "DELETE FROM questions WHERE id = ?";
+    private static final String UPDATE_ANSWER = "UPDATE answers SET option = ?, correct = ? WHERE id = ?";
+    private static final String QUESTION_MODULES = "SELECT DISTINCT module_name FROM questions WHERE id IN (%s)";
+    private static final String ANSWER_MODULES = "SELECT DISTINCT q.module_name FROM answers a "
+            + "JOIN questions q ON q.id = a.question_id WHERE a.id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final TransactionOperations pageTransaction;
+
+    @Setter
+    @Value("${app.question.bulk.batch-size:500}")
+    private int batchSize = 500;
+
+    public QuestionBulkRepository(final JdbcTemplate jdbcTemplate, final EntityManager entityManager,
+            final PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.pageTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Replaces the description and the module of the questions, the answers are not modified.
+     *
+     * @param questions the questions with their id
+     * @return the ids that matched no question
+     */
+    public List<Long> updateQuestions(final List<Question> questions) {
+        return batch(UPDATE_QUESTION, questions, Question::getId, (ps, q) -> {
+            ps.setString(1, q.getDescription());
+            ps.setString(2, q.getModuleName());
+            setMinHashBands(ps, 3, MinHash.bandKeys(q.getDescription()));
+            ps.setLong(7, q.getId());
+        });
+    }
+
+    /**
+     * Updates the description and the module of the questions that have a value, the answers are not modified.
+     *
+     * @param questions the questions with their id
+     * @return the ids that matched no question
+     */
+    public List<Long> patchQuestions(final List<Question> questions) {
+        return batch(PATCH_QUESTION, questions, Question::getId, (ps, q) -> {
+            final boolean hasDescription = StringUtils.hasText(q.getDescription());
+            ps.setString(1, hasDescription ? q.getDescription() : null);
+            ps.setString(2, StringUtils.hasText(q.getModuleName()) ? q.getModuleName() : null);
+            setMinHashBands(ps, 3, hasDescription ? MinHash.bandKeys(q.getDescription()) : null);
+            ps.setLong(7, q.getId());
+        });
+    }
+
+    /**
+     * Deletes the questions together with their answers.
+     *
+     * @param ids the question ids
+     * @return the ids that matched no question
+     */
+    public List<Long> deleteQuestions(final List<Long> ids) {
+        batch(DELETE_QUESTION_ANSWERS, ids, Function.identity(), (ps, id) -> ps.setLong(1, id));
+        return batch(DELETE_QUESTION, ids, Function.identity(), (ps, id) -> ps.setLong(1, id));
+    }
+
+    /**
+     * Updates the option and the correctness of the answers.
+     *
+     * @param answers the answers with their id
+     * @return the ids that matched no answer
+     */
+    public List<Long> updateAnswers(final List<Answer> answers) {
+        return batch(UPDATE_ANSWER, answers, Answer::getId, (ps, a) -> {
+            ps.setString(1, a.getOption());
+            ps.setBoolean(2, a.isCorrect());
+            ps.setLong(3, a.getId());
+        });
+    }
+
+    /**
+     * Computes the MinHash band keys of the questions persisted without them, page by page. Every page is committed
+     * in a transaction of its own, so a large bank doesn't hold its locks and a connection until the last page.
+     *
+     * @return the number of questions which received their keys
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int backfillMinHashBands() {
+        int updated = 0;
+        long after = Long.MIN_VALUE;
+        List<Question> page;
+        do {
+            final long pageAfter = after;
+            page = pageTransaction.execute(status -> backfillPage(pageAfter));
+            updated += (int) page.stream().filter(QuestionBulkRepository::hasMinHashBands).count();
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == batchSize);
+        return updated;
+    }
+
+    /**
+     * @param ids the question ids
+     * @return the modules of the questions
+     */
+    @Transactional(readOnly = true)
+    public Set<String> findModulesOfQuestions(final Collection<Long> ids) {
+        return findModules(QUESTION_MODULES, ids);
+    }
+
+    /**
+     * @param ids the answer ids
+     * @return the modules of the questions of the answers
+     */
+    @Transactional(readOnly = true)
+    public Set<String> findModulesOfAnswers(final Collection<Long> ids) {
+        return findModules(ANSWER_MODULES, ids);
+    }
+
+    private List<Question> backfillPage(final long after) {
+        final List<Question> page = jdbcTemplate.query(QUESTIONS_WITHOUT_MIN_HASH, (rs, row) -> {
+            final Question question = new Question(rs.getLong(1), rs.getString(2), null, null);
+            question.updateMinHashBands();
+            return question;
+        }, after, batchSize);
+        final List<Question> keyed = page.stream().filter(QuestionBulkRepository::hasMinHashBands).toList();
+        jdbcTemplate.batchUpdate(UPDATE_MIN_HASH, keyed, batchSize, (ps, q) -> {
+            ps.setLong(1, q.getMinHashBand0());
+            ps.setLong(2, q.getMinHashBand1());
+            ps.setLong(3, q.getMinHashBand2());
+            ps.setLong(4, q.getMinHashBand3());
+            ps.setLong(5, q.getId());
+        });
+        return page;
+    }
+
+    private static boolean hasMinHashBands(final Question question) {
+        return question.getMinHashBand0() != null;
+    }
+
+    private <T> List<Long> batch(final String sql, final List<T> rows, final Function<T, Long> idOf,
+            final ParameterizedPreparedStatementSetter<T> setter) {
+        entityManager.flush();
+        final int[][] counts = jdbcTemplate.batchUpdate(sql, rows, batchSize, setter);
+        entityManager.clear();
+
+        final List<Long> missingIds = new ArrayList<>();
+        int index = 0;
+        for (final int[] batchCounts : counts) {
+            for (final int count : batchCounts) {
+                // a driver not reporting the rows of a batched statement answers SUCCESS_NO_INFO, not 0
+                if (count == 0) {
+                    missingIds.add(idOf.apply(rows.get(index)));
+                }
+                index++;
+            }
+        }
+        return missingIds;
+    }
+
+    private static void setMinHashBands(final PreparedStatement ps, final int from, final long[] keys)
+            throws SQLException {
+        for (int band = 0; band < MinHash.BANDS; band++) {
+            if (keys == null) {
+                ps.setNull(from + band, Types.BIGINT);
+            } else {
+                ps.setLong(from + band, keys[band]);
+            }
+        }
+    }
+
+    private Set<String> findModules(final String sql, final Collection<Long> ids) {
+        final List<Long> idList = List.copyOf(ids);
+        final Set<String> modules = new HashSet<>();
+        for (int from = 0; from < idList.size(); from += batchSize) {
+            final List<Long> chunk = idList.subList(from, Math.min(from + batchSize, idList.size()));
+            final String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.query(String.format(sql, placeholders), rs -> {
+                modules.add(rs.getString(1));
+            }, chunk.toArray());
+        }
+        return modules;
+    }
+}
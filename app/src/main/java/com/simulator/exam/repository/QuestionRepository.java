@@ -1,26 +1,105 @@
 package com.simulator.exam.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.simulator.exam.entity.Question;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface QuestionRepository extends JpaRepository<Question, Long> {
-    @Query(value = "select * from questions q where q.module_name = :qModule order by random() limit :limitNumber",
+
+    /*
+     * Projection of the questions joined with their answers, one row per answer. The rows are mapped straight to the
+     * DTOs of the read paths, so no entity is loaded in the persistence context.
+     */
+    String QUESTION_ANSWER_ROWS = "SELECT new com.simulator.exam.repository.QuestionAnswerRow(q.id, q.description, "
+            + "q.moduleName, a.id, a.option, a.correct) FROM Question q LEFT JOIN q.answers a";
+
+    @Query(value = "select q.id from questions q where q.module_name = :qModule order by random() limit :limitNumber",
             nativeQuery = true)
-    List<Question> getTopByModuleEnumQuestionOrderByRandom(@Param("limitNumber") int limit,
-            @Param("qModule") String module);
+    List<Long> findRandomIdsByModuleName(@Param("limitNumber") int limit, @Param("qModule") String module);
 
-    @Query(value = "select * from questions order by random()", nativeQuery = true)
-    List<Question> getQuestionsOrderByRandom();
+    @Query(value = "select q.id from questions q order by random()", nativeQuery = true)
+    List<Long> findAllIdsOrderByRandom();
 
     @Query("SELECT COUNT(q) > 0 FROM Question q WHERE q.description = :qDescription")
     boolean isQuestionAlreadySaved(@Param("qDescription") String description);
 
-    @Query("SELECT COUNT(q) = 0 FROM Question q WHERE q.moduleName = :qModule")
-    boolean moduleHasNoQuestions(@Param("qModule") String module);
+    @Query("SELECT q.moduleName AS moduleName, COUNT(DISTINCT q.id) AS questions, COUNT(a.id) AS answers "
+            + "FROM Question q LEFT JOIN q.answers a WHERE q.moduleName IS NOT NULL GROUP BY q.moduleName")
+    List<ModuleCount> countByModule();
+
+    @Query("SELECT q.moduleName AS moduleName, COUNT(DISTINCT q.id) AS questions, COUNT(a.id) AS answers "
+            + "FROM Question q LEFT JOIN q.answers a WHERE q.moduleName IN :qModules GROUP BY q.moduleName")
+    List<ModuleCount> countByModuleIn(@Param("qModules") Collection<String> modules);
 
     List<Question> findAllByDescriptionIn(List<String> descriptions);
+
+    @Query("SELECT q.id AS id, q.description AS description FROM Question q WHERE q.minHashBand0 IN :qBand0 "
+            + "OR q.minHashBand1 IN :qBand1 OR q.minHashBand2 IN :qBand2 OR q.minHashBand3 IN :qBand3")
+    List<QuestionDescription> findAllByMinHashBands(@Param("qBand0") Collection<Long> band0,
+            @Param("qBand1") Collection<Long> band1, @Param("qBand2") Collection<Long> band2,
+            @Param("qBand3") Collection<Long> band3);
+
+    @Query("SELECT q.id FROM Question q")
+    List<Long> findAllIds();
+
+    @Query("SELECT q.id FROM Question q WHERE q.moduleName = :qModule")
+    List<Long> findIdsByModuleName(@Param("qModule") String module);
+
+    @Query("SELECT q.id FROM Question q WHERE q.id > :qAfter ORDER BY q.id")
+    List<Long> findIdsAfter(@Param("qAfter") long after, Limit limit);
+
+    @Query("SELECT q.moduleName AS moduleName, q.id AS id FROM Question q WHERE q.moduleName IN :qModules")
+    List<ModuleQuestionId> findIdsByModuleNameIn(@Param("qModules") Collection<String> modules);
+
+    @Query(QUESTION_ANSWER_ROWS + " ORDER BY q.id, a.id")
+    List<QuestionAnswerRow> findAllRows();
+
+    @Query(QUESTION_ANSWER_ROWS + " WHERE q.id = :qId ORDER BY a.id")
+    List<QuestionAnswerRow> findRowsById(@Param("qId") Long id);
+
+    @Query(QUESTION_ANSWER_ROWS + " WHERE q.id IN :qIds ORDER BY q.id, a.id")
+    List<QuestionAnswerRow> findRowsByIdIn(@Param("qIds") Collection<Long> ids);
+
+    @Query(QUESTION_ANSWER_ROWS + " WHERE q.moduleName = :qModule ORDER BY q.id, a.id")
+    List<QuestionAnswerRow> findRowsByModuleName(@Param("qModule") String module);
+
+    @Query(QUESTION_ANSWER_ROWS + " WHERE q.moduleName IN :qModules ORDER BY q.id, a.id")
+    List<QuestionAnswerRow> findRowsByModuleNameIn(@Param("qModules") Collection<String> modules);
+
+    /**
+     * Projection of the number of questions and answers of a module.
+     */
+    interface ModuleCount {
+
+        String getModuleName();
+
+        Long getQuestions();
+
+        Long getAnswers();
+    }
+
+    /**
+     * Projection of a question id together with its description.
+     */
+    interface QuestionDescription {
+
+        Long getId();
+
+        String getDescription();
+    }
+
+    /**
+     * Projection of a question id together with its module.
+     */
+    interface ModuleQuestionId {
+
+        String getModuleName();
+
+        Long getId();
+    }
 }
@@ -0,0 +1,29 @@
+package com.simulator.exam.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Interning pool of the answer options of a single mapping. The banks repeat many options ("True", "False", the
+ * shared distractors) and every row read brings its own copy, the answers mapped with the same pool share one
+ * instance per distinct option. The pool lives as long as the mapping, it is neither shared nor synchronized.
+ */
+final class AnswerOptionPool {
+
+    private final Map<String, String> options = new HashMap<>();
+
+    /**
+     * @param option the option of a mapped answer
+     * @return the instance of the option shared by the answers of the mapping
+     */
+    @Nullable
+    String intern(@Nullable final String option) {
+        if (option == null) {
+            return null;
+        }
+        final String shared = options.putIfAbsent(option, option);
+        return shared != null ? shared : option;
+    }
+}
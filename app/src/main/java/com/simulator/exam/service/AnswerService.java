@@ -3,6 +3,7 @@ package com.simulator.exam.service;
 import java.util.List;
 
 import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.BulkResultDo;
 import com.simulator.exam.entity.Answer;
 
 public interface AnswerService {
@@ -12,4 +13,6 @@ public interface AnswerService {
     List<Answer> updateAnswers(List<Answer> answer);
 
     Answer updateAnswerById(Answer answer, Long id);
+
+    BulkResultDo bulkUpdateAnswers(List<Answer> answers);
 }
@@ -1,36 +1,49 @@
 package com.simulator.exam.service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.BulkResultDo;
 import com.simulator.exam.entity.Answer;
 import com.simulator.exam.repository.AnswerRepository;
+import com.simulator.exam.repository.QuestionBulkRepository;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 class AnswerServiceImpl implements AnswerService {
     private static final String MISSING_ENTITY_MESSAGE = "Answer with id %s doesn't exist";
 
     private final AnswerRepository answerRepository;
+    private final QuestionBulkRepository questionBulkRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final String MISSING_ANSWER_ID = "Missing id for provided answer: %s";
 
-    public AnswerServiceImpl(final AnswerRepository answerRepository) {
+    public AnswerServiceImpl(final AnswerRepository answerRepository,
+            final QuestionBulkRepository questionBulkRepository, final ApplicationEventPublisher eventPublisher) {
         this.answerRepository = answerRepository;
+        this.questionBulkRepository = questionBulkRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
-     * Maps a list of Answer entities to a list of AnswerDo DTOs.
+     * Maps a list of Answer entities to a list of AnswerDo DTOs, the repeated options share one instance.
      *
      * @param answers the list of answer entities
      * @return the list of mapped AnswerDo
      */
     @Override
     public List<AnswerDo> mapAnswersToAnswerDo(final List<Answer> answers) {
-        return answers.stream().map(a -> new AnswerDo(a.getId(), a.getOption(), a.isCorrect())).toList();
+        final AnswerOptionPool options = new AnswerOptionPool();
+        return answers.stream().map(a -> new AnswerDo(a.getId(), options.intern(a.getOption()), a.isCorrect()))
+                .toList();
     }
 
     /**
@@ -40,6 +53,7 @@ class AnswerServiceImpl implements AnswerService {
      * @return will return the updated list
      */
     @Override
+    @Transactional
     public List<Answer> updateAnswers(final List<Answer> answers) {
         final Map<Long, Answer> savedAnswersMap =
                 answerRepository.findAllById(answers.stream().map(Answer::getId).toList()).stream()
@@ -55,6 +69,7 @@ class AnswerServiceImpl implements AnswerService {
                 dba.setOption(a.getOption());
             }
         });
+        publishBankChanged(savedAnswersMap.keySet());
         return savedAnswersMap.values().stream().toList();
     }
 
@@ -66,11 +81,47 @@ class AnswerServiceImpl implements AnswerService {
      * @return the updated answer
      */
     @Override
+    @Transactional
     public Answer updateAnswerById(final Answer answer, final Long id) {
         final Answer dbAnswer = answerRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(String.format(MISSING_ENTITY_MESSAGE, id)));
         dbAnswer.setOption(answer.getOption());
         dbAnswer.setCorrect(answer.isCorrect());
+        publishBankChanged(List.of(id));
         return dbAnswer;
     }
+
+    /**
+     * Will update the option and the correctness of the answers with set based batch updates. The ids which don't
+     * exist are skipped and reported.
+     *
+     * @param answers a list of answers
+     * @return the result of the bulk update
+     */
+    @Override
+    @Transactional
+    public BulkResultDo bulkUpdateAnswers(final List<Answer> answers) {
+        final List<Long> ids = answers.stream().map(a -> {
+            if (a.getId() == null || a.getId() <= 0) {
+                throw new EntityNotFoundException(String.format(MISSING_ANSWER_ID, a));
+            }
+            return a.getId();
+        }).toList();
+        if (ids.isEmpty()) {
+            return new BulkResultDo(0, 0, List.of());
+        }
+
+        final Set<String> modules = questionBulkRepository.findModulesOfAnswers(ids);
+        final List<Long> missingIds = questionBulkRepository.updateAnswers(answers);
+        eventPublisher.publishEvent(QuestionBankChangedEvent.forModules(modules));
+        return new BulkResultDo(ids.size(), ids.size() - missingIds.size(), missingIds);
+    }
+
+    private void publishBankChanged(final Collection<Long> answerIds) {
+        final Set<String> modules = questionBulkRepository.findModulesOfAnswers(answerIds);
+        // no module means no stored answer was changed, an event without modules would evict them all
+        if (!modules.isEmpty()) {
+            eventPublisher.publishEvent(QuestionBankChangedEvent.forModules(modules));
+        }
+    }
 }
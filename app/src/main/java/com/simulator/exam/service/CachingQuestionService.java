@@ -0,0 +1,228 @@
+package com.simulator.exam.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.BulkResultDo;
+import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.dto.QuestionPageDo;
+import com.simulator.exam.dto.QuestionsStructureDo;
+import com.simulator.exam.entity.Answer;
+import com.simulator.exam.entity.Question;
+import com.simulator.exam.exception.ModuleNotFoundException;
+import com.simulator.exam.util.ExamUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link QuestionService} serving the exam reads from the {@link QuestionBankCache}. The writes and the full bank
+ * reads are delegated to {@link QuestionServiceImp}, the cache is kept up to date through the
+ * {@link QuestionBankChangedEvent} published by the writes.
+ */
+@Service
+@Primary
+// the mapped store replaces the cache as the primary question service
+@ConditionalOnExpression("${app.question.cache.enabled:true} and !${app.question.mapped-store.enabled:false}")
+class CachingQuestionService implements QuestionService {
+
+    private final QuestionServiceImp delegate;
+    private final QuestionBankCache questionBankCache;
+
+    public CachingQuestionService(final QuestionServiceImp delegate, final QuestionBankCache questionBankCache) {
+        this.delegate = delegate;
+        this.questionBankCache = questionBankCache;
+    }
+
+    @Override
+    public List<QuestionDo> getRandomQuestions() {
+        return delegate.getRandomQuestions();
+    }
+
+    /**
+     * Picks the random questions from the cached module snapshot, no database access is needed once the module is
+     * cached.
+     *
+     * @param module            the module name
+     * @param numberOfQuestions the number of questions to retrieve
+     * @return list of random questions
+     */
+    @Override
+    public List<QuestionDo> getRandomQuestionsByModule(final String module, final int numberOfQuestions) {
+        if (!StringUtils.hasText(module)) {
+            throw new ModuleNotFoundException(module);
+        }
+        return sample(getModule(module), module, numberOfQuestions);
+    }
+
+    /**
+     * Picks the questions of every module of the structure from the cached snapshots, the modules which are not cached
+     * yet are all loaded with a single query.
+     *
+     * @param structureList the list of question structures
+     * @return the list of matching questions
+     */
+    @Override
+    public List<QuestionDo> getQuestionsByStructure(final List<QuestionsStructureDo> structureList) {
+        final Set<String> modules = new HashSet<>();
+        structureList.forEach(structure -> {
+            if (!StringUtils.hasText(structure.getModule())) {
+                throw new ModuleNotFoundException(structure.getModule());
+            }
+            modules.add(structure.getModule());
+        });
+
+        final Map<String, QuestionModuleSnapshot> snapshots = questionBankCache.getModules(modules, this::loadModules);
+        final List<QuestionDo> questions = new ArrayList<>();
+        structureList.forEach(structure -> questions.addAll(
+                sample(snapshots.get(structure.getModule()), structure.getModule(), structure.getQuestionNumber())));
+        return questions;
+    }
+
+    @Override
+    public List<QuestionDo> getAllQuestions() {
+        return delegate.getAllQuestions();
+    }
+
+    @Override
+    public QuestionPageDo getQuestionsPage(final Long after, final int size) {
+        return delegate.getQuestionsPage(after, size);
+    }
+
+    @Override
+    public long exportQuestions(final Consumer<QuestionDo> consumer) {
+        return delegate.exportQuestions(consumer);
+    }
+
+    @Override
+    public List<QuestionDo> getQuestionsByModule(final String module) {
+        return getModule(module).getQuestions();
+    }
+
+    /**
+     * Serves the question from the cached modules. On a miss the question is read from the database and its module
+     * is loaded in the cache for the next requests.
+     *
+     * @param id the question id
+     * @return the question
+     */
+    @Override
+    public QuestionDo getQuestionById(final Long id) {
+        final QuestionModuleSnapshot snapshot = questionBankCache.findModuleOfQuestion(id);
+        if (snapshot != null) {
+            return snapshot.getQuestion(id);
+        }
+
+        final QuestionDo question = delegate.getQuestionById(id);
+        if (StringUtils.hasText(question.getModuleName())) {
+            getModule(question.getModuleName());
+        }
+        return question;
+    }
+
+    @Override
+    public List<AnswerDo> getAnswersForQuestionId(final Long id) {
+        return getQuestionById(id).getAnswers();
+    }
+
+    @Override
+    public void saveQuestions(final List<Question> questions) {
+        delegate.saveQuestions(questions);
+    }
+
+    @Override
+    public void saveAnswersForThGivenQuestion(final Long id, final List<Answer> question) {
+        delegate.saveAnswersForThGivenQuestion(id, question);
+    }
+
+    @Override
+    public void deleteGivenQuestion(final List<Question> question) {
+        delegate.deleteGivenQuestion(question);
+    }
+
+    @Override
+    public void deleteQuestionById(final long id) {
+        delegate.deleteQuestionById(id);
+    }
+
+    @Override
+    public void deleteAnswersForGivenQuestion(final long id) {
+        delegate.deleteAnswersForGivenQuestion(id);
+    }
+
+    @Override
+    public List<QuestionDo> updateQuestion(final List<Question> questions) {
+        return delegate.updateQuestion(questions);
+    }
+
+    @Override
+    public QuestionDo updateQuestionById(final Question question, final Long id) {
+        return delegate.updateQuestionById(question, id);
+    }
+
+    @Override
+    public QuestionDo updateQuestionAnswersByQuestionId(final List<Answer> answers, final Long id) {
+        return delegate.updateQuestionAnswersByQuestionId(answers, id);
+    }
+
+    @Override
+    public QuestionDo updatedQuestionPropertiesById(final Long id, final Question question) {
+        return delegate.updatedQuestionPropertiesById(id, question);
+    }
+
+    @Override
+    public List<QuestionDo> updatedQuestionsPropertiesById(final List<Question> question) {
+        return delegate.updatedQuestionsPropertiesById(question);
+    }
+
+    @Override
+    public BulkResultDo bulkUpdateQuestions(final List<Question> questions) {
+        return delegate.bulkUpdateQuestions(questions);
+    }
+
+    @Override
+    public BulkResultDo bulkUpdateQuestionsProperties(final List<Question> questions) {
+        return delegate.bulkUpdateQuestionsProperties(questions);
+    }
+
+    @Override
+    public BulkResultDo bulkDeleteQuestions(final List<Long> ids) {
+        return delegate.bulkDeleteQuestions(ids);
+    }
+
+    private QuestionModuleSnapshot getModule(final String module) {
+        return questionBankCache.getModule(module,
+                m -> new QuestionModuleSnapshot(m, delegate.getQuestionsByModule(m)));
+    }
+
+    private Map<String, QuestionModuleSnapshot> loadModules(final Set<String> modules) {
+        final Map<String, List<QuestionDo>> questionsByModule = delegate.getQuestionsByModules(modules);
+        final Map<String, QuestionModuleSnapshot> snapshots = new HashMap<>();
+        modules.forEach(module -> snapshots.put(module,
+                new QuestionModuleSnapshot(module, questionsByModule.getOrDefault(module, List.of()))));
+        return snapshots;
+    }
+
+    private static List<QuestionDo> sample(final QuestionModuleSnapshot snapshot, final String module,
+            final int numberOfQuestions) {
+        if (snapshot == null || snapshot.isEmpty()) {
+            throw new ModuleNotFoundException(module);
+        }
+
+        final int[] picked =
+                ExamUtils.sampleIndexes(snapshot.size(), numberOfQuestions, ThreadLocalRandom.current());
+        final List<QuestionDo> questions = new ArrayList<>(picked.length);
+        for (final int index : picked) {
+            questions.add(snapshot.getQuestions().get(index));
+        }
+        return questions;
+    }
+}
@@ -0,0 +1,32 @@
+package com.simulator.exam.service;
+
+import java.util.List;
+
+import com.simulator.exam.repository.QuestionRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sampler delegating the random ordering to the database through {@code order by random()}. Every call sorts all the
+ * rows of the module, so it is only kept for small banks and for comparison with {@link IndexedQuestionSampler}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.question.sampling.strategy", havingValue = "database")
+class DatabaseQuestionSampler implements QuestionSampler {
+
+    private final QuestionRepository questionRepository;
+
+    public DatabaseQuestionSampler(final QuestionRepository questionRepository) {
+        this.questionRepository = questionRepository;
+    }
+
+    @Override
+    public List<Long> sampleByModule(final String module, final int numberOfQuestions) {
+        return questionRepository.findRandomIdsByModuleName(numberOfQuestions, module);
+    }
+
+    @Override
+    public List<Long> sampleAll() {
+        return questionRepository.findAllIdsOrderByRandom();
+    }
+}
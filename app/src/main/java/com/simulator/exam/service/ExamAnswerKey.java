@@ -0,0 +1,123 @@
+package com.simulator.exam.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.QuestionDo;
+
+/**
+ * Immutable answer key of an exam session, built once when the session is created. The answer ids of all the
+ * questions are flattened in a single sorted array per question range and their correctness is held in a bit set, so
+ * an exam is graded with binary searches over a few primitive arrays and without any database access.
+ */
+final class ExamAnswerKey {
+
+    private final long[] questionIds;
+    private final int[] answerOffsets;
+    private final long[] answerIds;
+    private final BitSet correctAnswers;
+    private final int[] correctCounts;
+
+    ExamAnswerKey(final List<QuestionDo> questions) {
+        questionIds = new long[questions.size()];
+        answerOffsets = new int[questions.size() + 1];
+        correctCounts = new int[questions.size()];
+        answerIds = new long[questions.stream().mapToInt(q -> answersOf(q).size()).sum()];
+        correctAnswers = new BitSet(answerIds.length);
+
+        int offset = 0;
+        for (int q = 0; q < questions.size(); q++) {
+            questionIds[q] = questions.get(q).getId();
+            answerOffsets[q] = offset;
+            final List<AnswerDo> answers = new ArrayList<>(answersOf(questions.get(q)));
+            answers.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+            for (final AnswerDo answer : answers) {
+                answerIds[offset] = answer.getId();
+                if (answer.isCorrect()) {
+                    correctAnswers.set(offset);
+                    correctCounts[q]++;
+                }
+                offset++;
+            }
+        }
+        answerOffsets[questions.size()] = offset;
+    }
+
+    int size() {
+        return questionIds.length;
+    }
+
+    long questionId(final int question) {
+        return questionIds[question];
+    }
+
+    /**
+     * Grades every question of the exam.
+     *
+     * @param selections the ids of the selected answers by question id
+     * @return the indexes of the incorrect questions, in exam order
+     */
+    List<Integer> incorrectQuestions(final Map<Long, List<Long>> selections) {
+        final List<Integer> incorrect = new ArrayList<>();
+        for (int q = 0; q < questionIds.length; q++) {
+            if (!isCorrect(q, selections.getOrDefault(questionIds[q], List.of()))) {
+                incorrect.add(q);
+            }
+        }
+        return incorrect;
+    }
+
+    /**
+     * Returns the selected answers which belong to the question, sorted and without duplicates.
+     *
+     * @param question    the index of the question
+     * @param selectedIds the ids of the selected answers
+     * @return the selected answer ids
+     */
+    long[] selectedAnswers(final int question, final List<Long> selectedIds) {
+        final int from = answerOffsets[question];
+        final int to = answerOffsets[question + 1];
+        return selectedIds.stream().filter(Objects::nonNull).mapToLong(Long::longValue)
+                .filter(id -> Arrays.binarySearch(answerIds, from, to, id) >= 0).sorted().distinct().toArray();
+    }
+
+    /**
+     * A question is correct when the selected answers are exactly its correct answers, the same answer selected twice
+     * counts once.
+     */
+    private boolean isCorrect(final int question, final List<Long> selectedIds) {
+        final int from = answerOffsets[question];
+        final int to = answerOffsets[question + 1];
+        final long[] selected = new long[selectedIds.size()];
+        for (int i = 0; i < selected.length; i++) {
+            final Long id = selectedIds.get(i);
+            if (id == null) {
+                return false;
+            }
+            selected[i] = id;
+        }
+        Arrays.sort(selected);
+
+        int correct = 0;
+        for (int i = 0; i < selected.length; i++) {
+            if (i > 0 && selected[i] == selected[i - 1]) {
+                continue;
+            }
+            final int index = Arrays.binarySearch(answerIds, from, to, selected[i]);
+            if (index < 0 || !correctAnswers.get(index)) {
+                return false;
+            }
+            correct++;
+        }
+        return correct == correctCounts[question];
+    }
+
+    private static List<AnswerDo> answersOf(final QuestionDo question) {
+        return question.getAnswers() == null ? List.of() : question.getAnswers();
+    }
+}
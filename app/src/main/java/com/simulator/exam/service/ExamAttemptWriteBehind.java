@@ -0,0 +1,222 @@
+package com.simulator.exam.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.simulator.exam.entity.ExamAttemptResult;
+import com.simulator.exam.exception.ExamAttemptRejectedException;
+import com.simulator.exam.repository.ExamAttemptRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write-behind pipeline of the graded exam attempts. The submissions only queue their results in a bounded queue, a
+ * single flusher thread writes them with JDBC batches once a batch is full or the oldest queued attempt has waited for
+ * the flush interval. When the queue is full the submissions wait for room up to a timeout and are then rejected, so
+ * the database sets the pace instead of being overwhelmed. A failed flush is retried with a backoff, a batch breaking a
+ * constraint is written row by row so that only its invalid rows are dropped. On shutdown the new attempts are
+ * rejected and the queued ones are flushed before the application stops.
+ */
+@Component
+class ExamAttemptWriteBehind {
+
+    private static final Logger LOGGER = Logger.getLogger("application.logger");
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+    private static final long POLL_SLICE_MILLIS = 100;
+
+    private final ExamAttemptRepository examAttemptRepository;
+    private final Executor flushExecutor;
+    private final BlockingQueue<List<ExamAttemptResult>> queue;
+
+    // the attempts being offered, the flusher doesn't stop before they are queued
+    private final AtomicInteger offering = new AtomicInteger();
+    private final CountDownLatch drained = new CountDownLatch(1);
+    private volatile boolean closed;
+
+    private final Timer flushTimer;
+    private final Counter flushedResults;
+    private final Counter flushFailures;
+    private final Counter droppedResults;
+    private final Counter rejections;
+
+    @Setter
+    @Value("${app.exam.attempts.flush-size:500}")
+    private int flushSize = 500;
+
+    @Setter
+    @Value("${app.exam.attempts.flush-interval:PT1S}")
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    @Setter
+    @Value("${app.exam.attempts.offer-timeout:PT5S}")
+    private Duration offerTimeout = Duration.ofSeconds(5);
+
+    @Setter
+    @Value("${app.exam.attempts.shutdown-timeout:PT30S}")
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    @Autowired
+    public ExamAttemptWriteBehind(final ExamAttemptRepository examAttemptRepository,
+            final MeterRegistry meterRegistry,
+            @Value("${app.exam.attempts.queue-capacity:10000}") final int queueCapacity) {
+        this(examAttemptRepository, meterRegistry, queueCapacity, Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "exam-attempts-flush");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    ExamAttemptWriteBehind(final ExamAttemptRepository examAttemptRepository, final MeterRegistry meterRegistry,
+            final int queueCapacity, final Executor flushExecutor) {
+        this.examAttemptRepository = examAttemptRepository;
+        this.flushExecutor = flushExecutor;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        flushTimer = Timer.builder("exam.attempts.flush").description("JDBC batch writes of the exam results")
+                .register(meterRegistry);
+        flushedResults = Counter.builder("exam.attempts.flushed").description("Exam results written")
+                .register(meterRegistry);
+        flushFailures = Counter.builder("exam.attempts.flush.failures").description("Failed writes of a batch")
+                .register(meterRegistry);
+        droppedResults = Counter.builder("exam.attempts.dropped")
+                .description("Exam results dropped because they break a constraint").register(meterRegistry);
+        rejections = Counter.builder("exam.attempts.rejected")
+                .description("Exam attempts rejected because the queue stayed full").register(meterRegistry);
+        Gauge.builder("exam.attempts.queue.depth", queue, BlockingQueue::size)
+                .description("Exam attempts waiting to be written").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        flushExecutor.execute(this::run);
+    }
+
+    /**
+     * Queues the results of a graded attempt, waiting for room when the queue is full.
+     *
+     * @param sessionId the session id
+     * @param results   the results of the questions of the attempt
+     * @throws ExamAttemptRejectedException when the queue stays full or the pipeline is shut down
+     */
+    void record(final String sessionId, final List<ExamAttemptResult> results) {
+        offering.incrementAndGet();
+        try {
+            if (closed || !queue.offer(results, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                rejections.increment();
+                throw new ExamAttemptRejectedException(sessionId);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExamAttemptRejectedException(sessionId);
+        } finally {
+            offering.decrementAndGet();
+        }
+    }
+
+    /**
+     * Rejects the new attempts and waits until the queued ones are written.
+     */
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        try {
+            if (!drained.await(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                LOGGER.log(Level.SEVERE, "{0} exam attempts were not written before the shutdown", queue.size());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (flushExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void run() {
+        List<ExamAttemptResult> batch = new ArrayList<>();
+        try {
+            while (!closed || offering.get() > 0 || !queue.isEmpty()) {
+                // the waits are sliced so that a shutdown is noticed without waiting for the flush interval
+                final List<ExamAttemptResult> first = queue.poll(POLL_SLICE_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.addAll(first);
+                final long deadline = System.nanoTime() + flushInterval.toNanos();
+                while (batch.size() < flushSize) {
+                    final long remaining = deadline - System.nanoTime();
+                    final List<ExamAttemptResult> next = closed || remaining <= 0 ? queue.poll()
+                            : queue.poll(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(POLL_SLICE_MILLIS)),
+                                    TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.addAll(next);
+                    } else if (closed || deadline - System.nanoTime() <= 0) {
+                        break;
+                    }
+                }
+                flush(batch);
+                batch = new ArrayList<>();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.log(Level.SEVERE, "Exam attempts flush interrupted, {0} results were not written",
+                    batch.size());
+        } finally {
+            drained.countDown();
+        }
+    }
+
+    private void flush(final List<ExamAttemptResult> batch) throws InterruptedException {
+        long backoff = 100;
+        while (true) {
+            final long start = System.nanoTime();
+            try {
+                examAttemptRepository.insertResults(batch);
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                flushedResults.increment(batch.size());
+                return;
+            } catch (final DataIntegrityViolationException e) {
+                flushFailures.increment();
+                if (batch.size() > 1) {
+                    // the batch is rolled back, its rows are written one by one so that only the invalid ones are lost
+                    LOGGER.log(Level.WARNING,
+                            "Write of " + batch.size() + " exam results failed, writing them one by one", e);
+                    for (final ExamAttemptResult result : batch) {
+                        flush(List.of(result));
+                    }
+                    return;
+                }
+                // the row breaks a constraint and would fail again, it is dropped instead of blocking the queue
+                final ExamAttemptResult result = batch.get(0);
+                droppedResults.increment();
+                LOGGER.log(Level.SEVERE, "Exam result of question " + result.getQuestionId() + " of session "
+                        + result.getSessionId() + " is dropped", e);
+                return;
+            } catch (final RuntimeException e) {
+                flushFailures.increment();
+                LOGGER.log(Level.WARNING, "Write of " + batch.size() + " exam results failed, retrying", e);
+                Thread.sleep(backoff);
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.simulator.exam.service;
+
+import java.util.List;
+
+import com.simulator.exam.dto.QuestionsStructureDo;
+
+/**
+ * Provides the random exams as serialized JSON, ready to be written in the response. The implementation is selected
+ * through the {@code app.exam.pool.enabled} property.
+ */
+public interface ExamPoolService {
+
+    /**
+     * Returns a random exam following the given structure.
+     *
+     * @param structureList the modules and the number of questions of each one
+     * @return the JSON array of the exam questions
+     */
+    byte[] getExam(final List<QuestionsStructureDo> structureList);
+}
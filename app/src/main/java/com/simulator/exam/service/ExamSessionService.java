@@ -0,0 +1,21 @@
+package com.simulator.exam.service;
+
+import java.util.List;
+
+import com.simulator.exam.dto.ExamResultDo;
+import com.simulator.exam.dto.ExamSessionDo;
+import com.simulator.exam.dto.ExamSubmissionDo;
+import com.simulator.exam.dto.QuestionsStructureDo;
+
+/**
+ * Runs the exam sessions: a session is created from an exam structure, its questions are handed out without the
+ * correctness of the answers and the submitted answers are scored by the server.
+ */
+public interface ExamSessionService {
+
+    ExamSessionDo createSession(List<QuestionsStructureDo> structureList);
+
+    ExamSessionDo getSession(String sessionId);
+
+    ExamResultDo submit(String sessionId, ExamSubmissionDo submission);
+}
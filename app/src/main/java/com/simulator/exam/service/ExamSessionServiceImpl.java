@@ -0,0 +1,251 @@
+package com.simulator.exam.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import com.simulator.exam.dto.ExamAnswerDo;
+import com.simulator.exam.dto.ExamQuestionDo;
+import com.simulator.exam.dto.ExamResultDo;
+import com.simulator.exam.dto.ExamSessionDo;
+import com.simulator.exam.dto.ExamSubmissionDo;
+import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.dto.QuestionsStructureDo;
+import com.simulator.exam.entity.ExamAttemptResult;
+import com.simulator.exam.exception.ExamAttemptRejectedException;
+import com.simulator.exam.exception.ExamSessionNotFoundException;
+import com.simulator.exam.exception.ExamSessionRejectedException;
+import com.simulator.exam.exception.ExamSessionSubmittedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * {@link ExamSessionService} keeping the active sessions in memory. The answer key of a session is built from the
+ * questions handed out when the session is created, so the submissions are graded against the questions the candidate
+ * has seen and without any database access, the results are then persisted by the {@link ExamAttemptWriteBehind}
+ * and added to the module statistics. A session is graded once and forgotten after its time to live, the expired
+ * sessions are purged when the number of active sessions reaches its limit.
+ */
+@Service
+class ExamSessionServiceImpl implements ExamSessionService {
+
+    private static final Logger LOGGER = Logger.getLogger("application.logger");
+
+    private final QuestionService questionService;
+    private final ExamAttemptWriteBehind examAttemptWriteBehind;
+    private final ModuleStatisticsServiceImpl moduleStatisticsService;
+    private final Clock clock;
+
+    private final Map<String, ExamSession> sessions = new ConcurrentHashMap<>();
+
+    private final Timer scoringTimer;
+
+    @Setter
+    @Value("${app.exam.session.ttl:PT2H}")
+    private Duration timeToLive = Duration.ofHours(2);
+
+    @Setter
+    @Value("${app.exam.session.max-active:10000}")
+    private int maxActiveSessions = 10_000;
+
+    @Autowired
+    public ExamSessionServiceImpl(final QuestionService questionService,
+            final ExamAttemptWriteBehind examAttemptWriteBehind,
+            final ModuleStatisticsServiceImpl moduleStatisticsService, final MeterRegistry meterRegistry) {
+        this(questionService, examAttemptWriteBehind, moduleStatisticsService, meterRegistry, Clock.systemUTC());
+    }
+
+    ExamSessionServiceImpl(final QuestionService questionService, final ExamAttemptWriteBehind examAttemptWriteBehind,
+            final ModuleStatisticsServiceImpl moduleStatisticsService, final MeterRegistry meterRegistry,
+            final Clock clock) {
+        this.questionService = questionService;
+        this.examAttemptWriteBehind = examAttemptWriteBehind;
+        this.moduleStatisticsService = moduleStatisticsService;
+        this.clock = clock;
+
+        scoringTimer = Timer.builder("exam.session.scoring").description("Grading of the submitted exam sessions")
+                .register(meterRegistry);
+        Gauge.builder("exam.session.active", sessions, Map::size).description("Number of active exam sessions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Will create a session with random questions following the structure.
+     *
+     * @param structureList the modules and the number of questions of each one
+     * @return the session, without the correctness of the answers
+     */
+    @Override
+    public ExamSessionDo createSession(final List<QuestionsStructureDo> structureList) {
+        if (sessions.size() >= maxActiveSessions) {
+            purgeExpiredSessions();
+            if (sessions.size() >= maxActiveSessions) {
+                throw new ExamSessionRejectedException(maxActiveSessions);
+            }
+        }
+
+        final List<QuestionDo> questions = distinctQuestions(
+                questionService.getQuestionsByStructure(mergeRepeatedModules(structureList)));
+        final Instant createdAt = clock.instant();
+        final ExamSessionDo view = new ExamSessionDo(UUID.randomUUID().toString(), createdAt,
+                createdAt.plus(timeToLive), questions.stream().map(ExamSessionServiceImpl::hideCorrectness).toList());
+        sessions.put(view.getSessionId(), new ExamSession(view, new ExamAnswerKey(questions)));
+        LOGGER.log(Level.FINE, "Exam session {0} created with {1} questions",
+                new Object[] { view.getSessionId(), questions.size() });
+        return view;
+    }
+
+    /**
+     * Merges the entries of a module listed several times, its questions are then sampled once and can't repeat.
+     */
+    private static List<QuestionsStructureDo> mergeRepeatedModules(final List<QuestionsStructureDo> structureList) {
+        final Map<String, Integer> questionsByModule = new LinkedHashMap<>();
+        structureList.forEach(structure -> questionsByModule.merge(structure.getModule(),
+                structure.getQuestionNumber(), Integer::sum));
+        if (questionsByModule.size() == structureList.size()) {
+            return structureList;
+        }
+        final List<QuestionsStructureDo> merged = new ArrayList<>(questionsByModule.size());
+        questionsByModule.forEach((module, number) -> merged.add(new QuestionsStructureDo(module, number)));
+        return merged;
+    }
+
+    /**
+     * Keeps the first occurrence of every question, a session grades and stores each question once.
+     */
+    private static List<QuestionDo> distinctQuestions(final List<QuestionDo> questions) {
+        final Set<Long> ids = new HashSet<>();
+        final List<QuestionDo> distinct = questions.stream().filter(question -> ids.add(question.getId())).toList();
+        return distinct.size() == questions.size() ? questions : distinct;
+    }
+
+    @Override
+    public ExamSessionDo getSession(final String sessionId) {
+        return findActiveSession(sessionId).view;
+    }
+
+    /**
+     * Will grade the submitted answers against the answer key of the session, a session is graded only once. The
+     * results are queued for the write-behind persistence, when they can't be queued the session can be submitted
+     * again.
+     *
+     * @param sessionId  the session id
+     * @param submission the selected answers by question
+     * @return the result
+     */
+    @Override
+    public ExamResultDo submit(final String sessionId, final ExamSubmissionDo submission) {
+        final ExamSession session = findActiveSession(sessionId);
+        if (!session.submitted.compareAndSet(false, true)) {
+            throw new ExamSessionSubmittedException(sessionId);
+        }
+
+        final Map<Long, List<Long>> selections =
+                submission == null || submission.getAnswers() == null ? Map.of() : submission.getAnswers();
+        final List<Integer> incorrectQuestions =
+                scoringTimer.record(() -> session.answerKey.incorrectQuestions(selections));
+        // the persisted attempts are counted on load, the results must not be written before
+        moduleStatisticsService.ensureLoaded();
+        try {
+            examAttemptWriteBehind.record(sessionId,
+                    resultsOf(sessionId, session.answerKey, selections, incorrectQuestions));
+        } catch (final ExamAttemptRejectedException e) {
+            session.submitted.set(false);
+            throw e;
+        }
+        recordStatistics(session, incorrectQuestions);
+        return resultOf(sessionId, session.answerKey, incorrectQuestions);
+    }
+
+    private static ExamResultDo resultOf(final String sessionId, final ExamAnswerKey answerKey,
+            final List<Integer> incorrectQuestions) {
+        final List<Long> incorrectQuestionIds = incorrectQuestions.stream().map(answerKey::questionId).toList();
+        final int questions = answerKey.size();
+        final int correctQuestions = questions - incorrectQuestionIds.size();
+        final double score = questions == 0 ? 0 : 100.0 * correctQuestions / questions;
+        return new ExamResultDo(sessionId, questions, correctQuestions, score, incorrectQuestionIds);
+    }
+
+    private List<ExamAttemptResult> resultsOf(final String sessionId, final ExamAnswerKey answerKey,
+            final Map<Long, List<Long>> selections, final List<Integer> incorrectQuestions) {
+        final Instant submittedAt = clock.instant();
+        final Set<Integer> incorrect = new HashSet<>(incorrectQuestions);
+        final List<ExamAttemptResult> results = new ArrayList<>(answerKey.size());
+        for (int q = 0; q < answerKey.size(); q++) {
+            final long questionId = answerKey.questionId(q);
+            final String selected = Arrays.stream(
+                    answerKey.selectedAnswers(q, selections.getOrDefault(questionId, List.of())))
+                    .mapToObj(Long::toString).collect(Collectors.joining(","));
+            results.add(new ExamAttemptResult(sessionId, questionId, selected, !incorrect.contains(q), submittedAt));
+        }
+        return results;
+    }
+
+    private void recordStatistics(final ExamSession session, final List<Integer> incorrectQuestions) {
+        final Set<Integer> incorrect = new HashSet<>(incorrectQuestions);
+        final List<ExamQuestionDo> questions = session.view.getQuestions();
+        for (int q = 0; q < questions.size(); q++) {
+            moduleStatisticsService.recordAttempt(questions.get(q).getModuleName(), questions.get(q).getId(),
+                    !incorrect.contains(q));
+        }
+    }
+
+    private ExamSession findActiveSession(final String sessionId) {
+        final ExamSession session = sessions.get(sessionId);
+        if (session == null) {
+            throw new ExamSessionNotFoundException(sessionId);
+        }
+        if (isExpired(session)) {
+            sessions.remove(sessionId, session);
+            throw new ExamSessionNotFoundException(sessionId);
+        }
+        return session;
+    }
+
+    private void purgeExpiredSessions() {
+        sessions.values().removeIf(this::isExpired);
+    }
+
+    private boolean isExpired(final ExamSession session) {
+        return !clock.instant().isBefore(session.view.getExpiresAt());
+    }
+
+    private static ExamQuestionDo hideCorrectness(final QuestionDo question) {
+        final List<ExamAnswerDo> answers = question.getAnswers() == null ? List.of()
+                : question.getAnswers().stream().map(a -> new ExamAnswerDo(a.getId(), a.getOption())).toList();
+        return new ExamQuestionDo(question.getId(), question.getDescription(), answers, question.getModuleName());
+    }
+
+    /**
+     * Active session: the view handed to the candidate and the answer key used for the grading.
+     */
+    private static final class ExamSession {
+
+        private final ExamSessionDo view;
+        private final ExamAnswerKey answerKey;
+        private final AtomicBoolean submitted = new AtomicBoolean();
+
+        private ExamSession(final ExamSessionDo view, final ExamAnswerKey answerKey) {
+            this.view = view;
+            this.answerKey = answerKey;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.simulator.exam.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import com.simulator.exam.dto.DuplicateQuestionDo;
+import com.simulator.exam.dto.ImportJobDo;
+import com.simulator.exam.dto.ImportJobStatus;
+import com.simulator.exam.dto.ImportReportDo;
+import lombok.Getter;
+
+/**
+ * State of an import job, written by the import thread and read by the status requests.
+ */
+final class ImportJob {
+
+    @Getter
+    private final String id;
+    private final String moduleName;
+    private final String source;
+    private final long totalBytes;
+    private final Instant submittedAt = Instant.now();
+
+    private ImportJobStatus status = ImportJobStatus.QUEUED;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private long questions;
+    private long answers;
+    private long processedBytes;
+    private long exactDuplicates;
+    private long nearDuplicates;
+    private List<DuplicateQuestionDo> duplicates = List.of();
+    private String error;
+
+    ImportJob(final String id, final String moduleName, final String source, final long totalBytes) {
+        this.id = id;
+        this.moduleName = moduleName;
+        this.source = source;
+        this.totalBytes = totalBytes;
+    }
+
+    synchronized void start() {
+        status = ImportJobStatus.RUNNING;
+        startedAt = Instant.now();
+    }
+
+    synchronized void progress(final ImportReportDo report, final long processedBytes) {
+        this.questions = report.getQuestions();
+        this.answers = report.getAnswers();
+        this.processedBytes = processedBytes;
+        this.exactDuplicates = report.getExactDuplicates();
+        this.nearDuplicates = report.getNearDuplicates();
+        if (duplicates.size() != report.getDuplicates().size()) {
+            duplicates = List.copyOf(report.getDuplicates());
+        }
+    }
+
+    synchronized void succeed() {
+        if (isFinished()) {
+            return;
+        }
+        status = ImportJobStatus.SUCCEEDED;
+        processedBytes = totalBytes;
+        finishedAt = Instant.now();
+    }
+
+    /**
+     * Fails the job unless it is already finished.
+     *
+     * @param error the error message
+     */
+    synchronized void fail(final String error) {
+        if (isFinished()) {
+            return;
+        }
+        status = ImportJobStatus.FAILED;
+        this.error = error;
+        finishedAt = Instant.now();
+    }
+
+    private boolean isFinished() {
+        return status == ImportJobStatus.SUCCEEDED || status == ImportJobStatus.FAILED;
+    }
+
+    synchronized ImportJobDo toDo() {
+        return new ImportJobDo(id, moduleName, source, status, submittedAt, startedAt, finishedAt, questions, answers,
+                processedBytes, totalBytes, rowsPerSecond(), exactDuplicates, nearDuplicates, duplicates, error);
+    }
+
+    /**
+     * @return the committed rows, questions and answers, per second since the start of the job
+     */
+    private double rowsPerSecond() {
+        if (startedAt == null) {
+            return 0;
+        }
+        final long millis = Duration.between(startedAt, finishedAt == null ? Instant.now() : finishedAt).toMillis();
+        return millis == 0 ? 0 : (questions + answers) * 1000.0 / millis;
+    }
+}
@@ -0,0 +1,19 @@
+package com.simulator.exam.service;
+
+import com.simulator.exam.dto.ImportJobDo;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Runs the question imports in the background. A submitted import is queued and its job returned at once, the
+ * progress of the job is then read by its id.
+ */
+public interface ImportJobService {
+
+    ImportJobDo submitLocalFile(String fileName, String moduleName);
+
+    ImportJobDo submitUpload(MultipartFile multipartFile, String moduleName);
+
+    ImportJobDo submitSnapshot(String fileName);
+
+    ImportJobDo getJob(String jobId);
+}
@@ -0,0 +1,370 @@
+package com.simulator.exam.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.simulator.exam.dto.ImportJobDo;
+import com.simulator.exam.dto.ImportReportDo;
+import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.entity.Answer;
+import com.simulator.exam.entity.Question;
+import com.simulator.exam.exception.ImportJobNotFoundException;
+import com.simulator.exam.exception.ImportJobRejectedException;
+import com.simulator.exam.exception.LocalFileNotFoundException;
+import com.simulator.exam.exception.MultipartFileLoaderException;
+import com.simulator.exam.util.ExamUtils;
+import com.simulator.exam.util.QuestionBankSnapshotReader;
+import jakarta.annotation.PreDestroy;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * {@link ImportJobService} running the imports on a dedicated executor with a bounded queue. The file is streamed and
+ * every chunk of questions is committed in its own transaction, so an import holds a database connection only while a
+ * chunk is written and its progress is visible while it runs. An import failing on a chunk keeps the chunks already
+ * committed. The uploads are copied to a temporary file before the request returns, the multipart file not
+ * surviving the request. The finished jobs are retained for the status requests up to a configured number.
+ */
+@Service
+class ImportJobServiceImpl implements ImportJobService {
+
+    private static final Logger LOGGER = Logger.getLogger("application.logger");
+
+    private final QuestionImporter questionImporter;
+    private final TransactionOperations chunkTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Executor importExecutor;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final Queue<String> finishedJobs = new ConcurrentLinkedQueue<>();
+
+    @Setter
+    @Value("${app.question.file.locale.path}")
+    private String filePath;
+
+    @Setter
+    @Value("${app.question.import.jobs.retained:100}")
+    private int retainedJobs = 100;
+
+    @Autowired
+    public ImportJobServiceImpl(final QuestionImporter questionImporter,
+            final PlatformTransactionManager transactionManager, final ApplicationEventPublisher eventPublisher,
+            @Value("${app.question.import.jobs.threads:1}") final int threads,
+            @Value("${app.question.import.jobs.queue-capacity:16}") final int queueCapacity) {
+        this(questionImporter, new TransactionTemplate(transactionManager), eventPublisher,
+                new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(queueCapacity), importThreadFactory()));
+    }
+
+    ImportJobServiceImpl(final QuestionImporter questionImporter, final TransactionOperations chunkTransaction,
+            final ApplicationEventPublisher eventPublisher, final Executor importExecutor) {
+        this.questionImporter = questionImporter;
+        this.chunkTransaction = chunkTransaction;
+        this.eventPublisher = eventPublisher;
+        this.importExecutor = importExecutor;
+    }
+
+    /**
+     * Will queue the import of a local file, a missing file is rejected at once.
+     *
+     * @param fileName   the name of the file
+     * @param moduleName the module of the questions, when not set in the file
+     * @return the queued job
+     */
+    @Override
+    public ImportJobDo submitLocalFile(final String fileName, final String moduleName) {
+        final Path file = Path.of(String.format(filePath, fileName));
+        if (!Files.isRegularFile(file)) {
+            LOGGER.log(Level.WARNING, "File: {0} was not found", file);
+            throw new LocalFileNotFoundException(file.toString(), null);
+        }
+        return submit(file, false, fileName, moduleName);
+    }
+
+    /**
+     * Will copy the uploaded file and queue its import.
+     *
+     * @param multipartFile the uploaded file
+     * @param moduleName    the module of the questions
+     * @return the queued job
+     */
+    @Override
+    public ImportJobDo submitUpload(final MultipartFile multipartFile, final String moduleName) {
+        final Path upload;
+        try {
+            upload = Files.createTempFile("question-import-", ".yaml");
+        } catch (final IOException e) {
+            throw new MultipartFileLoaderException(multipartFile.getOriginalFilename(), e);
+        }
+        try {
+            multipartFile.transferTo(upload);
+        } catch (final IOException e) {
+            deleteUpload(upload);
+            throw new MultipartFileLoaderException(multipartFile.getOriginalFilename(), e);
+        }
+        return submit(upload, true, multipartFile.getOriginalFilename(), moduleName);
+    }
+
+    /**
+     * Will queue the import of a local question bank snapshot, a missing file is rejected at once.
+     *
+     * @param fileName the name of the snapshot file
+     * @return the queued job
+     */
+    @Override
+    public ImportJobDo submitSnapshot(final String fileName) {
+        final Path file = Path.of(String.format(filePath, fileName));
+        if (!Files.isRegularFile(file)) {
+            LOGGER.log(Level.WARNING, "File: {0} was not found", file);
+            throw new LocalFileNotFoundException(file.toString(), null);
+        }
+        return submit(fileName, null, sizeOf(file), job -> runSnapshot(job, file), null);
+    }
+
+    /**
+     * @param jobId the job id
+     * @return the current status of the job
+     */
+    @Override
+    public ImportJobDo getJob(final String jobId) {
+        final ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ImportJobNotFoundException(jobId);
+        }
+        return job.toDo();
+    }
+
+    /**
+     * Interrupts the running imports and drops the queued ones, the jobs not finished are failed. A running import
+     * stops before its next chunk, the chunks already committed are kept.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (importExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+        jobs.values().forEach(job -> job.fail("The import was interrupted by the shutdown"));
+    }
+
+    private ImportJobDo submit(final Path file, final boolean upload, final String source, final String moduleName) {
+        return submit(source, moduleName, sizeOf(file), job -> run(job, file, upload, moduleName),
+                upload ? file : null);
+    }
+
+    private ImportJobDo submit(final String source, @Nullable final String moduleName, final long totalBytes,
+            final Consumer<ImportJob> runner, @Nullable final Path upload) {
+        final ImportJob job = new ImportJob(UUID.randomUUID().toString(), moduleName, source, totalBytes);
+        jobs.put(job.getId(), job);
+        try {
+            importExecutor.execute(() -> runner.accept(job));
+        } catch (final RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            if (upload != null) {
+                deleteUpload(upload);
+            }
+            throw new ImportJobRejectedException(source, e);
+        }
+        LOGGER.log(Level.INFO, "Import job {0} of {1} submitted", new Object[] { job.getId(), source });
+        return job.toDo();
+    }
+
+    private void run(final ImportJob job, final Path file, final boolean upload, final String moduleName) {
+        execute(job, moduleName, upload ? file : null, chunks -> {
+            try (final CountingInputStream stream = new CountingInputStream(Files.newInputStream(file))) {
+                ExamUtils.streamQuestionsFromYaml(stream, moduleName, questionImporter.getChunkSize(),
+                        chunk -> chunks.accept(chunk, stream.count));
+            }
+        });
+    }
+
+    /**
+     * Imports the questions of a snapshot with their own modules, the ids of the snapshot are not kept.
+     */
+    private void runSnapshot(final ImportJob job, final Path file) {
+        execute(job, null, null, chunks -> {
+            final QuestionBankSnapshotReader snapshot = QuestionBankSnapshotReader.open(file);
+            final long totalBytes = sizeOf(file);
+            final int chunkSize = questionImporter.getChunkSize();
+            final List<Question> chunk = new ArrayList<>(chunkSize);
+            final long[] read = new long[1];
+            snapshot.forEachQuestion(question -> {
+                chunk.add(toEntity(question));
+                read[0]++;
+                if (chunk.size() == chunkSize || read[0] == snapshot.size()) {
+                    chunks.accept(List.copyOf(chunk), totalBytes * read[0] / snapshot.size());
+                    chunk.clear();
+                }
+            });
+        });
+    }
+
+    /**
+     * Commits every chunk of the source in its own transaction and publishes the modified modules once done.
+     */
+    private void execute(final ImportJob job, @Nullable final String moduleName, @Nullable final Path upload,
+            final ImportSource source) {
+        job.start();
+        final ImportReportDo report = new ImportReportDo();
+        report.setModuleName(moduleName);
+        final Set<String> modules = new HashSet<>();
+
+        final long start = System.nanoTime();
+        try {
+            source.read((chunk, processedBytes) -> {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("The import was interrupted");
+                }
+                // the counters of a chunk are only added once it is committed
+                final ImportReportDo chunkReport = new ImportReportDo();
+                chunkTransaction.executeWithoutResult(status -> questionImporter.importChunk(chunk, chunkReport));
+                questionImporter.addChunkReport(report, chunkReport);
+                chunk.forEach(question -> modules.add(question.getModuleName()));
+                job.progress(report, processedBytes);
+            });
+            report.setParseMillis((System.nanoTime() - start) / 1_000_000 - report.getDedupeMillis()
+                    - report.getPersistMillis());
+            questionImporter.logReport(report);
+            eventPublisher.publishEvent(new QuestionsImportedEvent(report));
+            job.succeed();
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Import job " + job.getId() + " failed", e);
+            job.fail(e.getMessage());
+        } finally {
+            if (!modules.isEmpty()) {
+                eventPublisher.publishEvent(QuestionBankChangedEvent.forModules(modules));
+            }
+            if (upload != null) {
+                deleteUpload(upload);
+            }
+            retire(job);
+        }
+    }
+
+    /**
+     * Forgets the oldest finished jobs beyond the retained number.
+     */
+    private void retire(final ImportJob job) {
+        finishedJobs.add(job.getId());
+        while (finishedJobs.size() > retainedJobs) {
+            final String oldest = finishedJobs.poll();
+            if (oldest != null) {
+                jobs.remove(oldest);
+            }
+        }
+    }
+
+    private static Question toEntity(final QuestionDo question) {
+        final List<Answer> answers = new ArrayList<>(question.getAnswers().size());
+        question.getAnswers().forEach(answer -> answers.add(new Answer(answer.getOption(), answer.isCorrect())));
+        return new Question(question.getDescription(), answers, question.getModuleName());
+    }
+
+    private static long sizeOf(final Path file) {
+        try {
+            return Files.size(file);
+        } catch (final IOException e) {
+            return 0;
+        }
+    }
+
+    private static void deleteUpload(final Path upload) {
+        try {
+            Files.deleteIfExists(upload);
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, "The uploaded file {0} can't be deleted", upload);
+        }
+    }
+
+    private static ThreadFactory importThreadFactory() {
+        final AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "question-import-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Source of the questions of an import, passing them chunk by chunk with the bytes of the file processed so far.
+     */
+    @FunctionalInterface
+    private interface ImportSource {
+
+        void read(ChunkConsumer chunks) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ChunkConsumer {
+
+        void accept(List<Question> chunk, long processedBytes);
+    }
+
+    /**
+     * Counts the bytes read from the imported file, the parser reading ahead the count is slightly in advance.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private volatile long count;
+
+        private CountingInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int read = super.read();
+            if (read >= 0) {
+                count++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.simulator.exam.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import com.simulator.exam.dto.QuestionsStructureDo;
+import com.simulator.exam.repository.QuestionRepository;
+import com.simulator.exam.util.ExamUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Sampler keeping an in-memory index with the question ids of every module. The random ids are picked from the index
+ * without any query, so the cost of a request no longer depends on the size of the bank. The index of a module is
+ * loaded on first use and dropped whenever the module is modified.
+ */
+@Component
+@ConditionalOnProperty(name = "app.question.sampling.strategy", havingValue = "indexed", matchIfMissing = true)
+class IndexedQuestionSampler implements QuestionSampler {
+
+    private final QuestionRepository questionRepository;
+
+    private final Map<String, long[]> moduleIndex = new ConcurrentHashMap<>();
+    private final ModuleGenerations generations = new ModuleGenerations();
+
+    public IndexedQuestionSampler(final QuestionRepository questionRepository) {
+        this.questionRepository = questionRepository;
+    }
+
+    /**
+     * Samples the questions of a module, loading its index outside of the map when it is not indexed yet. A module
+     * evicted while it was loading is sampled but not indexed.
+     *
+     * @param module            the module name
+     * @param numberOfQuestions the number of questions to pick
+     * @return the picked ids in random order
+     */
+    @Override
+    public List<Long> sampleByModule(final String module, final int numberOfQuestions) {
+        final long[] ids = moduleIndex.get(module);
+        if (ids != null) {
+            return pickIds(ids, numberOfQuestions);
+        }
+        final long generation = generations.get(module);
+        return pickIds(install(module, generation, loadModuleIds(module)), numberOfQuestions);
+    }
+
+    /**
+     * Samples all the entries of the structure with at most one query whatever the number of modules, loading the
+     * index of the modules not indexed yet.
+     *
+     * @param structureList the modules and the number of questions of each one
+     * @return for every entry of the structure, in the same order, its questions in random order
+     */
+    @Override
+    public List<List<Long>> sampleByStructure(final List<QuestionsStructureDo> structureList) {
+        final Map<String, long[]> indexes =
+                getModules(structureList.stream().map(QuestionsStructureDo::getModule).collect(Collectors.toSet()));
+
+        final List<List<Long>> pickedIdsByEntry = new ArrayList<>(structureList.size());
+        for (final QuestionsStructureDo structure : structureList) {
+            final long[] ids = indexes.getOrDefault(structure.getModule(), new long[0]);
+            pickedIdsByEntry.add(pickIds(ids, structure.getQuestionNumber()));
+        }
+        return pickedIdsByEntry;
+    }
+
+    @Override
+    public List<Long> sampleAll() {
+        final List<Long> ids = new ArrayList<>(questionRepository.findAllIds());
+        Collections.shuffle(ids, ThreadLocalRandom.current());
+        return ids;
+    }
+
+    /**
+     * Drops the index of the modified modules, they are reloaded on the next request.
+     *
+     * @param event the change event
+     */
+    @Order(QuestionBankChangedEvent.EVICTION_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionBankChanged(final QuestionBankChangedEvent event) {
+        if (event.affectsAllModules()) {
+            generations.evictAll();
+            moduleIndex.clear();
+        } else {
+            event.getModules().forEach(module -> {
+                generations.evict(module);
+                moduleIndex.remove(module);
+            });
+        }
+    }
+
+    /**
+     * Returns the index of the given modules, the modules not indexed yet are loaded with a single query. A loaded
+     * module evicted while it was loading is returned but not indexed.
+     */
+    private Map<String, long[]> getModules(final Set<String> modules) {
+        final Map<String, long[]> indexes = new HashMap<>();
+        final Map<String, Long> loadedGenerations = new HashMap<>();
+        for (final String module : modules) {
+            final long[] ids = module == null ? null : moduleIndex.get(module);
+            if (ids != null) {
+                indexes.put(module, ids);
+            } else if (module != null) {
+                loadedGenerations.put(module, generations.get(module));
+            }
+        }
+        if (loadedGenerations.isEmpty()) {
+            return indexes;
+        }
+
+        final Map<String, List<Long>> idsByModule = new HashMap<>();
+        questionRepository.findIdsByModuleNameIn(loadedGenerations.keySet()).forEach(
+                row -> idsByModule.computeIfAbsent(row.getModuleName(), m -> new ArrayList<>()).add(row.getId()));
+        loadedGenerations.forEach((module, generation) -> indexes.put(module, install(module, generation,
+                idsByModule.getOrDefault(module, List.of()).stream().mapToLong(Long::longValue).toArray())));
+        return indexes;
+    }
+
+    /**
+     * Indexes the loaded ids of a module unless the module was evicted since the given generation was read.
+     *
+     * @return the indexed ids, or the loaded ones when the module was evicted
+     */
+    private long[] install(final String module, final long generation, final long[] loaded) {
+        final long[] indexed = moduleIndex.compute(module,
+                (m, current) -> current != null ? current : generations.get(m) == generation ? loaded : null);
+        return indexed != null ? indexed : loaded;
+    }
+
+    private static List<Long> pickIds(final long[] ids, final int numberOfQuestions) {
+        final int[] picked = ExamUtils.sampleIndexes(ids.length, numberOfQuestions, ThreadLocalRandom.current());
+        final List<Long> pickedIds = new ArrayList<>(picked.length);
+        for (final int index : picked) {
+            pickedIds.add(ids[index]);
+        }
+        return pickedIds;
+    }
+
+    private long[] loadModuleIds(final String module) {
+        return questionRepository.findIdsByModuleName(module).stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,269 @@
+package com.simulator.exam.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.BulkResultDo;
+import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.dto.QuestionPageDo;
+import com.simulator.exam.dto.QuestionsStructureDo;
+import com.simulator.exam.entity.Answer;
+import com.simulator.exam.entity.Question;
+import com.simulator.exam.exception.InvalidPageRequestException;
+import com.simulator.exam.exception.ModuleNotFoundException;
+import com.simulator.exam.util.ExamUtils;
+import com.simulator.exam.util.QuestionBankSnapshotReader;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link QuestionService} serving the reads from the {@link MappedQuestionStore}, the exams are sampled on the
+ * question offsets of the module index and only the picked questions are decoded. The writes are delegated to
+ * {@link QuestionServiceImp}, the reads see them once the store is rebuilt. The reads fall back to the database until
+ * the first store is published, and for the ids missing from the store.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "app.question.mapped-store.enabled", havingValue = "true")
+class MappedQuestionService implements QuestionService {
+
+    private final QuestionServiceImp delegate;
+    private final MappedQuestionStore mappedQuestionStore;
+
+    @Setter
+    @Value("${app.question.page.max-size:500}")
+    private int maxPageSize = 500;
+
+    public MappedQuestionService(final QuestionServiceImp delegate, final MappedQuestionStore mappedQuestionStore) {
+        this.delegate = delegate;
+        this.mappedQuestionStore = mappedQuestionStore;
+    }
+
+    /**
+     * Will return all the questions of the store in random order.
+     *
+     * @return list of random questions
+     */
+    @Override
+    public List<QuestionDo> getRandomQuestions() {
+        final QuestionBankSnapshotReader store = mappedQuestionStore.getStore();
+        if (store == null) {
+            return delegate.getRandomQuestions();
+        }
+        final int[] picked = ExamUtils.sampleIndexes((int) store.size(), (int) store.size(),
+                ThreadLocalRandom.current());
+        final List<QuestionDo> questions = new ArrayList<>(picked.length);
+        for (final int index : picked) {
+            questions.add(store.getQuestionAt(index));
+        }
+        return questions;
+    }
+
+    /**
+     * Picks the random questions on the offsets of the module in the store.
+     *
+     * @param module            the module name
+     * @param numberOfQuestions the number of questions to retrieve
+     * @return list of random questions
+     */
+    @Override
+    public List<QuestionDo> getRandomQuestionsByModule(final String module, final int numberOfQuestions) {
+        if (!StringUtils.hasText(module)) {
+            throw new ModuleNotFoundException(module);
+        }
+        final QuestionBankSnapshotReader store = mappedQuestionStore.getStore();
+        if (store == null) {
+            return delegate.getRandomQuestionsByModule(module, numberOfQuestions);
+        }
+        return sample(store, module, numberOfQuestions);
+    }
+
+    /**
+     * Picks the questions of every module of the structure from the store.
+     *
+     * @param structureList the list of question structures
+     * @return the list of matching questions
+     */
+    @Override
+    public List<QuestionDo> getQuestionsByStructure(final List<QuestionsStructureDo> structureList) {
+        structureList.forEach(structure -> {
+            if (!StringUtils.hasText(structure.getModule())) {
+                throw new ModuleNotFoundException(structure.getModule());
+            }
+        });
+        final QuestionBankSnapshotReader store = mappedQuestionStore.getStore();
+        if (store == null) {
+            return delegate.getQuestionsByStructure(structureList);
+        }
+        final List<QuestionDo> questions = new ArrayList<>();
+        structureList.forEach(structure -> questions.addAll(
+                sample(store, structure.getModule(), structure.getQuestionNumber())));
+        return questions;
+    }
+
+    @Override
+    public List<QuestionDo> getAllQuestions() {
+        final QuestionBankSnapshotReader store = mappedQuestionStore.getStore();
+        if (store == null) {
+            return delegate.getAllQuestions();
+        }
+        final List<QuestionDo> questions = new ArrayList<>((int) store.size());
+        forEachInIdOrder(store, 0, (int) store.size(), questions::add);
+        return questions;
+    }
+
+    /**
+     * Will return a page of questions ordered by id, the first question of the page is found with a binary search on
+     * the id index of the store.
+     *
+     * @param after the id of the last question of the previous page, null for the first page
+     * @param size  the page size
+     * @return the page of questions
+     */
+    @Override
+    public QuestionPageDo getQuestionsPage(@Nullable final Long after, final int size) {
+        if (size <= 0 || size > maxPageSize) {
+            throw new InvalidPageRequestException(size, maxPageSize);
+        }
+        final QuestionBankSnapshotReader store = mappedQuestionStore.getStore();
+        if (store == null) {
+            return delegate.getQuestionsPage(after, size);
+        }
+        final int from = after == null ? 0 : store.indexAfter(after);
+        final int to = (int) Math.min(store.size(), (long) from + size);
+        final List<QuestionDo> questions = new ArrayList<>(to - from);
+        forEachInIdOrder(store, from, to, questions::add);
+        return new QuestionPageDo(questions,
+                questions.size() == size ? questions.get(questions.size() - 1).getId() : null);
+    }
+
+    @Override
+    public long exportQuestions(final Consumer<QuestionDo> consumer) {
+        final QuestionBankSnapshotReader store = mappedQuestionStore.getStore();
+        if (store == null) {
+            return delegate.exportQuestions(consumer);
+        }
+        forEachInIdOrder(store, 0, (int) store.size(), consumer);
+        return store.size();
+    }
+
+    @Override
+    public List<QuestionDo> getQuestionsByModule(final String module) {
+        final QuestionBankSnapshotReader store = mappedQuestionStore.getStore();
+        return store == null ? delegate.getQuestionsByModule(module) : store.getQuestions(module);
+    }
+
+    /**
+     * Serves the question from the id index of the store, a question missing from the store is read from the
+     * database as it may have been created since the last rebuild.
+     *
+     * @param id the question id
+     * @return the question
+     */
+    @Override
+    public QuestionDo getQuestionById(final Long id) {
+        final QuestionBankSnapshotReader store = mappedQuestionStore.getStore();
+        final QuestionDo question = store == null ? null : store.getQuestion(id);
+        return question != null ? question : delegate.getQuestionById(id);
+    }
+
+    @Override
+    public List<AnswerDo> getAnswersForQuestionId(final Long id) {
+        return getQuestionById(id).getAnswers();
+    }
+
+    @Override
+    public void saveQuestions(final List<Question> questions) {
+        delegate.saveQuestions(questions);
+    }
+
+    @Override
+    public void saveAnswersForThGivenQuestion(final Long id, final List<Answer> question) {
+        delegate.saveAnswersForThGivenQuestion(id, question);
+    }
+
+    @Override
+    public void deleteGivenQuestion(final List<Question> question) {
+        delegate.deleteGivenQuestion(question);
+    }
+
+    @Override
+    public void deleteQuestionById(final long id) {
+        delegate.deleteQuestionById(id);
+    }
+
+    @Override
+    public void deleteAnswersForGivenQuestion(final long id) {
+        delegate.deleteAnswersForGivenQuestion(id);
+    }
+
+    @Override
+    public List<QuestionDo> updateQuestion(final List<Question> questions) {
+        return delegate.updateQuestion(questions);
+    }
+
+    @Override
+    public QuestionDo updateQuestionById(final Question question, final Long id) {
+        return delegate.updateQuestionById(question, id);
+    }
+
+    @Override
+    public QuestionDo updateQuestionAnswersByQuestionId(final List<Answer> answers, final Long id) {
+        return delegate.updateQuestionAnswersByQuestionId(answers, id);
+    }
+
+    @Override
+    public QuestionDo updatedQuestionPropertiesById(final Long id, final Question question) {
+        return delegate.updatedQuestionPropertiesById(id, question);
+    }
+
+    @Override
+    public List<QuestionDo> updatedQuestionsPropertiesById(final List<Question> question) {
+        return delegate.updatedQuestionsPropertiesById(question);
+    }
+
+    @Override
+    public BulkResultDo bulkUpdateQuestions(final List<Question> questions) {
+        return delegate.bulkUpdateQuestions(questions);
+    }
+
+    @Override
+    public BulkResultDo bulkUpdateQuestionsProperties(final List<Question> questions) {
+        return delegate.bulkUpdateQuestionsProperties(questions);
+    }
+
+    @Override
+    public BulkResultDo bulkDeleteQuestions(final List<Long> ids) {
+        return delegate.bulkDeleteQuestions(ids);
+    }
+
+    private static void forEachInIdOrder(final QuestionBankSnapshotReader store, final int from, final int to,
+            final Consumer<QuestionDo> consumer) {
+        for (int index = from; index < to; index++) {
+            consumer.accept(store.getQuestionAt(index));
+        }
+    }
+
+    private static List<QuestionDo> sample(final QuestionBankSnapshotReader store, final String module,
+            final int numberOfQuestions) {
+        final int size = store.size(module);
+        if (size == 0) {
+            throw new ModuleNotFoundException(module);
+        }
+
+        final int[] picked = ExamUtils.sampleIndexes(size, numberOfQuestions, ThreadLocalRandom.current());
+        final List<QuestionDo> questions = new ArrayList<>(picked.length);
+        for (final int index : picked) {
+            questions.add(store.getQuestion(module, index));
+        }
+        return questions;
+    }
+}
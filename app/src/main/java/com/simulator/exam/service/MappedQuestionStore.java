@@ -0,0 +1,219 @@
+package com.simulator.exam.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.simulator.exam.exception.QuestionBankSnapshotException;
+import com.simulator.exam.util.QuestionBankSnapshotReader;
+import com.simulator.exam.util.QuestionBankSnapshotWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Off-heap read store of the question bank. The bank is exported from the database to a snapshot file which is
+ * memory-mapped, the questions are decoded from the mapping when they are read and the heap only holds the decoded
+ * answer options. The store is rebuilt in the background after a committed change of the bank and the new mapping
+ * replaces the previous one atomically, a reader keeps the mapping it started with. A rebuild waits for the rebuild
+ * delay first, the changes committed until it starts its export are all read by it, and those committed during the
+ * export trigger a single new rebuild. A {@link MappedQuestionStoreSwappedEvent} lists the changes held by the new
+ * store once it is swapped in.
+ */
+@Component
+@ConditionalOnProperty(name = "app.question.mapped-store.enabled", havingValue = "true")
+class MappedQuestionStore {
+
+    private static final Logger LOGGER = Logger.getLogger("application.logger");
+
+    private final QuestionServiceImp questionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Executor rebuildExecutor;
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    // the modules changed since the export of the current store started, guarded by the set
+    private final Set<String> changedModules = new HashSet<>();
+    private boolean allModulesChanged;
+    private final Timer rebuildTimer;
+    private final Counter rebuildFailures;
+
+    @Nullable
+    private volatile QuestionBankSnapshotReader store;
+
+    @Setter
+    @Value("${app.question.mapped-store.path:snapshots/question-store.qbs}")
+    private String storePath = "snapshots/question-store.qbs";
+
+    @Setter
+    @Value("${app.question.mapped-store.rebuild-at-startup:true}")
+    private boolean rebuildAtStartup = true;
+
+    @Setter
+    @Value("${app.question.mapped-store.rebuild-delay:PT2S}")
+    private Duration rebuildDelay = Duration.ofSeconds(2);
+
+    @Autowired
+    public MappedQuestionStore(final QuestionServiceImp questionService,
+            final ApplicationEventPublisher eventPublisher, final MeterRegistry meterRegistry) {
+        this(questionService, eventPublisher, meterRegistry, Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "question-store-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    MappedQuestionStore(final QuestionServiceImp questionService, final ApplicationEventPublisher eventPublisher,
+            final MeterRegistry meterRegistry, final Executor rebuildExecutor) {
+        this.questionService = questionService;
+        this.eventPublisher = eventPublisher;
+        this.rebuildExecutor = rebuildExecutor;
+        rebuildTimer = Timer.builder("exam.question.mapped-store.rebuild")
+                .description("Exports of the bank to the mapped question store").register(meterRegistry);
+        rebuildFailures = Counter.builder("exam.question.mapped-store.rebuild.failures")
+                .description("Rebuilds of the mapped question store that failed").register(meterRegistry);
+        Gauge.builder("exam.question.mapped-store.questions", this, MappedQuestionStore::size)
+                .description("Number of questions in the mapped question store").register(meterRegistry);
+    }
+
+    /**
+     * Maps the store once the application is ready. The store is built from the database unless the rebuild at
+     * startup is disabled and a store file is present, a node can then serve a store copied from another one.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void open() {
+        final Path path = Path.of(storePath);
+        if (!rebuildAtStartup && Files.isRegularFile(path)) {
+            try {
+                store = QuestionBankSnapshotReader.open(path);
+                LOGGER.log(Level.INFO, "Mapped question store {0} opened with {1} questions",
+                        new Object[] { path, size() });
+                return;
+            } catch (final QuestionBankSnapshotException e) {
+                LOGGER.log(Level.WARNING, "The mapped question store can't be opened, it is rebuilt", e);
+            }
+        }
+        requestRebuild(Duration.ZERO);
+    }
+
+    /**
+     * Rebuilds the store once the change is committed, after the rebuild delay.
+     *
+     * @param event the change event
+     */
+    @Order(QuestionBankChangedEvent.EVICTION_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionBankChanged(final QuestionBankChangedEvent event) {
+        synchronized (changedModules) {
+            if (event.affectsAllModules()) {
+                allModulesChanged = true;
+            } else {
+                changedModules.addAll(event.getModules());
+            }
+        }
+        requestRebuild(rebuildDelay);
+    }
+
+    /**
+     * @return the current store, null until the first one is published
+     */
+    @Nullable
+    QuestionBankSnapshotReader getStore() {
+        return store;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (rebuildExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void requestRebuild(final Duration delay) {
+        if (!rebuildPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuildExecutor.execute(() -> rebuild(delay));
+        } catch (final RejectedExecutionException e) {
+            rebuildPending.set(false);
+            LOGGER.log(Level.WARNING, "The rebuild of the mapped question store was rejected", e);
+        }
+    }
+
+    private void rebuild(final Duration delay) {
+        if (!delay.isZero()) {
+            // the changes committed during the delay are coalesced into this rebuild
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rebuildPending.set(false);
+                return;
+            }
+        }
+        final Set<String> modules;
+        final boolean allModules;
+        synchronized (changedModules) {
+            // the changes committed from now on are not guaranteed to be read by this export
+            rebuildPending.set(false);
+            modules = Set.copyOf(changedModules);
+            allModules = allModulesChanged;
+            changedModules.clear();
+            allModulesChanged = false;
+        }
+
+        final long start = System.nanoTime();
+        final Path path = Path.of(storePath);
+        try (QuestionBankSnapshotWriter writer = new QuestionBankSnapshotWriter(path)) {
+            questionService.exportQuestions(writer::add);
+            writer.finish();
+            store = QuestionBankSnapshotReader.open(path);
+        } catch (final IOException | RuntimeException e) {
+            synchronized (changedModules) {
+                // the changes are left to the next store
+                changedModules.addAll(modules);
+                allModulesChanged |= allModules;
+            }
+            rebuildFailures.increment();
+            LOGGER.log(Level.WARNING, "The mapped question store can't be rebuilt, the previous one is kept", e);
+            return;
+        }
+        rebuildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        LOGGER.log(Level.INFO, "Mapped question store {0} rebuilt with {1} questions in {2} ms",
+                new Object[] { path, size(), (System.nanoTime() - start) / 1_000_000 });
+        if (allModules || !modules.isEmpty()) {
+            final QuestionBankChangedEvent change = allModules ? QuestionBankChangedEvent.forAllModules()
+                    : QuestionBankChangedEvent.forModules(modules);
+            eventPublisher.publishEvent(new MappedQuestionStoreSwappedEvent(change));
+        }
+    }
+
+    private long size() {
+        final QuestionBankSnapshotReader current = store;
+        return current == null ? 0 : current.size();
+    }
+}
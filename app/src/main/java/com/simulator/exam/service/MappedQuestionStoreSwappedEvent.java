@@ -0,0 +1,18 @@
+package com.simulator.exam.service;
+
+import lombok.Getter;
+
+/**
+ * Event published by the {@link MappedQuestionStore} once a rebuilt store is swapped in, with the changes of the bank
+ * the new store is the first one to hold. The components deriving state from the reads of the store refresh it then,
+ * as the reads following the commit of a change are still served by the previous store.
+ */
+@Getter
+public class MappedQuestionStoreSwappedEvent {
+
+    private final QuestionBankChangedEvent change;
+
+    public MappedQuestionStoreSwappedEvent(final QuestionBankChangedEvent change) {
+        this.change = change;
+    }
+}
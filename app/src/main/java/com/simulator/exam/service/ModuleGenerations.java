@@ -0,0 +1,34 @@
+package com.simulator.exam.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generation of every module of a cache, bumped by its evictions before the cached entries are removed. A cache loading
+ * several modules with a single query reads their generations before the query and installs a loaded module only when
+ * its generation is unchanged, otherwise a change committed and evicted during the query would be cached for good.
+ * The install is checked within a {@code compute} on the key of the module, so it can't interleave with the removal of
+ * the eviction.
+ */
+final class ModuleGenerations {
+
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+    private final AtomicLong allModules = new AtomicLong();
+
+    /**
+     * @param module the module name
+     * @return the current generation of the module, it grows with every eviction of the module or of all modules
+     */
+    long get(final String module) {
+        return allModules.get() + generations.getOrDefault(module, 0L);
+    }
+
+    void evict(final String module) {
+        generations.merge(module, 1L, Long::sum);
+    }
+
+    void evictAll() {
+        allModules.incrementAndGet();
+    }
+}
@@ -0,0 +1,19 @@
+package com.simulator.exam.service;
+
+import java.util.List;
+
+import com.simulator.exam.dto.ModuleStatisticsDo;
+import com.simulator.exam.dto.QuestionStatisticsDo;
+
+/**
+ * Serves the statistics of the modules from memory: the number of questions and answers of every module and how often
+ * its questions are answered correctly in the graded exam sessions.
+ */
+public interface ModuleStatisticsService {
+
+    List<ModuleStatisticsDo> getModules();
+
+    ModuleStatisticsDo getModule(String module);
+
+    List<QuestionStatisticsDo> getQuestionStatistics(String module);
+}
@@ -0,0 +1,228 @@
+package com.simulator.exam.service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.simulator.exam.dto.ModuleStatisticsDo;
+import com.simulator.exam.dto.QuestionStatisticsDo;
+import com.simulator.exam.exception.ModuleNotFoundException;
+import com.simulator.exam.repository.ExamAttemptRepository;
+import com.simulator.exam.repository.QuestionAttemptCount;
+import com.simulator.exam.repository.QuestionRepository;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * {@link ModuleStatisticsService} keeping the counters of every module in memory. The counters are loaded on first use
+ * with one grouped query for the bank and one for the persisted attempts, then maintained incrementally: a committed
+ * change of the bank recounts only the modules of the change and every graded question adds its attempt to the
+ * counters. The attempts are counted in the module the question belonged to when the exam was created.
+ */
+@Service
+class ModuleStatisticsServiceImpl implements ModuleStatisticsService {
+
+    private static final Logger LOGGER = Logger.getLogger("application.logger");
+
+    private final QuestionRepository questionRepository;
+    private final ExamAttemptRepository examAttemptRepository;
+
+    private final Map<String, ModuleCounters> modules = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public ModuleStatisticsServiceImpl(final QuestionRepository questionRepository,
+            final ExamAttemptRepository examAttemptRepository) {
+        this.questionRepository = questionRepository;
+        this.examAttemptRepository = examAttemptRepository;
+    }
+
+    /**
+     * Will return the statistics of the modules which have questions, ordered by module name.
+     *
+     * @return the module statistics
+     */
+    @Override
+    public List<ModuleStatisticsDo> getModules() {
+        ensureLoaded();
+        return modules.entrySet().stream().filter(entry -> entry.getValue().questions > 0)
+                .sorted(Map.Entry.comparingByKey()).map(entry -> toModuleDo(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    /**
+     * Will return the statistics of a module.
+     *
+     * @param module the module name
+     * @return the module statistics
+     * @throws ModuleNotFoundException when the module has no questions
+     */
+    @Override
+    public ModuleStatisticsDo getModule(final String module) {
+        return toModuleDo(module, findModuleOrThrowException(module));
+    }
+
+    /**
+     * Will return the statistics of the attempted questions of a module, ordered by question id.
+     *
+     * @param module the module name
+     * @return the question statistics
+     * @throws ModuleNotFoundException when the module has no questions
+     */
+    @Override
+    public List<QuestionStatisticsDo> getQuestionStatistics(final String module) {
+        return findModuleOrThrowException(module).questionsById.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey()).map(entry -> toQuestionDo(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    /**
+     * Tells from memory whether the module has questions, without any query once the counters are loaded.
+     *
+     * @param module the module name
+     * @return true when the module has at least one question
+     */
+    boolean hasQuestions(final String module) {
+        ensureLoaded();
+        final ModuleCounters counters = modules.get(module);
+        return counters != null && counters.questions > 0;
+    }
+
+    /**
+     * Adds a graded attempt of a question to the counters of its module.
+     *
+     * @param module     the module of the question when the exam was created
+     * @param questionId the question id
+     * @param correct    whether the question was answered correctly
+     */
+    void recordAttempt(final String module, final long questionId, final boolean correct) {
+        if (module == null) {
+            return;
+        }
+        ensureLoaded();
+        modules.computeIfAbsent(module, m -> new ModuleCounters()).record(questionId, 1, correct ? 1 : 0);
+    }
+
+    /**
+     * Recounts the questions and answers of the modified modules, a change without modules recounts the whole bank.
+     *
+     * @param event the change event
+     */
+    @Order(QuestionBankChangedEvent.EVICTION_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onQuestionBankChanged(final QuestionBankChangedEvent event) {
+        if (!loaded) {
+            // the counters are not loaded yet, the first use reads the committed bank
+            return;
+        }
+        recount(event.affectsAllModules() ? null : event.getModules());
+    }
+
+    private ModuleCounters findModuleOrThrowException(final String module) {
+        ensureLoaded();
+        final ModuleCounters counters = modules.get(module);
+        if (counters == null || counters.questions == 0) {
+            throw new ModuleNotFoundException(module);
+        }
+        return counters;
+    }
+
+    /**
+     * Loads the counters when they are not loaded yet. The attempts are read from the database on load, so a caller
+     * about to persist attempts loads the counters first, otherwise attempts written before the load would be
+     * counted twice, once read and once recorded.
+     */
+    void ensureLoaded() {
+        if (!loaded) {
+            load();
+        }
+    }
+
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        recount(null);
+        final List<QuestionAttemptCount> attempts = examAttemptRepository.countResultsByQuestion();
+        attempts.forEach(count -> modules.computeIfAbsent(count.getModuleName(), m -> new ModuleCounters())
+                .record(count.getQuestionId(), count.getAttempts(), count.getCorrectAttempts()));
+        loaded = true;
+        LOGGER.log(Level.INFO, "Statistics loaded for {0} modules and {1} attempted questions",
+                new Object[] { modules.size(), attempts.size() });
+    }
+
+    /**
+     * Replaces the question and answer counts of the given modules, all the modules when null.
+     */
+    private void recount(final Collection<String> recounted) {
+        final Set<String> missing = new HashSet<>(recounted == null ? modules.keySet() : recounted);
+        final List<QuestionRepository.ModuleCount> counts = recounted == null ? questionRepository.countByModule()
+                : questionRepository.countByModuleIn(recounted);
+        counts.forEach(count -> {
+            modules.computeIfAbsent(count.getModuleName(), m -> new ModuleCounters())
+                    .setBank(count.getQuestions(), count.getAnswers());
+            missing.remove(count.getModuleName());
+        });
+        // the modules left without questions keep the counters of their past attempts
+        missing.forEach(module -> {
+            final ModuleCounters counters = modules.get(module);
+            if (counters != null) {
+                counters.setBank(0, 0);
+            }
+        });
+    }
+
+    private static ModuleStatisticsDo toModuleDo(final String module, final ModuleCounters counters) {
+        final long attempts = counters.attempts.sum();
+        final long correctAttempts = counters.correctAttempts.sum();
+        return new ModuleStatisticsDo(module, counters.questions, counters.answers, attempts, correctAttempts,
+                successRate(attempts, correctAttempts));
+    }
+
+    private static QuestionStatisticsDo toQuestionDo(final Long questionId, final QuestionCounters counters) {
+        final long attempts = counters.attempts.sum();
+        final long correctAttempts = counters.correctAttempts.sum();
+        return new QuestionStatisticsDo(questionId, attempts, correctAttempts, successRate(attempts, correctAttempts));
+    }
+
+    private static double successRate(final long attempts, final long correctAttempts) {
+        return attempts == 0 ? 0 : 100.0 * correctAttempts / attempts;
+    }
+
+    /**
+     * Counters of a module, the bank counts are replaced by the recounts and the attempts only grow.
+     */
+    private static final class ModuleCounters {
+
+        private volatile long questions;
+        private volatile long answers;
+        private final LongAdder attempts = new LongAdder();
+        private final LongAdder correctAttempts = new LongAdder();
+        private final Map<Long, QuestionCounters> questionsById = new ConcurrentHashMap<>();
+
+        private void setBank(final long questions, final long answers) {
+            this.questions = questions;
+            this.answers = answers;
+        }
+
+        private void record(final long questionId, final long attempted, final long correct) {
+            final QuestionCounters question = questionsById.computeIfAbsent(questionId, id -> new QuestionCounters());
+            question.attempts.add(attempted);
+            question.correctAttempts.add(correct);
+            attempts.add(attempted);
+            correctAttempts.add(correct);
+        }
+    }
+
+    private static final class QuestionCounters {
+
+        private final LongAdder attempts = new LongAdder();
+        private final LongAdder correctAttempts = new LongAdder();
+    }
+}
@@ -0,0 +1,30 @@
+package com.simulator.exam.service;
+
+import java.util.List;
+
+import com.simulator.exam.dto.QuestionsStructureDo;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * {@link ExamPoolService} generating every exam at request time, used when the exam pools are disabled.
+ */
+@Service
+@ConditionalOnProperty(name = "app.exam.pool.enabled", havingValue = "false")
+class OnDemandExamService implements ExamPoolService {
+
+    private final QuestionService questionService;
+    private final QuestionJsonWriter questionJsonWriter;
+
+    public OnDemandExamService(final QuestionService questionService,
+            final QuestionJsonWriter questionJsonWriter) {
+        this.questionService = questionService;
+        this.questionJsonWriter = questionJsonWriter;
+    }
+
+    @Override
+    public byte[] getExam(final List<QuestionsStructureDo> structureList) {
+        final long version = questionJsonWriter.version();
+        return questionJsonWriter.toJsonArray(questionService.getQuestionsByStructure(structureList), version);
+    }
+}
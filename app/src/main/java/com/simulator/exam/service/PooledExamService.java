@@ -0,0 +1,286 @@
+package com.simulator.exam.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import com.simulator.exam.dto.QuestionsStructureDo;
+import com.simulator.exam.exception.ModuleNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * {@link ExamPoolService} keeping, for every exam structure requested so far, a bounded ring of exams generated and
+ * serialized in advance. A request pops a ready exam and the ring is topped up in the background, so a burst of
+ * requests for the same exam doesn't reach the database. When the ring is empty the exam is generated at request
+ * time. The rings of the modified modules are emptied and refilled after every committed change of the bank. Once
+ * the maximum number of rings is reached, a new structure replaces the least recently used ring when it has been idle
+ * for the idle timeout, the structures of too many questions are never pooled.
+ */
+@Service
+@ConditionalOnProperty(name = "app.exam.pool.enabled", havingValue = "true", matchIfMissing = true)
+class PooledExamService implements ExamPoolService {
+
+    private static final Logger LOGGER = Logger.getLogger("application.logger");
+
+    private final QuestionService questionService;
+    private final QuestionJsonWriter questionJsonWriter;
+    private final MeterRegistry meterRegistry;
+    private final Executor refillExecutor;
+
+    private final Map<String, ExamPool> pools = new ConcurrentHashMap<>();
+    // pools created or about to be, a slot is reserved before the pool is added
+    private final AtomicInteger poolSlots = new AtomicInteger();
+
+    private final Counter hits;
+    private final Counter fallbacks;
+    private final Timer refillTimer;
+
+    @Setter
+    @Value("${app.exam.pool.depth:16}")
+    private int depth = 16;
+
+    @Setter
+    @Value("${app.exam.pool.max-templates:64}")
+    private int maxTemplates = 64;
+
+    @Setter
+    @Value("${app.exam.pool.max-questions:100}")
+    private int maxQuestions = 100;
+
+    @Setter
+    @Value("${app.exam.pool.idle-timeout:PT5M}")
+    private Duration idleTimeout = Duration.ofMinutes(5);
+
+    @Autowired
+    public PooledExamService(final QuestionService questionService, final QuestionJsonWriter questionJsonWriter,
+            final MeterRegistry meterRegistry, @Value("${app.exam.pool.refill-threads:2}") final int refillThreads) {
+        this(questionService, questionJsonWriter, meterRegistry,
+                Executors.newFixedThreadPool(refillThreads, refillThreadFactory()));
+    }
+
+    PooledExamService(final QuestionService questionService, final QuestionJsonWriter questionJsonWriter,
+            final MeterRegistry meterRegistry, final Executor refillExecutor) {
+        this.questionService = questionService;
+        this.questionJsonWriter = questionJsonWriter;
+        this.meterRegistry = meterRegistry;
+        this.refillExecutor = refillExecutor;
+
+        hits = Counter.builder("exam.pool.requests").tag("result", "hit")
+                .description("Exams served from a pool").register(meterRegistry);
+        fallbacks = Counter.builder("exam.pool.requests").tag("result", "fallback")
+                .description("Exams generated at request time because the pool was empty").register(meterRegistry);
+        refillTimer = Timer.builder("exam.pool.refill").description("Generation of an exam by the pool refill")
+                .register(meterRegistry);
+        Gauge.builder("exam.pool.templates", pools, Map::size).description("Number of pooled exam structures")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public byte[] getExam(final List<QuestionsStructureDo> structureList) {
+        final String template = templateOf(structureList);
+        final ExamPool pool = pools.get(template);
+        if (pool != null) {
+            pool.lastUsed = System.nanoTime();
+            final byte[] exam = pool.exams.poll();
+            scheduleRefill(pool);
+            if (exam != null) {
+                hits.increment();
+                return exam;
+            }
+        }
+
+        fallbacks.increment();
+        final byte[] exam = generate(structureList);
+        if (pool == null && isPoolable(structureList)) {
+            addPool(template, structureList);
+        }
+        return exam;
+    }
+
+    /**
+     * Empties the pools built on the modified modules once the change is committed, and refills them. The listener runs
+     * after the evictions of the cache and of the sampler, so the new exams are built on the committed data.
+     *
+     * @param event the change event
+     */
+    @Order(QuestionBankChangedEvent.REBUILD_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionBankChanged(final QuestionBankChangedEvent event) {
+        pools.values().stream()
+                .filter(pool -> event.affectsAllModules() || pool.modules.stream().anyMatch(event::affects))
+                .forEach(pool -> {
+                    pool.generation.incrementAndGet();
+                    pool.exams.clear();
+                    scheduleRefill(pool);
+                });
+    }
+
+    /**
+     * Empties and refills the pools built on the modules changed in the store just swapped in, the exams generated
+     * since the commit of the change were read from the previous store.
+     *
+     * @param event the swap event
+     */
+    @Order(QuestionBankChangedEvent.REBUILD_ORDER)
+    @EventListener
+    public void onMappedQuestionStoreSwapped(final MappedQuestionStoreSwappedEvent event) {
+        onQuestionBankChanged(event.getChange());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refillExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void scheduleRefill(final ExamPool pool) {
+        if (pool.exams.remainingCapacity() > 0 && pool.refilling.compareAndSet(false, true)) {
+            refillExecutor.execute(() -> refill(pool));
+        }
+    }
+
+    private void refill(final ExamPool pool) {
+        try {
+            while (pool.exams.remainingCapacity() > 0 && pools.get(pool.template) == pool) {
+                final long generation = pool.generation.get();
+                final byte[] exam = refillTimer.record(() -> generate(pool.structure));
+                // an exam generated before a change of the bank is dropped
+                if (generation == pool.generation.get()) {
+                    pool.exams.offer(exam);
+                }
+            }
+        } catch (final ModuleNotFoundException e) {
+            LOGGER.log(Level.INFO, "Exam pool {0} removed: {1}", new Object[] { pool.template, e.getMessage() });
+            removePool(pool);
+        } catch (final RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Refill of the exam pool " + pool.template + " failed", e);
+        } finally {
+            pool.refilling.set(false);
+        }
+    }
+
+    private boolean isPoolable(final List<QuestionsStructureDo> structureList) {
+        return structureList.stream().mapToLong(QuestionsStructureDo::getQuestionNumber).sum() <= maxQuestions;
+    }
+
+    /**
+     * Adds the pool of a structure once a slot is reserved, the slot is released when another request added the pool
+     * first.
+     */
+    private void addPool(final String template, final List<QuestionsStructureDo> structureList) {
+        if (!reservePoolSlot()) {
+            return;
+        }
+        final boolean[] created = new boolean[1];
+        final ExamPool pool = pools.computeIfAbsent(template, t -> {
+            created[0] = true;
+            return new ExamPool(t, List.copyOf(structureList));
+        });
+        if (!created[0]) {
+            poolSlots.decrementAndGet();
+        }
+        scheduleRefill(pool);
+    }
+
+    /**
+     * Reserves a slot for a new pool. When all the slots are taken, the least recently used pool is removed as long as
+     * it has been idle for the idle timeout. The pools still in use are kept, a new structure isn't pooled then.
+     */
+    private boolean reservePoolSlot() {
+        while (true) {
+            final int slots = poolSlots.get();
+            if (slots < maxTemplates) {
+                if (poolSlots.compareAndSet(slots, slots + 1)) {
+                    return true;
+                }
+                continue;
+            }
+            final long now = System.nanoTime();
+            final ExamPool leastRecentlyUsed =
+                    pools.values().stream().min(Comparator.comparingLong(p -> p.lastUsed)).orElse(null);
+            if (leastRecentlyUsed == null || now - leastRecentlyUsed.lastUsed < idleTimeout.toNanos()) {
+                return false;
+            }
+            LOGGER.log(Level.FINE, "Idle exam pool {0} removed", leastRecentlyUsed.template);
+            removePool(leastRecentlyUsed);
+        }
+    }
+
+    private void removePool(final ExamPool pool) {
+        if (pools.remove(pool.template, pool)) {
+            poolSlots.decrementAndGet();
+            meterRegistry.remove(pool.depthGauge);
+        }
+    }
+
+    private byte[] generate(final List<QuestionsStructureDo> structureList) {
+        final long version = questionJsonWriter.version();
+        return questionJsonWriter.toJsonArray(questionService.getQuestionsByStructure(structureList), version);
+    }
+
+    private static String templateOf(final List<QuestionsStructureDo> structureList) {
+        return structureList.stream().map(s -> s.getModule() + ":" + s.getQuestionNumber())
+                .collect(Collectors.joining(","));
+    }
+
+    private static ThreadFactory refillThreadFactory() {
+        final AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "exam-pool-refill-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Ring of the ready exams of one exam structure.
+     */
+    private final class ExamPool {
+
+        private final String template;
+        private final List<QuestionsStructureDo> structure;
+        private final Set<String> modules;
+        private final ArrayBlockingQueue<byte[]> exams;
+        private final AtomicBoolean refilling = new AtomicBoolean();
+        private final AtomicLong generation = new AtomicLong();
+        private final Gauge depthGauge;
+        private volatile long lastUsed = System.nanoTime();
+
+        private ExamPool(final String template, final List<QuestionsStructureDo> structure) {
+            this.template = template;
+            this.structure = structure;
+            this.modules = structure.stream().map(QuestionsStructureDo::getModule).collect(Collectors.toSet());
+            this.exams = new ArrayBlockingQueue<>(depth);
+            this.depthGauge = Gauge.builder("exam.pool.depth", exams, Collection::size).tag("template", template)
+                    .description("Ready exams of the pool").register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.simulator.exam.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Read-optimized cache holding an immutable {@link QuestionModuleSnapshot} per module. Snapshots are loaded on first
+ * access and evicted after a committed change of their module. Hits, misses and evictions are published as
+ * {@code exam.question.cache.*} meters.
+ */
+@Component
+@ConditionalOnProperty(name = "app.question.cache.enabled", havingValue = "true", matchIfMissing = true)
+class QuestionBankCache {
+
+    private static final Logger LOGGER = Logger.getLogger("application.logger");
+
+    private final Map<String, QuestionModuleSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final ModuleGenerations generations = new ModuleGenerations();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public QuestionBankCache(final MeterRegistry meterRegistry) {
+        FunctionCounter.builder("exam.question.cache.requests", hits, LongAdder::sum).tag("result", "hit")
+                .description("Module snapshot lookups served from the cache").register(meterRegistry);
+        FunctionCounter.builder("exam.question.cache.requests", misses, LongAdder::sum).tag("result", "miss")
+                .description("Module snapshot lookups that had to load the module").register(meterRegistry);
+        FunctionCounter.builder("exam.question.cache.evictions", evictions, LongAdder::sum)
+                .description("Module snapshots evicted after a change").register(meterRegistry);
+        Gauge.builder("exam.question.cache.modules", snapshots, Map::size)
+                .description("Number of cached modules").register(meterRegistry);
+        Gauge.builder("exam.question.cache.questions", this, QuestionBankCache::cachedQuestions)
+                .description("Number of cached questions").register(meterRegistry);
+    }
+
+    /**
+     * Returns the snapshot of the module, loading it with the given loader when it is not cached. The module is loaded
+     * outside of the map, a module evicted while it was loading is returned but not cached.
+     *
+     * @param module the module name
+     * @param loader the function loading the module snapshot from the database
+     * @return the module snapshot
+     */
+    QuestionModuleSnapshot getModule(final String module,
+            final Function<String, QuestionModuleSnapshot> loader) {
+        final QuestionModuleSnapshot snapshot = snapshots.get(module);
+        if (snapshot != null) {
+            hits.increment();
+            return snapshot;
+        }
+        misses.increment();
+        final long generation = generations.get(module);
+        return install(module, generation, loader.apply(module));
+    }
+
+    /**
+     * Returns the snapshots of the given modules, all the modules that are not cached are loaded with a single call
+     * of the loader. A loaded module evicted while it was loading is returned but not cached, neither is an empty one.
+     *
+     * @param modules the module names
+     * @param loader  the function loading the snapshots of the missing modules from the database
+     * @return the module snapshots by module name
+     */
+    Map<String, QuestionModuleSnapshot> getModules(final Collection<String> modules,
+            final Function<Set<String>, Map<String, QuestionModuleSnapshot>> loader) {
+        final Map<String, QuestionModuleSnapshot> result = new HashMap<>();
+        final Set<String> missing = new HashSet<>();
+        for (final String module : modules) {
+            final QuestionModuleSnapshot snapshot = snapshots.get(module);
+            if (snapshot != null) {
+                hits.increment();
+                result.put(module, snapshot);
+            } else if (missing.add(module)) {
+                misses.increment();
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            final Map<String, Long> loadedGenerations = new HashMap<>();
+            missing.forEach(module -> loadedGenerations.put(module, generations.get(module)));
+            loader.apply(missing).forEach((module, snapshot) ->
+                    result.put(module, install(module, loadedGenerations.get(module), snapshot)));
+        }
+        return result;
+    }
+
+    /**
+     * Caches a snapshot built outside of the cache, a module already cached is kept.
+     *
+     * @param snapshot the module snapshot
+     * @return true when the snapshot was cached
+     */
+    boolean seed(final QuestionModuleSnapshot snapshot) {
+        return snapshots.putIfAbsent(snapshot.getModule(), snapshot) == null;
+    }
+
+    /**
+     * Looks up a question in the cached modules without loading anything.
+     *
+     * @param id the question id
+     * @return the question or null when none of the cached modules contains it
+     */
+    QuestionModuleSnapshot findModuleOfQuestion(final long id) {
+        for (final QuestionModuleSnapshot snapshot : snapshots.values()) {
+            if (snapshot.getQuestion(id) != null) {
+                hits.increment();
+                return snapshot;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Evicts the snapshots of the modified modules once the change is committed.
+     *
+     * @param event the change event
+     */
+    @Order(QuestionBankChangedEvent.EVICTION_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionBankChanged(final QuestionBankChangedEvent event) {
+        if (event.affectsAllModules()) {
+            generations.evictAll();
+            evictions.add(snapshots.size());
+            snapshots.clear();
+        } else {
+            event.getModules().forEach(module -> {
+                generations.evict(module);
+                if (snapshots.remove(module) != null) {
+                    evictions.increment();
+                }
+            });
+        }
+        LOGGER.log(Level.FINE, "Question cache evicted for modules {0}", event.getModules());
+    }
+
+    private QuestionModuleSnapshot install(final String module, final long generation,
+            final QuestionModuleSnapshot loaded) {
+        // a module without questions doesn't exist, caching it would let any module name grow the cache
+        if (loaded.isEmpty()) {
+            return loaded;
+        }
+        final QuestionModuleSnapshot cached = snapshots.compute(module,
+                (m, current) -> current != null ? current : generations.get(m) == generation ? loaded : null);
+        return cached != null ? cached : loaded;
+    }
+
+    private double cachedQuestions() {
+        return snapshots.values().stream().mapToInt(QuestionModuleSnapshot::size).sum();
+    }
+}
@@ -0,0 +1,69 @@
+package com.simulator.exam.service;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+
+/**
+ * Event published by the services after the question bank has been modified. Components that keep in-memory state
+ * derived from the persisted questions listen to it in order to drop or rebuild that state.
+ */
+@Getter
+public class QuestionBankChangedEvent {
+
+    /**
+     * Order of the listeners dropping the state derived from the bank.
+     */
+    public static final int EVICTION_ORDER = 0;
+
+    /**
+     * Order of the listeners dropping the state derived from the cached questions, they run once the question caches
+     * are evicted, so the state rebuilt by a reader after them is never built from evicted questions.
+     */
+    public static final int DERIVED_EVICTION_ORDER = 50;
+
+    /**
+     * Order of the listeners rebuilding state from the other components, they run once the evictions are done.
+     */
+    public static final int REBUILD_ORDER = 100;
+
+    /**
+     * The modules affected by the change, an empty set means that the whole bank has to be considered changed.
+     */
+    private final Set<String> modules;
+
+    private QuestionBankChangedEvent(final Set<String> modules) {
+        this.modules = modules;
+    }
+
+    /**
+     * Creates an event for the given modules, null module names are ignored.
+     *
+     * @param modules the affected module names
+     * @return the event
+     */
+    public static QuestionBankChangedEvent forModules(final Collection<String> modules) {
+        return new QuestionBankChangedEvent(
+                modules.stream().filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet()));
+    }
+
+    /**
+     * Creates an event used when the affected modules are not known.
+     *
+     * @return the event
+     */
+    public static QuestionBankChangedEvent forAllModules() {
+        return new QuestionBankChangedEvent(Set.of());
+    }
+
+    public boolean affectsAllModules() {
+        return modules.isEmpty();
+    }
+
+    public boolean affects(final String module) {
+        return modules.isEmpty() || modules.contains(module);
+    }
+}
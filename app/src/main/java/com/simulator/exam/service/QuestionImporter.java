@@ -0,0 +1,323 @@
+package com.simulator.exam.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.simulator.exam.dto.DuplicateQuestionDo;
+import com.simulator.exam.dto.ImportReportDo;
+import com.simulator.exam.entity.Question;
+import com.simulator.exam.repository.QuestionBulkRepository;
+import com.simulator.exam.repository.QuestionRepository;
+import com.simulator.exam.util.MinHash;
+import jakarta.persistence.EntityManager;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulk import pipeline for the questions read from YAML files. The questions are processed in chunks: the
+ * duplicates of a whole chunk are found with a single query and the chunk is written with JDBC batching, the pooled
+ * sequences providing the ids without extra round trips. The persistence context is cleared after every chunk so the
+ * memory used doesn't grow with the size of the import.
+ * <p>
+ * The duplicates don't abort the import, they are all reported. A question with the description of a persisted or
+ * previously imported question is skipped. The near-duplicates, reworded questions, are found through the MinHash
+ * band keys stored with the questions: the questions sharing a band key with the chunk are read with a single indexed
+ * query, and the ones whose similarity reaches the threshold are reported. They are imported unless configured
+ * otherwise.
+ */
+@Component
+class QuestionImporter {
+
+    private static final Logger LOGGER = Logger.getLogger("application.logger");
+
+    private final QuestionRepository questionRepository;
+    private final QuestionBulkRepository questionBulkRepository;
+    private final EntityManager entityManager;
+
+    @Getter
+    @Setter
+    @Value("${app.question.import.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Setter
+    @Value("${app.question.import.near-duplicate.similarity:0.8}")
+    private double nearDuplicateSimilarity = 0.8;
+
+    @Setter
+    @Value("${app.question.import.near-duplicate.skip:false}")
+    private boolean skipNearDuplicates;
+
+    @Setter
+    @Value("${app.question.import.duplicates.max-reported:1000}")
+    private int maxReportedDuplicates = 1000;
+
+    public QuestionImporter(final QuestionRepository questionRepository,
+            final QuestionBulkRepository questionBulkRepository, final EntityManager entityManager) {
+        this.questionRepository = questionRepository;
+        this.questionBulkRepository = questionBulkRepository;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Computes the MinHash band keys of the questions persisted before the keys existed, so the near-duplicates of
+     * the whole bank are found by the imports.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMinHashBands() {
+        final int updated = questionBulkRepository.backfillMinHashBands();
+        if (updated > 0) {
+            LOGGER.log(Level.INFO, "MinHash band keys computed for {0} questions", updated);
+        }
+    }
+
+    /**
+     * Deduplicates and persists a chunk of questions, the timings and counters are added to the report.
+     *
+     * @param chunk  the questions of the chunk
+     * @param report the report of the running import
+     */
+    public void importChunk(final List<Question> chunk, final ImportReportDo report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        final long dedupeStart = System.nanoTime();
+        final List<Duplicate> duplicates = new ArrayList<>();
+        final List<Question> unique = removeDuplicates(chunk, duplicates);
+        final long persistStart = System.nanoTime();
+        report.setDedupeMillis(report.getDedupeMillis() + (persistStart - dedupeStart) / 1_000_000);
+
+        unique.forEach(Question::linkAnswers);
+        questionRepository.saveAll(unique);
+        entityManager.flush();
+        entityManager.clear();
+
+        report.setPersistMillis(report.getPersistMillis() + (System.nanoTime() - persistStart) / 1_000_000);
+        report.setQuestions(report.getQuestions() + unique.size());
+        report.setAnswers(report.getAnswers() + unique.stream()
+                .mapToLong(q -> q.getAnswers() == null ? 0 : q.getAnswers().size()).sum());
+        // the questions of the chunk have their id once saved
+        duplicates.forEach(duplicate -> addDuplicate(report, duplicate));
+    }
+
+    /**
+     * Adds the report of a committed chunk to the report of its import, the duplicates listed being bounded.
+     *
+     * @param report      the report of the running import
+     * @param chunkReport the report of the chunk
+     */
+    public void addChunkReport(final ImportReportDo report, final ImportReportDo chunkReport) {
+        report.setQuestions(report.getQuestions() + chunkReport.getQuestions());
+        report.setAnswers(report.getAnswers() + chunkReport.getAnswers());
+        report.setDedupeMillis(report.getDedupeMillis() + chunkReport.getDedupeMillis());
+        report.setPersistMillis(report.getPersistMillis() + chunkReport.getPersistMillis());
+        report.setExactDuplicates(report.getExactDuplicates() + chunkReport.getExactDuplicates());
+        report.setNearDuplicates(report.getNearDuplicates() + chunkReport.getNearDuplicates());
+        chunkReport.getDuplicates().stream()
+                .limit(Math.max(0, maxReportedDuplicates - report.getDuplicates().size()))
+                .forEach(report.getDuplicates()::add);
+    }
+
+    /**
+     * Logs the per-phase timings and the throughput of a finished import.
+     *
+     * @param report the import report
+     */
+    public void logReport(final ImportReportDo report) {
+        LOGGER.log(Level.INFO, "Import finished: {0}", report);
+    }
+
+    /**
+     * Returns the questions of the chunk which are neither persisted nor repeated, the near-duplicates are kept
+     * unless they are skipped. The questions of the previous chunks are already flushed, so they are found by the
+     * queries as well.
+     *
+     * @param chunk      the questions of the chunk
+     * @param duplicates the list receiving the duplicates found
+     * @return the questions to persist
+     */
+    private List<Question> removeDuplicates(final List<Question> chunk, final List<Duplicate> duplicates) {
+        final Map<String, Long> persisted = new HashMap<>();
+        questionRepository.findAllByDescriptionIn(chunk.stream().map(Question::getDescription).toList())
+                .forEach(q -> persisted.put(q.getDescription(), q.getId()));
+
+        final List<Set<String>> shingles = new ArrayList<>(chunk.size());
+        final List<long[]> keys = new ArrayList<>(chunk.size());
+        chunk.forEach(question -> {
+            final Set<String> questionShingles = MinHash.shingles(question.getDescription());
+            shingles.add(questionShingles);
+            keys.add(MinHash.bandKeys(questionShingles));
+        });
+        final BandIndex bandIndex = new BandIndex();
+        findCandidates(keys).forEach(candidate -> bandIndex.add(candidate, MinHash.bandKeys(candidate.shingles)));
+
+        final Map<String, Question> imported = new HashMap<>();
+        final List<Question> unique = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            final Question question = chunk.get(i);
+            final String description = question.getDescription();
+            final boolean isPersisted = persisted.containsKey(description);
+            final Question earlier = isPersisted ? null : imported.putIfAbsent(description, question);
+            if (isPersisted || earlier != null) {
+                duplicates.add(new Duplicate(description,
+                        new Candidate(persisted.get(description), earlier, description, null), 1, true));
+                continue;
+            }
+
+            final Candidate similar = bandIndex.mostSimilar(keys.get(i), shingles.get(i), nearDuplicateSimilarity);
+            if (similar != null) {
+                duplicates.add(new Duplicate(description, similar,
+                        MinHash.similarity(shingles.get(i), similar.shingles), skipNearDuplicates));
+                if (skipNearDuplicates) {
+                    continue;
+                }
+            }
+            unique.add(question);
+            bandIndex.add(new Candidate(null, question, description, shingles.get(i)), keys.get(i));
+        }
+        return unique;
+    }
+
+    /**
+     * Reads the persisted questions sharing a band key with a question of the chunk.
+     */
+    private List<Candidate> findCandidates(final List<long[]> keys) {
+        final List<Set<Long>> bands = new ArrayList<>(MinHash.BANDS);
+        for (int band = 0; band < MinHash.BANDS; band++) {
+            bands.add(new HashSet<>());
+        }
+        keys.forEach(questionKeys -> {
+            if (questionKeys != null) {
+                for (int band = 0; band < MinHash.BANDS; band++) {
+                    bands.get(band).add(questionKeys[band]);
+                }
+            }
+        });
+        if (bands.get(0).isEmpty()) {
+            return List.of();
+        }
+        return questionRepository.findAllByMinHashBands(bands.get(0), bands.get(1), bands.get(2), bands.get(3))
+                .stream()
+                .map(q -> new Candidate(q.getId(), null, q.getDescription(), MinHash.shingles(q.getDescription())))
+                .toList();
+    }
+
+    private void addDuplicate(final ImportReportDo report, final Duplicate duplicate) {
+        if (Objects.equals(duplicate.description, duplicate.original.description)) {
+            report.setExactDuplicates(report.getExactDuplicates() + 1);
+        } else {
+            report.setNearDuplicates(report.getNearDuplicates() + 1);
+        }
+        final DuplicateQuestionDo duplicateDo = duplicate.toDo();
+        LOGGER.log(Level.FINE, "Duplicate question found: {0}", duplicateDo);
+        if (report.getDuplicates().size() < maxReportedDuplicates) {
+            report.getDuplicates().add(duplicateDo);
+        }
+    }
+
+    /**
+     * Question a description is compared with: either persisted, with its id, or imported by the same chunk.
+     */
+    private static final class Candidate {
+
+        @Nullable
+        private final Long id;
+        @Nullable
+        private final Question question;
+        private final String description;
+        private final Set<String> shingles;
+
+        private Candidate(@Nullable final Long id, @Nullable final Question question, final String description,
+                @Nullable final Set<String> shingles) {
+            this.id = id;
+            this.question = question;
+            this.description = description;
+            this.shingles = shingles;
+        }
+
+        @Nullable
+        private Long getId() {
+            return question == null ? id : question.getId();
+        }
+    }
+
+    private static final class Duplicate {
+
+        private final String description;
+        private final Candidate original;
+        private final double similarity;
+        private final boolean skipped;
+
+        private Duplicate(final String description, final Candidate original, final double similarity,
+                final boolean skipped) {
+            this.description = description;
+            this.original = original;
+            this.similarity = similarity;
+            this.skipped = skipped;
+        }
+
+        private DuplicateQuestionDo toDo() {
+            return new DuplicateQuestionDo(description, original.getId(), original.description, similarity, skipped);
+        }
+    }
+
+    /**
+     * Candidates of the near-duplicate lookups by band key.
+     */
+    private static final class BandIndex {
+
+        private final List<Map<Long, List<Candidate>>> bands = new ArrayList<>(MinHash.BANDS);
+
+        private BandIndex() {
+            for (int band = 0; band < MinHash.BANDS; band++) {
+                bands.add(new HashMap<>());
+            }
+        }
+
+        private void add(final Candidate candidate, @Nullable final long[] keys) {
+            if (keys != null) {
+                for (int band = 0; band < MinHash.BANDS; band++) {
+                    bands.get(band).computeIfAbsent(keys[band], k -> new ArrayList<>()).add(candidate);
+                }
+            }
+        }
+
+        /**
+         * Returns the candidate sharing a band key with the most similar description, when it reaches the
+         * threshold.
+         */
+        @Nullable
+        private Candidate mostSimilar(@Nullable final long[] keys, final Set<String> shingles,
+                final double threshold) {
+            if (keys == null) {
+                return null;
+            }
+            Candidate best = null;
+            double bestSimilarity = 0;
+            final Set<Candidate> compared = new HashSet<>();
+            for (int band = 0; band < MinHash.BANDS; band++) {
+                for (final Candidate candidate : bands.get(band).getOrDefault(keys[band], List.of())) {
+                    final double similarity =
+                            compared.add(candidate) ? MinHash.similarity(shingles, candidate.shingles) : 0;
+                    if (similarity > bestSimilarity) {
+                        best = candidate;
+                        bestSimilarity = similarity;
+                    }
+                }
+            }
+            return bestSimilarity >= threshold ? best : null;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.simulator.exam.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simulator.exam.dto.QuestionDo;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * {@link QuestionJsonWriter} keeping the JSON of every written question, serialized once by Jackson and keyed by
+ * module and question id. A committed change of the bank drops the fragments of the modified modules and increments
+ * the version of the cache, a fragment built from questions read at an older version is never stored. Hits and misses
+ * are published as {@code exam.question.json-cache.*} meters.
+ */
+@Component
+class QuestionJsonCache implements QuestionJsonWriter {
+
+    private static final Logger LOGGER = Logger.getLogger("application.logger");
+    private static final String NO_MODULE = "";
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, Map<Long, byte[]>> fragments = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Setter
+    @Value("${app.question.json-cache.max-entries:100000}")
+    private int maxEntries = 100_000;
+
+    public QuestionJsonCache(final ObjectMapper objectMapper, final MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+
+        FunctionCounter.builder("exam.question.json-cache.requests", hits, LongAdder::sum).tag("result", "hit")
+                .description("Questions written from their cached JSON").register(meterRegistry);
+        FunctionCounter.builder("exam.question.json-cache.requests", misses, LongAdder::sum).tag("result", "miss")
+                .description("Questions serialized by Jackson").register(meterRegistry);
+        Gauge.builder("exam.question.json-cache.entries", this, QuestionJsonCache::cachedEntries)
+                .description("Number of cached question fragments").register(meterRegistry);
+    }
+
+    @Override
+    public long version() {
+        return version.get();
+    }
+
+    @Override
+    public void writeJsonArray(final List<QuestionDo> questions, final long version, final OutputStream out)
+            throws IOException {
+        out.write('[');
+        for (int i = 0; i < questions.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(fragmentOf(questions.get(i), version));
+        }
+        out.write(']');
+    }
+
+    @Override
+    public byte[] toJsonArray(final List<QuestionDo> questions, final long version) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(questions.size() * 256 + 2);
+        try {
+            writeJsonArray(questions, version, out);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Drops the fragments of the modified modules once the change is committed. The version is incremented after the
+     * question caches are evicted, a reader seeing the new version can't read the questions of the old one from them.
+     *
+     * @param event the change event
+     */
+    @Order(QuestionBankChangedEvent.DERIVED_EVICTION_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionBankChanged(final QuestionBankChangedEvent event) {
+        version.incrementAndGet();
+        if (event.affectsAllModules()) {
+            fragments.clear();
+        } else {
+            event.getModules().forEach(fragments::remove);
+        }
+        LOGGER.log(Level.FINE, "Question JSON cache evicted for modules {0}", event.getModules());
+    }
+
+    /**
+     * Drops the fragments of the modules changed in the store just swapped in, the fragments cached since the commit of
+     * the change were read from the previous store.
+     *
+     * @param event the swap event
+     */
+    @Order(QuestionBankChangedEvent.DERIVED_EVICTION_ORDER)
+    @EventListener
+    public void onMappedQuestionStoreSwapped(final MappedQuestionStoreSwappedEvent event) {
+        onQuestionBankChanged(event.getChange());
+    }
+
+    private byte[] fragmentOf(final QuestionDo question, final long readVersion) {
+        final String module = Objects.requireNonNullElse(question.getModuleName(), NO_MODULE);
+        final Map<Long, byte[]> moduleFragments = fragments.get(module);
+        final byte[] fragment = moduleFragments == null ? null : moduleFragments.get(question.getId());
+        if (fragment != null) {
+            hits.increment();
+            return fragment;
+        }
+
+        misses.increment();
+        final byte[] json = serialize(question);
+        // the questions read before the last change may be stale, they are written but not cached
+        if (readVersion == version.get() && cachedEntries() < maxEntries) {
+            fragments.computeIfAbsent(module, m -> new ConcurrentHashMap<>()).putIfAbsent(question.getId(), json);
+            // an eviction racing with the put above is caught by the version check
+            if (readVersion != version.get()) {
+                fragments.remove(module);
+            }
+        }
+        return json;
+    }
+
+    private int cachedEntries() {
+        int entries = 0;
+        for (final Map<Long, byte[]> moduleFragments : fragments.values()) {
+            entries += moduleFragments.size();
+        }
+        return entries;
+    }
+
+    private byte[] serialize(final QuestionDo question) {
+        try {
+            return objectMapper.writeValueAsBytes(question);
+        } catch (final JsonProcessingException e) {
+            throw new IllegalStateException("The question " + question.getId() + " can't be serialized", e);
+        }
+    }
+}
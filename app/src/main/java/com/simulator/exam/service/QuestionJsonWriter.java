@@ -0,0 +1,42 @@
+package com.simulator.exam.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import com.simulator.exam.dto.QuestionDo;
+
+/**
+ * Writes the questions as the JSON array returned by the API, assembled from the serialized JSON of every question
+ * instead of serializing the whole list again.
+ */
+public interface QuestionJsonWriter {
+
+    /**
+     * Returns the current version of the serialized questions. It has to be read before the questions are read, the
+     * questions read before a change of the bank are then written but never cached.
+     *
+     * @return the version
+     */
+    long version();
+
+    /**
+     * Writes the questions as a JSON array in the output stream.
+     *
+     * @param questions the questions
+     * @param version   the version read before the questions
+     * @param out       the output stream, it is neither flushed nor closed
+     * @throws IOException when the output stream can't be written
+     */
+    void writeJsonArray(final List<QuestionDo> questions, final long version, final OutputStream out)
+            throws IOException;
+
+    /**
+     * Returns the questions as a JSON array.
+     *
+     * @param questions the questions
+     * @param version   the version read before the questions
+     * @return the JSON array
+     */
+    byte[] toJsonArray(final List<QuestionDo> questions, final long version);
+}
@@ -0,0 +1,55 @@
+package com.simulator.exam.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.QuestionDo;
+
+/**
+ * Immutable view over the questions of a module. A snapshot is never modified once published, changes to the module
+ * replace it with a new one, so it can be read concurrently without any locking. Its questions are shared by all the
+ * readers: they are copied in unmodifiable lists, and the DTOs have no setters.
+ */
+final class QuestionModuleSnapshot {
+
+    private final String module;
+    private final List<QuestionDo> questions;
+    private final Map<Long, QuestionDo> questionsById;
+
+    QuestionModuleSnapshot(final String module, final List<QuestionDo> questions) {
+        this.module = module;
+        this.questions = questions.stream().map(QuestionModuleSnapshot::copyOf).toList();
+        final Map<Long, QuestionDo> byId = new HashMap<>(this.questions.size() * 2);
+        this.questions.forEach(q -> byId.put(q.getId(), q));
+        this.questionsById = Collections.unmodifiableMap(byId);
+    }
+
+    String getModule() {
+        return module;
+    }
+
+    List<QuestionDo> getQuestions() {
+        return questions;
+    }
+
+    QuestionDo getQuestion(final long id) {
+        return questionsById.get(id);
+    }
+
+    int size() {
+        return questions.size();
+    }
+
+    boolean isEmpty() {
+        return questions.isEmpty();
+    }
+
+    private static QuestionDo copyOf(final QuestionDo question) {
+        final List<AnswerDo> answers = question.getAnswers() == null ? List.of() : question.getAnswers().stream()
+                .map(a -> new AnswerDo(a.getId(), a.getOption(), a.isCorrect())).toList();
+        return new QuestionDo(question.getId(), question.getDescription(), answers, question.getModuleName());
+    }
+}
@@ -0,0 +1,63 @@
+package com.simulator.exam.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.repository.QuestionAnswerRow;
+
+/**
+ * Builds the question DTOs from the rows of the projection queries of the {@link
+ * com.simulator.exam.repository.QuestionRepository}, one row per answer.
+ */
+final class QuestionRowMapper {
+
+    // Private constructor to prevent instantiation
+    private QuestionRowMapper() {
+    }
+
+    /**
+     * Groups the rows by question, the questions and their answers keep the order of the rows. The answers of the
+     * rows share one instance of every repeated option.
+     *
+     * @param rows the rows of the questions joined with their answers
+     * @return the questions
+     */
+    static List<QuestionDo> toQuestions(final List<QuestionAnswerRow> rows) {
+        final Map<Long, QuestionDo> questions = new LinkedHashMap<>();
+        final AnswerOptionPool options = new AnswerOptionPool();
+        for (final QuestionAnswerRow row : rows) {
+            final QuestionDo question = questions.computeIfAbsent(row.getQuestionId(),
+                    id -> new QuestionDo(id, row.getDescription(), new ArrayList<>(), row.getModuleName()));
+            if (row.getAnswerId() != null) {
+                question.getAnswers().add(new AnswerDo(row.getAnswerId(), options.intern(row.getOption()),
+                        Boolean.TRUE.equals(row.getCorrect())));
+            }
+        }
+        return new ArrayList<>(questions.values());
+    }
+
+    /**
+     * Builds the questions of the rows in the order of the given ids, the ids without rows are skipped. The IN queries
+     * don't keep the order of the ids, so the random order of the samplers is restored here.
+     *
+     * @param ids  the question ids in the expected order
+     * @param rows the rows of the questions joined with their answers
+     * @return the questions
+     */
+    static List<QuestionDo> toQuestionsInOrder(final List<Long> ids, final List<QuestionAnswerRow> rows) {
+        final Map<Long, QuestionDo> questionsById = new LinkedHashMap<>();
+        toQuestions(rows).forEach(question -> questionsById.put(question.getId(), question));
+        final List<QuestionDo> questions = new ArrayList<>(ids.size());
+        for (final Long id : ids) {
+            final QuestionDo question = questionsById.get(id);
+            if (question != null) {
+                questions.add(question);
+            }
+        }
+        return questions;
+    }
+}
@@ -0,0 +1,41 @@
+package com.simulator.exam.service;
+
+import java.util.List;
+
+import com.simulator.exam.dto.QuestionsStructureDo;
+
+/**
+ * Strategy used to pick random questions from the bank. The samplers only pick the question ids, the questions are
+ * then read with a single projection query by the caller. The implementation is selected through the
+ * {@code app.question.sampling.strategy} property.
+ */
+public interface QuestionSampler {
+
+    /**
+     * Picks a random subset of questions from the given module.
+     *
+     * @param module            the module name
+     * @param numberOfQuestions the maximum number of questions
+     * @return the question ids in random order
+     */
+    List<Long> sampleByModule(final String module, final int numberOfQuestions);
+
+    /**
+     * Picks the random questions of every entry of an exam structure. The default implementation samples the entries
+     * one after the other.
+     *
+     * @param structureList the modules and the number of questions of each one
+     * @return for every entry of the structure, in the same order, its question ids in random order
+     */
+    default List<List<Long>> sampleByStructure(final List<QuestionsStructureDo> structureList) {
+        return structureList.stream()
+                .map(structure -> sampleByModule(structure.getModule(), structure.getQuestionNumber())).toList();
+    }
+
+    /**
+     * Returns the ids of all the questions from the bank in random order.
+     *
+     * @return the question ids in random order
+     */
+    List<Long> sampleAll();
+}
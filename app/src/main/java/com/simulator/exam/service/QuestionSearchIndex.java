@@ -0,0 +1,233 @@
+package com.simulator.exam.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.QuestionDo;
+
+/**
+ * Immutable inverted index over the description and the answer options of the questions of a module. Every term maps
+ * to the sorted positions of the questions holding it with its frequency in each one, the description terms weigh
+ * twice as much as the answer terms. A changed module gets a new index, so it can be searched concurrently without
+ * any locking.
+ */
+final class QuestionSearchIndex {
+
+    private static final int DESCRIPTION_WEIGHT = 2;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final String module;
+    private final long[] questionIds;
+    private final int[] lengths;
+    private final long totalLength;
+    private final Map<String, Postings> postings;
+
+    QuestionSearchIndex(final String module, final List<QuestionDo> questions) {
+        this.module = module;
+        this.questionIds = new long[questions.size()];
+        this.lengths = new int[questions.size()];
+
+        final Map<String, PostingsBuilder> builders = new HashMap<>();
+        final Map<String, Integer> frequencies = new HashMap<>();
+        long length = 0;
+        for (int doc = 0; doc < questions.size(); doc++) {
+            final QuestionDo question = questions.get(doc);
+            questionIds[doc] = question.getId();
+            frequencies.clear();
+            addTerms(question.getDescription(), DESCRIPTION_WEIGHT, frequencies);
+            if (question.getAnswers() != null) {
+                for (final AnswerDo answer : question.getAnswers()) {
+                    addTerms(answer.getOption(), 1, frequencies);
+                }
+            }
+            for (final Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                builders.computeIfAbsent(entry.getKey(), t -> new PostingsBuilder()).add(doc, entry.getValue());
+                lengths[doc] += entry.getValue();
+            }
+            length += lengths[doc];
+        }
+        this.totalLength = length;
+
+        final Map<String, Postings> built = new HashMap<>(builders.size() * 2);
+        builders.forEach((term, builder) -> built.put(term, builder.build()));
+        this.postings = built;
+    }
+
+    /**
+     * Splits a text in lower case terms made of letters and digits, the repeated terms are kept.
+     *
+     * @param text the text, may be null
+     * @return the terms
+     */
+    static List<String> tokenize(final String text) {
+        final List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            final boolean termChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (termChar && start < 0) {
+                start = i;
+            } else if (!termChar && start >= 0) {
+                terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Returns the distinct terms of a query, in their order of appearance.
+     *
+     * @param query the query
+     * @return the distinct terms
+     */
+    static List<String> queryTerms(final String query) {
+        return new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+    }
+
+    String getModule() {
+        return module;
+    }
+
+    int size() {
+        return questionIds.length;
+    }
+
+    long totalLength() {
+        return totalLength;
+    }
+
+    int documentFrequency(final String term) {
+        final Postings termPostings = postings.get(term);
+        return termPostings == null ? 0 : termPostings.docs.length;
+    }
+
+    /**
+     * Scores with BM25 the questions holding all the terms and passes them to the consumer.
+     *
+     * @param terms         the distinct query terms
+     * @param idf           the inverse document frequency of every term, over the whole bank
+     * @param averageLength the average length of the questions of the whole bank
+     * @param consumer      the consumer of the matching questions
+     */
+    void search(final List<String> terms, final double[] idf, final double averageLength, final HitConsumer consumer) {
+        final Postings[] termPostings = new Postings[terms.size()];
+        final double[] termIdf = new double[terms.size()];
+        final Integer[] order = new Integer[terms.size()];
+        for (int t = 0; t < terms.size(); t++) {
+            final Postings found = postings.get(terms.get(t));
+            if (found == null) {
+                return;
+            }
+            order[t] = t;
+            termPostings[t] = found;
+        }
+        // the intersection walks the rarest term and seeks the others
+        Arrays.sort(order, Comparator.comparingInt(t -> termPostings[t].docs.length));
+        final Postings[] sorted = new Postings[order.length];
+        for (int t = 0; t < order.length; t++) {
+            sorted[t] = termPostings[order[t]];
+            termIdf[t] = idf[order[t]];
+        }
+
+        final int[] cursors = new int[sorted.length];
+        final int[] rarest = sorted[0].docs;
+        candidates:
+        for (int i = 0; i < rarest.length; i++) {
+            final int doc = rarest[i];
+            cursors[0] = i;
+            for (int t = 1; t < sorted.length; t++) {
+                final int[] docs = sorted[t].docs;
+                cursors[t] = seek(docs, cursors[t], doc);
+                if (cursors[t] == docs.length) {
+                    return;
+                }
+                if (docs[cursors[t]] != doc) {
+                    continue candidates;
+                }
+            }
+            final double norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+            double score = 0;
+            for (int t = 0; t < sorted.length; t++) {
+                final int frequency = sorted[t].freqs[cursors[t]];
+                score += termIdf[t] * frequency * (K1 + 1) / (frequency + norm);
+            }
+            consumer.accept(questionIds[doc], score);
+        }
+    }
+
+    /**
+     * Returns the position of the first doc greater than or equal to the target, galloping from the cursor.
+     */
+    private static int seek(final int[] docs, final int from, final int target) {
+        if (docs[from] >= target) {
+            return from;
+        }
+        // docs[low] is below the target, docs[high] is not or high is past the end
+        int low = from;
+        int step = 1;
+        int high = from + step;
+        while (high < docs.length && docs[high] < target) {
+            low = high;
+            step <<= 1;
+            high = from + step;
+        }
+        final int found = Arrays.binarySearch(docs, low + 1, Math.min(high + 1, docs.length), target);
+        return found >= 0 ? found : -found - 1;
+    }
+
+    private static void addTerms(final String text, final int weight, final Map<String, Integer> frequencies) {
+        tokenize(text).forEach(term -> frequencies.merge(term, weight, Integer::sum));
+    }
+
+    /**
+     * Receives the matching questions of a search.
+     */
+    @FunctionalInterface
+    interface HitConsumer {
+
+        void accept(long questionId, double score);
+    }
+
+    private static final class Postings {
+
+        private final int[] docs;
+        private final int[] freqs;
+
+        private Postings(final int[] docs, final int[] freqs) {
+            this.docs = docs;
+            this.freqs = freqs;
+        }
+    }
+
+    private static final class PostingsBuilder {
+
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        private void add(final int doc, final int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = frequency;
+            size++;
+        }
+
+        private Postings build() {
+            return new Postings(Arrays.copyOf(docs, size), Arrays.copyOf(freqs, size));
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.simulator.exam.service;
+
+import com.simulator.exam.dto.QuestionSearchPageDo;
+import org.springframework.lang.Nullable;
+
+/**
+ * Searches the questions by keywords in their description and answer options. The questions holding all the
+ * keywords are ranked by relevance.
+ */
+public interface QuestionSearchService {
+
+    QuestionSearchPageDo search(String query, @Nullable String module, int page, int size);
+}
@@ -0,0 +1,322 @@
+package com.simulator.exam.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.dto.QuestionSearchHitDo;
+import com.simulator.exam.dto.QuestionSearchPageDo;
+import com.simulator.exam.exception.InvalidPageRequestException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link QuestionSearchService} backed by an in-process {@link QuestionSearchIndex} per module. The indexes are built
+ * by the first search and kept up to date incrementally: a committed change of the bank marks its modules as stale and
+ * only those modules are indexed again, with a single query, on a background thread. The searches keep using the
+ * previous indexes until the new ones are swapped in, so they never wait for a reindexing. The index query itself
+ * never touches the database, only the questions of the returned page are read. The questions without module are not
+ * indexed.
+ */
+@Service
+class QuestionSearchServiceImpl implements QuestionSearchService {
+
+    private static final Logger LOGGER = Logger.getLogger("application.logger");
+
+    // weakest hit first, the head of the heap is the first one dropped
+    private static final Comparator<ScoredQuestion> WEAKEST_FIRST = Comparator
+            .comparingDouble((ScoredQuestion hit) -> hit.score).thenComparing(hit -> -hit.questionId);
+
+    private final QuestionServiceImp questionService;
+
+    private final Executor indexExecutor;
+
+    // replaced as a whole by the refreshes, null until the first search has built the indexes
+    @Nullable
+    private volatile Map<String, QuestionSearchIndex> indexes;
+    private final Set<String> staleModules = ConcurrentHashMap.newKeySet();
+    private volatile boolean reloadAll = true;
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+
+    private final Timer searchTimer;
+
+    @Setter
+    @Value("${app.question.search.max-page-size:100}")
+    private int maxPageSize = 100;
+
+    @Autowired
+    public QuestionSearchServiceImpl(final QuestionServiceImp questionService, final MeterRegistry meterRegistry) {
+        this(questionService, meterRegistry, Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "question-search-index");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    QuestionSearchServiceImpl(final QuestionServiceImp questionService, final MeterRegistry meterRegistry,
+            final Executor indexExecutor) {
+        this.questionService = questionService;
+        this.indexExecutor = indexExecutor;
+
+        searchTimer = Timer.builder("exam.question.search").description("Queries of the question search index")
+                .publishPercentiles(0.5, 0.99).register(meterRegistry);
+        Gauge.builder("exam.question.search.documents", this, QuestionSearchServiceImpl::indexedQuestions)
+                .description("Questions held by the search index").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (indexExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Will return a page of the questions holding all the terms of the query, ranked with BM25 over the whole bank.
+     *
+     * @param query  the keywords
+     * @param module the module the search is restricted to, all the modules when null
+     * @param page   the page number, starting at 0
+     * @param size   the page size
+     * @return the page of matching questions
+     */
+    @Override
+    public QuestionSearchPageDo search(final String query, @Nullable final String module, final int page,
+            final int size) {
+        if (size <= 0 || size > maxPageSize) {
+            throw new InvalidPageRequestException(size, maxPageSize);
+        }
+        if (page < 0) {
+            throw new InvalidPageRequestException(page);
+        }
+        final Map<String, QuestionSearchIndex> searched = currentIndexes();
+
+        final List<String> terms = QuestionSearchIndex.queryTerms(query);
+        final List<ScoredQuestion> ranked = new ArrayList<>();
+        final long total = terms.isEmpty() ? 0
+                : searchTimer.record(() -> rank(searched, terms, module, page, size, ranked));
+
+        final int from = (int) Math.min((long) page * size, ranked.size());
+        final List<ScoredQuestion> pageHits = ranked.subList(from, ranked.size());
+        final Map<Long, QuestionDo> questionsById = new HashMap<>();
+        questionService.getQuestionsByIds(pageHits.stream().map(hit -> hit.questionId).toList())
+                .forEach(question -> questionsById.put(question.getId(), question));
+
+        final List<QuestionSearchHitDo> hits = new ArrayList<>(pageHits.size());
+        pageHits.forEach(hit -> {
+            // a question deleted since the last refresh of the index is skipped
+            final QuestionDo question = questionsById.get(hit.questionId);
+            if (question != null) {
+                hits.add(new QuestionSearchHitDo(hit.score, question));
+            }
+        });
+        return new QuestionSearchPageDo(total, page, size, hits);
+    }
+
+    /**
+     * Marks the modified modules as stale, a change without modules marks the whole bank, and queues their
+     * reindexing.
+     *
+     * @param event the change event
+     */
+    @Order(QuestionBankChangedEvent.EVICTION_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionBankChanged(final QuestionBankChangedEvent event) {
+        if (event.affectsAllModules()) {
+            reloadAll = true;
+        } else {
+            staleModules.addAll(event.getModules());
+        }
+        queueRefresh();
+    }
+
+    /**
+     * Fills the list with the best hits up to the end of the requested page, in ranking order.
+     *
+     * @return the number of matching questions
+     */
+    private long rank(final Map<String, QuestionSearchIndex> indexes, final List<String> terms,
+            @Nullable final String module, final int page, final int size, final List<ScoredQuestion> ranked) {
+        final Collection<QuestionSearchIndex> searched;
+        if (StringUtils.hasText(module)) {
+            final QuestionSearchIndex index = indexes.get(module);
+            searched = index == null ? List.of() : List.of(index);
+        } else {
+            searched = indexes.values();
+        }
+
+        // the statistics of the whole bank keep the scores comparable whatever the module filter
+        long documents = 0;
+        long totalLength = 0;
+        final long[] frequencies = new long[terms.size()];
+        for (final QuestionSearchIndex index : indexes.values()) {
+            documents += index.size();
+            totalLength += index.totalLength();
+            for (int t = 0; t < terms.size(); t++) {
+                frequencies[t] += index.documentFrequency(terms.get(t));
+            }
+        }
+        if (documents == 0) {
+            return 0;
+        }
+        final double[] idf = new double[terms.size()];
+        for (int t = 0; t < terms.size(); t++) {
+            idf[t] = Math.log(1 + (documents - frequencies[t] + 0.5) / (frequencies[t] + 0.5));
+        }
+        final double averageLength = Math.max(1, (double) totalLength / documents);
+
+        final long limit = (page + 1L) * size;
+        final PriorityQueue<ScoredQuestion> best = new PriorityQueue<>(WEAKEST_FIRST);
+        final long[] total = new long[1];
+        for (final QuestionSearchIndex index : searched) {
+            index.search(terms, idf, averageLength, (questionId, score) -> {
+                total[0]++;
+                if (best.size() < limit) {
+                    best.add(new ScoredQuestion(questionId, score));
+                } else if (ranksBefore(score, questionId, best.peek())) {
+                    best.poll();
+                    best.add(new ScoredQuestion(questionId, score));
+                }
+            });
+        }
+        ranked.addAll(best);
+        ranked.sort(WEAKEST_FIRST.reversed());
+        return total[0];
+    }
+
+    private static boolean ranksBefore(final double score, final long questionId, final ScoredQuestion other) {
+        return score > other.score || score == other.score && questionId < other.questionId;
+    }
+
+    /**
+     * Returns the indexes to search, the first search builds them and the next ones queue the refresh of the stale
+     * modules, if any, without waiting for it.
+     */
+    private Map<String, QuestionSearchIndex> currentIndexes() {
+        final Map<String, QuestionSearchIndex> current = indexes;
+        if (current != null) {
+            queueRefresh();
+            return current;
+        }
+        synchronized (this) {
+            if (indexes == null) {
+                refreshIndexes();
+            }
+            return indexes;
+        }
+    }
+
+    /**
+     * Queues a refresh of the indexes once they are built and as long as a change is not indexed, the changes
+     * committed before the queued refresh starts are indexed together.
+     */
+    private void queueRefresh() {
+        if (indexes == null || !reloadAll && staleModules.isEmpty() || !refreshQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            indexExecutor.execute(() -> {
+                refreshQueued.set(false);
+                try {
+                    refreshIndexes();
+                } catch (final RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Refresh of the search index failed, it is retried by the next search",
+                            e);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            refreshQueued.set(false);
+        }
+    }
+
+    /**
+     * Indexes again the stale modules, or the whole bank after a change without modules, and swaps the new indexes
+     * in. A change committed while the indexes are built marks them stale again, so it is never lost, and a failed
+     * refresh leaves its modules stale.
+     */
+    private synchronized void refreshIndexes() {
+        if (reloadAll) {
+            reloadAll = false;
+            staleModules.clear();
+            final long start = System.nanoTime();
+            final Map<String, List<QuestionDo>> questionsByModule = new HashMap<>();
+            try {
+                questionService.exportQuestions(question -> {
+                    if (question.getModuleName() != null) {
+                        questionsByModule.computeIfAbsent(question.getModuleName(), m -> new ArrayList<>())
+                                .add(question);
+                    }
+                });
+            } catch (final RuntimeException e) {
+                reloadAll = true;
+                throw e;
+            }
+            final Map<String, QuestionSearchIndex> built = new HashMap<>();
+            questionsByModule.forEach((m, questions) -> built.put(m, new QuestionSearchIndex(m, questions)));
+            indexes = Map.copyOf(built);
+            LOGGER.log(Level.INFO, "Search index built for {0} modules in {1} ms",
+                    new Object[] { built.size(), (System.nanoTime() - start) / 1_000_000 });
+        } else if (!staleModules.isEmpty()) {
+            final Set<String> modules = new HashSet<>(staleModules);
+            staleModules.removeAll(modules);
+            final Map<String, List<QuestionDo>> questionsByModule;
+            try {
+                questionsByModule = questionService.getQuestionsByModules(modules);
+            } catch (final RuntimeException e) {
+                staleModules.addAll(modules);
+                throw e;
+            }
+            final Map<String, QuestionSearchIndex> refreshed = new HashMap<>(indexes);
+            modules.forEach(m -> {
+                final List<QuestionDo> questions = questionsByModule.get(m);
+                if (questions == null || questions.isEmpty()) {
+                    refreshed.remove(m);
+                } else {
+                    refreshed.put(m, new QuestionSearchIndex(m, questions));
+                }
+            });
+            indexes = Map.copyOf(refreshed);
+        }
+    }
+
+    private double indexedQuestions() {
+        final Map<String, QuestionSearchIndex> current = indexes;
+        return current == null ? 0 : current.values().stream().mapToInt(QuestionSearchIndex::size).sum();
+    }
+
+    private static final class ScoredQuestion {
+
+        private final long questionId;
+        private final double score;
+
+        private ScoredQuestion(final long questionId, final double score) {
+            this.questionId = questionId;
+            this.score = score;
+        }
+    }
+}
@@ -1,22 +1,25 @@
 package com.simulator.exam.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.BulkResultDo;
 import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.dto.QuestionPageDo;
 import com.simulator.exam.dto.QuestionsStructureDo;
 import com.simulator.exam.entity.Answer;
 import com.simulator.exam.entity.Question;
-import org.springframework.web.multipart.MultipartFile;
 
 public interface QuestionService {
 
     List<QuestionDo> getRandomQuestions();
     List<QuestionDo> getRandomQuestionsByModule(final String module, final int numberOfQuestions);
     List<QuestionDo> getQuestionsByStructure(final List<QuestionsStructureDo> structureList);
-    void saveImportLocalQuestionByFileName(final String fileName, final String moduleName);
-    void saveImportQuestionsFromFile(final MultipartFile multipartFile, final String moduleName);
     List<QuestionDo> getAllQuestions();
+    QuestionPageDo getQuestionsPage(Long after, int size);
+    long exportQuestions(Consumer<QuestionDo> consumer);
+    List<QuestionDo> getQuestionsByModule(final String module);
     QuestionDo getQuestionById(Long id);
 
     List<AnswerDo> getAnswersForQuestionId(Long id);
@@ -39,4 +42,10 @@ public interface QuestionService {
     QuestionDo updatedQuestionPropertiesById(Long id, Question question);
 
     List<QuestionDo> updatedQuestionsPropertiesById(List<Question> question);
+
+    BulkResultDo bulkUpdateQuestions(List<Question> questions);
+
+    BulkResultDo bulkUpdateQuestionsProperties(List<Question> questions);
+
+    BulkResultDo bulkDeleteQuestions(List<Long> ids);
 }
@@ -1,61 +1,89 @@
 package com.simulator.exam.service;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.BulkResultDo;
 import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.dto.QuestionPageDo;
 import com.simulator.exam.dto.QuestionsStructureDo;
 import com.simulator.exam.entity.Answer;
 import com.simulator.exam.entity.Question;
 import com.simulator.exam.exception.DuplicateQuestionException;
+import com.simulator.exam.exception.InvalidPageRequestException;
 import com.simulator.exam.exception.ModuleNotFoundException;
+import com.simulator.exam.repository.QuestionBulkRepository;
 import com.simulator.exam.repository.QuestionRepository;
-import com.simulator.exam.util.ExamUtils;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.Setter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
-import org.springframework.web.multipart.MultipartFile;
 
+/**
+ * The service owns the transactions of the question bank. The reads run in read-only transactions, Hibernate then
+ * neither flushes the session nor keeps a snapshot of the loaded entities for the dirty checking. The writes run in
+ * read-write transactions.
+ */
 @Service
+@Transactional(readOnly = true)
 class QuestionServiceImp implements QuestionService {
 
     private final QuestionRepository questionRepository;
     private final AnswerService answerService;
+    private final QuestionSampler questionSampler;
+    private final ApplicationEventPublisher eventPublisher;
+    private final QuestionBulkRepository questionBulkRepository;
+    private final ModuleStatisticsServiceImpl moduleStatisticsService;
+    private final TransactionOperations pageTransaction;
     private static final Logger LOGGER = Logger.getLogger("application.logger");
     private static final String MISSING_ENTITY_MESSAGE = "Question with id %s doesn't exist";
 
     @Setter
-    @Value("${app.question.file.locale.path}")
-    private String filePath;
+    @Value("${app.question.page.max-size:500}")
+    private int maxPageSize = 500;
+
+    @Setter
+    @Value("${app.question.export.page-size:500}")
+    private int exportPageSize = 500;
 
     private static final String MISSING_QUESTION_ID = "Missing id for provided question: %s";
 
     @Autowired
-    public QuestionServiceImp(final QuestionRepository questionRepository, final AnswerService answerService) {
+    public QuestionServiceImp(final QuestionRepository questionRepository, final AnswerService answerService,
+            final QuestionSampler questionSampler, final ApplicationEventPublisher eventPublisher,
+            final QuestionBulkRepository questionBulkRepository,
+            final ModuleStatisticsServiceImpl moduleStatisticsService,
+            final PlatformTransactionManager transactionManager) {
         this.questionRepository = questionRepository;
         this.answerService = answerService;
-    }
-
-    /**
-     * Save imported questions to the database ensuring uniqueness.
-     *
-     * @param questions the list of questions to save
-     */
-    private void saveImportedQuestions(final List<Question> questions) {
-        if (questions.isEmpty()) {
-            return;
-        }
-
-        questions.forEach(this::saveUniqueQuestion);
-        LOGGER.log(Level.INFO, "{0} unique questions have been successfully saved", questions.size());
+        this.questionSampler = questionSampler;
+        this.eventPublisher = eventPublisher;
+        this.questionBulkRepository = questionBulkRepository;
+        this.moduleStatisticsService = moduleStatisticsService;
+        final TransactionTemplate pageTemplate = new TransactionTemplate(transactionManager);
+        pageTemplate.setReadOnly(true);
+        this.pageTransaction = pageTemplate;
     }
 
     /**
@@ -64,22 +92,22 @@ class QuestionServiceImp implements QuestionService {
      * @return list of random questions
      */
     public List<QuestionDo> getRandomQuestions() {
-        return questionRepository.getQuestionsOrderByRandom().stream().map(this::mapQuestionToQuestionDo).toList();
+        return findQuestionsInOrder(questionSampler.sampleAll());
     }
 
     /**
-     * Retrieve a specified number of random questions for a given module.
+     * Retrieve a specified number of random questions for a given module. The module is checked against the in-memory
+     * module statistics, no COUNT query is run.
      *
      * @param module            the module name
      * @param numberOfQuestions the number of questions to retrieve
      * @return list of random questions
      */
     public List<QuestionDo> getRandomQuestionsByModule(final String module, final int numberOfQuestions) {
-        if (!StringUtils.hasText(module) || questionRepository.moduleHasNoQuestions(module)) {
+        if (!StringUtils.hasText(module) || !moduleStatisticsService.hasQuestions(module)) {
             throw new ModuleNotFoundException(module);
         }
-        return questionRepository.getTopByModuleEnumQuestionOrderByRandom(numberOfQuestions, module).stream()
-                .map(this::mapQuestionToQuestionDo).toList();
+        return findQuestionsInOrder(questionSampler.sampleByModule(module, numberOfQuestions));
     }
 
     /**
@@ -110,58 +138,136 @@ class QuestionServiceImp implements QuestionService {
     }
 
     /**
-     * Retrieve questions based on a given structure.
+     * Reads the questions of the given ids with a single projection query, keeping the order of the ids.
+     *
+     * @param ids the question ids
+     * @return the questions
+     */
+    private List<QuestionDo> findQuestionsInOrder(final List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return QuestionRowMapper.toQuestionsInOrder(ids, questionRepository.findRowsByIdIn(ids));
+    }
+
+    /**
+     * Retrieve questions based on a given structure. All the modules of the structure are sampled together and their
+     * questions are read with a single query, so the number of queries doesn't grow with the number of modules.
      *
      * @param structureList the list of question structures
      * @return the list of matching questions
      */
     public List<QuestionDo> getQuestionsByStructure(final List<QuestionsStructureDo> structureList) {
-        final List<QuestionDo> questions = new ArrayList<>();
-        structureList.forEach(structure -> questions.addAll(
-                getRandomQuestionsByModule(structure.getModule(), structure.getQuestionNumber())));
-        return questions;
+        structureList.forEach(structure -> {
+            if (!StringUtils.hasText(structure.getModule())) {
+                throw new ModuleNotFoundException(structure.getModule());
+            }
+        });
+
+        final List<List<Long>> sampled = questionSampler.sampleByStructure(structureList);
+        final List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < structureList.size(); i++) {
+            final QuestionsStructureDo structure = structureList.get(i);
+            if (sampled.get(i).isEmpty() && structure.getQuestionNumber() > 0) {
+                throw new ModuleNotFoundException(structure.getModule());
+            }
+            ids.addAll(sampled.get(i));
+        }
+        return findQuestionsInOrder(ids);
     }
 
     /**
-     * Import questions based on the module number from a local file.
+     * Will return all the stored question from the database
      *
-     * @param moduleName the name of the module
+     * @return a list of questions
      */
-    public void saveImportLocalQuestionByFileName(final String fileName, final String moduleName) {
+    @Override
+    public List<QuestionDo> getAllQuestions() {
+        return QuestionRowMapper.toQuestions(questionRepository.findAllRows());
+    }
 
-        final List<Question> questions =
-                ExamUtils.getAllQuestionsFromYamlLocaleFile(String.format(filePath, fileName), moduleName);
-        saveImportedQuestions(questions);
-        LOGGER.log(Level.INFO,
-                String.format("%s questions successfully saved from local file named %s", questions.size(), fileName));
+    /**
+     * Will return a page of questions ordered by id, starting after the given cursor. The page is found on the id
+     * index and the questions are read by id, so the cost of a page doesn't depend on its position in the bank.
+     *
+     * @param after the id of the last question of the previous page, null for the first page
+     * @param size  the page size
+     * @return the page of questions
+     */
+    @Override
+    public QuestionPageDo getQuestionsPage(@Nullable final Long after, final int size) {
+        if (size <= 0 || size > maxPageSize) {
+            throw new InvalidPageRequestException(size, maxPageSize);
+        }
+        return loadPage(after, size);
     }
 
     /**
-     * Import questions from a file for a specific module.
+     * Will pass all the stored questions to the consumer, ordered by id. The questions are read page by page with the
+     * projection queries, no entity is loaded, so the memory used doesn't grow with the size of the bank. Every page
+     * is read in a short transaction of its own and the consumer runs outside of any transaction, so a slow consumer
+     * doesn't hold a connection.
      *
-     * @param multipartFile the uploaded file containing questions
-     * @param moduleName    the module name for importing questions
+     * @param consumer the consumer of the questions
+     * @return the number of exported questions
      */
-    public void saveImportQuestionsFromFile(final MultipartFile multipartFile, final String moduleName) {
-        final List<Question> questions = ExamUtils.getAllQuestionsFromYamlMultipart(multipartFile, moduleName);
-        saveImportedQuestions(questions);
-        LOGGER.log(Level.INFO,
-                String.format("%s questions successfully saved from multipart file named %s", questions.size(),
-                        multipartFile));
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long exportQuestions(final Consumer<QuestionDo> consumer) {
+        long count = 0;
+        Long after = null;
+        do {
+            final Long pageAfter = after;
+            final QuestionPageDo page = pageTransaction.execute(status -> loadPage(pageAfter, exportPageSize));
+            page.getQuestions().forEach(consumer);
+            count += page.getQuestions().size();
+            after = page.getNextCursor();
+        } while (after != null);
+        return count;
+    }
+
+    private QuestionPageDo loadPage(@Nullable final Long after, final int size) {
+        final List<Long> ids =
+                questionRepository.findIdsAfter(after == null ? Long.MIN_VALUE : after, Limit.of(size));
+        if (ids.isEmpty()) {
+            return new QuestionPageDo(List.of(), null);
+        }
+
+        final List<QuestionDo> questions = QuestionRowMapper.toQuestions(questionRepository.findRowsByIdIn(ids));
+        return new QuestionPageDo(questions, ids.size() == size ? ids.get(ids.size() - 1) : null);
     }
 
     /**
-     * Will return all the stored question from the database
+     * Will return all the stored questions of a module
      *
+     * @param module the module name
      * @return a list of questions
      */
     @Override
-    public List<QuestionDo> getAllQuestions() {
-        final List<Question> questions = questionRepository.findAll();
-        if (questions.isEmpty()) {
-            return List.of();
-        }
-        return questions.stream().map(this::mapQuestionToQuestionDo).toList();
+    public List<QuestionDo> getQuestionsByModule(final String module) {
+        return QuestionRowMapper.toQuestions(questionRepository.findRowsByModuleName(module));
+    }
+
+    /**
+     * Will return all the stored questions of the given modules with a single query
+     *
+     * @param modules the module names
+     * @return the questions grouped by module, the modules without questions are missing from the map
+     */
+    public Map<String, List<QuestionDo>> getQuestionsByModules(final Collection<String> modules) {
+        return QuestionRowMapper.toQuestions(questionRepository.findRowsByModuleNameIn(modules)).stream()
+                .collect(Collectors.groupingBy(QuestionDo::getModuleName));
+    }
+
+    /**
+     * Will return the questions of the given ids with a single query, in the order of the ids. The unknown ids are
+     * skipped.
+     *
+     * @param ids the question ids
+     * @return the questions
+     */
+    public List<QuestionDo> getQuestionsByIds(final List<Long> ids) {
+        return findQuestionsInOrder(ids);
     }
 
     /**
@@ -172,7 +278,7 @@ class QuestionServiceImp implements QuestionService {
      */
     @Override
     public QuestionDo getQuestionById(final Long id) {
-        return mapQuestionToQuestionDo(getQuestionFromDatabaseOrThrowException(id));
+        return findQuestionOrThrowException(id);
     }
 
     /**
@@ -183,7 +289,7 @@ class QuestionServiceImp implements QuestionService {
      */
     @Override
     public List<AnswerDo> getAnswersForQuestionId(final Long id) {
-        return answerService.mapAnswersToAnswerDo(getQuestionFromDatabaseOrThrowException(id).getAnswers());
+        return findQuestionOrThrowException(id).getAnswers();
     }
 
     /**
@@ -192,8 +298,10 @@ class QuestionServiceImp implements QuestionService {
      * @param questions the questions that needs to be saved
      */
     @Override
+    @Transactional
     public void saveQuestions(final List<Question> questions) {
         questions.forEach(this::saveUniqueQuestion);
+        publishBankChanged(questions);
     }
 
     /**
@@ -203,9 +311,11 @@ class QuestionServiceImp implements QuestionService {
      * @param answers the answers that needs to be saved
      */
     @Override
+    @Transactional
     public void saveAnswersForThGivenQuestion(final Long id, final List<Answer> answers) {
         final Question question = getQuestionFromDatabaseOrThrowException(id);
         question.setAnswers(answers);
+        publishBankChanged(List.of(question));
     }
 
     /**
@@ -214,8 +324,12 @@ class QuestionServiceImp implements QuestionService {
      * @param question the questions to be deleted
      */
     @Override
+    @Transactional
     public void deleteGivenQuestion(final List<Question> question) {
+        final Set<String> modules = questionBulkRepository.findModulesOfQuestions(
+                question.stream().map(Question::getId).filter(Objects::nonNull).toList());
         questionRepository.deleteAll(question);
+        publishModulesChanged(modules);
     }
 
     /**
@@ -224,8 +338,11 @@ class QuestionServiceImp implements QuestionService {
      * @param id the question id
      */
     @Override
+    @Transactional
     public void deleteQuestionById(final long id) {
+        final Set<String> modules = questionBulkRepository.findModulesOfQuestions(List.of(id));
         questionRepository.deleteById(id);
+        publishModulesChanged(modules);
     }
 
     /**
@@ -234,9 +351,11 @@ class QuestionServiceImp implements QuestionService {
      * @param id the question ID
      */
     @Override
+    @Transactional
     public void deleteAnswersForGivenQuestion(final long id) {
         final Question question = getQuestionFromDatabaseOrThrowException(id);
         question.setAnswers(List.of());
+        publishBankChanged(List.of(question));
     }
 
     /**
@@ -246,10 +365,12 @@ class QuestionServiceImp implements QuestionService {
      * @return the updated list of questions
      */
     @Override
+    @Transactional
     public List<QuestionDo> updateQuestion(final List<Question> questions) {
         final Map<Long, Question> savedQuestionsMap =
                 questionRepository.findAllById(questions.stream().map(Question::getId).toList()).stream()
                         .collect(Collectors.toMap(Question::getId, q -> q));
+        final Set<String> modules = modulesOf(savedQuestionsMap.values());
 
         questions.forEach(q -> {
             if (q.getId() == null || q.getId() <= 0) {
@@ -262,6 +383,8 @@ class QuestionServiceImp implements QuestionService {
                 dbq.setAnswers(q.getAnswers());
             }
         });
+        modules.addAll(modulesOf(savedQuestionsMap.values()));
+        eventPublisher.publishEvent(QuestionBankChangedEvent.forModules(modules));
         return savedQuestionsMap.values().stream().map(this::mapQuestionToQuestionDo).toList();
     }
 
@@ -273,11 +396,15 @@ class QuestionServiceImp implements QuestionService {
      * @return the updated question
      */
     @Override
+    @Transactional
     public QuestionDo updateQuestionById(final Question question, final Long id) {
         final Question dbQuestion = getQuestionFromDatabaseOrThrowException(id);
+        final Set<String> modules = modulesOf(List.of(dbQuestion));
         dbQuestion.setDescription(question.getDescription());
         dbQuestion.setAnswers(question.getAnswers());
         dbQuestion.setModuleName(question.getModuleName());
+        modules.addAll(modulesOf(List.of(dbQuestion)));
+        eventPublisher.publishEvent(QuestionBankChangedEvent.forModules(modules));
         return mapQuestionToQuestionDo(dbQuestion);
     }
 
@@ -289,24 +416,33 @@ class QuestionServiceImp implements QuestionService {
      * @return the updated question
      */
     @Override
+    @Transactional
     public QuestionDo updateQuestionAnswersByQuestionId(final List<Answer> answers, final Long id) {
         final Question dbQuestion = getQuestionFromDatabaseOrThrowException(id);
         dbQuestion.setAnswers(answers);
+        publishBankChanged(List.of(dbQuestion));
         return mapQuestionToQuestionDo(dbQuestion);
     }
 
     @Override
+    @Transactional
     public QuestionDo updatedQuestionPropertiesById(final Long id, final Question question) {
         final Question databaseQuestion = getQuestionFromDatabaseOrThrowException(id);
+        final Set<String> modules = modulesOf(List.of(databaseQuestion));
 
-        return updateOnlyRequiredFields(databaseQuestion, question);
+        final QuestionDo questionDo = updateOnlyRequiredFields(databaseQuestion, question);
+        modules.addAll(modulesOf(List.of(databaseQuestion)));
+        eventPublisher.publishEvent(QuestionBankChangedEvent.forModules(modules));
+        return questionDo;
     }
 
     @Override
+    @Transactional
     public List<QuestionDo> updatedQuestionsPropertiesById(final List<Question> questions) {
         final Map<Long, Question> savedQuestionsMap =
                 questionRepository.findAllById(questions.stream().map(Question::getId).toList()).stream()
                         .collect(Collectors.toMap(Question::getId, q -> q));
+        final Set<String> modules = modulesOf(savedQuestionsMap.values());
 
         questions.forEach(q -> {
             if (q.getId() == null || q.getId() <= 0) {
@@ -317,9 +453,85 @@ class QuestionServiceImp implements QuestionService {
                 updateOnlyRequiredFields(dbq, q);
             }
         });
+        modules.addAll(modulesOf(savedQuestionsMap.values()));
+        eventPublisher.publishEvent(QuestionBankChangedEvent.forModules(modules));
         return savedQuestionsMap.values().stream().map(this::mapQuestionToQuestionDo).toList();
     }
 
+    /**
+     * Will replace the description and the module of the questions with set based batch updates, the answers are
+     * not modified. The ids which don't exist are skipped and reported.
+     *
+     * @param questions the questions to be updated
+     * @return the result of the bulk update
+     */
+    @Override
+    @Transactional
+    public BulkResultDo bulkUpdateQuestions(final List<Question> questions) {
+        final List<Long> ids = requireQuestionIds(questions);
+        return bulkWrite(ids, () -> questionBulkRepository.updateQuestions(questions), modulesOf(questions));
+    }
+
+    /**
+     * Will update only the filled description and module of the questions with set based batch updates, the
+     * answers are not modified. The ids which don't exist are skipped and reported.
+     *
+     * @param questions the questions to be updated
+     * @return the result of the bulk update
+     */
+    @Override
+    @Transactional
+    public BulkResultDo bulkUpdateQuestionsProperties(final List<Question> questions) {
+        final List<Long> ids = requireQuestionIds(questions);
+        return bulkWrite(ids, () -> questionBulkRepository.patchQuestions(questions), modulesOf(questions));
+    }
+
+    /**
+     * Will delete the questions and their answers with set based batch deletes. The ids which don't exist are
+     * skipped and reported.
+     *
+     * @param ids the ids of the questions to be deleted
+     * @return the result of the bulk delete
+     */
+    @Override
+    @Transactional
+    public BulkResultDo bulkDeleteQuestions(final List<Long> ids) {
+        ids.forEach(id -> {
+            if (id == null || id <= 0) {
+                throw new EntityNotFoundException(String.format(MISSING_QUESTION_ID, id));
+            }
+        });
+        return bulkWrite(ids, () -> questionBulkRepository.deleteQuestions(ids), Set.of());
+    }
+
+    /**
+     * Runs a bulk write and notifies the listeners for the modules of the rows before the write and the given
+     * modules written by it.
+     */
+    private BulkResultDo bulkWrite(final List<Long> ids, final Supplier<List<Long>> write,
+            final Set<String> writtenModules) {
+        if (ids.isEmpty()) {
+            return new BulkResultDo(0, 0, List.of());
+        }
+        final Set<String> modules = new HashSet<>(questionBulkRepository.findModulesOfQuestions(ids));
+        final List<Long> missingIds = write.get();
+        modules.addAll(writtenModules);
+        modules.remove(null);
+        eventPublisher.publishEvent(QuestionBankChangedEvent.forModules(modules));
+        LOGGER.log(Level.INFO, "Bulk write of {0} questions, {1} missing", new Object[] { ids.size(),
+                missingIds.size() });
+        return new BulkResultDo(ids.size(), ids.size() - missingIds.size(), missingIds);
+    }
+
+    private static List<Long> requireQuestionIds(final List<Question> questions) {
+        return questions.stream().map(q -> {
+            if (q.getId() == null || q.getId() <= 0) {
+                throw new EntityNotFoundException(String.format(MISSING_QUESTION_ID, q));
+            }
+            return q.getId();
+        }).toList();
+    }
+
     private QuestionDo updateOnlyRequiredFields(final Question databaseQuestion, final Question updateField) {
         if (StringUtils.hasText(updateField.getDescription())) {
             databaseQuestion.setDescription(updateField.getDescription());
@@ -333,8 +545,38 @@ class QuestionServiceImp implements QuestionService {
         return mapQuestionToQuestionDo(databaseQuestion);
     }
 
+    /**
+     * Notifies the listeners that the modules of the given questions have been modified.
+     *
+     * @param questions the modified questions
+     */
+    private void publishBankChanged(final Collection<Question> questions) {
+        eventPublisher.publishEvent(QuestionBankChangedEvent.forModules(modulesOf(questions)));
+    }
+
+    private void publishModulesChanged(final Set<String> modules) {
+        // no module means no stored question was deleted, an event without modules would evict them all
+        if (!modules.isEmpty()) {
+            eventPublisher.publishEvent(QuestionBankChangedEvent.forModules(modules));
+        }
+    }
+
+    private static Set<String> modulesOf(final Collection<Question> questions) {
+        final Set<String> modules = new HashSet<>();
+        questions.forEach(q -> modules.add(q.getModuleName()));
+        return modules;
+    }
+
     private Question getQuestionFromDatabaseOrThrowException(final long id) {
         return questionRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(String.format(MISSING_ENTITY_MESSAGE, id)));
     }
+
+    private QuestionDo findQuestionOrThrowException(final long id) {
+        final List<QuestionDo> questions = QuestionRowMapper.toQuestions(questionRepository.findRowsById(id));
+        if (questions.isEmpty()) {
+            throw new EntityNotFoundException(String.format(MISSING_ENTITY_MESSAGE, id));
+        }
+        return questions.get(0);
+    }
 }
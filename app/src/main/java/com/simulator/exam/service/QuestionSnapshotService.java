@@ -0,0 +1,11 @@
+package com.simulator.exam.service;
+
+import com.simulator.exam.dto.QuestionBankSnapshotDo;
+
+/**
+ * Exports the question bank to a binary snapshot, read back without parsing to seed the imports and the caches.
+ */
+public interface QuestionSnapshotService {
+
+    QuestionBankSnapshotDo exportSnapshot();
+}
@@ -0,0 +1,124 @@
+package com.simulator.exam.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.simulator.exam.dto.ModuleStatisticsDo;
+import com.simulator.exam.dto.QuestionBankSnapshotDo;
+import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.exception.QuestionBankSnapshotException;
+import com.simulator.exam.util.QuestionBankSnapshotReader;
+import com.simulator.exam.util.QuestionBankSnapshotWriter;
+import lombok.Setter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * {@link QuestionSnapshotService} writing the snapshot from the streamed export of the bank. When enabled, the
+ * snapshot seeds the {@link QuestionBankCache} at startup: the modules are decoded from the mapped file instead of
+ * being read from the database on their first request. A module is seeded only when its numbers of questions and
+ * answers match the database, the changes made since the export are then read from the database as usual.
+ */
+@Service
+class QuestionSnapshotServiceImpl implements QuestionSnapshotService {
+
+    private static final Logger LOGGER = Logger.getLogger("application.logger");
+
+    private final QuestionServiceImp questionService;
+    private final ModuleStatisticsServiceImpl moduleStatisticsService;
+    private final ObjectProvider<QuestionBankCache> questionBankCache;
+
+    @Setter
+    @Value("${app.question.snapshot.path:snapshots/question-bank.qbs}")
+    private String snapshotPath = "snapshots/question-bank.qbs";
+
+    @Setter
+    @Value("${app.question.snapshot.seed-caches:false}")
+    private boolean seedCaches;
+
+    public QuestionSnapshotServiceImpl(final QuestionServiceImp questionService,
+            final ModuleStatisticsServiceImpl moduleStatisticsService,
+            final ObjectProvider<QuestionBankCache> questionBankCache) {
+        this.questionService = questionService;
+        this.moduleStatisticsService = moduleStatisticsService;
+        this.questionBankCache = questionBankCache;
+    }
+
+    /**
+     * Will write the whole bank to the configured snapshot, replacing the previous one once complete.
+     *
+     * @return the summary of the snapshot
+     */
+    @Override
+    public synchronized QuestionBankSnapshotDo exportSnapshot() {
+        final long start = System.nanoTime();
+        final Path target = Path.of(snapshotPath);
+        try (QuestionBankSnapshotWriter writer = new QuestionBankSnapshotWriter(target)) {
+            questionService.exportQuestions(writer::add);
+            final long bytes = writer.finish();
+            final long millis = (System.nanoTime() - start) / 1_000_000;
+            LOGGER.log(Level.INFO, "Question bank snapshot {0} written: {1} questions, {2} bytes in {3} ms",
+                    new Object[] { target, writer.getQuestions(), bytes, millis });
+            return new QuestionBankSnapshotDo(target.getFileName().toString(), writer.getModules(),
+                    writer.getQuestions(), writer.getAnswers(), writer.getDistinctOptions(), bytes, millis);
+        } catch (final IOException | UncheckedIOException e) {
+            throw new QuestionBankSnapshotException(String.format("The snapshot %s can't be written", target), e);
+        }
+    }
+
+    /**
+     * Seeds the question cache from the snapshot when enabled, a missing or invalid snapshot leaves the modules to be
+     * loaded on demand.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedCaches() {
+        final QuestionBankCache cache = questionBankCache.getIfAvailable();
+        final Path path = Path.of(snapshotPath);
+        if (!seedCaches || cache == null) {
+            return;
+        }
+        if (!Files.isRegularFile(path)) {
+            LOGGER.log(Level.INFO, "No question bank snapshot at {0}, the modules are loaded on demand", path);
+            return;
+        }
+
+        final long start = System.nanoTime();
+        final QuestionBankSnapshotReader snapshot;
+        try {
+            snapshot = QuestionBankSnapshotReader.open(path);
+        } catch (final QuestionBankSnapshotException e) {
+            LOGGER.log(Level.WARNING, "The question bank snapshot can't seed the cache", e);
+            return;
+        }
+        final Map<String, ModuleStatisticsDo> counts = new HashMap<>();
+        moduleStatisticsService.getModules().forEach(module -> counts.put(module.getModuleName(), module));
+
+        int seeded = 0;
+        int stale = 0;
+        for (final String module : snapshot.getModules()) {
+            final ModuleStatisticsDo count = module == null ? null : counts.get(module);
+            if (count == null || count.getQuestions() != snapshot.size(module)) {
+                stale++;
+                continue;
+            }
+            final List<QuestionDo> questions = snapshot.getQuestions(module);
+            if (count.getAnswers() != questions.stream().mapToLong(q -> q.getAnswers().size()).sum()) {
+                stale++;
+            } else if (cache.seed(new QuestionModuleSnapshot(module, questions))) {
+                seeded++;
+            }
+        }
+        LOGGER.log(Level.INFO, "{0} modules seeded from the question bank snapshot in {1} ms, {2} stale modules "
+                + "skipped", new Object[] { seeded, (System.nanoTime() - start) / 1_000_000, stale });
+    }
+}
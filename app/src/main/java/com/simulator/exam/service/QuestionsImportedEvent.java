@@ -0,0 +1,17 @@
+package com.simulator.exam.service;
+
+import com.simulator.exam.dto.ImportReportDo;
+import lombok.Getter;
+
+/**
+ * Event published by the services once an import has succeeded, with its complete report.
+ */
+@Getter
+public class QuestionsImportedEvent {
+
+    private final ImportReportDo report;
+
+    public QuestionsImportedEvent(final ImportReportDo report) {
+        this.report = report;
+    }
+}
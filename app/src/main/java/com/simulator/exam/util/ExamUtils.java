@@ -5,7 +5,12 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -72,6 +77,45 @@ public class ExamUtils {
         }
     }
 
+    /**
+     * Streams the questions of the provided YAML input stream in chunks of the given size.
+     *
+     * @param stream        the input stream
+     * @param moduleName    the module name
+     * @param chunkSize     the maximum number of questions of a chunk
+     * @param chunkConsumer the consumer receiving the chunks
+     * @return the number of streamed questions
+     */
+    public static long streamQuestionsFromYaml(final InputStream stream, final String moduleName,
+            final int chunkSize, final Consumer<List<Question>> chunkConsumer) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException(String.format("Invalid chunk size %s", chunkSize));
+        }
+
+        final QuestionYamlStreamParser parser = new QuestionYamlStreamParser(stream, moduleName);
+        long count = 0;
+        List<Question> chunk = new ArrayList<>(chunkSize);
+        while (parser.hasNext()) {
+            chunk.add(parser.next());
+            if (chunk.size() == chunkSize) {
+                chunkConsumer.accept(chunk);
+                count += chunk.size();
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunkConsumer.accept(chunk);
+            count += chunk.size();
+        }
+
+        if (count == 0) {
+            LOGGER.log(Level.WARNING, "No questions have been read from the yaml file");
+            throw new QuestionLoaderException("Exception encountered during the questions loading from YAML file");
+        }
+        LOGGER.log(Level.INFO, "{0} questions have been successfully streamed from file", count);
+        return count;
+    }
+
     /**
      * Loads questions data from the provided YAML input stream.
      *
@@ -96,4 +140,34 @@ public class ExamUtils {
         LOGGER.log(Level.INFO, "{0} questions have been successfully read from file", questions.size());
         return questions;
     }
+
+    /**
+     * Picks distinct random indexes from the range [0, bound) using Floyd's algorithm, the cost depends only on the
+     * number of picked indexes and not on the size of the range.
+     *
+     * @param bound  the exclusive upper bound of the range
+     * @param count  the number of indexes to pick, capped to the bound
+     * @param random the random generator
+     * @return the picked indexes in random order
+     */
+    public static int[] sampleIndexes(final int bound, final int count, final Random random) {
+        final int size = Math.max(0, Math.min(bound, count));
+        final Set<Integer> picked = new HashSet<>(size * 2);
+        final int[] result = new int[size];
+        int position = 0;
+        for (int upper = bound - size; upper < bound; upper++) {
+            final int candidate = random.nextInt(upper + 1);
+            final int index = picked.contains(candidate) ? upper : candidate;
+            picked.add(index);
+            result[position++] = index;
+        }
+        // Floyd's algorithm gives a uniform subset but not a uniform order, the result is shuffled in place
+        for (int i = size - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int swap = result[i];
+            result[i] = result[j];
+            result[j] = swap;
+        }
+        return result;
+    }
 }
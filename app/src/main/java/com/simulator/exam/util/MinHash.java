@@ -0,0 +1,155 @@
+package com.simulator.exam.util;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * MinHash signatures of the question descriptions, used to find the near-duplicates without comparing every pair of
+ * questions. A description is reduced to its shingles, the lower case words and pairs of consecutive words. The
+ * signature is cut in bands and every band is hashed to a key: two descriptions share a band key with a probability
+ * of {@code 1 - (1 - s^ROWS)^BANDS}, s being the Jaccard similarity of their shingles, so the similar descriptions
+ * are found by looking the keys up and the candidates are then checked with their exact similarity.
+ * <p>
+ * The keys are stored with the questions: the hash functions must never change.
+ */
+public final class MinHash {
+
+    public static final int BANDS = 4;
+    static final int ROWS = 5;
+
+    private static final long[] SEEDS = new long[BANDS * ROWS];
+
+    static {
+        for (int i = 0; i < SEEDS.length; i++) {
+            SEEDS[i] = mix(0x9E3779B97F4A7C15L * (i + 1));
+        }
+    }
+
+    // Private constructor to prevent instantiation
+    private MinHash() {
+    }
+
+    /**
+     * Returns the shingles of a text, its lower case words made of letters and digits and the pairs of consecutive
+     * words.
+     *
+     * @param text the text, may be null
+     * @return the shingles
+     */
+    public static Set<String> shingles(@Nullable final String text) {
+        final Set<String> shingles = new HashSet<>();
+        if (text == null) {
+            return shingles;
+        }
+        String previous = null;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            final boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                final String word = text.substring(start, i).toLowerCase(Locale.ROOT);
+                shingles.add(word);
+                if (previous != null) {
+                    shingles.add(previous + ' ' + word);
+                }
+                previous = word;
+                start = -1;
+            }
+        }
+        return shingles;
+    }
+
+    /**
+     * Returns the band keys of the signature of a text.
+     *
+     * @param text the text, may be null
+     * @return the {@link #BANDS} keys, null when the text has no shingle
+     */
+    @Nullable
+    public static long[] bandKeys(@Nullable final String text) {
+        return bandKeys(shingles(text));
+    }
+
+    /**
+     * Returns the band keys of the signature of a set of shingles.
+     *
+     * @param shingles the shingles
+     * @return the {@link #BANDS} keys, null when there is no shingle
+     */
+    @Nullable
+    public static long[] bandKeys(final Set<String> shingles) {
+        if (shingles.isEmpty()) {
+            return null;
+        }
+        final long[] minimums = new long[SEEDS.length];
+        Arrays.fill(minimums, Long.MAX_VALUE);
+        for (final String shingle : shingles) {
+            final long hash = hash(shingle);
+            for (int i = 0; i < SEEDS.length; i++) {
+                minimums[i] = Math.min(minimums[i], mix(hash ^ SEEDS[i]));
+            }
+        }
+
+        final long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = band;
+            for (int row = 0; row < ROWS; row++) {
+                key = mix(key * 31 + minimums[band * ROWS + row]);
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the Jaccard similarity of two sets of shingles.
+     *
+     * @param first  the first shingles
+     * @param second the second shingles
+     * @return the size of the intersection divided by the size of the union, 0 when both are empty
+     */
+    public static double similarity(final Set<String> first, final Set<String> second) {
+        if (first.isEmpty() && second.isEmpty()) {
+            return 0;
+        }
+        final Set<String> smaller = first.size() <= second.size() ? first : second;
+        final Set<String> larger = smaller == first ? second : first;
+        int common = 0;
+        for (final String shingle : smaller) {
+            if (larger.contains(shingle)) {
+                common++;
+            }
+        }
+        return (double) common / (first.size() + second.size() - common);
+    }
+
+    /**
+     * 64 bit FNV-1a hash of the characters, the JDK string hash is too narrow for the signatures.
+     */
+    private static long hash(final String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Finalizer of MurmurHash3, every input bit affects every output bit.
+     */
+    private static long mix(final long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB93FE53A87DBL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
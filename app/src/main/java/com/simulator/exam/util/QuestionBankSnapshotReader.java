@@ -0,0 +1,287 @@
+package com.simulator.exam.util;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.exception.QuestionBankSnapshotException;
+import org.springframework.lang.Nullable;
+
+/**
+ * Memory-mapped question bank snapshot written by {@link QuestionBankSnapshotWriter}. Opening a snapshot only reads
+ * its header and its module index, the questions are decoded from the mapped file while they are iterated. The reads
+ * use absolute positions, a reader can be shared by several threads. Every answer option is decoded once, the
+ * questions read from a snapshot share the option strings. The questions are found by id with a binary search on the
+ * id index and by position within their module with the module index, both stay off-heap.
+ */
+public final class QuestionBankSnapshotReader {
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final int stringTableOffset;
+    private final int idIndexOffset;
+    private final String[] options;
+    private final long questions;
+    private final long answers;
+    private final Map<String, ModuleEntry> modules;
+    private final String[] moduleNames;
+
+    private QuestionBankSnapshotReader(final Path path, final ByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.capacity() < QuestionBankSnapshotWriter.HEADER_SIZE
+                || buffer.getInt(0) != QuestionBankSnapshotWriter.MAGIC) {
+            throw new QuestionBankSnapshotException(String.format("%s is not a question bank snapshot", path));
+        }
+        if (buffer.getInt(4) != QuestionBankSnapshotWriter.VERSION) {
+            throw new QuestionBankSnapshotException(
+                    String.format("The version %s of the snapshot %s is not supported", buffer.getInt(4), path));
+        }
+        this.stringTableOffset = buffer.getInt(8);
+        this.options = new String[buffer.getInt(stringTableOffset)];
+        this.questions = buffer.getLong(16);
+        this.answers = buffer.getLong(24);
+        this.idIndexOffset = buffer.getInt(32);
+
+        final Map<String, ModuleEntry> index = new LinkedHashMap<>();
+        int position = buffer.getInt(12);
+        final int moduleCount = buffer.getInt(position);
+        this.moduleNames = new String[moduleCount];
+        position += 4;
+        for (int m = 0; m < moduleCount; m++) {
+            final int nameLength = buffer.getInt(position);
+            final String name = readString(position);
+            moduleNames[m] = name;
+            position += 4 + Math.max(nameLength, 0);
+            final int count = buffer.getInt(position);
+            index.put(name, new ModuleEntry(count, position + 4));
+            position += 4 + 4 * count;
+        }
+        this.modules = Collections.unmodifiableMap(index);
+        if (idIndexOffset + QuestionBankSnapshotWriter.ID_ENTRY_SIZE * questions > buffer.capacity()) {
+            throw new QuestionBankSnapshotException(String.format("The snapshot %s is truncated", path));
+        }
+    }
+
+    /**
+     * Maps a snapshot file.
+     *
+     * @param path the path of the snapshot
+     * @return the snapshot reader
+     */
+    public static QuestionBankSnapshotReader open(final Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // the mapping stays valid once the channel is closed
+            final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new QuestionBankSnapshotReader(path, mapped);
+        } catch (final IOException e) {
+            throw new QuestionBankSnapshotException(String.format("The snapshot %s can't be read", path), e);
+        } catch (final IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new QuestionBankSnapshotException(String.format("The snapshot %s is truncated", path), e);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return the modules of the snapshot, null for the questions without module
+     */
+    public Set<String> getModules() {
+        return modules.keySet();
+    }
+
+    public long size() {
+        return questions;
+    }
+
+    public long answers() {
+        return answers;
+    }
+
+    /**
+     * @param module the module name
+     * @return the number of questions of the module, 0 when the module is not in the snapshot
+     */
+    public int size(@Nullable final String module) {
+        final ModuleEntry entry = modules.get(module);
+        return entry == null ? 0 : entry.count;
+    }
+
+    /**
+     * Decodes the questions of a module.
+     *
+     * @param module the module name
+     * @return the questions, empty when the module is not in the snapshot
+     */
+    public List<QuestionDo> getQuestions(@Nullable final String module) {
+        final List<QuestionDo> result = new ArrayList<>(size(module));
+        forEachQuestion(module, result::add);
+        return result;
+    }
+
+    /**
+     * Decodes a question of a module.
+     *
+     * @param module the module name
+     * @param index  the position of the question within its module, from 0 to {@link #size(String)} excluded
+     * @return the question
+     */
+    public QuestionDo getQuestion(@Nullable final String module, final int index) {
+        final ModuleEntry entry = modules.get(module);
+        if (entry == null || index < 0 || index >= entry.count) {
+            throw new IndexOutOfBoundsException(String.format("No question %s in the module %s", index, module));
+        }
+        return readQuestion(buffer.getInt(entry.offsetsPosition + 4 * index), module);
+    }
+
+    /**
+     * Finds a question by id with a binary search on the id index.
+     *
+     * @param id the question id
+     * @return the question, null when the snapshot doesn't contain it
+     */
+    @Nullable
+    public QuestionDo getQuestion(final long id) {
+        final int index = firstIndex(id, false);
+        return index < questions && idAt(index) == id ? getQuestionAt(index) : null;
+    }
+
+    /**
+     * Decodes a question by its position in the order of the ids.
+     *
+     * @param index the position, from 0 to {@link #size()} excluded
+     * @return the question
+     */
+    public QuestionDo getQuestionAt(final int index) {
+        if (index < 0 || index >= questions) {
+            throw new IndexOutOfBoundsException(String.format("No question %s in the snapshot", index));
+        }
+        final int entry = idIndexOffset + QuestionBankSnapshotWriter.ID_ENTRY_SIZE * index;
+        return readQuestion(buffer.getInt(entry + 8), moduleNames[buffer.getInt(entry + 12)]);
+    }
+
+    /**
+     * Returns the position in the order of the ids of the first question with an id greater than the given one.
+     *
+     * @param id the id
+     * @return the position, {@link #size()} when every question has a smaller or equal id
+     */
+    public int indexAfter(final long id) {
+        return firstIndex(id, true);
+    }
+
+    private int firstIndex(final long id, final boolean after) {
+        int low = 0;
+        int high = (int) questions;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            final long current = idAt(middle);
+            if (current < id || after && current == id) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Decodes the questions of a module one by one.
+     *
+     * @param module   the module name
+     * @param consumer the consumer of the questions
+     */
+    public void forEachQuestion(@Nullable final String module, final Consumer<QuestionDo> consumer) {
+        final ModuleEntry entry = modules.get(module);
+        if (entry == null) {
+            return;
+        }
+        try {
+            for (int i = 0; i < entry.count; i++) {
+                consumer.accept(readQuestion(buffer.getInt(entry.offsetsPosition + 4 * i), module));
+            }
+        } catch (final IndexOutOfBoundsException e) {
+            throw new QuestionBankSnapshotException(String.format("The snapshot %s is corrupted", path), e);
+        }
+    }
+
+    /**
+     * Decodes the questions of every module one by one, module after module.
+     *
+     * @param consumer the consumer of the questions
+     */
+    public void forEachQuestion(final Consumer<QuestionDo> consumer) {
+        modules.keySet().forEach(module -> forEachQuestion(module, consumer));
+    }
+
+    private long idAt(final int index) {
+        return buffer.getLong(idIndexOffset + QuestionBankSnapshotWriter.ID_ENTRY_SIZE * index);
+    }
+
+    private QuestionDo readQuestion(final int offset, @Nullable final String module) {
+        int position = offset + 4;
+        final long id = buffer.getLong(position);
+        position += 8;
+        final int descriptionLength = buffer.getInt(position);
+        final String description = readString(position);
+        position += 4 + Math.max(descriptionLength, 0);
+        final int answerCount = buffer.getInt(position);
+        position += 4;
+        final List<AnswerDo> questionAnswers = new ArrayList<>(answerCount);
+        for (int a = 0; a < answerCount; a++) {
+            final long answerId = buffer.getLong(position);
+            final String option = option(buffer.getInt(position + 8));
+            questionAnswers.add(new AnswerDo(answerId < 0 ? null : answerId, option, buffer.get(position + 12) != 0));
+            position += 13;
+        }
+        return new QuestionDo(id, description, questionAnswers, module);
+    }
+
+    private String option(final int number) {
+        String option = options[number];
+        if (option == null) {
+            // a racing thread may decode the same option, both strings are equal
+            option = readString(buffer.getInt(stringTableOffset + 4 + 4 * number));
+            options[number] = option;
+        }
+        return option;
+    }
+
+    @Nullable
+    private String readString(final int position) {
+        final int length = buffer.getInt(position);
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(position + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class ModuleEntry {
+
+        private final int count;
+        private final int offsetsPosition;
+
+        private ModuleEntry(final int count, final int offsetsPosition) {
+            this.count = count;
+            this.offsetsPosition = offsetsPosition;
+        }
+    }
+}
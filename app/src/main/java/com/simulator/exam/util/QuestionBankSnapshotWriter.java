@@ -0,0 +1,282 @@
+package com.simulator.exam.util;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.exception.QuestionBankSnapshotException;
+
+/**
+ * Writes a question bank snapshot, the binary format read by {@link QuestionBankSnapshotReader}. The questions are
+ * appended to the file as they are received, only the string table of the answer options and the positions of the
+ * questions of every module are held in memory. The file is written next to the target and moved in place once
+ * complete, a reader never sees a partial snapshot.
+ * <p>
+ * Layout, big-endian, every offset is a position in the file:
+ * <pre>
+ * header        magic, version, string table offset, module index offset, question count, answer count,
+ *               id index offset, padding
+ * questions     per question: record length, id, description, answer count,
+ *               per answer: id, option string number, correct flag
+ * string table  string count, the offset of every string, then the strings
+ * module index  module count, per module: name, question count, the offsets of its questions
+ * id index      per question ordered by id: id, offset of the question, number of its module in the module index
+ * </pre>
+ * The strings are UTF-8 bytes prefixed with their length, -1 for null. The answer options are deduplicated through
+ * the string table, the descriptions are unique and stored within their question. The id index has a fixed entry
+ * size, a question is found by a binary search on the mapped file.
+ */
+public final class QuestionBankSnapshotWriter implements Closeable {
+
+    static final int MAGIC = 0x5142534E;
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 40;
+    static final int ID_ENTRY_SIZE = 16;
+
+    private final Path target;
+    private final Path temporary;
+    private final FileChannel channel;
+    private final DataOutputStream output;
+
+    private final Map<String, Integer> optionNumbers = new HashMap<>();
+    private final List<String> options = new ArrayList<>();
+    private final Map<String, ModulePositions> modules = new LinkedHashMap<>();
+    private long[] ids = new long[1024];
+    private int[] idOffsets = new int[1024];
+    private int[] idModules = new int[1024];
+    private long position = HEADER_SIZE;
+    private long questions;
+    private long answers;
+    private boolean finished;
+
+    /**
+     * Opens a snapshot writer, nothing is visible at the target before {@link #finish()}.
+     *
+     * @param target the path of the snapshot
+     * @throws IOException when the temporary file can't be created
+     */
+    public QuestionBankSnapshotWriter(final Path target) throws IOException {
+        this.target = target;
+        final Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        this.temporary = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        this.channel = FileChannel.open(temporary, StandardOpenOption.WRITE);
+        this.output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+        output.write(new byte[HEADER_SIZE]);
+    }
+
+    /**
+     * Appends a question to the snapshot.
+     *
+     * @param question the question
+     */
+    public void add(final QuestionDo question) {
+        final List<AnswerDo> questionAnswers = question.getAnswers() == null ? List.of() : question.getAnswers();
+        final byte[] description = bytesOf(question.getDescription());
+        final int length = 8 + 4 + (description == null ? 0 : description.length) + 4 + questionAnswers.size() * 13;
+        try {
+            final ModulePositions module =
+                    modules.computeIfAbsent(question.getModuleName(), m -> new ModulePositions(modules.size()));
+            module.add(checkedPosition());
+            addId(question.getId(), checkedPosition(), module.number);
+            output.writeInt(length);
+            output.writeLong(question.getId());
+            writeBytes(description);
+            output.writeInt(questionAnswers.size());
+            for (final AnswerDo answer : questionAnswers) {
+                output.writeLong(answer.getId() == null ? -1 : answer.getId());
+                output.writeInt(optionNumber(answer.getOption()));
+                output.writeByte(answer.isCorrect() ? 1 : 0);
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        position += 4 + length;
+        questions++;
+        answers += questionAnswers.size();
+    }
+
+    /**
+     * Writes the string table, the module index and the header, then moves the snapshot to its target.
+     *
+     * @return the size of the snapshot in bytes
+     * @throws IOException when the snapshot can't be written
+     */
+    public long finish() throws IOException {
+        final int stringTableOffset = checkedPosition();
+        output.writeInt(options.size());
+        long stringPosition = position + 4 + 4L * options.size();
+        final List<byte[]> encoded = new ArrayList<>(options.size());
+        for (final String option : options) {
+            final byte[] bytes = bytesOf(option);
+            encoded.add(bytes);
+            output.writeInt(checked(stringPosition));
+            stringPosition += 4 + (bytes == null ? 0 : bytes.length);
+        }
+        for (final byte[] bytes : encoded) {
+            writeBytes(bytes);
+        }
+        position = stringPosition;
+
+        final int moduleIndexOffset = checkedPosition();
+        output.writeInt(modules.size());
+        position += 4;
+        for (final Map.Entry<String, ModulePositions> module : modules.entrySet()) {
+            final byte[] name = bytesOf(module.getKey());
+            writeBytes(name);
+            output.writeInt(module.getValue().size);
+            for (int i = 0; i < module.getValue().size; i++) {
+                output.writeInt(module.getValue().offsets[i]);
+            }
+            position += 4 + (name == null ? 0 : name.length) + 4 + 4L * module.getValue().size;
+        }
+
+        final int idIndexOffset = checkedPosition();
+        for (final int entry : idOrder()) {
+            output.writeLong(ids[entry]);
+            output.writeInt(idOffsets[entry]);
+            output.writeInt(idModules[entry]);
+        }
+        position += ID_ENTRY_SIZE * questions;
+        checkedPosition();
+        output.flush();
+
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt(stringTableOffset).putInt(moduleIndexOffset).putLong(questions)
+                .putLong(answers).putInt(idIndexOffset).putInt(0).flip();
+        while (header.hasRemaining()) {
+            channel.write(header, HEADER_SIZE - header.remaining());
+        }
+        channel.force(false);
+        output.close();
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        finished = true;
+        return position;
+    }
+
+    public long getQuestions() {
+        return questions;
+    }
+
+    public long getAnswers() {
+        return answers;
+    }
+
+    public int getModules() {
+        return modules.size();
+    }
+
+    public int getDistinctOptions() {
+        return options.size();
+    }
+
+    /**
+     * Deletes the temporary file of a snapshot which was not finished.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!finished) {
+            output.close();
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private void addId(final long id, final int offset, final int module) {
+        final int entry = (int) questions;
+        if (entry == ids.length) {
+            ids = Arrays.copyOf(ids, entry * 2);
+            idOffsets = Arrays.copyOf(idOffsets, entry * 2);
+            idModules = Arrays.copyOf(idModules, entry * 2);
+        }
+        ids[entry] = id;
+        idOffsets[entry] = offset;
+        idModules[entry] = module;
+    }
+
+    /**
+     * The exports are read in the order of the ids, the questions are only sorted when they were added out of order.
+     */
+    private int[] idOrder() {
+        final int count = (int) questions;
+        boolean sorted = true;
+        for (int i = 1; i < count && sorted; i++) {
+            sorted = ids[i - 1] < ids[i];
+        }
+        final IntStream entries = IntStream.range(0, count);
+        return sorted ? entries.toArray()
+                : entries.boxed().sorted(Comparator.comparingLong(entry -> ids[entry])).mapToInt(Integer::intValue)
+                        .toArray();
+    }
+
+    private int optionNumber(final String option) {
+        return optionNumbers.computeIfAbsent(option, o -> {
+            options.add(o);
+            return options.size() - 1;
+        });
+    }
+
+    private void writeBytes(final byte[] bytes) throws IOException {
+        if (bytes == null) {
+            output.writeInt(-1);
+        } else {
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    /**
+     * The offsets are stored as int, a snapshot is mapped with a single buffer which can't exceed 2 GB.
+     */
+    private int checkedPosition() {
+        return checked(position);
+    }
+
+    private static int checked(final long offset) {
+        if (offset > Integer.MAX_VALUE) {
+            throw new QuestionBankSnapshotException("The question bank snapshot exceeds 2 GB");
+        }
+        return (int) offset;
+    }
+
+    private static byte[] bytesOf(final String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class ModulePositions {
+
+        private final int number;
+        private int[] offsets = new int[16];
+        private int size;
+
+        private ModulePositions(final int number) {
+            this.number = number;
+        }
+
+        private void add(final int offset) {
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+            offsets[size++] = offset;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.simulator.exam.util;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import com.simulator.exam.entity.Answer;
+import com.simulator.exam.entity.Question;
+import com.simulator.exam.exception.QuestionFormatException;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.reader.UnicodeReader;
+
+/**
+ * Event based reader of a questions YAML document. The questions are built one at a time from the parser events, so
+ * only the question being read is held in memory whatever the size of the document. The expected format is the one
+ * of the {@link com.simulator.exam.dto.QuestionsWrapper}:
+ *
+ * <pre>
+ * questions:
+ *   - description: "..."
+ *     answers:
+ *       - option: "..."
+ *         correct: true
+ * </pre>
+ */
+public class QuestionYamlStreamParser implements Iterator<Question> {
+
+    private static final String QUESTIONS_KEY = "questions";
+
+    private final Iterator<Event> events;
+    private final String moduleName;
+
+    private Question next;
+    private boolean started;
+    private boolean finished;
+
+    /**
+     * @param stream     the YAML input stream, it is not closed by the parser
+     * @param moduleName the module name set on every question
+     */
+    public QuestionYamlStreamParser(final InputStream stream, final String moduleName) {
+        final LoaderOptions loaderOptions = new LoaderOptions();
+        // the document size limit protects the tree loading, the events are consumed without retaining the document
+        loaderOptions.setCodePointLimit(Integer.MAX_VALUE);
+        this.events = new Yaml(loaderOptions).parse(new UnicodeReader(stream)).iterator();
+        this.moduleName = moduleName;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            next = readNextQuestion();
+        }
+        return next != null;
+    }
+
+    @Override
+    public Question next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final Question question = next;
+        next = null;
+        return question;
+    }
+
+    private Question readNextQuestion() {
+        try {
+            if (!started) {
+                started = true;
+                if (!moveToQuestionsSequence()) {
+                    finished = true;
+                    return null;
+                }
+            }
+            final Event event = nextEvent();
+            if (event.is(Event.ID.SequenceEnd)) {
+                finished = true;
+                return null;
+            }
+            expect(event, Event.ID.MappingStart);
+            return readQuestion();
+        } catch (final YAMLException e) {
+            throw new QuestionFormatException("The questions YAML document is not valid: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Skips the document header up to the start of the questions sequence.
+     *
+     * @return false when the document holds no questions sequence
+     */
+    private boolean moveToQuestionsSequence() {
+        Event event = nextEvent();
+        while (event.is(Event.ID.StreamStart) || event.is(Event.ID.DocumentStart)) {
+            event = nextEvent();
+        }
+        if (event.is(Event.ID.StreamEnd) || event.is(Event.ID.DocumentEnd)) {
+            return false;
+        }
+        expect(event, Event.ID.MappingStart);
+
+        final String key = readScalar();
+        if (!QUESTIONS_KEY.equals(key)) {
+            throw new QuestionFormatException(String.format("Unexpected property '%s', expected '%s'", key,
+                    QUESTIONS_KEY));
+        }
+        final Event value = nextEvent();
+        if (value.is(Event.ID.Scalar)) {
+            // "questions:" without any item
+            return false;
+        }
+        expect(value, Event.ID.SequenceStart);
+        return true;
+    }
+
+    private Question readQuestion() {
+        final Question question = new Question();
+        question.setModuleName(moduleName);
+        Event event = nextEvent();
+        while (!event.is(Event.ID.MappingEnd)) {
+            final String key = Objects.requireNonNullElse(scalarValue(event), "");
+            switch (key) {
+            case "id" -> question.setId(parseLong(readScalar()));
+            case "description" -> question.setDescription(readScalar());
+            // the module of the import is set on every question, the one of the document is ignored
+            case "moduleName" -> readScalar();
+            case "answers" -> question.setAnswers(readAnswers());
+            default -> throw new QuestionFormatException(String.format("Unknown question property '%s'", key));
+            }
+            event = nextEvent();
+        }
+        return question;
+    }
+
+    private List<Answer> readAnswers() {
+        final List<Answer> answers = new ArrayList<>();
+        final Event start = nextEvent();
+        if (start.is(Event.ID.Scalar)) {
+            return answers;
+        }
+        expect(start, Event.ID.SequenceStart);
+
+        Event event = nextEvent();
+        while (!event.is(Event.ID.SequenceEnd)) {
+            expect(event, Event.ID.MappingStart);
+            answers.add(readAnswer());
+            event = nextEvent();
+        }
+        return answers;
+    }
+
+    private Answer readAnswer() {
+        final Answer answer = new Answer();
+        Event event = nextEvent();
+        while (!event.is(Event.ID.MappingEnd)) {
+            final String key = Objects.requireNonNullElse(scalarValue(event), "");
+            switch (key) {
+            case "id" -> answer.setId(parseLong(readScalar()));
+            case "option" -> answer.setOption(readScalar());
+            case "correct" -> answer.setCorrect(parseBoolean(readScalar()));
+            default -> throw new QuestionFormatException(String.format("Unknown answer property '%s'", key));
+            }
+            event = nextEvent();
+        }
+        return answer;
+    }
+
+    private String readScalar() {
+        return scalarValue(nextEvent());
+    }
+
+    private Event nextEvent() {
+        if (!events.hasNext()) {
+            throw new QuestionFormatException("Unexpected end of the questions YAML document");
+        }
+        return events.next();
+    }
+
+    private static String scalarValue(final Event event) {
+        expect(event, Event.ID.Scalar);
+        final ScalarEvent scalar = (ScalarEvent) event;
+        // a plain "~", "null" or empty scalar is the YAML null
+        if (scalar.isPlain() && isNull(scalar.getValue())) {
+            return null;
+        }
+        return scalar.getValue();
+    }
+
+    private static void expect(final Event event, final Event.ID expected) {
+        if (!event.is(expected)) {
+            throw new QuestionFormatException(
+                    String.format("Unexpected %s at %s, expected %s", event.getEventId(), event.getStartMark(),
+                            expected));
+        }
+    }
+
+    private static boolean isNull(final String value) {
+        return value.isEmpty() || "~".equals(value) || "null".equalsIgnoreCase(value);
+    }
+
+    private static boolean parseBoolean(final String value) {
+        if (value == null) {
+            return false;
+        }
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "yes", "on" -> true;
+            case "false", "no", "off" -> false;
+            default -> throw new QuestionFormatException(String.format("'%s' is not a boolean value", value));
+        };
+    }
+
+    private static Long parseLong(final String value) {
+        try {
+            return value == null ? null : Long.valueOf(value);
+        } catch (final NumberFormatException e) {
+            throw new QuestionFormatException(String.format("'%s' is not a valid id", value), e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.simulator.exam.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class EntityEqualityTest {
+
+    private static final String MODULE_NAME = "SPRING_AOP";
+
+    @Mock
+    private List<Answer> answers;
+
+    @Test
+    void testQuestionEqualityDoesNotAccessAnswers() {
+        final Question question = new Question(1L, "description1", MODULE_NAME, answers);
+        final Question sameQuestion = new Question(1L, "description1", MODULE_NAME, answers);
+
+        assertEquals(question, sameQuestion);
+        assertEquals(question.hashCode(), sameQuestion.hashCode());
+        verifyNoInteractions(answers);
+    }
+
+    @Test
+    void testQuestionWithLinkedAnswersCanBeHashed() {
+        final List<Answer> linkedAnswers = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            linkedAnswers.add(new Answer((long) i, "Option " + i, i == 0));
+        }
+        final Question question = new Question("description1", new ArrayList<>(), MODULE_NAME);
+        question.setAnswers(linkedAnswers);
+
+        final Set<Object> entities = new HashSet<>(linkedAnswers);
+        entities.add(question);
+
+        assertEquals(1001, entities.size());
+        assertTrue(entities.contains(linkedAnswers.get(500)));
+    }
+
+    @Test
+    void testPersistedQuestionIsIdentifiedById() {
+        final Question question = new Question(1L, "description1", MODULE_NAME, List.of());
+        final Set<Question> questions = new HashSet<>(Set.of(question));
+
+        question.setDescription("description2");
+
+        assertTrue(questions.contains(question));
+        assertEquals(question, new Question(1L, "description3", "OTHER_MODULE", List.of()));
+        assertNotEquals(question, new Question(2L, "description2", MODULE_NAME, List.of()));
+    }
+
+    @Test
+    void testTransientQuestionIsIdentifiedByDescription() {
+        final Question transientQuestion = new Question("description1", List.of(), MODULE_NAME);
+        final int hashCodeBeforeUpdate = transientQuestion.hashCode();
+
+        assertEquals(transientQuestion, new Question("description1", List.of(), "OTHER_MODULE"));
+        assertNotEquals(transientQuestion, new Question("description2", List.of(), MODULE_NAME));
+        assertNotEquals(transientQuestion, new Question(1L, "description1", MODULE_NAME, List.of()));
+        transientQuestion.setDescription("description2");
+        assertEquals(hashCodeBeforeUpdate, transientQuestion.hashCode());
+    }
+
+    @Test
+    void testQuestionWithoutDescriptionIsOnlyEqualToItself() {
+        final Question question = new Question();
+
+        assertEquals(question, question);
+        assertNotEquals(question, new Question());
+    }
+
+    @Test
+    void testAnswerIsIdentifiedById() {
+        final Answer answer = new Answer("Option", true);
+        final int hashCodeBeforePersist = answer.hashCode();
+
+        assertNotEquals(answer, new Answer("Option", true));
+        answer.setId(1L);
+        assertEquals(hashCodeBeforePersist, answer.hashCode());
+        assertEquals(answer, new Answer(1L, "Other option", false));
+    }
+}
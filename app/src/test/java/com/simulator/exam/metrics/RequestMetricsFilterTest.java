@@ -0,0 +1,152 @@
+package com.simulator.exam.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import com.simulator.exam.dto.ImportReportDo;
+import com.simulator.exam.service.QuestionsImportedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+class RequestMetricsFilterTest {
+
+    private static final String MODULE_NAME = "SPRING_AOP";
+    private static final String URI = "/v1/questions/random";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ModuleTags moduleTags = new ModuleTags();
+    private final RequestMetricsFilter filter = new RequestMetricsFilter(meterRegistry, moduleTags);
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        final JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", meterRegistry);
+        dataSource = new SqlMetricsDataSource(h2, beanFactory.getBeanProvider(MeterRegistry.class));
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE questions (id BIGINT PRIMARY KEY)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testStatementsAreRecordedPerRequestAndModule() throws Exception {
+        final MockHttpServletRequest request = request();
+        request.setParameter("module", MODULE_NAME);
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain(3));
+
+        assertEquals(MODULE_NAME, request.getAttribute(RequestMetricsFilter.MODULE_TAG_ATTRIBUTE));
+        assertEquals(1, meterRegistry.get("exam.request.sql.statements").tags("uri", URI, "module", MODULE_NAME)
+                .summary().count());
+        assertEquals(3.0, meterRegistry.get("exam.request.sql.statements").tags("uri", URI, "module", MODULE_NAME)
+                .summary().totalAmount());
+        assertEquals(1, meterRegistry.get("exam.request.sql.time").tags("uri", URI, "module", MODULE_NAME).timer()
+                .count());
+        assertEquals(3, meterRegistry.get("exam.sql.statements").tag("scope", "request").timer().count());
+        // the table creation ran outside of a request
+        assertEquals(1, meterRegistry.get("exam.sql.statements").tag("scope", "background").timer().count());
+    }
+
+    @Test
+    void testModulesOfTheBodyTagTheRequest() throws Exception {
+        final MockHttpServletRequest request = request();
+        final MockHttpServletRequest otherRequest = request();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+            RequestMetrics.tagModules(List.of(MODULE_NAME, MODULE_NAME));
+        });
+        filter.doFilter(otherRequest, new MockHttpServletResponse(), (req, res) -> {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(otherRequest));
+            RequestMetrics.tagModules(List.of(MODULE_NAME, "SPRING_MVC"));
+        });
+
+        assertEquals(MODULE_NAME, request.getAttribute(RequestMetricsFilter.MODULE_TAG_ATTRIBUTE));
+        assertEquals(RequestMetrics.MULTIPLE_MODULES,
+                otherRequest.getAttribute(RequestMetricsFilter.MODULE_TAG_ATTRIBUTE));
+    }
+
+    @Test
+    void testModuleTagsAreBounded() {
+        moduleTags.setMaxModuleTags(2);
+
+        assertEquals(ModuleTags.NONE, moduleTags.tagOf(null, true));
+        assertEquals(ModuleTags.OTHER, moduleTags.tagOf("MISSING_MODULE", false));
+        assertEquals(MODULE_NAME, moduleTags.tagOf(MODULE_NAME, true));
+        assertEquals("SPRING_MVC", moduleTags.tagOf("SPRING_MVC", true));
+        assertEquals(ModuleTags.OTHER, moduleTags.tagOf("SPRING_DATA", true));
+        // a known module keeps its tag, whatever the outcome of the request
+        assertEquals(MODULE_NAME, moduleTags.tagOf(MODULE_NAME, false));
+    }
+
+    @Test
+    void testImportReportsAreRecordedPerModule() {
+        final ImportReportDo report = new ImportReportDo();
+        report.setModuleName(MODULE_NAME);
+        report.setQuestions(10);
+        report.setAnswers(40);
+        report.setParseMillis(5);
+        report.setPersistMillis(20);
+        report.setExactDuplicates(2);
+
+        new ImportMetrics(meterRegistry, moduleTags).onQuestionsImported(new QuestionsImportedEvent(report));
+
+        assertEquals(40.0, meterRegistry.get("exam.import.rows").tags("module", MODULE_NAME, "result", "imported",
+                "kind", "answer").counter().count());
+        assertEquals(2.0, meterRegistry.get("exam.import.rows").tags("module", MODULE_NAME, "result",
+                "exact-duplicate").counter().count());
+        assertEquals(5.0, meterRegistry.get("exam.import.phase").tags("module", MODULE_NAME, "phase", "parse")
+                .timer().totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(2000.0, meterRegistry.get("exam.import.throughput").tag("module", MODULE_NAME).summary()
+                .totalAmount());
+    }
+
+    private FilterChain chain(final int statements) {
+        return (request, response) -> {
+            try (Connection connection = dataSource.getConnection();
+                    PreparedStatement statement = connection.prepareStatement(
+                            "SELECT COUNT(*) FROM questions WHERE id > ?")) {
+                for (int i = 0; i < statements; i++) {
+                    statement.setLong(1, i);
+                    statement.executeQuery().close();
+                }
+            } catch (final SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    private static MockHttpServletRequest request() {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", URI);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, URI);
+        return request;
+    }
+}
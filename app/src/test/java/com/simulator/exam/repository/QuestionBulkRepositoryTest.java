@@ -0,0 +1,142 @@
+package com.simulator.exam.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import com.simulator.exam.entity.Answer;
+import com.simulator.exam.entity.Question;
+import com.simulator.exam.util.MinHash;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest
+@Import(QuestionBulkRepository.class)
+class QuestionBulkRepositoryTest {
+
+    private static final long MISSING_ID = 999_999L;
+
+    @Autowired
+    private QuestionBulkRepository questionBulkRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Question first;
+    private Question second;
+
+    @BeforeEach
+    void setUp() {
+        // a batch size smaller than the rows checks the mapping of the counts of several batches
+        questionBulkRepository.setBatchSize(1);
+        first = save("Question 1", "MODULE_A");
+        second = save("Question 2", "MODULE_B");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testUpdateQuestions() {
+        final List<Long> missing = questionBulkRepository.updateQuestions(
+                List.of(new Question(first.getId(), "Updated 1", "MODULE_C", null),
+                        new Question(MISSING_ID, "Updated 2", "MODULE_C", null)));
+
+        assertEquals(List.of(MISSING_ID), missing);
+        final Question updated = questionRepository.findById(first.getId()).orElseThrow();
+        assertEquals("Updated 1", updated.getDescription());
+        assertEquals("MODULE_C", updated.getModuleName());
+        assertEquals(2, updated.getAnswers().size());
+    }
+
+    @Test
+    void testPatchQuestionsKeepsBlankFields() {
+        final List<Long> missing = questionBulkRepository.patchQuestions(
+                List.of(new Question(first.getId(), " ", "MODULE_C", null),
+                        new Question(second.getId(), "Updated 2", null, null)));
+
+        assertTrue(missing.isEmpty());
+        final Question patchedFirst = questionRepository.findById(first.getId()).orElseThrow();
+        assertEquals("Question 1", patchedFirst.getDescription());
+        assertEquals("MODULE_C", patchedFirst.getModuleName());
+        final Question patchedSecond = questionRepository.findById(second.getId()).orElseThrow();
+        assertEquals("Updated 2", patchedSecond.getDescription());
+        assertEquals("MODULE_B", patchedSecond.getModuleName());
+    }
+
+    @Test
+    void testDeleteQuestionsRemovesAnswers() {
+        final List<Long> missing = questionBulkRepository.deleteQuestions(List.of(first.getId(), MISSING_ID));
+
+        assertEquals(List.of(MISSING_ID), missing);
+        assertFalse(questionRepository.existsById(first.getId()));
+        assertTrue(questionRepository.existsById(second.getId()));
+        assertEquals(2, answerRepository.count());
+    }
+
+    @Test
+    void testUpdateAnswers() {
+        final Long answerId = second.getAnswers().get(0).getId();
+
+        final List<Long> missing = questionBulkRepository.updateAnswers(
+                List.of(new Answer(answerId, "Updated option", false), new Answer(MISSING_ID, "Other", true)));
+
+        assertEquals(List.of(MISSING_ID), missing);
+        final Answer updated = answerRepository.findById(answerId).orElseThrow();
+        assertEquals("Updated option", updated.getOption());
+        assertFalse(updated.isCorrect());
+    }
+
+    @Test
+    void testFindModules() {
+        assertEquals(Set.of("MODULE_A", "MODULE_B"),
+                questionBulkRepository.findModulesOfQuestions(List.of(first.getId(), second.getId(), MISSING_ID)));
+        assertEquals(Set.of("MODULE_B"),
+                questionBulkRepository.findModulesOfAnswers(List.of(second.getAnswers().get(1).getId())));
+    }
+
+    @Test
+    void testPendingChangesAreFlushedBeforeTheBatch() {
+        final Question managed = questionRepository.findById(second.getId()).orElseThrow();
+        managed.setModuleName("MODULE_D");
+
+        questionBulkRepository.updateQuestions(List.of(new Question(first.getId(), "Updated 1", "MODULE_C", null)));
+
+        assertEquals("MODULE_D", questionRepository.findById(second.getId()).orElseThrow().getModuleName());
+    }
+
+    @Test
+    void testMinHashBandsFollowTheDescription() {
+        final long[] stored = MinHash.bandKeys("Question 1");
+        assertEquals(stored[0], questionRepository.findById(first.getId()).orElseThrow().getMinHashBand0());
+
+        questionBulkRepository.updateQuestions(List.of(new Question(first.getId(), "Updated 1", "MODULE_A", null)));
+
+        final long[] updated = MinHash.bandKeys("Updated 1");
+        assertEquals(updated[3], questionRepository.findById(first.getId()).orElseThrow().getMinHashBand3());
+        assertEquals(List.of(first.getId()), questionRepository.findAllByMinHashBands(Set.of(updated[0]),
+                Set.of(stored[1]), Set.of(stored[2]), Set.of(stored[3])).stream()
+                .map(QuestionRepository.QuestionDescription::getId).toList());
+    }
+
+    private Question save(final String description, final String moduleName) {
+        final Question question = new Question(description,
+                new ArrayList<>(List.of(new Answer(description + " A", true), new Answer(description + " B", false))),
+                moduleName);
+        question.linkAnswers();
+        return questionRepository.save(question);
+    }
+}
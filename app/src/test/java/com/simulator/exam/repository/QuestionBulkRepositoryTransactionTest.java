@@ -0,0 +1,89 @@
+package com.simulator.exam.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.simulator.exam.entity.Answer;
+import com.simulator.exam.entity.Question;
+import com.simulator.exam.util.MinHash;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Verifies the transactions opened by the repository itself, without an enclosing transaction: the rows written by
+ * the test are committed.
+ */
+@DataJpaTest
+@Import(QuestionBulkRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QuestionBulkRepositoryTransactionTest {
+
+    @Autowired
+    private QuestionBulkRepository questionBulkRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Question second;
+
+    @BeforeEach
+    void setUp() {
+        questionBulkRepository.setBatchSize(1);
+        save("Question 1");
+        second = save("Question 2");
+        jdbcTemplate.update("UPDATE questions SET min_hash_band0 = NULL, min_hash_band1 = NULL, "
+                + "min_hash_band2 = NULL, min_hash_band3 = NULL");
+    }
+
+    @AfterEach
+    void tearDown() {
+        questionRepository.deleteAll();
+    }
+
+    @Test
+    void testBackfillMinHashBands() {
+        assertEquals(2, questionBulkRepository.backfillMinHashBands());
+
+        assertEquals(MinHash.bandKeys("Question 2")[2],
+                questionRepository.findById(second.getId()).orElseThrow().getMinHashBand2());
+        assertEquals(0, questionBulkRepository.backfillMinHashBands());
+    }
+
+    @Test
+    void testBackfillCommitsEveryPage() {
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        questionBulkRepository.backfillMinHashBands();
+
+        // one transaction per page of a question and one for the last, empty, page
+        assertEquals(3, statistics.getTransactionCount());
+        assertEquals(3, statistics.getSuccessfulTransactionCount());
+    }
+
+    private Question save(final String description) {
+        final Question question = new Question(description,
+                new ArrayList<>(List.of(new Answer(description + " A", true), new Answer(description + " B", false))),
+                "MODULE_A");
+        question.linkAnswers();
+        return questionRepository.save(question);
+    }
+}
@@ -1,18 +1,27 @@
 package com.simulator.exam.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.BulkResultDo;
 import com.simulator.exam.entity.Answer;
 import com.simulator.exam.repository.AnswerRepository;
+import com.simulator.exam.repository.QuestionBulkRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,6 +29,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 @ExtendWith(MockitoExtension.class)
 class AnswerServiceImplTest {
@@ -27,6 +37,12 @@ class AnswerServiceImplTest {
     @Mock
     private AnswerRepository answerRepository;
 
+    @Mock
+    private QuestionBulkRepository questionBulkRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AnswerServiceImpl answerServiceImpl;
 
@@ -56,6 +72,17 @@ class AnswerServiceImplTest {
         assertTrue(answerDos.get(0).isCorrect());
     }
 
+    @Test
+    void testMapAnswersToAnswerDoSharesTheRepeatedOptions() {
+        final List<Answer> answers = List.of(new Answer(new String("None of the above"), true),
+                new Answer(new String("None of the above"), false));
+
+        final List<AnswerDo> answerDos = answerServiceImpl.mapAnswersToAnswerDo(answers);
+
+        assertEquals("None of the above", answerDos.get(1).getOption());
+        assertSame(answerDos.get(0).getOption(), answerDos.get(1).getOption());
+    }
+
     @Test
     void testMapAnswersToAnswerDoWithEmptyList() {
         final List<Answer> answers = List.of();
@@ -67,6 +94,7 @@ class AnswerServiceImplTest {
     @Test
     void testUpdateAnswers() {
         when(answerRepository.findAllById(anyList())).thenReturn(existingAnswers);
+        when(questionBulkRepository.findModulesOfAnswers(Set.of(1L, 2L))).thenReturn(Set.of("Module A"));
 
         final List<Answer> result = answerServiceImpl.updateAnswers(updatedAnswers);
 
@@ -74,6 +102,8 @@ class AnswerServiceImplTest {
         assertEquals(updatedAnswers.get(0).isCorrect(), result.get(0).isCorrect());
         assertEquals(updatedAnswers.get(1).getOption(), result.get(1).getOption());
         assertEquals(updatedAnswers.get(1).isCorrect(), result.get(1).isCorrect());
+        verify(eventPublisher).publishEvent(argThat((QuestionBankChangedEvent e) -> e.affects("Module A")
+                && !e.affectsAllModules()));
     }
 
     @Test
@@ -90,6 +120,7 @@ class AnswerServiceImplTest {
         when(answerRepository.findAllById(anyList())).thenReturn(List.of());
 
         assertEquals(0, answerServiceImpl.updateAnswers(updatedAnswers).size());
+        verify(eventPublisher, never()).publishEvent(any(QuestionBankChangedEvent.class));
     }
 
     @Test
@@ -97,10 +128,13 @@ class AnswerServiceImplTest {
         final Long answerId = 1L;
 
         when(answerRepository.findById(answerId)).thenReturn(Optional.of(existingAnswers.get(0)));
+        when(questionBulkRepository.findModulesOfAnswers(List.of(answerId))).thenReturn(Set.of("Module A"));
 
         final Answer result = answerServiceImpl.updateAnswerById(updatedAnswers.get(0), answerId);
 
         assertEquals(updatedAnswers.get(0), result);
+        verify(eventPublisher).publishEvent(argThat((QuestionBankChangedEvent e) -> e.affects("Module A")
+                && !e.affectsAllModules()));
     }
 
     @Test
@@ -113,4 +147,24 @@ class AnswerServiceImplTest {
         assertThrows(EntityNotFoundException.class, () -> answerServiceImpl.updateAnswerById(expectedAnswer, answerId));
     }
 
-}
\ No newline at end of file
+    @Test
+    void testBulkUpdateAnswers() {
+        when(questionBulkRepository.findModulesOfAnswers(List.of(1L, 2L))).thenReturn(Set.of("Module A"));
+        when(questionBulkRepository.updateAnswers(updatedAnswers)).thenReturn(List.of(2L));
+
+        final BulkResultDo result = answerServiceImpl.bulkUpdateAnswers(updatedAnswers);
+
+        assertEquals(1, result.getAffected());
+        assertEquals(List.of(2L), result.getMissingIds());
+        verify(eventPublisher).publishEvent(argThat((QuestionBankChangedEvent e) -> e.affects("Module A")
+                && !e.affectsAllModules()));
+    }
+
+    @Test
+    void testBulkUpdateAnswersWithMissingId() {
+        updatedAnswers.get(1).setId(null);
+
+        assertThrows(EntityNotFoundException.class, () -> answerServiceImpl.bulkUpdateAnswers(updatedAnswers));
+        verifyNoInteractions(questionBulkRepository, eventPublisher);
+    }
+}
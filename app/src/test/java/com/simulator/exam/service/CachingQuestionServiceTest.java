@@ -0,0 +1,195 @@
+package com.simulator.exam.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.dto.QuestionsStructureDo;
+import com.simulator.exam.exception.ModuleNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CachingQuestionServiceTest {
+
+    private static final String MODULE_NAME = "SPRING_AOP";
+
+    private static final String MISSING_MODULE_NAME = "MISSING_MODULE";
+
+    private static final String OTHER_MODULE_NAME = "SPRING_MVC";
+
+    @Mock
+    private QuestionServiceImp delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private QuestionBankCache questionBankCache;
+
+    private CachingQuestionService questionService;
+
+    private final List<QuestionDo> moduleQuestions =
+            List.of(new QuestionDo(1L, "description1", List.of(new AnswerDo(10L, "Is true", true)), MODULE_NAME),
+                    new QuestionDo(2L, "description2", List.of(new AnswerDo(20L, "Is false", false)), MODULE_NAME),
+                    new QuestionDo(3L, "description3", List.of(), MODULE_NAME));
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        questionBankCache = new QuestionBankCache(meterRegistry);
+        questionService = new CachingQuestionService(delegate, questionBankCache);
+    }
+
+    @Test
+    void testGetRandomQuestionsByModuleLoadsModuleOnce() {
+        when(delegate.getQuestionsByModule(MODULE_NAME)).thenReturn(moduleQuestions);
+
+        assertEquals(2, questionService.getRandomQuestionsByModule(MODULE_NAME, 2).size());
+        assertEquals(3, questionService.getRandomQuestionsByModule(MODULE_NAME, 5).size());
+
+        verify(delegate, times(1)).getQuestionsByModule(MODULE_NAME);
+        assertEquals(1.0, meterRegistry.get("exam.question.cache.requests").tag("result", "hit").functionCounter()
+                .count());
+        assertEquals(1.0, meterRegistry.get("exam.question.cache.requests").tag("result", "miss").functionCounter()
+                .count());
+    }
+
+    @Test
+    void testCachedQuestionsCannotBeModified() {
+        when(delegate.getQuestionsByModule(MODULE_NAME)).thenReturn(moduleQuestions);
+
+        final List<QuestionDo> questions = questionService.getQuestionsByModule(MODULE_NAME);
+
+        assertThrows(UnsupportedOperationException.class, () -> questions.remove(0));
+        assertThrows(UnsupportedOperationException.class,
+                () -> questionService.getQuestionById(1L).getAnswers().add(new AnswerDo(11L, "Is added", true)));
+        assertEquals(1, questionService.getRandomQuestionsByModule(MODULE_NAME, 3).stream()
+                .filter(q -> q.getId() == 1L).findFirst().orElseThrow().getAnswers().size());
+    }
+
+    @Test
+    void testGetRandomQuestionsByModuleWithMissingModule() {
+        when(delegate.getQuestionsByModule(MISSING_MODULE_NAME)).thenReturn(List.of());
+
+        assertThrows(ModuleNotFoundException.class,
+                () -> questionService.getRandomQuestionsByModule(MISSING_MODULE_NAME, 2));
+        assertThrows(ModuleNotFoundException.class, () -> questionService.getRandomQuestionsByModule(null, 2));
+    }
+
+    @Test
+    void testMissingModuleIsNotCached() {
+        when(delegate.getQuestionsByModule(MISSING_MODULE_NAME)).thenReturn(List.of());
+        when(delegate.getQuestionsByModules(Set.of(MISSING_MODULE_NAME))).thenReturn(Map.of());
+
+        assertThrows(ModuleNotFoundException.class,
+                () -> questionService.getRandomQuestionsByModule(MISSING_MODULE_NAME, 2));
+        assertThrows(ModuleNotFoundException.class, () -> questionService.getQuestionsByStructure(
+                List.of(new QuestionsStructureDo(MISSING_MODULE_NAME, 1))));
+        assertThrows(ModuleNotFoundException.class,
+                () -> questionService.getRandomQuestionsByModule(MISSING_MODULE_NAME, 2));
+
+        verify(delegate, times(2)).getQuestionsByModule(MISSING_MODULE_NAME);
+        assertEquals(0.0, meterRegistry.get("exam.question.cache.modules").gauge().value());
+    }
+
+    @Test
+    void testGetQuestionsByStructure() {
+        when(delegate.getQuestionsByModules(Set.of(MODULE_NAME))).thenReturn(Map.of(MODULE_NAME, moduleQuestions));
+
+        final List<QuestionDo> result =
+                questionService.getQuestionsByStructure(List.of(new QuestionsStructureDo(MODULE_NAME, 2)));
+
+        assertEquals(2, result.size());
+        assertTrue(moduleQuestions.containsAll(result));
+    }
+
+    @Test
+    void testGetQuestionsByStructureLoadsMissingModulesTogether() {
+        final List<QuestionDo> otherModuleQuestions =
+                List.of(new QuestionDo(4L, "description4", List.of(), OTHER_MODULE_NAME));
+        when(delegate.getQuestionsByModule(MODULE_NAME)).thenReturn(moduleQuestions);
+        when(delegate.getQuestionsByModules(Set.of(OTHER_MODULE_NAME))).thenReturn(
+                Map.of(OTHER_MODULE_NAME, otherModuleQuestions));
+
+        questionService.getRandomQuestionsByModule(MODULE_NAME, 1);
+        final List<QuestionDo> result = questionService.getQuestionsByStructure(
+                List.of(new QuestionsStructureDo(MODULE_NAME, 3), new QuestionsStructureDo(OTHER_MODULE_NAME, 1)));
+
+        assertEquals(4, result.size());
+        assertEquals(otherModuleQuestions.get(0), result.get(3));
+        verify(delegate, times(1)).getQuestionsByModules(Set.of(OTHER_MODULE_NAME));
+    }
+
+    @Test
+    void testGetQuestionsByStructureWithMissingModule() {
+        when(delegate.getQuestionsByModules(Set.of(MISSING_MODULE_NAME))).thenReturn(Map.of());
+
+        assertThrows(ModuleNotFoundException.class, () -> questionService.getQuestionsByStructure(
+                List.of(new QuestionsStructureDo(MISSING_MODULE_NAME, 1))));
+    }
+
+    @Test
+    void testModuleIsReloadedAfterChange() {
+        when(delegate.getQuestionsByModule(MODULE_NAME)).thenReturn(moduleQuestions);
+
+        questionService.getRandomQuestionsByModule(MODULE_NAME, 2);
+        questionBankCache.onQuestionBankChanged(QuestionBankChangedEvent.forModules(List.of(MODULE_NAME)));
+        questionService.getRandomQuestionsByModule(MODULE_NAME, 2);
+
+        verify(delegate, times(2)).getQuestionsByModule(MODULE_NAME);
+        assertEquals(1.0, meterRegistry.get("exam.question.cache.evictions").functionCounter().count());
+    }
+
+    @Test
+    void testModuleChangedWhileLoadingIsNotCached() {
+        when(delegate.getQuestionsByModules(Set.of(MODULE_NAME))).thenAnswer(invocation -> {
+            // the change is committed and evicted once the module has been read
+            questionBankCache.onQuestionBankChanged(QuestionBankChangedEvent.forModules(List.of(MODULE_NAME)));
+            return Map.of(MODULE_NAME, moduleQuestions);
+        });
+        final List<QuestionsStructureDo> structure = List.of(new QuestionsStructureDo(MODULE_NAME, 1));
+
+        assertEquals(1, questionService.getQuestionsByStructure(structure).size());
+        assertEquals(1, questionService.getQuestionsByStructure(structure).size());
+
+        verify(delegate, times(2)).getQuestionsByModules(Set.of(MODULE_NAME));
+    }
+
+    @Test
+    void testModuleChangedWhileLoadingAloneIsNotCached() {
+        when(delegate.getQuestionsByModule(MODULE_NAME)).thenAnswer(invocation -> {
+            questionBankCache.onQuestionBankChanged(QuestionBankChangedEvent.forModules(List.of(MODULE_NAME)));
+            return moduleQuestions;
+        });
+
+        assertEquals(3, questionService.getQuestionsByModule(MODULE_NAME).size());
+        assertEquals(3, questionService.getQuestionsByModule(MODULE_NAME).size());
+
+        verify(delegate, times(2)).getQuestionsByModule(MODULE_NAME);
+    }
+
+    @Test
+    void testGetQuestionByIdIsServedFromCachedModule() {
+        when(delegate.getQuestionById(2L)).thenReturn(moduleQuestions.get(1));
+        when(delegate.getQuestionsByModule(MODULE_NAME)).thenReturn(moduleQuestions);
+
+        assertEquals(moduleQuestions.get(1), questionService.getQuestionById(2L));
+        assertEquals(moduleQuestions.get(0), questionService.getQuestionById(1L));
+        assertEquals(moduleQuestions.get(0).getAnswers(), questionService.getAnswersForQuestionId(1L));
+
+        verify(delegate, times(1)).getQuestionById(2L);
+        verify(delegate, times(1)).getQuestionsByModule(MODULE_NAME);
+    }
+}
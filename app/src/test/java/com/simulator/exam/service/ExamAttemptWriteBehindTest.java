@@ -0,0 +1,196 @@
+package com.simulator.exam.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.simulator.exam.entity.ExamAttemptResult;
+import com.simulator.exam.exception.ExamAttemptRejectedException;
+import com.simulator.exam.repository.ExamAttemptRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+@ExtendWith(MockitoExtension.class)
+class ExamAttemptWriteBehindTest {
+
+    private static final long WAIT_MILLIS = 5_000;
+
+    @Mock
+    private ExamAttemptRepository examAttemptRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // the batches written by the flusher thread
+    private final List<List<ExamAttemptResult>> written = new CopyOnWriteArrayList<>();
+
+    private ExamAttemptWriteBehind writeBehind;
+
+    @AfterEach
+    void tearDown() {
+        if (writeBehind != null) {
+            writeBehind.shutdown();
+        }
+    }
+
+    @Test
+    void testFlushWhenTheBatchIsFull() {
+        recordWrites();
+        start(10, 3, Duration.ofSeconds(30));
+
+        writeBehind.record("s1", results("s1", 2));
+        writeBehind.record("s2", results("s2", 2));
+
+        verify(examAttemptRepository, timeout(WAIT_MILLIS)).insertResults(anyList());
+        // the shutdown waits for the running flush
+        writeBehind.shutdown();
+        assertEquals(List.of(4), batchSizes());
+    }
+
+    @Test
+    void testFlushWhenTheIntervalElapses() {
+        recordWrites();
+        start(10, 100, Duration.ofMillis(50));
+
+        writeBehind.record("s1", results("s1", 2));
+
+        verify(examAttemptRepository, timeout(WAIT_MILLIS)).insertResults(anyList());
+        // the shutdown waits for the running flush
+        writeBehind.shutdown();
+        assertEquals(List.of(2), batchSizes());
+        assertEquals(2, meterRegistry.counter("exam.attempts.flushed").count());
+        assertEquals(1, meterRegistry.timer("exam.attempts.flush").count());
+    }
+
+    @Test
+    void testShutdownWritesTheQueuedAttempts() {
+        recordWrites();
+        start(10, 100, Duration.ofMillis(200));
+
+        writeBehind.record("s1", results("s1", 1));
+        writeBehind.record("s2", results("s2", 2));
+        writeBehind.record("s3", results("s3", 3));
+        writeBehind.shutdown();
+
+        assertEquals(6, batchSizes().stream().mapToInt(Integer::intValue).sum());
+        assertThrows(ExamAttemptRejectedException.class, () -> writeBehind.record("s4", results("s4", 1)));
+    }
+
+    @Test
+    void testFullQueueRejectsTheAttempt() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            return null;
+        }).when(examAttemptRepository).insertResults(anyList());
+        start(1, 1, Duration.ofSeconds(30));
+        writeBehind.setOfferTimeout(Duration.ofMillis(50));
+
+        // the first attempt blocks the flusher, the second one fills the queue
+        writeBehind.record("s1", results("s1", 1));
+        verify(examAttemptRepository, timeout(WAIT_MILLIS)).insertResults(anyList());
+        writeBehind.record("s2", results("s2", 1));
+
+        assertThrows(ExamAttemptRejectedException.class, () -> writeBehind.record("s3", results("s3", 1)));
+        assertEquals(1, meterRegistry.counter("exam.attempts.rejected").count());
+        assertEquals(1, meterRegistry.get("exam.attempts.queue.depth").gauge().value());
+
+        release.countDown();
+        verify(examAttemptRepository, timeout(WAIT_MILLIS).times(2)).insertResults(anyList());
+    }
+
+    @Test
+    void testFailedFlushIsRetried() {
+        doThrow(new TransientDataAccessResourceException("connection lost"))
+                .doAnswer(invocation -> written.add(invocation.getArgument(0))).when(examAttemptRepository).insertResults(anyList());
+        start(10, 1, Duration.ofSeconds(30));
+
+        writeBehind.record("s1", results("s1", 1));
+
+        verify(examAttemptRepository, timeout(WAIT_MILLIS).times(2)).insertResults(anyList());
+        writeBehind.shutdown();
+        assertEquals(List.of(1), batchSizes());
+        assertEquals(1, meterRegistry.counter("exam.attempts.flush.failures").count());
+    }
+
+    @Test
+    void testInvalidBatchIsDropped() {
+        doThrow(new DataIntegrityViolationException("duplicate key")).doNothing().when(examAttemptRepository)
+                .insertResults(anyList());
+        start(10, 1, Duration.ofSeconds(30));
+
+        writeBehind.record("s1", results("s1", 1));
+        verify(examAttemptRepository, timeout(WAIT_MILLIS)).insertResults(anyList());
+        writeBehind.record("s2", results("s2", 1));
+
+        verify(examAttemptRepository, timeout(WAIT_MILLIS).times(2)).insertResults(anyList());
+        assertEquals(1, meterRegistry.counter("exam.attempts.flush.failures").count());
+        assertEquals(1, meterRegistry.counter("exam.attempts.dropped").count());
+    }
+
+    @Test
+    void testOnlyTheInvalidRowsOfABatchAreDropped() {
+        doAnswer(invocation -> {
+            final List<ExamAttemptResult> batch = invocation.getArgument(0);
+            if (batch.size() > 1 || batch.get(0).getQuestionId() == 2L) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            return written.add(batch);
+        }).when(examAttemptRepository).insertResults(anyList());
+        start(10, 3, Duration.ofSeconds(30));
+
+        writeBehind.record("s1", results("s1", 3));
+
+        // the batch, then its rows one by one
+        verify(examAttemptRepository, timeout(WAIT_MILLIS).times(4)).insertResults(anyList());
+        writeBehind.shutdown();
+        assertEquals(List.of(1L, 3L), written.stream().map(batch -> batch.get(0).getQuestionId()).toList());
+        assertEquals(2, meterRegistry.counter("exam.attempts.flushed").count());
+        assertEquals(1, meterRegistry.counter("exam.attempts.dropped").count());
+    }
+
+    private void start(final int queueCapacity, final int flushSize, final Duration flushInterval) {
+        writeBehind = new ExamAttemptWriteBehind(examAttemptRepository, meterRegistry, queueCapacity,
+                Executors.newSingleThreadExecutor());
+        writeBehind.setFlushSize(flushSize);
+        writeBehind.setFlushInterval(flushInterval);
+        writeBehind.setShutdownTimeout(Duration.ofMillis(WAIT_MILLIS));
+        writeBehind.start();
+    }
+
+    private void recordWrites() {
+        doAnswer(invocation -> written.add(invocation.getArgument(0))).when(examAttemptRepository)
+                .insertResults(anyList());
+    }
+
+    private List<Integer> batchSizes() {
+        return written.stream().map(List::size).toList();
+    }
+
+    private static List<ExamAttemptResult> results(final String sessionId, final int questions) {
+        final List<ExamAttemptResult> results = new ArrayList<>();
+        for (long questionId = 1; questionId <= questions; questionId++) {
+            results.add(new ExamAttemptResult(sessionId, questionId, "1", true, Instant.EPOCH));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,248 @@
+package com.simulator.exam.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.ExamAnswerDo;
+import com.simulator.exam.dto.ExamQuestionDo;
+import com.simulator.exam.dto.ExamResultDo;
+import com.simulator.exam.dto.ExamSessionDo;
+import com.simulator.exam.dto.ExamSubmissionDo;
+import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.dto.QuestionsStructureDo;
+import com.simulator.exam.entity.ExamAttemptResult;
+import com.simulator.exam.exception.ExamAttemptRejectedException;
+import com.simulator.exam.exception.ExamSessionNotFoundException;
+import com.simulator.exam.exception.ExamSessionRejectedException;
+import com.simulator.exam.exception.ExamSessionSubmittedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ExamSessionServiceImplTest {
+
+    private static final String MODULE_NAME = "SPRING_AOP";
+
+    private static final Instant NOW = Instant.parse("2024-03-01T10:00:00Z");
+
+    @Mock
+    private QuestionService questionService;
+
+    @Mock
+    private ExamAttemptWriteBehind examAttemptWriteBehind;
+
+    @Mock
+    private ModuleStatisticsServiceImpl moduleStatisticsService;
+
+    @Mock
+    private Clock clock;
+
+    private ExamSessionServiceImpl examSessionService;
+
+    private final List<QuestionsStructureDo> structure = List.of(new QuestionsStructureDo(MODULE_NAME, 3));
+
+    // a single choice question, a multiple choice question and a question without correct answer
+    private final List<QuestionDo> questions = List.of(
+            new QuestionDo(1L, "description1",
+                    List.of(new AnswerDo(12L, "Is false", false), new AnswerDo(11L, "Is true", true)), MODULE_NAME),
+            new QuestionDo(2L, "description2", List.of(new AnswerDo(21L, "Is true", true),
+                    new AnswerDo(22L, "Is true too", true), new AnswerDo(23L, "Is false", false)), MODULE_NAME),
+            new QuestionDo(3L, "description3", List.of(new AnswerDo(31L, "Is false", false)), MODULE_NAME));
+
+    @BeforeEach
+    void setUp() {
+        examSessionService = new ExamSessionServiceImpl(questionService, examAttemptWriteBehind,
+                moduleStatisticsService, new SimpleMeterRegistry(), clock);
+        examSessionService.setTimeToLive(Duration.ofMinutes(30));
+    }
+
+    @Test
+    void testSessionHidesCorrectness() {
+        final ExamSessionDo session = createSession();
+
+        assertEquals(3, session.getQuestions().size());
+        assertEquals(List.of(12L, 11L),
+                session.getQuestions().get(0).getAnswers().stream().map(ExamAnswerDo::getId).toList());
+        assertEquals(NOW.plus(Duration.ofMinutes(30)), session.getExpiresAt());
+        assertEquals(session.getSessionId(), examSessionService.getSession(session.getSessionId()).getSessionId());
+    }
+
+    @Test
+    void testPerfectSubmission() {
+        final ExamSessionDo session = createSession();
+
+        final ExamResultDo result = examSessionService.submit(session.getSessionId(),
+                submission(Map.of(1L, List.of(11L), 2L, List.of(22L, 21L), 3L, List.of())));
+
+        assertEquals(3, result.getQuestions());
+        assertEquals(3, result.getCorrectQuestions());
+        assertEquals(100.0, result.getScore());
+        assertEquals(List.of(), result.getIncorrectQuestionIds());
+    }
+
+    @Test
+    void testIncompleteWrongAndDuplicateSelections() {
+        final ExamSessionDo session = createSession();
+        final Map<Long, List<Long>> answers = new HashMap<>();
+        // the first question is answered with a repeated correct answer, the second one misses a correct answer and
+        // the third one selects an answer of another question
+        answers.put(1L, List.of(11L, 11L));
+        answers.put(2L, List.of(21L));
+        answers.put(3L, List.of(11L));
+        answers.put(99L, List.of(11L));
+
+        final ExamResultDo result = examSessionService.submit(session.getSessionId(), submission(answers));
+
+        assertEquals(1, result.getCorrectQuestions());
+        assertEquals(100.0 / 3, result.getScore(), 0.001);
+        assertEquals(List.of(2L, 3L), result.getIncorrectQuestionIds());
+    }
+
+    @Test
+    void testWrongAnswerFailsTheQuestion() {
+        final ExamSessionDo session = createSession();
+
+        final ExamResultDo result = examSessionService.submit(session.getSessionId(),
+                submission(Map.of(1L, List.of(11L, 12L), 2L, List.of(21L, 22L, 23L))));
+
+        assertEquals(List.of(1L, 2L), result.getIncorrectQuestionIds());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testResultsAreRecordedPerQuestion() {
+        final ExamSessionDo session = createSession();
+        final Map<Long, List<Long>> answers = new HashMap<>();
+        answers.put(1L, List.of(11L, 11L));
+        answers.put(2L, List.of(23L, 99L, 21L));
+
+        examSessionService.submit(session.getSessionId(), submission(answers));
+
+        final ArgumentCaptor<List<ExamAttemptResult>> results = ArgumentCaptor.forClass(List.class);
+        verify(examAttemptWriteBehind).record(eq(session.getSessionId()), results.capture());
+        // the unknown and repeated answers are not persisted
+        assertEquals(List.of("11", "21,23", ""),
+                results.getValue().stream().map(ExamAttemptResult::getSelectedAnswerIds).toList());
+        assertEquals(List.of(true, false, true),
+                results.getValue().stream().map(ExamAttemptResult::isCorrect).toList());
+        assertEquals(NOW, results.getValue().get(0).getSubmittedAt());
+        verify(moduleStatisticsService).recordAttempt(MODULE_NAME, 1L, true);
+        verify(moduleStatisticsService).recordAttempt(MODULE_NAME, 2L, false);
+        verify(moduleStatisticsService).recordAttempt(MODULE_NAME, 3L, true);
+    }
+
+    @Test
+    void testStatisticsAreLoadedBeforeTheResultsAreQueued() {
+        final ExamSessionDo session = createSession();
+
+        examSessionService.submit(session.getSessionId(), submission(Map.of(1L, List.of(11L))));
+
+        // results flushed before the first load would be read and recorded as well
+        final InOrder inOrder = inOrder(moduleStatisticsService, examAttemptWriteBehind);
+        inOrder.verify(moduleStatisticsService).ensureLoaded();
+        inOrder.verify(examAttemptWriteBehind).record(eq(session.getSessionId()), anyList());
+        inOrder.verify(moduleStatisticsService).recordAttempt(MODULE_NAME, 1L, true);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRepeatedModuleGivesDistinctQuestions() {
+        when(questionService.getQuestionsByStructure(argThat((List<QuestionsStructureDo> merged) ->
+                merged.size() == 1 && merged.get(0).getQuestionNumber() == 3))).thenReturn(
+                        List.of(questions.get(0), questions.get(1), questions.get(0), questions.get(2)));
+        when(clock.instant()).thenReturn(NOW);
+
+        final ExamSessionDo session = examSessionService.createSession(
+                List.of(new QuestionsStructureDo(MODULE_NAME, 2), new QuestionsStructureDo(MODULE_NAME, 1)));
+        examSessionService.submit(session.getSessionId(), submission(Map.of()));
+
+        assertEquals(List.of(1L, 2L, 3L), session.getQuestions().stream().map(ExamQuestionDo::getId).toList());
+        final ArgumentCaptor<List<ExamAttemptResult>> results = ArgumentCaptor.forClass(List.class);
+        verify(examAttemptWriteBehind).record(eq(session.getSessionId()), results.capture());
+        assertEquals(List.of(1L, 2L, 3L), results.getValue().stream().map(ExamAttemptResult::getQuestionId).toList());
+    }
+
+    @Test
+    void testRejectedResultsCanBeSubmittedAgain() {
+        final ExamSessionDo session = createSession();
+        doThrow(new ExamAttemptRejectedException(session.getSessionId())).doNothing()
+                .when(examAttemptWriteBehind).record(eq(session.getSessionId()), anyList());
+
+        assertThrows(ExamAttemptRejectedException.class,
+                () -> examSessionService.submit(session.getSessionId(), submission(Map.of())));
+        verify(moduleStatisticsService, never()).recordAttempt(eq(MODULE_NAME), anyLong(), anyBoolean());
+        assertEquals(1,
+                examSessionService.submit(session.getSessionId(), submission(Map.of())).getCorrectQuestions());
+    }
+
+    @Test
+    void testSessionIsGradedOnce() {
+        final ExamSessionDo session = createSession();
+        examSessionService.submit(session.getSessionId(), submission(Map.of()));
+
+        assertThrows(ExamSessionSubmittedException.class,
+                () -> examSessionService.submit(session.getSessionId(), submission(Map.of())));
+    }
+
+    @Test
+    void testUnknownSession() {
+        assertThrows(ExamSessionNotFoundException.class, () -> examSessionService.getSession("missing"));
+        assertThrows(ExamSessionNotFoundException.class,
+                () -> examSessionService.submit("missing", submission(Map.of())));
+    }
+
+    @Test
+    void testExpiredSession() {
+        final ExamSessionDo session = createSession();
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(30)));
+
+        assertThrows(ExamSessionNotFoundException.class,
+                () -> examSessionService.submit(session.getSessionId(), submission(Map.of())));
+    }
+
+    @Test
+    void testNumberOfActiveSessionsIsBounded() {
+        examSessionService.setMaxActiveSessions(1);
+        createSession();
+
+        assertThrows(ExamSessionRejectedException.class, () -> examSessionService.createSession(structure));
+
+        // the expired sessions are purged to make room for the new ones
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofHours(1)));
+        assertEquals(3, examSessionService.createSession(structure).getQuestions().size());
+    }
+
+    private ExamSessionDo createSession() {
+        when(questionService.getQuestionsByStructure(structure)).thenReturn(questions);
+        when(clock.instant()).thenReturn(NOW);
+        return examSessionService.createSession(structure);
+    }
+
+    private static ExamSubmissionDo submission(final Map<Long, List<Long>> answers) {
+        return new ExamSubmissionDo(new HashMap<>(answers));
+    }
+}
@@ -0,0 +1,287 @@
+package com.simulator.exam.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.ImportJobDo;
+import com.simulator.exam.dto.ImportJobStatus;
+import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.entity.Question;
+import com.simulator.exam.exception.ImportJobNotFoundException;
+import com.simulator.exam.exception.ImportJobRejectedException;
+import com.simulator.exam.exception.LocalFileNotFoundException;
+import com.simulator.exam.repository.QuestionBulkRepository;
+import com.simulator.exam.repository.QuestionRepository;
+import com.simulator.exam.util.QuestionBankSnapshotWriter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+@ExtendWith(MockitoExtension.class)
+class ImportJobServiceImplTest {
+
+    private static final String MODULE_NAME = "SPRING_AOP";
+    private static final String FILE_NAME = "questions.yaml";
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @Mock
+    private QuestionBulkRepository questionBulkRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @TempDir
+    private Path directory;
+
+    private ImportJobServiceImpl importJobService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        final QuestionImporter questionImporter = new QuestionImporter(questionRepository, questionBulkRepository, entityManager);
+        questionImporter.setChunkSize(2);
+        // the jobs run synchronously on the submitting thread
+        importJobService = new ImportJobServiceImpl(questionImporter, TransactionOperations.withoutTransaction(),
+                eventPublisher, Runnable::run);
+        importJobService.setFilePath(directory.resolve("%s").toString());
+        Files.writeString(directory.resolve(FILE_NAME), questionsYaml(5), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testLocalFileImportSucceeds() {
+        when(questionRepository.findAllByDescriptionIn(anyList())).thenReturn(List.of());
+
+        final String jobId = importJobService.submitLocalFile(FILE_NAME, MODULE_NAME).getJobId();
+
+        final ImportJobDo job = importJobService.getJob(jobId);
+        assertEquals(ImportJobStatus.SUCCEEDED, job.getStatus());
+        assertEquals(5, job.getQuestions());
+        assertEquals(10, job.getAnswers());
+        assertEquals(job.getTotalBytes(), job.getProcessedBytes());
+        assertNotNull(job.getFinishedAt());
+        verify(questionRepository, times(3)).saveAll(anyList());
+        verify(eventPublisher).publishEvent(
+                argThat((Object e) -> e instanceof QuestionBankChangedEvent changed && changed.affects(MODULE_NAME)));
+        verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof QuestionsImportedEvent imported
+                && imported.getReport().getQuestions() == 5));
+    }
+
+    @Test
+    void testDuplicatesAreReportedWithoutFailingTheImport() {
+        final List<Question> persisted = new ArrayList<>();
+        final Question duplicate = new Question();
+        duplicate.setDescription("Question 3");
+        persisted.add(duplicate);
+        when(questionRepository.findAllByDescriptionIn(anyList())).thenReturn(List.of(), persisted, List.of());
+
+        final String jobId = importJobService.submitLocalFile(FILE_NAME, MODULE_NAME).getJobId();
+
+        final ImportJobDo job = importJobService.getJob(jobId);
+        assertEquals(ImportJobStatus.SUCCEEDED, job.getStatus());
+        assertEquals(4, job.getQuestions());
+        assertEquals(1, job.getExactDuplicates());
+        assertEquals("Question 3", job.getDuplicates().get(0).getDescription());
+    }
+
+    @Test
+    void testFailedImportKeepsTheCommittedChunks() {
+        when(questionRepository.findAllByDescriptionIn(anyList())).thenReturn(List.of());
+        when(questionRepository.saveAll(anyList())).thenReturn(List.of())
+                .thenThrow(new DataIntegrityViolationException("Question 3 is already persisted"));
+
+        final String jobId = importJobService.submitLocalFile(FILE_NAME, MODULE_NAME).getJobId();
+
+        final ImportJobDo job = importJobService.getJob(jobId);
+        assertEquals(ImportJobStatus.FAILED, job.getStatus());
+        assertEquals(2, job.getQuestions());
+        assertTrue(job.getError().contains("Question 3"));
+        // the first chunk is committed, the listeners are notified, the import is not reported
+        verify(eventPublisher).publishEvent(
+                argThat((Object e) -> e instanceof QuestionBankChangedEvent changed && changed.affects(MODULE_NAME)));
+        verify(eventPublisher, never()).publishEvent(argThat((Object e) -> e instanceof QuestionsImportedEvent));
+    }
+
+    @Test
+    void testChunkFailingToCommitIsNotCounted() {
+        when(questionRepository.findAllByDescriptionIn(anyList())).thenReturn(List.of());
+        final int[] chunks = new int[1];
+        final TransactionOperations failingCommit = new TransactionOperations() {
+
+            @Override
+            public <T> T execute(final TransactionCallback<T> action) {
+                final T result = action.doInTransaction(null);
+                if (++chunks[0] == 2) {
+                    throw new TransactionSystemException("Commit failed");
+                }
+                return result;
+            }
+        };
+        final QuestionImporter questionImporter =
+                new QuestionImporter(questionRepository, questionBulkRepository, entityManager);
+        questionImporter.setChunkSize(2);
+        final ImportJobServiceImpl failing =
+                new ImportJobServiceImpl(questionImporter, failingCommit, eventPublisher, Runnable::run);
+        failing.setFilePath(directory.resolve("%s").toString());
+
+        final ImportJobDo job = failing.getJob(failing.submitLocalFile(FILE_NAME, MODULE_NAME).getJobId());
+
+        assertEquals(ImportJobStatus.FAILED, job.getStatus());
+        assertEquals(2, job.getQuestions());
+        assertEquals(4, job.getAnswers());
+    }
+
+    @Test
+    void testShutdownFailsTheUnfinishedJobs() {
+        final List<Runnable> queued = new ArrayList<>();
+        final ImportJobServiceImpl stopping = new ImportJobServiceImpl(
+                new QuestionImporter(questionRepository, questionBulkRepository, entityManager),
+                TransactionOperations.withoutTransaction(), eventPublisher, queued::add);
+        stopping.setFilePath(directory.resolve("%s").toString());
+        final String jobId = stopping.submitLocalFile(FILE_NAME, MODULE_NAME).getJobId();
+
+        stopping.shutdown();
+
+        assertEquals(ImportJobStatus.FAILED, stopping.getJob(jobId).getStatus());
+        assertTrue(stopping.getJob(jobId).getError().contains("shutdown"));
+        // the job interrupted before its first chunk imports nothing and stays failed
+        Thread.currentThread().interrupt();
+        try {
+            queued.get(0).run();
+        } finally {
+            Thread.interrupted();
+        }
+        assertEquals(ImportJobStatus.FAILED, stopping.getJob(jobId).getStatus());
+        verify(questionRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testSnapshotImportSucceeds() throws IOException {
+        when(questionRepository.findAllByDescriptionIn(anyList())).thenReturn(List.of());
+        try (QuestionBankSnapshotWriter writer = new QuestionBankSnapshotWriter(directory.resolve("bank.qbs"))) {
+            for (long i = 1; i <= 3; i++) {
+                writer.add(new QuestionDo(i, "Question " + i,
+                        List.of(new AnswerDo(i, "Option A", true), new AnswerDo(null, "Option B", false)),
+                        i == 3 ? "SPRING_CORE" : MODULE_NAME));
+            }
+            writer.finish();
+        }
+
+        final String jobId = importJobService.submitSnapshot("bank.qbs").getJobId();
+
+        final ImportJobDo job = importJobService.getJob(jobId);
+        assertEquals(ImportJobStatus.SUCCEEDED, job.getStatus());
+        assertEquals(3, job.getQuestions());
+        assertEquals(6, job.getAnswers());
+        assertEquals(job.getTotalBytes(), job.getProcessedBytes());
+        // the snapshot ids are not kept, the questions are persisted as new ones
+        verify(questionRepository, times(2))
+                .saveAll(argThat((List<Question> chunk) -> chunk.get(0).getId() == null));
+        verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof QuestionBankChangedEvent changed
+                && changed.affects(MODULE_NAME) && changed.affects("SPRING_CORE")));
+    }
+
+    @Test
+    void testMissingLocalFileIsRejectedAtOnce() {
+        assertThrows(LocalFileNotFoundException.class,
+                () -> importJobService.submitLocalFile("missing.yaml", MODULE_NAME));
+        assertThrows(LocalFileNotFoundException.class, () -> importJobService.submitSnapshot("missing.qbs"));
+    }
+
+    @Test
+    void testUploadIsImportedAndDeleted() throws IOException {
+        when(questionRepository.findAllByDescriptionIn(anyList())).thenReturn(List.of());
+        final MockMultipartFile file = new MockMultipartFile("file", FILE_NAME, "application/x-yaml",
+                questionsYaml(3).getBytes(StandardCharsets.UTF_8));
+        final long uploads = countUploads();
+
+        final ImportJobDo job = importJobService.submitUpload(file, MODULE_NAME);
+
+        assertEquals(FILE_NAME, job.getSource());
+        assertEquals(ImportJobStatus.SUCCEEDED, importJobService.getJob(job.getJobId()).getStatus());
+        assertEquals(3, importJobService.getJob(job.getJobId()).getQuestions());
+        assertEquals(uploads, countUploads());
+    }
+
+    @Test
+    void testInvalidFileFailsTheJob() throws IOException {
+        Files.writeString(directory.resolve("invalid.yaml"), "questions:\n  - unknown: value\n");
+
+        final String jobId = importJobService.submitLocalFile("invalid.yaml", MODULE_NAME).getJobId();
+
+        assertEquals(ImportJobStatus.FAILED, importJobService.getJob(jobId).getStatus());
+        verify(questionRepository, never()).saveAll(anyList());
+        verify(eventPublisher, never()).publishEvent(argThat(e -> true));
+    }
+
+    @Test
+    void testRejectedJobIsForgotten() {
+        final ImportJobServiceImpl saturated = new ImportJobServiceImpl(
+                new QuestionImporter(questionRepository, questionBulkRepository, entityManager), TransactionOperations.withoutTransaction(),
+                eventPublisher, command -> {
+                    throw new RejectedExecutionException("queue full");
+                });
+        saturated.setFilePath(directory.resolve("%s").toString());
+
+        assertThrows(ImportJobRejectedException.class, () -> saturated.submitLocalFile(FILE_NAME, MODULE_NAME));
+    }
+
+    @Test
+    void testOnlyTheRetainedFinishedJobsAreKept() {
+        when(questionRepository.findAllByDescriptionIn(anyList())).thenReturn(List.of());
+        importJobService.setRetainedJobs(1);
+
+        final String first = importJobService.submitLocalFile(FILE_NAME, MODULE_NAME).getJobId();
+        final String second = importJobService.submitLocalFile(FILE_NAME, MODULE_NAME).getJobId();
+
+        assertThrows(ImportJobNotFoundException.class, () -> importJobService.getJob(first));
+        assertEquals(ImportJobStatus.SUCCEEDED, importJobService.getJob(second).getStatus());
+    }
+
+    private static String questionsYaml(final int questions) {
+        final StringBuilder yaml = new StringBuilder("questions:\n");
+        for (int i = 1; i <= questions; i++) {
+            yaml.append("  - description: \"Question ").append(i).append("\"\n")
+                    .append("    answers:\n")
+                    .append("      - option: \"Option A\"\n        correct: true\n")
+                    .append("      - option: \"Option B\"\n        correct: false\n");
+        }
+        return yaml.toString();
+    }
+
+    private static long countUploads() throws IOException {
+        try (var files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(file -> file.getFileName().toString().startsWith("question-import-")).count();
+        }
+    }
+}
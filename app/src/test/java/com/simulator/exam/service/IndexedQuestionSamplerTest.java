@@ -0,0 +1,159 @@
+package com.simulator.exam.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import com.simulator.exam.dto.QuestionsStructureDo;
+import com.simulator.exam.repository.QuestionRepository;
+import com.simulator.exam.repository.QuestionRepository.ModuleQuestionId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class IndexedQuestionSamplerTest {
+
+    private static final String MODULE_NAME = "SPRING_AOP";
+
+    private static final String OTHER_MODULE_NAME = "SPRING_MVC";
+
+    private static final String MISSING_MODULE_NAME = "MISSING_MODULE";
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @InjectMocks
+    private IndexedQuestionSampler questionSampler;
+
+    private final List<Long> ids = List.of(1L, 2L, 3L);
+
+    @Test
+    void testSampleByModulePicksIdsWithoutFetchingQuestions() {
+        when(questionRepository.findIdsByModuleName(MODULE_NAME)).thenReturn(ids);
+
+        final List<Long> result = questionSampler.sampleByModule(MODULE_NAME, 2);
+
+        assertEquals(2, result.size());
+        assertEquals(2, Set.copyOf(result).size());
+        assertTrue(ids.containsAll(result));
+        verify(questionRepository, never()).findRowsByIdIn(anyCollection());
+    }
+
+    @Test
+    void testSampleByModuleLoadsIndexOnce() {
+        when(questionRepository.findIdsByModuleName(MODULE_NAME)).thenReturn(ids);
+
+        questionSampler.sampleByModule(MODULE_NAME, 3);
+        questionSampler.sampleByModule(MODULE_NAME, 3);
+
+        verify(questionRepository, times(1)).findIdsByModuleName(MODULE_NAME);
+    }
+
+    @Test
+    void testSampleByModuleReloadsIndexAfterChange() {
+        when(questionRepository.findIdsByModuleName(MODULE_NAME)).thenReturn(ids);
+
+        questionSampler.sampleByModule(MODULE_NAME, 3);
+        questionSampler.onQuestionBankChanged(QuestionBankChangedEvent.forModules(List.of(MODULE_NAME)));
+        questionSampler.sampleByModule(MODULE_NAME, 3);
+
+        verify(questionRepository, times(2)).findIdsByModuleName(MODULE_NAME);
+    }
+
+    @Test
+    void testSampleByModuleDoesNotIndexModuleChangedWhileLoading() {
+        when(questionRepository.findIdsByModuleName(MODULE_NAME)).thenAnswer(invocation -> {
+            // the change is committed and evicted once the ids have been read
+            questionSampler.onQuestionBankChanged(QuestionBankChangedEvent.forModules(List.of(MODULE_NAME)));
+            return List.of(1L);
+        });
+
+        assertEquals(List.of(1L), questionSampler.sampleByModule(MODULE_NAME, 1));
+        assertEquals(List.of(1L), questionSampler.sampleByModule(MODULE_NAME, 1));
+
+        verify(questionRepository, times(2)).findIdsByModuleName(MODULE_NAME);
+    }
+
+    @Test
+    void testSampleByModuleWithEmptyModule() {
+        when(questionRepository.findIdsByModuleName(MODULE_NAME)).thenReturn(List.of());
+
+        assertTrue(questionSampler.sampleByModule(MODULE_NAME, 2).isEmpty());
+    }
+
+    @Test
+    void testSampleByStructureIndexesAllModulesTogether() {
+        when(questionRepository.findIdsByModuleNameIn(anyCollection())).thenReturn(
+                List.of(moduleQuestionId(MODULE_NAME, 1L), moduleQuestionId(MODULE_NAME, 2L),
+                        moduleQuestionId(MODULE_NAME, 3L), moduleQuestionId(OTHER_MODULE_NAME, 4L)));
+
+        final List<List<Long>> result = questionSampler.sampleByStructure(
+                List.of(new QuestionsStructureDo(MODULE_NAME, 2), new QuestionsStructureDo(OTHER_MODULE_NAME, 1),
+                        new QuestionsStructureDo(MISSING_MODULE_NAME, 1)));
+
+        assertEquals(2, result.get(0).size());
+        assertTrue(ids.containsAll(result.get(0)));
+        assertEquals(List.of(4L), result.get(1));
+        assertTrue(result.get(2).isEmpty());
+        verify(questionRepository, times(1)).findIdsByModuleNameIn(anyCollection());
+    }
+
+    @Test
+    void testSampleByStructureReusesIndexedModules() {
+        when(questionRepository.findIdsByModuleName(MODULE_NAME)).thenReturn(ids);
+
+        questionSampler.sampleByModule(MODULE_NAME, 3);
+        questionSampler.sampleByStructure(List.of(new QuestionsStructureDo(MODULE_NAME, 3)));
+
+        verify(questionRepository, never()).findIdsByModuleNameIn(anyCollection());
+    }
+
+    @Test
+    void testSampleByStructureDoesNotIndexModuleChangedWhileLoading() {
+        when(questionRepository.findIdsByModuleNameIn(anyCollection())).thenAnswer(invocation -> {
+            // the change is committed and evicted once the ids have been read
+            questionSampler.onQuestionBankChanged(QuestionBankChangedEvent.forModules(List.of(MODULE_NAME)));
+            return List.of(moduleQuestionId(MODULE_NAME, 1L));
+        });
+        final List<QuestionsStructureDo> structure = List.of(new QuestionsStructureDo(MODULE_NAME, 1));
+
+        assertEquals(List.of(1L), questionSampler.sampleByStructure(structure).get(0));
+        assertEquals(List.of(1L), questionSampler.sampleByStructure(structure).get(0));
+
+        verify(questionRepository, times(2)).findIdsByModuleNameIn(anyCollection());
+    }
+
+    @Test
+    void testSampleAllReturnsEveryQuestionId() {
+        when(questionRepository.findAllIds()).thenReturn(ids);
+
+        final List<Long> result = questionSampler.sampleAll();
+
+        assertEquals(3, result.size());
+        assertTrue(result.containsAll(ids));
+    }
+
+    private static ModuleQuestionId moduleQuestionId(final String module, final Long id) {
+        return new ModuleQuestionId() {
+            @Override
+            public String getModuleName() {
+                return module;
+            }
+
+            @Override
+            public Long getId() {
+                return id;
+            }
+        };
+    }
+}
@@ -0,0 +1,179 @@
+package com.simulator.exam.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.dto.QuestionPageDo;
+import com.simulator.exam.dto.QuestionsStructureDo;
+import com.simulator.exam.exception.ModuleNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+@ExtendWith(MockitoExtension.class)
+class MappedQuestionServiceTest {
+
+    private static final String MODULE_NAME = "SPRING_AOP";
+
+    private static final String OTHER_MODULE_NAME = "SPRING_MVC";
+
+    @Mock
+    private QuestionServiceImp delegate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @TempDir
+    private Path directory;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private MappedQuestionStore mappedQuestionStore;
+
+    private MappedQuestionService questionService;
+
+    private final List<QuestionDo> bank = new ArrayList<>(List.of(question(1L, MODULE_NAME),
+            question(2L, OTHER_MODULE_NAME), question(3L, MODULE_NAME), question(5L, MODULE_NAME)));
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // the rebuilds run synchronously on the requesting thread
+        mappedQuestionStore = new MappedQuestionStore(delegate, eventPublisher, meterRegistry, Runnable::run);
+        mappedQuestionStore.setStorePath(directory.resolve("store.qbs").toString());
+        mappedQuestionStore.setRebuildDelay(Duration.ZERO);
+        questionService = new MappedQuestionService(delegate, mappedQuestionStore);
+    }
+
+    @Test
+    void testReadsAreServedFromTheStore() {
+        openStore();
+
+        final List<QuestionDo> questions = questionService.getRandomQuestionsByModule(MODULE_NAME, 5);
+        assertEquals(3, questions.size());
+        assertTrue(questions.stream().allMatch(q -> MODULE_NAME.equals(q.getModuleName())));
+        assertEquals(2, questionService.getQuestionsByStructure(
+                List.of(new QuestionsStructureDo(MODULE_NAME, 1), new QuestionsStructureDo(OTHER_MODULE_NAME, 1)))
+                .size());
+        assertEquals(4, questionService.getRandomQuestions().size());
+        assertEquals("description 3", questionService.getQuestionById(3L).getDescription());
+        assertEquals(3, questionService.getQuestionsByModule(MODULE_NAME).size());
+
+        verify(delegate, never()).getQuestionsByModule(any());
+        assertEquals(4.0, meterRegistry.get("exam.question.mapped-store.questions").gauge().value());
+    }
+
+    @Test
+    void testMissingModuleIsRejected() {
+        openStore();
+
+        assertThrows(ModuleNotFoundException.class,
+                () -> questionService.getRandomQuestionsByModule("MISSING_MODULE", 2));
+        assertThrows(ModuleNotFoundException.class, () -> questionService.getRandomQuestionsByModule(null, 2));
+    }
+
+    @Test
+    void testPagesFollowTheIds() {
+        openStore();
+
+        final QuestionPageDo first = questionService.getQuestionsPage(null, 2);
+        assertEquals(List.of(1L, 2L), first.getQuestions().stream().map(QuestionDo::getId).toList());
+        assertEquals(2L, first.getNextCursor());
+
+        final QuestionPageDo last = questionService.getQuestionsPage(first.getNextCursor(), 3);
+        assertEquals(List.of(3L, 5L), last.getQuestions().stream().map(QuestionDo::getId).toList());
+        assertNull(last.getNextCursor());
+        assertEquals(List.of(5L), questionService.getQuestionsPage(4L, 2).getQuestions().stream()
+                .map(QuestionDo::getId).toList());
+    }
+
+    @Test
+    void testReadsFallBackToTheDatabase() {
+        final QuestionDo created = question(9L, MODULE_NAME);
+        when(delegate.getQuestionById(9L)).thenReturn(created);
+        when(delegate.getQuestionsByModule(MODULE_NAME)).thenReturn(List.of(created));
+
+        // no store is published yet
+        assertEquals(List.of(created), questionService.getQuestionsByModule(MODULE_NAME));
+
+        openStore();
+        // created after the rebuild
+        assertSame(created, questionService.getQuestionById(9L));
+    }
+
+    @Test
+    void testChangesRepublishTheStore() {
+        openStore();
+        bank.add(question(7L, OTHER_MODULE_NAME));
+
+        mappedQuestionStore.onQuestionBankChanged(QuestionBankChangedEvent.forModules(List.of(OTHER_MODULE_NAME)));
+
+        assertEquals(2, questionService.getQuestionsByModule(OTHER_MODULE_NAME).size());
+        assertEquals(7L, questionService.getQuestionById(7L).getId());
+        assertEquals(2.0, meterRegistry.get("exam.question.mapped-store.rebuild").timer().count());
+        verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof MappedQuestionStoreSwappedEvent swapped
+                && swapped.getChange().getModules().equals(Set.of(OTHER_MODULE_NAME))));
+    }
+
+    @Test
+    void testChangesAreCoalescedIntoOneRebuild() {
+        final List<Runnable> rebuilds = new ArrayList<>();
+        mappedQuestionStore = new MappedQuestionStore(delegate, eventPublisher, meterRegistry, rebuilds::add);
+        mappedQuestionStore.setStorePath(directory.resolve("store.qbs").toString());
+        mappedQuestionStore.setRebuildDelay(Duration.ZERO);
+        questionService = new MappedQuestionService(delegate, mappedQuestionStore);
+        openStore();
+        rebuilds.remove(0).run();
+        bank.add(question(7L, OTHER_MODULE_NAME));
+
+        mappedQuestionStore.onQuestionBankChanged(QuestionBankChangedEvent.forModules(List.of(OTHER_MODULE_NAME)));
+        mappedQuestionStore.onQuestionBankChanged(QuestionBankChangedEvent.forModules(List.of(MODULE_NAME)));
+
+        // the reads are served by the previous store until the new one is swapped in
+        assertEquals(1, rebuilds.size());
+        assertEquals(1, questionService.getQuestionsByModule(OTHER_MODULE_NAME).size());
+        verify(eventPublisher, never()).publishEvent(argThat((Object e) -> true));
+
+        rebuilds.get(0).run();
+
+        assertEquals(2, questionService.getQuestionsByModule(OTHER_MODULE_NAME).size());
+        verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof MappedQuestionStoreSwappedEvent swapped
+                && swapped.getChange().getModules().equals(Set.of(MODULE_NAME, OTHER_MODULE_NAME))));
+    }
+
+    private void openStore() {
+        when(delegate.exportQuestions(any())).thenAnswer(invocation -> {
+            final Consumer<QuestionDo> consumer = invocation.getArgument(0);
+            bank.forEach(consumer);
+            return (long) bank.size();
+        });
+        mappedQuestionStore.open();
+    }
+
+    private static QuestionDo question(final long id, final String module) {
+        return new QuestionDo(id, "description " + id,
+                List.of(new AnswerDo(id * 10, "Is true", true), new AnswerDo(id * 10 + 1, "Is false", false)), module);
+    }
+}
@@ -0,0 +1,142 @@
+package com.simulator.exam.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import com.simulator.exam.dto.ModuleStatisticsDo;
+import com.simulator.exam.dto.QuestionStatisticsDo;
+import com.simulator.exam.exception.ModuleNotFoundException;
+import com.simulator.exam.repository.ExamAttemptRepository;
+import com.simulator.exam.repository.QuestionAttemptCount;
+import com.simulator.exam.repository.QuestionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ModuleStatisticsServiceImplTest {
+
+    private static final String SPRING_AOP = "SPRING_AOP";
+    private static final String SPRING_DATA = "SPRING_DATA";
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @Mock
+    private ExamAttemptRepository examAttemptRepository;
+
+    private ModuleStatisticsServiceImpl moduleStatisticsService;
+
+    @BeforeEach
+    void setUp() {
+        moduleStatisticsService = new ModuleStatisticsServiceImpl(questionRepository, examAttemptRepository);
+    }
+
+    @Test
+    void testStatisticsAreLoadedOnce() {
+        load();
+
+        assertTrue(moduleStatisticsService.hasQuestions(SPRING_AOP));
+        assertFalse(moduleStatisticsService.hasQuestions("UNKNOWN"));
+        final List<ModuleStatisticsDo> modules = moduleStatisticsService.getModules();
+
+        assertEquals(List.of(SPRING_AOP, SPRING_DATA), modules.stream().map(ModuleStatisticsDo::getModuleName).toList());
+        final ModuleStatisticsDo aop = modules.get(0);
+        assertEquals(3, aop.getQuestions());
+        assertEquals(7, aop.getAnswers());
+        assertEquals(4, aop.getAttempts());
+        assertEquals(3, aop.getCorrectAttempts());
+        assertEquals(75.0, aop.getSuccessRate());
+        verify(questionRepository, times(1)).countByModule();
+        verify(examAttemptRepository, times(1)).countResultsByQuestion();
+    }
+
+    @Test
+    void testAttemptsAreAddedToTheCounters() {
+        load();
+
+        moduleStatisticsService.recordAttempt(SPRING_AOP, 1L, false);
+        moduleStatisticsService.recordAttempt(SPRING_AOP, 3L, true);
+
+        final List<QuestionStatisticsDo> questions = moduleStatisticsService.getQuestionStatistics(SPRING_AOP);
+        assertEquals(List.of(1L, 2L, 3L), questions.stream().map(QuestionStatisticsDo::getQuestionId).toList());
+        assertEquals(List.of(4L, 1L, 1L), questions.stream().map(QuestionStatisticsDo::getAttempts).toList());
+        assertEquals(50.0, questions.get(0).getSuccessRate());
+        assertEquals(6, moduleStatisticsService.getModule(SPRING_AOP).getAttempts());
+    }
+
+    @Test
+    void testChangedModulesAreRecounted() {
+        load();
+        when(questionRepository.countByModuleIn(Set.of(SPRING_AOP)))
+                .thenReturn(List.of(moduleCount(SPRING_AOP, 5, 11)));
+
+        moduleStatisticsService.onQuestionBankChanged(QuestionBankChangedEvent.forModules(Set.of(SPRING_AOP)));
+
+        assertEquals(5, moduleStatisticsService.getModule(SPRING_AOP).getQuestions());
+        assertEquals(11, moduleStatisticsService.getModule(SPRING_AOP).getAnswers());
+        // the attempts are not recounted
+        assertEquals(4, moduleStatisticsService.getModule(SPRING_AOP).getAttempts());
+        assertEquals(2, moduleStatisticsService.getModule(SPRING_DATA).getQuestions());
+    }
+
+    @Test
+    void testEmptiedModuleIsNotFound() {
+        load();
+        when(questionRepository.countByModule()).thenReturn(List.of(moduleCount(SPRING_DATA, 2, 4)));
+
+        moduleStatisticsService.onQuestionBankChanged(QuestionBankChangedEvent.forAllModules());
+
+        assertFalse(moduleStatisticsService.hasQuestions(SPRING_AOP));
+        assertThrows(ModuleNotFoundException.class, () -> moduleStatisticsService.getModule(SPRING_AOP));
+        assertEquals(List.of(SPRING_DATA),
+                moduleStatisticsService.getModules().stream().map(ModuleStatisticsDo::getModuleName).toList());
+    }
+
+    @Test
+    void testChangeBeforeTheFirstUseIsIgnored() {
+        moduleStatisticsService.onQuestionBankChanged(QuestionBankChangedEvent.forModules(Set.of(SPRING_AOP)));
+
+        verify(questionRepository, never()).countByModuleIn(Set.of(SPRING_AOP));
+    }
+
+    private void load() {
+        when(questionRepository.countByModule())
+                .thenReturn(List.of(moduleCount(SPRING_DATA, 2, 4), moduleCount(SPRING_AOP, 3, 7)));
+        when(examAttemptRepository.countResultsByQuestion()).thenReturn(
+                List.of(new QuestionAttemptCount(SPRING_AOP, 1L, 3, 2), new QuestionAttemptCount(SPRING_AOP, 2L, 1, 1)));
+        assertEquals(2, moduleStatisticsService.getModules().size());
+    }
+
+    private static QuestionRepository.ModuleCount moduleCount(final String module, final long questions,
+            final long answers) {
+        return new QuestionRepository.ModuleCount() {
+
+            @Override
+            public String getModuleName() {
+                return module;
+            }
+
+            @Override
+            public Long getQuestions() {
+                return questions;
+            }
+
+            @Override
+            public Long getAnswers() {
+                return answers;
+            }
+        };
+    }
+}
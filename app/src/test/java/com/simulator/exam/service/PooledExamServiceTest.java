@@ -0,0 +1,202 @@
+package com.simulator.exam.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.dto.QuestionsStructureDo;
+import com.simulator.exam.exception.ModuleNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PooledExamServiceTest {
+
+    private static final String MODULE_NAME = "SPRING_AOP";
+
+    private static final String OTHER_MODULE_NAME = "SPRING_MVC";
+
+    private static final int DEPTH = 3;
+
+    @Mock
+    private QuestionService questionService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PooledExamService examPoolService;
+
+    private final List<QuestionsStructureDo> structure = List.of(new QuestionsStructureDo(MODULE_NAME, 1));
+
+    private final List<QuestionDo> exam = List.of(new QuestionDo(1L, "description1", List.of(), MODULE_NAME));
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // the refills run synchronously on the calling thread
+        examPoolService = new PooledExamService(questionService,
+                new QuestionJsonCache(new ObjectMapper(), meterRegistry), meterRegistry, Runnable::run);
+        examPoolService.setDepth(DEPTH);
+    }
+
+    @Test
+    void testFirstRequestFallsBackAndFillsThePool() throws Exception {
+        when(questionService.getQuestionsByStructure(structure)).thenReturn(exam);
+
+        final byte[] result = examPoolService.getExam(structure);
+
+        assertEquals(new ObjectMapper().writeValueAsString(exam), new String(result));
+        verify(questionService, times(1 + DEPTH)).getQuestionsByStructure(structure);
+        assertEquals(DEPTH, depth());
+        assertEquals(1.0, requests("fallback"));
+    }
+
+    @Test
+    void testPooledExamIsServedAndReplaced() {
+        when(questionService.getQuestionsByStructure(structure)).thenReturn(exam);
+
+        examPoolService.getExam(structure);
+        examPoolService.getExam(List.of(new QuestionsStructureDo(MODULE_NAME, 1)));
+
+        assertEquals(1.0, requests("hit"));
+        assertEquals(DEPTH, depth());
+        verify(questionService, times(2 + DEPTH)).getQuestionsByStructure(structure);
+    }
+
+    @Test
+    void testPoolIsRefilledAfterChangeOfItsModule() {
+        when(questionService.getQuestionsByStructure(structure)).thenReturn(exam);
+        examPoolService.getExam(structure);
+
+        examPoolService.onQuestionBankChanged(QuestionBankChangedEvent.forModules(List.of(OTHER_MODULE_NAME)));
+        verify(questionService, times(1 + DEPTH)).getQuestionsByStructure(structure);
+
+        examPoolService.onQuestionBankChanged(QuestionBankChangedEvent.forModules(List.of(MODULE_NAME)));
+        verify(questionService, times(1 + 2 * DEPTH)).getQuestionsByStructure(structure);
+        assertEquals(DEPTH, depth());
+    }
+
+    @Test
+    void testPoolIsRefilledWhenTheMappedStoreHoldsTheChange() {
+        when(questionService.getQuestionsByStructure(structure)).thenReturn(exam);
+        examPoolService.getExam(structure);
+
+        examPoolService.onMappedQuestionStoreSwapped(
+                new MappedQuestionStoreSwappedEvent(QuestionBankChangedEvent.forModules(List.of(MODULE_NAME))));
+
+        verify(questionService, times(1 + 2 * DEPTH)).getQuestionsByStructure(structure);
+        assertEquals(DEPTH, depth());
+    }
+
+    @Test
+    void testPoolIsRemovedWhenItsModuleIsEmptied() {
+        when(questionService.getQuestionsByStructure(structure)).thenReturn(exam)
+                .thenThrow(new ModuleNotFoundException(MODULE_NAME));
+
+        examPoolService.getExam(structure);
+
+        assertEquals(0.0, meterRegistry.get("exam.pool.templates").gauge().value());
+        assertThrows(ModuleNotFoundException.class, () -> examPoolService.getExam(structure));
+    }
+
+    @Test
+    void testNumberOfPoolsIsBounded() {
+        when(questionService.getQuestionsByStructure(anyList())).thenReturn(exam);
+        examPoolService.setMaxTemplates(1);
+
+        examPoolService.getExam(structure);
+        examPoolService.getExam(List.of(new QuestionsStructureDo(OTHER_MODULE_NAME, 1)));
+
+        assertEquals(1.0, meterRegistry.get("exam.pool.templates").gauge().value());
+    }
+
+    @Test
+    void testNumberOfPoolsIsBoundedUnderConcurrentFirstRequests() throws Exception {
+        final int structures = 64;
+        // the fallbacks wait for each other, so the first requests try to add their pool at the same time
+        final CountDownLatch fallbacks = new CountDownLatch(structures);
+        when(questionService.getQuestionsByStructure(anyList())).thenAnswer(invocation -> {
+            fallbacks.countDown();
+            fallbacks.await();
+            return exam;
+        });
+        examPoolService.setMaxTemplates(2);
+
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(structures);
+        try {
+            final List<Future<byte[]>> results = new ArrayList<>();
+            for (int i = 0; i < structures; i++) {
+                final List<QuestionsStructureDo> otherStructure = List.of(new QuestionsStructureDo("MODULE_" + i, 1));
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return examPoolService.getExam(otherStructure);
+                }));
+            }
+            start.countDown();
+            for (final Future<byte[]> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2.0, meterRegistry.get("exam.pool.templates").gauge().value());
+        assertEquals(2, meterRegistry.find("exam.pool.depth").gauges().size());
+    }
+
+    @Test
+    void testIdlePoolMakesRoomForNewStructure() {
+        final List<QuestionsStructureDo> otherStructure = List.of(new QuestionsStructureDo(OTHER_MODULE_NAME, 1));
+        when(questionService.getQuestionsByStructure(anyList())).thenReturn(exam);
+        examPoolService.setMaxTemplates(1);
+        examPoolService.setIdleTimeout(Duration.ZERO);
+
+        examPoolService.getExam(structure);
+        examPoolService.getExam(otherStructure);
+
+        assertEquals(1.0, meterRegistry.get("exam.pool.templates").gauge().value());
+        assertEquals(DEPTH, meterRegistry.get("exam.pool.depth").tag("template", OTHER_MODULE_NAME + ":1").gauge()
+                .value());
+        assertTrue(meterRegistry.find("exam.pool.depth").tag("template", MODULE_NAME + ":1").gauges().isEmpty());
+    }
+
+    @Test
+    void testStructureOfTooManyQuestionsIsNotPooled() {
+        final List<QuestionsStructureDo> largeStructure = List.of(new QuestionsStructureDo(MODULE_NAME, 2));
+        when(questionService.getQuestionsByStructure(largeStructure)).thenReturn(exam);
+        examPoolService.setMaxQuestions(1);
+
+        examPoolService.getExam(largeStructure);
+        examPoolService.getExam(largeStructure);
+
+        assertEquals(0.0, meterRegistry.get("exam.pool.templates").gauge().value());
+        assertEquals(2.0, requests("fallback"));
+        verify(questionService, times(2)).getQuestionsByStructure(largeStructure);
+    }
+
+    private double depth() {
+        return meterRegistry.get("exam.pool.depth").tag("template", MODULE_NAME + ":1").gauge().value();
+    }
+
+    private double requests(final String result) {
+        return meterRegistry.get("exam.pool.requests").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,202 @@
+package com.simulator.exam.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.simulator.exam.dto.DuplicateQuestionDo;
+import com.simulator.exam.dto.ImportReportDo;
+import com.simulator.exam.entity.Answer;
+import com.simulator.exam.entity.Question;
+import com.simulator.exam.repository.QuestionBulkRepository;
+import com.simulator.exam.repository.QuestionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class QuestionImporterTest {
+
+    private static final String MODULE_NAME = "SPRING_AOP";
+    private static final String TRANSACTION_QUESTION =
+            "Which annotation enables the transaction management in a Spring application?";
+    private static final String REWORDED_TRANSACTION_QUESTION =
+            "Which annotation enables transaction management in a Spring application?";
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @Mock
+    private QuestionBulkRepository questionBulkRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private QuestionImporter questionImporter;
+
+    private List<Question> questions;
+
+    @BeforeEach
+    void setUp() {
+        questionImporter.setChunkSize(2);
+        questions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            questions.add(new Question("description" + i,
+                    List.of(new Answer("Is true", true), new Answer("Is false", false)), MODULE_NAME));
+        }
+    }
+
+    @Test
+    void testImportQuestionsInChunks() {
+        when(questionRepository.findAllByDescriptionIn(anyList())).thenReturn(List.of());
+
+        final ImportReportDo report = importInChunks(questions);
+
+        verify(questionRepository, times(3)).findAllByDescriptionIn(anyList());
+        verify(questionRepository, times(3)).saveAll(anyList());
+        verify(entityManager, times(3)).clear();
+        verify(questionRepository, never()).isQuestionAlreadySaved(any());
+        assertEquals(5, report.getQuestions());
+        assertEquals(10, report.getAnswers());
+    }
+
+    @Test
+    void testImportQuestionsSetsAnswerQuestion() {
+        when(questionRepository.findAllByDescriptionIn(anyList())).thenReturn(List.of());
+
+        importInChunks(questions);
+
+        questions.forEach(q -> q.getAnswers().forEach(a -> assertEquals(q, a.getQuestion())));
+    }
+
+    @Test
+    void testPersistedDuplicateIsSkippedAndReported() {
+        final Question persisted = new Question(42L, "description1", MODULE_NAME, List.of());
+        when(questionRepository.findAllByDescriptionIn(anyList())).thenReturn(List.of(persisted), List.of());
+
+        final ImportReportDo report = importInChunks(questions);
+
+        assertEquals(4, report.getQuestions());
+        assertEquals(1, report.getExactDuplicates());
+        final DuplicateQuestionDo duplicate = report.getDuplicates().get(0);
+        assertEquals("description1", duplicate.getDescription());
+        assertEquals(42L, duplicate.getDuplicateOfId());
+        assertTrue(duplicate.isSkipped());
+        verify(questionRepository).saveAll(List.of(questions.get(0)));
+    }
+
+    @Test
+    void testEveryDuplicateInsideChunkIsReported() {
+        questions.set(1, new Question("description0", List.of(), MODULE_NAME));
+        questions.set(3, new Question("description2", List.of(), MODULE_NAME));
+        when(questionRepository.findAllByDescriptionIn(anyList())).thenReturn(List.of());
+
+        final ImportReportDo report = importInChunks(questions);
+
+        assertEquals(3, report.getQuestions());
+        assertEquals(2, report.getExactDuplicates());
+        assertEquals(List.of("description0", "description2"),
+                report.getDuplicates().stream().map(DuplicateQuestionDo::getDuplicateOf).toList());
+    }
+
+    @Test
+    void testNearDuplicateOfPersistedQuestionIsReportedAndImported() {
+        questions.set(2, new Question(REWORDED_TRANSACTION_QUESTION, List.of(), MODULE_NAME));
+        when(questionRepository.findAllByDescriptionIn(anyList())).thenReturn(List.of());
+        when(questionRepository.findAllByMinHashBands(anyCollection(), anyCollection(), anyCollection(),
+                anyCollection())).thenReturn(List.of(), List.of(description(7L, TRANSACTION_QUESTION)), List.of());
+
+        final ImportReportDo report = importInChunks(questions);
+
+        assertEquals(5, report.getQuestions());
+        assertEquals(1, report.getNearDuplicates());
+        final DuplicateQuestionDo duplicate = report.getDuplicates().get(0);
+        assertEquals(7L, duplicate.getDuplicateOfId());
+        assertEquals(TRANSACTION_QUESTION, duplicate.getDuplicateOf());
+        assertTrue(duplicate.getSimilarity() >= 0.8 && duplicate.getSimilarity() < 1);
+        assertFalse(duplicate.isSkipped());
+    }
+
+    @Test
+    void testNearDuplicateInsideChunkIsSkippedWhenConfigured() {
+        questionImporter.setSkipNearDuplicates(true);
+        questions.set(0, new Question(TRANSACTION_QUESTION, List.of(), MODULE_NAME));
+        questions.set(1, new Question(REWORDED_TRANSACTION_QUESTION, List.of(), MODULE_NAME));
+        when(questionRepository.findAllByDescriptionIn(anyList())).thenReturn(List.of());
+
+        final ImportReportDo report = importInChunks(questions);
+
+        assertEquals(4, report.getQuestions());
+        assertEquals(1, report.getNearDuplicates());
+        assertEquals(TRANSACTION_QUESTION, report.getDuplicates().get(0).getDuplicateOf());
+        assertTrue(report.getDuplicates().get(0).isSkipped());
+    }
+
+    @Test
+    void testOnlyTheFirstDuplicatesAreListed() {
+        questionImporter.setChunkSize(5);
+        questionImporter.setMaxReportedDuplicates(1);
+        questions.replaceAll(q -> new Question("description0", List.of(), MODULE_NAME));
+        when(questionRepository.findAllByDescriptionIn(anyList())).thenReturn(List.of());
+
+        final ImportReportDo report = importInChunks(questions);
+
+        assertEquals(1, report.getQuestions());
+        assertEquals(4, report.getExactDuplicates());
+        assertEquals(1, report.getDuplicates().size());
+    }
+
+    @Test
+    void testImportChunkWithEmptyList() {
+        final ImportReportDo report = importInChunks(List.of());
+
+        assertEquals(0, report.getQuestions());
+        verify(questionRepository, never()).saveAll(anyList());
+    }
+
+    /**
+     * Imports the questions the way the import jobs do: chunk by chunk, the report of every chunk being added to the
+     * report of the import once the chunk is done.
+     */
+    private ImportReportDo importInChunks(final List<Question> questions) {
+        final ImportReportDo report = new ImportReportDo();
+        final int chunkSize = questionImporter.getChunkSize();
+        for (int from = 0; from < questions.size(); from += chunkSize) {
+            final ImportReportDo chunkReport = new ImportReportDo();
+            questionImporter.importChunk(questions.subList(from, Math.min(from + chunkSize, questions.size())),
+                    chunkReport);
+            questionImporter.addChunkReport(report, chunkReport);
+        }
+        return report;
+    }
+
+    private static QuestionRepository.QuestionDescription description(final Long id, final String description) {
+        return new QuestionRepository.QuestionDescription() {
+
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+        };
+    }
+}
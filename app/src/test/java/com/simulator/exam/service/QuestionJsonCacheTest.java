@@ -0,0 +1,129 @@
+package com.simulator.exam.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.QuestionDo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class QuestionJsonCacheTest {
+
+    private static final String MODULE_NAME = "SPRING_AOP";
+
+    private static final String OTHER_MODULE_NAME = "SPRING_MVC";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private QuestionJsonCache questionJsonCache;
+
+    private final QuestionDo question = new QuestionDo(1L, "description1",
+            List.of(new AnswerDo(1L, "Is \"true\"", true), new AnswerDo(2L, "Is false", false)), MODULE_NAME);
+
+    private final QuestionDo otherQuestion = new QuestionDo(2L, "description2", List.of(), OTHER_MODULE_NAME);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        questionJsonCache = new QuestionJsonCache(objectMapper, meterRegistry);
+    }
+
+    @Test
+    void testJsonArrayIsTheJacksonSerialization() throws IOException {
+        final List<QuestionDo> questions = List.of(question, otherQuestion);
+
+        final byte[] first = questionJsonCache.toJsonArray(questions, questionJsonCache.version());
+        final byte[] second = questionJsonCache.toJsonArray(questions, questionJsonCache.version());
+
+        assertEquals(objectMapper.writeValueAsString(questions), new String(first));
+        assertEquals(new String(first), new String(second));
+        assertEquals(2.0, requests("miss"));
+        assertEquals(2.0, requests("hit"));
+    }
+
+    @Test
+    void testEmptyJsonArray() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        questionJsonCache.writeJsonArray(List.of(), questionJsonCache.version(), out);
+
+        assertEquals("[]", out.toString());
+    }
+
+    @Test
+    void testChangeOfModuleDropsOnlyItsFragments() {
+        questionJsonCache.toJsonArray(List.of(question, otherQuestion), questionJsonCache.version());
+
+        questionJsonCache.onQuestionBankChanged(QuestionBankChangedEvent.forModules(List.of(MODULE_NAME)));
+
+        assertEquals(1.0, entries());
+        final QuestionDo updated = new QuestionDo(1L, "updated", List.of(), MODULE_NAME);
+        assertEquals("[" + json(updated) + "]",
+                new String(questionJsonCache.toJsonArray(List.of(updated), questionJsonCache.version())));
+    }
+
+    @Test
+    void testChangeOfAllModulesDropsEveryFragment() {
+        questionJsonCache.toJsonArray(List.of(question, otherQuestion), questionJsonCache.version());
+
+        questionJsonCache.onQuestionBankChanged(QuestionBankChangedEvent.forAllModules());
+
+        assertEquals(0.0, entries());
+    }
+
+    @Test
+    void testQuestionsReadBeforeAChangeAreNotCached() {
+        final long version = questionJsonCache.version();
+        questionJsonCache.onQuestionBankChanged(QuestionBankChangedEvent.forModules(List.of(MODULE_NAME)));
+
+        assertEquals("[" + json(question) + "]", new String(questionJsonCache.toJsonArray(List.of(question), version)));
+        assertEquals(0.0, entries());
+    }
+
+    @Test
+    void testSwapOfTheMappedStoreDropsTheFragmentsOfItsChanges() {
+        questionJsonCache.onQuestionBankChanged(QuestionBankChangedEvent.forModules(List.of(MODULE_NAME)));
+        // read from the previous store after the commit of the change
+        final long version = questionJsonCache.version();
+        questionJsonCache.toJsonArray(List.of(question, otherQuestion), version);
+
+        questionJsonCache.onMappedQuestionStoreSwapped(
+                new MappedQuestionStoreSwappedEvent(QuestionBankChangedEvent.forModules(List.of(MODULE_NAME))));
+
+        assertEquals(1.0, entries());
+        assertEquals(version + 1, questionJsonCache.version());
+    }
+
+    @Test
+    void testNumberOfFragmentsIsBounded() {
+        questionJsonCache.setMaxEntries(1);
+
+        questionJsonCache.toJsonArray(List.of(question, otherQuestion), questionJsonCache.version());
+
+        assertEquals(1.0, entries());
+    }
+
+    private String json(final QuestionDo questionDo) {
+        try {
+            return objectMapper.writeValueAsString(questionDo);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private double entries() {
+        return meterRegistry.get("exam.question.json-cache.entries").gauge().value();
+    }
+
+    private double requests(final String result) {
+        return meterRegistry.get("exam.question.json-cache.requests").tag("result", result).functionCounter().count();
+    }
+}
@@ -0,0 +1,203 @@
+package com.simulator.exam.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.dto.QuestionSearchHitDo;
+import com.simulator.exam.dto.QuestionSearchPageDo;
+import com.simulator.exam.exception.InvalidPageRequestException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class QuestionSearchServiceImplTest {
+
+    private static final String SPRING_AOP = "SPRING_AOP";
+    private static final String SPRING_DATA = "SPRING_DATA";
+
+    @Mock
+    private QuestionServiceImp questionService;
+
+    private QuestionSearchServiceImpl questionSearchService;
+
+    private final List<QuestionDo> bank = new ArrayList<>(List.of(
+            question(1L, "What is an aspect?", SPRING_AOP, "A modularized concern", "A proxy"),
+            question(2L, "Which proxy types does Spring AOP create?", SPRING_AOP, "JDK dynamic proxy", "CGLIB proxy"),
+            question(3L, "What is a pointcut expression?", SPRING_AOP, "A predicate matching join points", "A proxy"),
+            question(4L, "What does a Spring Data repository proxy implement?", SPRING_DATA, "The repository",
+                    "Nothing")));
+
+    @BeforeEach
+    void setUp() {
+        // the indexes are refreshed synchronously by the change events
+        questionSearchService =
+                new QuestionSearchServiceImpl(questionService, new SimpleMeterRegistry(), Runnable::run);
+    }
+
+    @Test
+    void testQuestionsHoldingAllTermsAreRanked() {
+        exportBank();
+        readQuestions();
+
+        final QuestionSearchPageDo page = questionSearchService.search("Proxy", null, 0, 10);
+
+        assertEquals(4, page.getTotal());
+        // the terms of the description weigh more than the terms of the answers
+        assertEquals(2L, page.getHits().get(0).getQuestion().getId());
+        assertEquals(List.of(2L, 4L), ids(questionSearchService.search("proxy SPRING", null, 0, 10)));
+        assertEquals(List.of(), ids(questionSearchService.search("proxy kotlin", null, 0, 10)));
+        assertEquals(List.of(), ids(questionSearchService.search("?!", null, 0, 10)));
+    }
+
+    @Test
+    void testModuleFilterAndPaging() {
+        exportBank();
+        readQuestions();
+
+        assertEquals(List.of(4L), ids(questionSearchService.search("proxy", SPRING_DATA, 0, 10)));
+        assertEquals(List.of(), ids(questionSearchService.search("proxy", "UNKNOWN", 0, 10)));
+
+        final List<Long> all = ids(questionSearchService.search("proxy", SPRING_AOP, 0, 10));
+        final QuestionSearchPageDo second = questionSearchService.search("proxy", SPRING_AOP, 1, 2);
+        assertEquals(3, second.getTotal());
+        assertEquals(all.subList(2, 3), ids(second));
+        assertEquals(List.of(), ids(questionSearchService.search("proxy", SPRING_AOP, 5, 2)));
+    }
+
+    @Test
+    void testOnlyTheChangedModulesAreIndexedAgain() {
+        exportBank();
+        readQuestions();
+        questionSearchService.search("proxy", null, 0, 10);
+
+        final QuestionDo added = question(5L, "How is a proxy advised?", SPRING_AOP, "By advisors", "Never");
+        bank.add(added);
+        when(questionService.getQuestionsByModules(Set.of(SPRING_AOP)))
+                .thenReturn(Map.of(SPRING_AOP, bank.stream().filter(q -> SPRING_AOP.equals(q.getModuleName()))
+                        .toList()));
+        questionSearchService.onQuestionBankChanged(QuestionBankChangedEvent.forModules(Set.of(SPRING_AOP)));
+
+        assertEquals(List.of(5L), ids(questionSearchService.search("advised", null, 0, 10)));
+        assertEquals(5, questionSearchService.search("proxy", null, 0, 10).getTotal());
+        verify(questionService, times(1)).exportQuestions(any());
+    }
+
+    @Test
+    void testSearchesUseThePreviousIndexesUntilTheRefreshIsDone() {
+        final List<Runnable> refreshes = new ArrayList<>();
+        questionSearchService =
+                new QuestionSearchServiceImpl(questionService, new SimpleMeterRegistry(), refreshes::add);
+        exportBank();
+        readQuestions();
+        questionSearchService.search("proxy", null, 0, 10);
+
+        bank.add(question(5L, "How is a proxy advised?", SPRING_AOP, "By advisors", "Never"));
+        when(questionService.getQuestionsByModules(Set.of(SPRING_AOP)))
+                .thenReturn(Map.of(SPRING_AOP, bank.stream().filter(q -> SPRING_AOP.equals(q.getModuleName()))
+                        .toList()));
+        questionSearchService.onQuestionBankChanged(QuestionBankChangedEvent.forModules(Set.of(SPRING_AOP)));
+        questionSearchService.onQuestionBankChanged(QuestionBankChangedEvent.forModules(Set.of(SPRING_AOP)));
+
+        // the changes are indexed by a single queued refresh, the searches don't wait for it
+        assertEquals(1, refreshes.size());
+        assertEquals(List.of(), ids(questionSearchService.search("advised", null, 0, 10)));
+        verify(questionService, never()).getQuestionsByModules(any());
+
+        refreshes.get(0).run();
+
+        assertEquals(List.of(5L), ids(questionSearchService.search("advised", null, 0, 10)));
+    }
+
+    @Test
+    void testEmptiedModuleIsDropped() {
+        exportBank();
+        readQuestions();
+        questionSearchService.search("proxy", null, 0, 10);
+
+        when(questionService.getQuestionsByModules(Set.of(SPRING_DATA))).thenReturn(Map.of());
+        questionSearchService.onQuestionBankChanged(QuestionBankChangedEvent.forModules(Set.of(SPRING_DATA)));
+
+        assertEquals(List.of(), ids(questionSearchService.search("repository", null, 0, 10)));
+    }
+
+    @Test
+    void testInvalidPageIsRejected() {
+        questionSearchService.setMaxPageSize(50);
+
+        assertThrows(InvalidPageRequestException.class, () -> questionSearchService.search("proxy", null, 0, 0));
+        assertThrows(InvalidPageRequestException.class, () -> questionSearchService.search("proxy", null, 0, 51));
+        assertThrows(InvalidPageRequestException.class, () -> questionSearchService.search("proxy", null, -1, 10));
+        verify(questionService, never()).exportQuestions(any());
+    }
+
+    @Test
+    void testTokenizer() {
+        assertEquals(List.of("what", "s", "a", "jdk", "17", "proxy"),
+                QuestionSearchIndex.tokenize("What's a JDK-17 proxy?"));
+        assertEquals(List.of("proxy", "jdk"), QuestionSearchIndex.queryTerms("proxy JDK Proxy"));
+    }
+
+    @Test
+    void testIntersectionOfLongPostings() {
+        final List<QuestionDo> questions = new ArrayList<>();
+        for (long id = 0; id < 1000; id++) {
+            final String description = (id % 3 == 0 ? "fizz " : "") + (id % 5 == 0 ? "buzz " : "") + "number";
+            questions.add(question(id, description, SPRING_AOP));
+        }
+        final QuestionSearchIndex index = new QuestionSearchIndex(SPRING_AOP, questions);
+        final List<Long> matches = new ArrayList<>();
+
+        index.search(List.of("buzz", "fizz"), new double[] { 1, 1 }, 3, (questionId, score) -> matches.add(questionId));
+
+        assertEquals(67, matches.size());
+        matches.forEach(id -> assertEquals(0, id % 15));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void exportBank() {
+        doAnswer(invocation -> {
+            bank.forEach(invocation.<Consumer<QuestionDo>>getArgument(0));
+            return (long) bank.size();
+        }).when(questionService).exportQuestions(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readQuestions() {
+        when(questionService.getQuestionsByIds(anyList())).thenAnswer(invocation -> {
+            final List<Long> ids = invocation.getArgument(0);
+            return bank.stream().filter(q -> ids.contains(q.getId())).toList();
+        });
+    }
+
+    private static List<Long> ids(final QuestionSearchPageDo page) {
+        return page.getHits().stream().map(QuestionSearchHitDo::getQuestion).map(QuestionDo::getId).toList();
+    }
+
+    private static QuestionDo question(final long id, final String description, final String module,
+            final String... options) {
+        final List<AnswerDo> answers = new ArrayList<>();
+        for (int a = 0; a < options.length; a++) {
+            answers.add(new AnswerDo(id * 10 + a, options[a], a == 0));
+        }
+        return new QuestionDo(id, description, answers, module);
+    }
+}
@@ -0,0 +1,186 @@
+package com.simulator.exam.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import com.simulator.exam.dto.QuestionPageDo;
+import com.simulator.exam.dto.QuestionsStructureDo;
+import com.simulator.exam.entity.Answer;
+import com.simulator.exam.entity.Question;
+import com.simulator.exam.repository.ExamAttemptRepository;
+import com.simulator.exam.repository.QuestionBulkRepository;
+import com.simulator.exam.repository.QuestionRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Verifies that the read paths load the questions together with their answers in a bounded number of statements,
+ * independent of the number of returned questions.
+ */
+@DataJpaTest
+@Import({ QuestionServiceImp.class, AnswerServiceImpl.class, IndexedQuestionSampler.class, QuestionBulkRepository.class,
+        ModuleStatisticsServiceImpl.class, ExamAttemptRepository.class })
+class QuestionServiceFetchPlanTest {
+
+    private static final String MODULE_NAME = "SPRING_AOP";
+    private static final int NUMBER_OF_QUESTIONS = 20;
+    private static final int MAX_STATEMENTS = 2;
+    private static final int OTHER_MODULES = 9;
+    private static final String OTHER_MODULE_PREFIX = "MODULE_";
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private IndexedQuestionSampler questionSampler;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    private Long questionId;
+
+    @BeforeEach
+    void setUp() {
+        final List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_QUESTIONS; i++) {
+            final Question question = new Question("Question " + i,
+                    new ArrayList<>(List.of(new Answer("Option A" + i, true), new Answer("Option B" + i, false))),
+                    MODULE_NAME);
+            question.linkAnswers();
+            questions.add(question);
+        }
+        questionId = questionRepository.saveAll(questions).get(0).getId();
+        entityManager.flush();
+        entityManager.clear();
+        // the test transaction is never committed, so the sampler index is reset by hand
+        questionSampler.onQuestionBankChanged(QuestionBankChangedEvent.forAllModules());
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testGetAllQuestionsUsesBoundedStatements() {
+        assertStatementsBounded(() -> questionService.getAllQuestions(), NUMBER_OF_QUESTIONS);
+    }
+
+    @Test
+    void testGetRandomQuestionsUsesBoundedStatements() {
+        assertStatementsBounded(() -> questionService.getRandomQuestions(), NUMBER_OF_QUESTIONS);
+    }
+
+    @Test
+    void testGetRandomQuestionsByModuleUsesBoundedStatements() {
+        // the first call loads the module id index, the second one is the steady state
+        questionService.getRandomQuestionsByModule(MODULE_NAME, 10);
+        entityManager.clear();
+        statistics.clear();
+
+        assertStatementsBounded(() -> questionService.getRandomQuestionsByModule(MODULE_NAME, 10), 10);
+        // the module is checked against the in-memory statistics, only the questions are read
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetQuestionsByStructureUsesBoundedStatements() {
+        final List<QuestionsStructureDo> structure = List.of(new QuestionsStructureDo(MODULE_NAME, 10));
+        questionService.getQuestionsByStructure(structure);
+        entityManager.clear();
+        statistics.clear();
+
+        assertStatementsBounded(() -> questionService.getQuestionsByStructure(structure), 10);
+    }
+
+    @Test
+    void testGetQuestionsByStructureWithManyModulesUsesBoundedStatements() {
+        final List<Question> questions = new ArrayList<>();
+        for (int module = 0; module < OTHER_MODULES; module++) {
+            for (int i = 0; i < 3; i++) {
+                questions.add(new Question("Module " + module + " question " + i, new ArrayList<>(),
+                        OTHER_MODULE_PREFIX + module));
+            }
+        }
+        questionRepository.saveAll(questions);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        final List<QuestionsStructureDo> structure = new ArrayList<>();
+        structure.add(new QuestionsStructureDo(MODULE_NAME, 5));
+        for (int module = 0; module < OTHER_MODULES; module++) {
+            structure.add(new QuestionsStructureDo(OTHER_MODULE_PREFIX + module, 2));
+        }
+
+        // the module indexes are loaded and the questions read with one query each, for all the modules
+        assertStatementsBounded(() -> questionService.getQuestionsByStructure(structure), 5 + 2 * OTHER_MODULES);
+    }
+
+    @Test
+    void testGetQuestionsPageUsesBoundedStatements() {
+        final QuestionPageDo firstPage = questionService.getQuestionsPage(null, 15);
+        assertEquals(15, firstPage.getQuestions().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        final QuestionPageDo lastPage = questionService.getQuestionsPage(firstPage.getNextCursor(), 15);
+        assertEquals(5, lastPage.getQuestions().size());
+        assertNull(lastPage.getNextCursor());
+        assertEquals(questionId + NUMBER_OF_QUESTIONS - 1, lastPage.getQuestions().get(4).getId());
+    }
+
+    @Test
+    void testHashingQuestionsDoesNotLoadAnswers() {
+        final Question question = questionRepository.findById(questionId).orElseThrow();
+        statistics.clear();
+
+        final Set<Question> questions = new HashSet<>(List.of(question));
+        questions.add(new Question(questionId, "Updated description", MODULE_NAME, List.of()));
+
+        assertEquals(1, questions.size());
+        assertFalse(Hibernate.isInitialized(question.getAnswers()));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetQuestionByIdUsesBoundedStatements() {
+        assertEquals(2, questionService.getQuestionById(questionId).getAnswers().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testGetAnswersForQuestionIdUsesBoundedStatements() {
+        assertEquals(2, questionService.getAnswersForQuestionId(questionId).size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private void assertStatementsBounded(final Supplier<List<?>> readPath, final int expectedSize) {
+        assertEquals(expectedSize, readPath.get().size());
+        final long statements = statistics.getPrepareStatementCount();
+        if (statements > MAX_STATEMENTS) {
+            throw new AssertionError(
+                    String.format("Expected at most %s statements but %s were executed", MAX_STATEMENTS, statements));
+        }
+        // the read paths build the DTOs from projection queries, no entity is loaded
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
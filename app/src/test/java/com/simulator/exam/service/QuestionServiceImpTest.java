@@ -1,28 +1,39 @@
 package com.simulator.exam.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.BulkResultDo;
 import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.dto.QuestionPageDo;
 import com.simulator.exam.dto.QuestionsStructureDo;
 import com.simulator.exam.entity.Answer;
 import com.simulator.exam.entity.Question;
 import com.simulator.exam.exception.DuplicateQuestionException;
+import com.simulator.exam.exception.InvalidPageRequestException;
 import com.simulator.exam.exception.ModuleNotFoundException;
+import com.simulator.exam.repository.QuestionAnswerRow;
+import com.simulator.exam.repository.QuestionBulkRepository;
 import com.simulator.exam.repository.QuestionRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,8 +42,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mock.web.MockMultipartFile;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(MockitoExtension.class)
 class QuestionServiceImpTest {
@@ -45,7 +57,20 @@ class QuestionServiceImpTest {
     private AnswerService answerService;
 
     @Mock
-    private MultipartFile mockMultipartFile;
+    private QuestionSampler questionSampler;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private QuestionBulkRepository questionBulkRepository;
+
+    @Mock
+    private ModuleStatisticsServiceImpl moduleStatisticsService;
+
+    @Mock
+    @SuppressWarnings("unused")
+    private PlatformTransactionManager transactionManager;
 
     @InjectMocks
     private QuestionServiceImp questionService;
@@ -75,34 +100,6 @@ class QuestionServiceImpTest {
 
     private static final String MISSING_MODULE_NAME = "MISSING_MODULE";
 
-    private final static String FILE_NAME = "test-questions.yaml";
-
-    private final String validYamlData = """
-            questions:
-              - description: "What is the capital of Canada?"
-                answers:
-                  - option: "Toronto"
-                    correct: true
-                  - option: "Ottawa"
-                    correct: false
-                  - option: "Vancouver"
-                    correct: false
-              - description: "What is 2 + 2?"
-                answers:
-                  - option: "3"
-                    correct: false
-                  - option: "4"
-                    correct: true
-                  - option: "5"
-                    correct: false""";
-
-    private final String invalidYaml = """
-            questions:
-              - description: "description1"
-                answers:
-                  - option: "Toronto"
-                    correct: true""";
-
     @BeforeEach
     void setUp() {
         questionListWithEmptyAnswer = new ArrayList<>();
@@ -113,8 +110,6 @@ class QuestionServiceImpTest {
         structureListWithNullModule = List.of(new QuestionsStructureDo(NULL_MODULE, 2));
         structureListWithMissingModule = List.of(new QuestionsStructureDo(MISSING_MODULE_NAME, 2));
 
-        questionService.setFilePath("src/test/resources/questions-files/%s");
-
         answerList = new ArrayList<>();
         answerList.add(new Answer(1L, "Is true", true));
         answerList.add(new Answer(1L, "Is false", false));
@@ -136,24 +131,25 @@ class QuestionServiceImpTest {
 
     @Test
     void testGetRandomQuestions() {
-        when(questionRepository.getQuestionsOrderByRandom()).thenReturn(questionListWithEmptyAnswer);
+        when(questionSampler.sampleAll()).thenReturn(List.of(2L, 1L));
+        when(questionRepository.findRowsByIdIn(List.of(2L, 1L))).thenReturn(rowsOf(questionListWithEmptyAnswer));
 
         final List<QuestionDo> result = questionService.getRandomQuestions();
 
-        assertEquals(2, result.size());
-        verify(questionRepository, times(1)).getQuestionsOrderByRandom();
+        assertEquals(List.of(2L, 1L), result.stream().map(QuestionDo::getId).toList());
+        verify(questionSampler, times(1)).sampleAll();
     }
 
     @Test
     void testGetRandomQuestionsByModule() {
-        when(questionRepository.getTopByModuleEnumQuestionOrderByRandom(2, MODULE_NAME)).thenReturn(
-                questionListWithEmptyAnswer);
-        when(questionRepository.moduleHasNoQuestions(MODULE_NAME)).thenReturn(Boolean.FALSE);
+        when(questionSampler.sampleByModule(MODULE_NAME, 2)).thenReturn(List.of(1L, 2L));
+        when(questionRepository.findRowsByIdIn(List.of(1L, 2L))).thenReturn(rowsOf(questionListWithEmptyAnswer));
+        when(moduleStatisticsService.hasQuestions(MODULE_NAME)).thenReturn(true);
 
         final List<QuestionDo> result = questionService.getRandomQuestionsByModule(MODULE_NAME, 2);
 
         assertEquals(2, result.size());
-        verify(questionRepository, times(1)).getTopByModuleEnumQuestionOrderByRandom(2, MODULE_NAME);
+        verify(questionSampler, times(1)).sampleByModule(MODULE_NAME, 2);
     }
 
     @Test
@@ -164,19 +160,19 @@ class QuestionServiceImpTest {
 
     @Test
     void testGetRandomQuestionsByModuleWithNoQuestionsForSpecifiedModule() {
-        when(questionRepository.moduleHasNoQuestions(MODULE_NAME)).thenReturn(Boolean.TRUE);
+        when(moduleStatisticsService.hasQuestions(MODULE_NAME)).thenReturn(false);
         assertThrows(ModuleNotFoundException.class, () -> questionService.getRandomQuestionsByModule("SPRING_AOP", 2));
     }
 
     @Test
     void testGetQuestionsByStructure() {
-        when(questionRepository.getTopByModuleEnumQuestionOrderByRandom(2, MODULE_NAME)).thenReturn(
-                questionListWithEmptyAnswer);
-        when(questionRepository.moduleHasNoQuestions(MODULE_NAME)).thenReturn(Boolean.FALSE);
+        when(questionSampler.sampleByStructure(structureList)).thenReturn(List.of(List.of(1L, 2L)));
+        when(questionRepository.findRowsByIdIn(List.of(1L, 2L))).thenReturn(rowsOf(questionListWithEmptyAnswer));
 
         final List<QuestionDo> result = questionService.getQuestionsByStructure(structureList);
 
         assertEquals(2, result.size());
+        verify(questionRepository, times(1)).findRowsByIdIn(anyList());
     }
 
     @Test
@@ -187,7 +183,7 @@ class QuestionServiceImpTest {
 
     @Test
     void testGetQuestionsByStructureWithMissingModule() {
-        when(questionRepository.moduleHasNoQuestions(MISSING_MODULE_NAME)).thenReturn(Boolean.TRUE);
+        when(questionSampler.sampleByStructure(structureListWithMissingModule)).thenReturn(List.of(List.of()));
 
         assertThrows(ModuleNotFoundException.class,
                 () -> questionService.getQuestionsByStructure(structureListWithMissingModule));
@@ -195,79 +191,77 @@ class QuestionServiceImpTest {
     }
 
     @Test
-    void testSaveImportLocalQuestionByModuleNumber() {
-        when(questionRepository.isQuestionAlreadySaved(any())).thenReturn(Boolean.FALSE);
-
-        questionService.saveImportLocalQuestionByFileName(FILE_NAME, MODULE_NAME);
-
-        verify(questionRepository, times(2)).save(any(Question.class));
+    void testGetAllQuestionsWithNoValueReturned() {
+        when(questionRepository.findAllRows()).thenReturn(List.of());
+        assertTrue(questionService.getAllQuestions().isEmpty());
     }
 
     @Test
-    void testSaveImportQuestionsFromFile() throws IOException {
-        when(mockMultipartFile.getInputStream()).thenReturn(
-                new MockMultipartFile("file", validYamlData.getBytes()).getInputStream());
-
-        when(questionRepository.isQuestionAlreadySaved(any())).thenReturn(Boolean.FALSE);
-
-        questionService.saveImportQuestionsFromFile(mockMultipartFile, MODULE_NAME);
-
-        verify(questionRepository, times(2)).save(any(Question.class));
-    }
+    void testGetAllQuestionsWithResults() {
+        when(questionRepository.findAllRows()).thenReturn(rowsOf(List.of(questionWithAnswerList,
+                questionListWithEmptyAnswer.get(1))));
 
-    @Test
-    void testSaveUniqueQuestionThroughSaveImportLocalQuestionByModuleNumber() {
-        when(questionRepository.isQuestionAlreadySaved(any())).thenReturn(Boolean.FALSE);
-        questionService.saveImportLocalQuestionByFileName(FILE_NAME, MODULE_NAME);
+        final List<QuestionDo> result = questionService.getAllQuestions();
 
-        verify(questionRepository, times(2)).save(any());
+        assertEquals(2, result.size());
+        assertTrue(isQuestionEqualWithQuestionDo(questionWithAnswerList, result.get(0)));
+        assertTrue(result.get(1).getAnswers().isEmpty());
     }
 
     @Test
-    void testSaveDuplicateQuestionThroughSaveImportLocalQuestionByModuleNumber() {
-        final String fileName = "test-duplicated-questions.yaml";
-
-        when(questionRepository.isQuestionAlreadySaved(any())).thenReturn(Boolean.TRUE);
+    void testGetAllQuestionsSharesTheRepeatedOptions() {
+        final Question other = new Question(2L, "Is the other question correct?", "A module",
+                List.of(new Answer(3L, new String("Is true"), true)));
+        when(questionRepository.findAllRows()).thenReturn(rowsOf(List.of(questionWithAnswerList, other)));
 
-        assertThrows(DuplicateQuestionException.class,
-                () -> questionService.saveImportLocalQuestionByFileName(fileName, MODULE_NAME));
+        final List<QuestionDo> result = questionService.getAllQuestions();
 
-        verify(questionRepository, never()).save(any());
+        assertEquals("Is true", result.get(1).getAnswers().get(0).getOption());
+        assertSame(result.get(0).getAnswers().get(0).getOption(), result.get(1).getAnswers().get(0).getOption());
     }
 
     @Test
-    void testSaveUniqueQuestionThroughSaveImportQuestionsFromFile() throws IOException {
-        when(mockMultipartFile.getInputStream()).thenReturn(
-                new MockMultipartFile("file", validYamlData.getBytes()).getInputStream());
-        when(questionRepository.isQuestionAlreadySaved(any())).thenReturn(Boolean.FALSE);
+    void testGetQuestionsPageReturnsQuestionsOrderedById() {
+        when(questionRepository.findIdsAfter(Long.MIN_VALUE, Limit.of(2))).thenReturn(List.of(1L, 2L));
+        when(questionRepository.findRowsByIdIn(List.of(1L, 2L))).thenReturn(rowsOf(questionListWithEmptyAnswer));
 
-        questionService.saveImportQuestionsFromFile(mockMultipartFile, MODULE_NAME);
+        final QuestionPageDo page = questionService.getQuestionsPage(null, 2);
 
-        verify(questionRepository, times(2)).save(any(Question.class));
+        assertEquals(List.of(1L, 2L), page.getQuestions().stream().map(QuestionDo::getId).toList());
+        assertEquals(2L, page.getNextCursor());
     }
 
     @Test
-    void testSaveDuplicateQuestionThroughSaveImportQuestionsFromFile() throws IOException {
-        when(mockMultipartFile.getInputStream()).thenReturn(
-                new MockMultipartFile("file", invalidYaml.getBytes()).getInputStream());
-        when(questionRepository.isQuestionAlreadySaved(any())).thenReturn(Boolean.TRUE);
+    void testGetQuestionsPageLastPageHasNoCursor() {
+        when(questionRepository.findIdsAfter(2L, Limit.of(2))).thenReturn(List.of());
 
-        assertThrows(DuplicateQuestionException.class,
-                () -> questionService.saveImportQuestionsFromFile(mockMultipartFile, MODULE_NAME));
+        final QuestionPageDo page = questionService.getQuestionsPage(2L, 2);
 
-        verify(questionRepository, never()).save(any(Question.class));
+        assertTrue(page.getQuestions().isEmpty());
+        assertNull(page.getNextCursor());
     }
 
     @Test
-    void testGetAllQuestionsWithNoValueReturned() {
-        when(questionRepository.findAll()).thenReturn(List.of());
-        assertTrue(questionService.getAllQuestions().isEmpty());
+    void testGetQuestionsPageWithInvalidSize() {
+        assertThrows(InvalidPageRequestException.class, () -> questionService.getQuestionsPage(null, 0));
+        assertThrows(InvalidPageRequestException.class, () -> questionService.getQuestionsPage(null, 501));
     }
 
     @Test
-    void testGetAllQuestionsWithResults() {
-        when(questionRepository.findAll()).thenReturn(questionListWithEmptyAnswer);
-        assertEquals(2, questionService.getAllQuestions().size());
+    void testExportQuestionsReadsAllPages() {
+        questionService.setExportPageSize(1);
+        when(questionRepository.findIdsAfter(Long.MIN_VALUE, Limit.of(1))).thenReturn(List.of(1L));
+        when(questionRepository.findIdsAfter(1L, Limit.of(1))).thenReturn(List.of(2L));
+        when(questionRepository.findIdsAfter(2L, Limit.of(1))).thenReturn(List.of());
+        when(questionRepository.findRowsByIdIn(List.of(1L))).thenReturn(
+                rowsOf(List.of(questionListWithEmptyAnswer.get(0))));
+        when(questionRepository.findRowsByIdIn(List.of(2L))).thenReturn(
+                rowsOf(List.of(questionListWithEmptyAnswer.get(1))));
+        final List<QuestionDo> exported = new ArrayList<>();
+
+        assertEquals(2, questionService.exportQuestions(exported::add));
+
+        assertEquals(List.of(1L, 2L), exported.stream().map(QuestionDo::getId).toList());
     }
 
     @Test
@@ -277,15 +271,14 @@ class QuestionServiceImpTest {
 
     @Test
     void testGetQuestionByIdWithResult() {
-        when(questionRepository.findById(1L)).thenReturn(Optional.of(questionListWithEmptyAnswer.get(0)));
+        when(questionRepository.findRowsById(1L)).thenReturn(rowsOf(List.of(questionListWithEmptyAnswer.get(0))));
         assertTrue(
                 isQuestionEqualWithQuestionDo(questionListWithEmptyAnswer.get(0), questionService.getQuestionById(1L)));
     }
 
     @Test
     void testGetAnswersForQuestionId() {
-        when(questionRepository.findById(1L)).thenReturn(Optional.of(questionWithAnswerList));
-        when(answerService.mapAnswersToAnswerDo(answerList)).thenReturn(answerDoList);
+        when(questionRepository.findRowsById(1L)).thenReturn(rowsOf(List.of(questionWithAnswerList)));
 
         assertTrue(isAnswerEqualWithAnswerDo(answerList, questionService.getAnswersForQuestionId(1L)));
     }
@@ -337,6 +330,19 @@ class QuestionServiceImpTest {
         questionService.deleteGivenQuestion(questionsToDelete);
 
         verify(questionRepository).deleteAll(questionsToDelete);
+        verify(eventPublisher, never()).publishEvent(any(QuestionBankChangedEvent.class));
+    }
+
+    @Test
+    void testDeleteGivenQuestionEvictsTheirModules() {
+        final List<Question> questionsToDelete = List.of(questionListWithEmptyAnswer.get(0));
+        when(questionBulkRepository.findModulesOfQuestions(List.of(1L))).thenReturn(Set.of(MODULE_NAME));
+
+        questionService.deleteGivenQuestion(questionsToDelete);
+
+        verify(questionRepository).deleteAll(questionsToDelete);
+        verify(eventPublisher).publishEvent(argThat((QuestionBankChangedEvent e) -> e.affects(MODULE_NAME)
+                && !e.affectsAllModules()));
     }
 
     @Test
@@ -360,10 +366,13 @@ class QuestionServiceImpTest {
     @Test
     void testDeleteQuestionById() {
         final long questionId = 1L;
+        when(questionBulkRepository.findModulesOfQuestions(List.of(questionId))).thenReturn(Set.of(MODULE_NAME));
 
         questionService.deleteQuestionById(questionId);
 
         verify(questionRepository).deleteById(questionId);
+        verify(eventPublisher).publishEvent(argThat((QuestionBankChangedEvent e) -> e.affects(MODULE_NAME)
+                && !e.affectsAllModules()));
     }
 
     @Test
@@ -371,7 +380,7 @@ class QuestionServiceImpTest {
         when(questionRepository.findAllById(any())).thenReturn(questionListWithEmptyAnswer);
 
         final List<Question> updatedQuestions =
-                List.of(new Question(1L, "New Description 1", "Module A NEW", ANSWER_EMPTY_LIST),
+                List.of(new Question(1L, "New Description 1", "Module A NEW", newAnswerList),
                         new Question(2L, "New Description 2", "Module B NEW", ANSWER_EMPTY_LIST));
 
         final List<QuestionDo> result = questionService.updateQuestion(updatedQuestions);
@@ -380,6 +389,10 @@ class QuestionServiceImpTest {
         assertEquals("Module A NEW", result.get(0).getModuleName());
         assertEquals("New Description 2", result.get(1).getDescription());
         assertEquals("Module B NEW", result.get(1).getModuleName());
+        // the stored answers are replaced by the submitted ones
+        final Question stored = questionListWithEmptyAnswer.get(0);
+        assertEquals(newAnswerList, stored.getAnswers());
+        assertTrue(stored.getAnswers().stream().allMatch(a -> a.getQuestion() == stored));
     }
 
     @Test
@@ -563,6 +576,18 @@ class QuestionServiceImpTest {
         assertEquals(questionDo.get(0).getDescription(), questionWithAnswerList.getDescription());
     }
 
+    private static List<QuestionAnswerRow> rowsOf(final List<Question> questions) {
+        final List<QuestionAnswerRow> rows = new ArrayList<>();
+        questions.forEach(q -> {
+            if (q.getAnswers().isEmpty()) {
+                rows.add(new QuestionAnswerRow(q.getId(), q.getDescription(), q.getModuleName(), null, null, null));
+            }
+            q.getAnswers().forEach(a -> rows.add(new QuestionAnswerRow(q.getId(), q.getDescription(),
+                    q.getModuleName(), a.getId(), a.getOption(), a.isCorrect())));
+        });
+        return rows;
+    }
+
     public boolean isQuestionEqualWithQuestionDo(final Question question, final QuestionDo questionDo) {
         if (!question.getId().equals(questionDo.getId()) || !question.getDescription()
                 .equals(questionDo.getDescription())) {
@@ -587,4 +612,59 @@ class QuestionServiceImpTest {
                         .equals(answerDo.getId())));
     }
 
-}
\ No newline at end of file
+    @Test
+    void testBulkUpdateQuestionsReportsMissingIds() {
+        final List<Question> updatedQuestions =
+                List.of(new Question(1L, "New Description 1", "Module A NEW", ANSWER_EMPTY_LIST),
+                        new Question(2L, "New Description 2", "Module B NEW", ANSWER_EMPTY_LIST));
+        when(questionBulkRepository.findModulesOfQuestions(List.of(1L, 2L))).thenReturn(Set.of("Module A"));
+        when(questionBulkRepository.updateQuestions(updatedQuestions)).thenReturn(List.of(2L));
+
+        final BulkResultDo result = questionService.bulkUpdateQuestions(updatedQuestions);
+
+        assertEquals(2, result.getRequested());
+        assertEquals(1, result.getAffected());
+        assertEquals(List.of(2L), result.getMissingIds());
+        verify(eventPublisher).publishEvent(argThat((QuestionBankChangedEvent e) -> e.affects("Module A")
+                && e.affects("Module A NEW") && !e.affects("Module C")));
+    }
+
+    @Test
+    void testBulkUpdateQuestionsWithWrongQuestionIdWritesNothing() {
+        newQuestion.setDescription("New Description");
+        final List<Question> listOfNewQuestions = List.of(new Question(1L, "Description", "Module", ANSWER_EMPTY_LIST),
+                newQuestion);
+
+        assertThrows(EntityNotFoundException.class, () -> questionService.bulkUpdateQuestions(listOfNewQuestions));
+        verifyNoInteractions(questionBulkRepository, eventPublisher);
+    }
+
+    @Test
+    void testBulkUpdateQuestionsPropertiesWithEmptyList() {
+        final BulkResultDo result = questionService.bulkUpdateQuestionsProperties(List.of());
+
+        assertEquals(0, result.getRequested());
+        verifyNoInteractions(questionBulkRepository, eventPublisher);
+    }
+
+    @Test
+    void testBulkDeleteQuestions() {
+        when(questionBulkRepository.findModulesOfQuestions(List.of(1L, 2L))).thenReturn(Set.of("Module A"));
+        when(questionBulkRepository.deleteQuestions(List.of(1L, 2L))).thenReturn(List.of());
+
+        final BulkResultDo result = questionService.bulkDeleteQuestions(List.of(1L, 2L));
+
+        assertEquals(2, result.getAffected());
+        assertTrue(result.getMissingIds().isEmpty());
+        verify(eventPublisher).publishEvent(argThat((QuestionBankChangedEvent e) -> e.affects("Module A")
+                && !e.affectsAllModules()));
+    }
+
+    @Test
+    void testBulkDeleteQuestionsWithWrongId() {
+        final List<Long> ids = List.of(1L, 0L);
+
+        assertThrows(EntityNotFoundException.class, () -> questionService.bulkDeleteQuestions(ids));
+        verifyNoInteractions(questionBulkRepository);
+    }
+}
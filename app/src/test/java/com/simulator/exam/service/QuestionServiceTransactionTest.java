@@ -0,0 +1,128 @@
+package com.simulator.exam.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.dto.QuestionsStructureDo;
+import com.simulator.exam.entity.Answer;
+import com.simulator.exam.entity.Question;
+import com.simulator.exam.repository.ExamAttemptRepository;
+import com.simulator.exam.repository.QuestionBulkRepository;
+import com.simulator.exam.repository.QuestionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Verifies that the service opens its own transactions, without an enclosing transaction or open session: the reads
+ * are never flushed and the lazy answers are loaded within the service.
+ */
+@DataJpaTest(properties = "app.question.sampling.strategy=database")
+@Import({ QuestionServiceImp.class, AnswerServiceImpl.class, DatabaseQuestionSampler.class, QuestionBulkRepository.class,
+        ModuleStatisticsServiceImpl.class, ExamAttemptRepository.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QuestionServiceTransactionTest {
+
+    private static final String MODULE_NAME = "SPRING_AOP";
+    private static final int NUMBER_OF_QUESTIONS = 5;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        final List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_QUESTIONS; i++) {
+            questions.add(new Question("Question " + i,
+                    List.of(new Answer("Option A" + i, true), new Answer("Option B" + i, false)), MODULE_NAME));
+        }
+        questionService.saveQuestions(questions);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        questionRepository.deleteAll();
+    }
+
+    @Test
+    void testReadsAreNotFlushed() {
+        final List<QuestionDo> all = questionService.getAllQuestions();
+        questionService.getQuestionsByModule(MODULE_NAME);
+        questionService.getQuestionById(all.get(0).getId());
+
+        assertEquals(NUMBER_OF_QUESTIONS, all.size());
+        assertEquals(0, statistics.getFlushCount());
+    }
+
+    @Test
+    void testLazyAnswersAreLoadedWithinTheService() {
+        final List<QuestionDo> exam =
+                questionService.getQuestionsByStructure(List.of(new QuestionsStructureDo(MODULE_NAME, 3)));
+
+        assertEquals(3, exam.size());
+        exam.forEach(question -> assertEquals(2, question.getAnswers().size()));
+        assertEquals(0, statistics.getFlushCount());
+    }
+
+    @Test
+    void testWritesAreFlushed() {
+        final QuestionDo question = questionService.getAllQuestions().get(0);
+        final Question update = new Question();
+        update.setDescription("Updated question");
+
+        questionService.updatedQuestionPropertiesById(question.getId(), update);
+
+        assertEquals("Updated question", questionService.getQuestionById(question.getId()).getDescription());
+        assertEquals(1, statistics.getFlushCount());
+    }
+
+    @Test
+    void testExportQuestionsReadsEveryQuestionOnce() {
+        ((QuestionServiceImp) questionService).setExportPageSize(2);
+        final Set<Long> ids = new HashSet<>();
+
+        assertEquals(NUMBER_OF_QUESTIONS, questionService.exportQuestions(question -> ids.add(question.getId())));
+        assertEquals(NUMBER_OF_QUESTIONS, ids.size());
+    }
+
+    @Test
+    void testExportConsumerRunsOutsideOfATransaction() {
+        ((QuestionServiceImp) questionService).setExportPageSize(2);
+        statistics.clear();
+        final List<Boolean> activeTransactions = new ArrayList<>();
+
+        questionService.exportQuestions(
+                question -> activeTransactions.add(TransactionSynchronizationManager.isActualTransactionActive()));
+
+        assertEquals(NUMBER_OF_QUESTIONS, activeTransactions.size());
+        assertFalse(activeTransactions.contains(true));
+        // one transaction per page, none around the whole export
+        assertEquals(3, statistics.getTransactionCount());
+    }
+}
@@ -3,10 +3,15 @@ package com.simulator.exam.util;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import com.simulator.exam.entity.Question;
 import com.simulator.exam.exception.LocalFileNotFoundException;
@@ -118,4 +123,47 @@ class ExamUtilsTest {
         assertThrows(MultipartFileLoaderException.class,
                 () -> ExamUtils.getAllQuestionsFromYamlMultipart(mockMultipartFile, "testModule"));
     }
+
+    @Test
+    void testStreamQuestionsFromYamlByChunks() {
+        final List<List<Question>> chunks = new ArrayList<>();
+
+        final long count = ExamUtils.streamQuestionsFromYaml(new ByteArrayInputStream(validYamlData.getBytes()),
+                MODULE_NAME, 1, chunks::add);
+
+        assertEquals(2, count);
+        assertEquals(2, chunks.size());
+        assertEquals("What is 2 + 2?", chunks.get(1).get(0).getDescription());
+        assertEquals(MODULE_NAME, chunks.get(1).get(0).getModuleName());
+    }
+
+    @Test
+    void testStreamQuestionsFromYamlWithEmptyFile() {
+        assertThrows(QuestionLoaderException.class,
+                () -> ExamUtils.streamQuestionsFromYaml(new ByteArrayInputStream(new byte[0]), MODULE_NAME, 10,
+                        chunk -> {
+                        }));
+    }
+
+    @Test
+    void testSampleIndexesReturnsDistinctIndexesInRange() {
+        final int[] indexes = ExamUtils.sampleIndexes(1_000_000, 50, new Random(42));
+
+        assertEquals(50, indexes.length);
+        assertEquals(50, Arrays.stream(indexes).distinct().count());
+        assertTrue(Arrays.stream(indexes).allMatch(i -> i >= 0 && i < 1_000_000));
+    }
+
+    @Test
+    void testSampleIndexesIsCappedToBound() {
+        final int[] indexes = ExamUtils.sampleIndexes(5, 10, new Random(42));
+
+        assertEquals(5, indexes.length);
+        assertEquals(List.of(0, 1, 2, 3, 4), Arrays.stream(indexes).sorted().boxed().toList());
+    }
+
+    @Test
+    void testSampleIndexesWithEmptyRange() {
+        assertEquals(0, ExamUtils.sampleIndexes(0, 10, new Random(42)).length);
+    }
 }
@@ -0,0 +1,25 @@
+package com.simulator.exam.util;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Started in a separate JVM with a small heap by {@link QuestionYamlStreamParserTest}, streams the file of the first
+ * argument in chunks and writes the number of questions read to the file of the second argument.
+ */
+final class LargeYamlImportProbe {
+
+    private LargeYamlImportProbe() {
+    }
+
+    public static void main(final String[] args) throws IOException {
+        try (final InputStream stream = new BufferedInputStream(Files.newInputStream(Paths.get(args[0])))) {
+            final long count = ExamUtils.streamQuestionsFromYaml(stream, "LARGE", 500, chunk -> {
+            });
+            Files.writeString(Paths.get(args[1]), String.valueOf(count));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.simulator.exam.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class MinHashTest {
+
+    @Test
+    void testShinglesAreWordsAndPairsOfWords() {
+        assertEquals(Set.of("what", "is", "aop", "what is", "is aop"), MinHash.shingles("What is AOP?"));
+        assertTrue(MinHash.shingles(null).isEmpty());
+    }
+
+    @Test
+    void testSameWordsHaveTheSameKeys() {
+        assertArrayEquals(MinHash.bandKeys("What is the default scope of a Spring bean?"),
+                MinHash.bandKeys("what is the default scope of a spring bean"));
+        assertNull(MinHash.bandKeys("?!"));
+    }
+
+    @Test
+    void testSimilarDescriptionsShareBandKeysMoreOften() {
+        int similarShared = 0;
+        int differentShared = 0;
+        for (int i = 0; i < 200; i++) {
+            final String question = "Question " + i + " about the propagation of the transactions in Spring";
+            final long[] keys = MinHash.bandKeys(question);
+            // a single word removed out of 11, the similarity is 16 / 19 = 0.84
+            final long[] similar = MinHash.bandKeys(question.replace(" the transactions", " transactions"));
+            final long[] different = MinHash.bandKeys("Which scopes can the beans of module " + i + " have?");
+            similarShared += sharesBand(keys, similar) ? 1 : 0;
+            differentShared += sharesBand(keys, different) ? 1 : 0;
+        }
+        assertTrue(similarShared > 120, "similar descriptions sharing a band " + similarShared);
+        assertTrue(differentShared < 10, "different descriptions sharing a band " + differentShared);
+    }
+
+    @Test
+    void testSimilarity() {
+        assertEquals(1, MinHash.similarity(Set.of("a", "b"), Set.of("b", "a")));
+        assertEquals(1 / 3.0, MinHash.similarity(Set.of("a", "b"), Set.of("b", "c")), 1e-9);
+        assertEquals(0, MinHash.similarity(Set.of(), Set.of()));
+    }
+
+    private static boolean sharesBand(final long[] first, final long[] second) {
+        for (int band = 0; band < MinHash.BANDS; band++) {
+            if (first[band] == second[band]) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
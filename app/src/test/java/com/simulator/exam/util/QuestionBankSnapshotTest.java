@@ -0,0 +1,126 @@
+package com.simulator.exam.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.exception.QuestionBankSnapshotException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class QuestionBankSnapshotTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testQuestionsAreReadBackByModule() throws IOException {
+        final Path file = directory.resolve("bank.qbs");
+        final QuestionDo first = question(1L, "What is AOP?", "SPRING_AOP");
+        final QuestionDo second = question(2L, "Which scopes can a bean have?", "SPRING_CORE");
+        final QuestionDo third = question(3L, "What is a pointcut?", "SPRING_AOP");
+        final QuestionDo orphan = question(4L, null, null);
+
+        try (QuestionBankSnapshotWriter writer = new QuestionBankSnapshotWriter(file)) {
+            List.of(first, second, third, orphan).forEach(writer::add);
+            assertFalse(Files.exists(file));
+            assertEquals(writer.finish(), Files.size(file));
+            assertEquals(3, writer.getModules());
+            // the options are shared by every question
+            assertEquals(2, writer.getDistinctOptions());
+        }
+
+        final QuestionBankSnapshotReader snapshot = QuestionBankSnapshotReader.open(file);
+        assertEquals(Set.of("SPRING_AOP", "SPRING_CORE"), Set.copyOf(snapshot.getModules().stream()
+                .filter(module -> module != null).toList()));
+        assertEquals(4, snapshot.size());
+        assertEquals(8, snapshot.answers());
+        assertEquals(2, snapshot.size("SPRING_AOP"));
+        assertEquals(0, snapshot.size("UNKNOWN"));
+
+        final List<QuestionDo> aop = snapshot.getQuestions("SPRING_AOP");
+        assertEquals(List.of(1L, 3L), aop.stream().map(QuestionDo::getId).toList());
+        assertEquals("What is a pointcut?", aop.get(1).getDescription());
+        assertEquals("SPRING_AOP", aop.get(1).getModuleName());
+        assertTrue(aop.get(0).getAnswers().get(0).isCorrect());
+        assertNull(aop.get(0).getAnswers().get(1).getId());
+        assertSame(aop.get(0).getAnswers().get(0).getOption(), aop.get(1).getAnswers().get(0).getOption());
+
+        final QuestionDo read = snapshot.getQuestions(null).get(0);
+        assertNull(read.getDescription());
+        assertNull(read.getModuleName());
+
+        final List<Long> ids = new ArrayList<>();
+        snapshot.forEachQuestion(question -> ids.add(question.getId()));
+        assertEquals(Set.of(1L, 2L, 3L, 4L), Set.copyOf(ids));
+    }
+
+    @Test
+    void testQuestionsAreFoundById() throws IOException {
+        final Path file = directory.resolve("bank.qbs");
+        try (QuestionBankSnapshotWriter writer = new QuestionBankSnapshotWriter(file)) {
+            // added out of the order of the ids
+            List.of(question(7L, "What is a join point?", "SPRING_AOP"), question(2L, "What is a bean?", "SPRING_CORE"),
+                    question(5L, "What is an advice?", "SPRING_AOP")).forEach(writer::add);
+            writer.finish();
+        }
+
+        final QuestionBankSnapshotReader snapshot = QuestionBankSnapshotReader.open(file);
+        assertEquals("What is a bean?", snapshot.getQuestion(2L).getDescription());
+        assertEquals("SPRING_AOP", snapshot.getQuestion(5L).getModuleName());
+        assertNull(snapshot.getQuestion(3L));
+        assertNull(snapshot.getQuestion(8L));
+        assertEquals(List.of(2L, 5L, 7L), List.of(snapshot.getQuestionAt(0).getId(), snapshot.getQuestionAt(1).getId(),
+                snapshot.getQuestionAt(2).getId()));
+        assertEquals(0, snapshot.indexAfter(Long.MIN_VALUE));
+        assertEquals(1, snapshot.indexAfter(2L));
+        assertEquals(2, snapshot.indexAfter(6L));
+        assertEquals(3, snapshot.indexAfter(7L));
+        assertEquals(7L, snapshot.getQuestion("SPRING_AOP", 0).getId());
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.getQuestion("SPRING_AOP", 2));
+    }
+
+    @Test
+    void testUnfinishedSnapshotLeavesNoFile() throws IOException {
+        try (QuestionBankSnapshotWriter writer = new QuestionBankSnapshotWriter(directory.resolve("bank.qbs"))) {
+            writer.add(question(1L, "What is AOP?", "SPRING_AOP"));
+        }
+
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testInvalidSnapshotIsRejected() throws IOException {
+        final Path yaml = Files.writeString(directory.resolve("questions.yaml"), "questions:\n");
+        final Path file = directory.resolve("bank.qbs");
+        try (QuestionBankSnapshotWriter writer = new QuestionBankSnapshotWriter(file)) {
+            writer.add(question(1L, "What is AOP?", "SPRING_AOP"));
+            writer.finish();
+        }
+        final byte[] bytes = Files.readAllBytes(file);
+        final Path truncated = Files.write(directory.resolve("truncated.qbs"), Arrays.copyOf(bytes, 40));
+
+        assertThrows(QuestionBankSnapshotException.class, () -> QuestionBankSnapshotReader.open(yaml));
+        assertThrows(QuestionBankSnapshotException.class, () -> QuestionBankSnapshotReader.open(truncated));
+    }
+
+    private static QuestionDo question(final Long id, final String description, final String module) {
+        return new QuestionDo(id, description,
+                List.of(new AnswerDo(id * 10, "Option A", true), new AnswerDo(null, "Option B", false)), module);
+    }
+}
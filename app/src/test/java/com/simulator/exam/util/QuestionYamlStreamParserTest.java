@@ -0,0 +1,142 @@
+package com.simulator.exam.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+import com.simulator.exam.entity.Question;
+import com.simulator.exam.exception.QuestionFormatException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class QuestionYamlStreamParserTest {
+
+    private static final String MODULE_NAME = "SPRING_AOP";
+
+    private static final int LARGE_FILE_QUESTIONS = 500_000;
+
+    private final String validYamlData = """
+            questions:
+              - description: "What is the capital of Canada?"
+                answers:
+                  - option: "Toronto"
+                    correct: true
+                  - option: "Ottawa"
+                    correct: false
+              - description: "What is 2 + 2?"
+                moduleName: "MATH"
+                answers:
+                  - option: "4"
+                    correct: true""";
+
+    @Test
+    void testParseQuestionsAndAnswers() {
+        final List<Question> questions = parse(validYamlData);
+
+        assertEquals(2, questions.size());
+        assertEquals("What is the capital of Canada?", questions.get(0).getDescription());
+        assertEquals(MODULE_NAME, questions.get(0).getModuleName());
+        assertEquals(2, questions.get(0).getAnswers().size());
+        assertEquals("Toronto", questions.get(0).getAnswers().get(0).getOption());
+        assertTrue(questions.get(0).getAnswers().get(0).isCorrect());
+        assertFalse(questions.get(0).getAnswers().get(1).isCorrect());
+        assertNull(questions.get(0).getId());
+    }
+
+    @Test
+    void testModuleNameOfTheDocumentIsIgnored() {
+        final List<Question> questions = parse(validYamlData);
+
+        assertEquals("What is 2 + 2?", questions.get(1).getDescription());
+        assertEquals(MODULE_NAME, questions.get(1).getModuleName());
+    }
+
+    @Test
+    void testParseEmptyDocument() {
+        assertTrue(parse("").isEmpty());
+        assertTrue(parse("questions:").isEmpty());
+    }
+
+    @Test
+    void testParseUnknownProperty() throws IOException {
+        final String wrongFormat =
+                Files.readString(Paths.get("src/test/resources/questions-files/test-wrong-format-questions.yaml"));
+
+        assertThrows(QuestionFormatException.class, () -> parse(wrongFormat));
+    }
+
+    @Test
+    void testParseInvalidYaml() {
+        assertThrows(QuestionFormatException.class, () -> parse("questions:\n  - description: [unclosed"));
+    }
+
+    @Test
+    void testNextWithoutQuestions() {
+        final QuestionYamlStreamParser parser = new QuestionYamlStreamParser(toStream(""), MODULE_NAME);
+
+        assertThrows(NoSuchElementException.class, parser::next);
+    }
+
+    /**
+     * Streams a file of half a million questions in a JVM limited to a heap far smaller than the parsed document, the
+     * import fails with an {@link OutOfMemoryError} if the questions are kept in memory.
+     */
+    @Test
+    void testLargeFileIsStreamedWithBoundedHeap(@TempDir final Path tempDir) throws Exception {
+        final Path file = tempDir.resolve("large-questions.yaml");
+        writeLargeFile(file);
+
+        final Path log = tempDir.resolve("probe.log");
+        final Path count = tempDir.resolve("probe.count");
+        final Process process = new ProcessBuilder(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(), "-Xmx48m", "-cp",
+                System.getProperty("java.class.path"), LargeYamlImportProbe.class.getName(), file.toString(),
+                count.toString())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+
+        assertTrue(process.waitFor(2, TimeUnit.MINUTES), "The streaming of the large file timed out");
+        assertEquals(0, process.exitValue(), Files.readString(log));
+        assertEquals(String.valueOf(LARGE_FILE_QUESTIONS), Files.readString(count));
+    }
+
+    private static void writeLargeFile(final Path file) throws IOException {
+        try (final BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("questions:\n");
+            for (int i = 0; i < LARGE_FILE_QUESTIONS; i++) {
+                writer.write("  - description: \"Generated question number " + i + " of the large import?\"\n");
+                writer.write("    answers:\n");
+                writer.write("      - option: \"First option of the question " + i + "\"\n");
+                writer.write("        correct: true\n");
+                writer.write("      - option: \"Second option of the question " + i + "\"\n");
+                writer.write("        correct: false\n");
+            }
+        }
+    }
+
+    private static List<Question> parse(final String yaml) {
+        final List<Question> questions = new ArrayList<>();
+        new QuestionYamlStreamParser(toStream(yaml), MODULE_NAME).forEachRemaining(questions::add);
+        return questions;
+    }
+
+    private static InputStream toStream(final String yaml) {
+        return new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8));
+    }
+}
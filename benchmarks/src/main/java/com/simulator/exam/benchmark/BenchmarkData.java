@@ -0,0 +1,122 @@
+package com.simulator.exam.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import com.simulator.exam.entity.Answer;
+import com.simulator.exam.entity.Question;
+
+/**
+ * Generates the question banks used by the benchmarks, the generated data only depends on the requested sizes so the
+ * results of two runs are comparable.
+ */
+public final class BenchmarkData {
+
+    public static final String MODULE_PREFIX = "MODULE_";
+
+    private static final int BATCH_SIZE = 1000;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Builds a YAML document in the format of the question files.
+     *
+     * @param questions the number of questions
+     * @param answers   the number of answers of every question
+     * @return the YAML document
+     */
+    public static String questionsYaml(final int questions, final int answers) {
+        final StringBuilder yaml = new StringBuilder(questions * (80 + answers * 70));
+        yaml.append("questions:\n");
+        for (int i = 0; i < questions; i++) {
+            yaml.append("  - description: \"Generated question number ").append(i).append(" of the bank?\"\n");
+            yaml.append("    answers:\n");
+            for (int a = 0; a < answers; a++) {
+                yaml.append("      - option: \"Option ").append(a).append(" of the question ").append(i)
+                        .append("\"\n");
+                yaml.append("        correct: ").append(a == 0).append('\n');
+            }
+        }
+        return yaml.toString();
+    }
+
+    /**
+     * Builds detached questions with ids, the answers are not linked back to their question.
+     *
+     * @param questions the number of questions
+     * @param answers   the number of answers of every question
+     * @param modules   the number of modules the questions are spread on
+     * @return the questions
+     */
+    public static List<Question> questions(final int questions, final int answers, final int modules) {
+        final List<Question> result = new ArrayList<>(questions);
+        for (int i = 0; i < questions; i++) {
+            result.add(question(i, answers, MODULE_PREFIX + (i % modules)));
+        }
+        return result;
+    }
+
+    /**
+     * Builds a detached question with id, the answers are not linked back to the question.
+     *
+     * @param id      the question id
+     * @param answers the number of answers
+     * @param module  the module name
+     * @return the question
+     */
+    public static Question question(final long id, final int answers, final String module) {
+        final List<Answer> answerList = new ArrayList<>(answers);
+        for (int a = 0; a < answers; a++) {
+            answerList.add(new Answer(id * 100 + a, "Option " + a + " of the question " + id, a == 0));
+        }
+        return new Question(id, "Generated question number " + id + " of the bank?", module, answerList);
+    }
+
+    /**
+     * Inserts a bank with plain JDBC batches, going through the import would make the setup of the largest banks
+     * take longer than the benchmarks themselves. The questions get the ids 1 to {@code questions} and the answers of
+     * a question the ids {@code id * answers + a}.
+     *
+     * @param dataSource the data source of the application
+     * @param questions  the number of questions
+     * @param answers    the number of answers of every question
+     * @param modules    the number of modules the questions are spread on
+     * @throws SQLException when an insert fails
+     */
+    public static void insertBank(final DataSource dataSource, final int questions, final int answers,
+            final int modules) throws SQLException {
+        try (final Connection connection = dataSource.getConnection();
+                final PreparedStatement questionStatement = connection.prepareStatement(
+                        "INSERT INTO questions (id, description, module_name) VALUES (?, ?, ?)");
+                final PreparedStatement answerStatement = connection.prepareStatement(
+                        "INSERT INTO answers (id, option, correct, question_id) VALUES (?, ?, ?, ?)")) {
+            connection.setAutoCommit(false);
+            for (long id = 1; id <= questions; id++) {
+                questionStatement.setLong(1, id);
+                questionStatement.setString(2, "Generated question number " + id + " of the bank?");
+                questionStatement.setString(3, MODULE_PREFIX + (id % modules));
+                questionStatement.addBatch();
+                for (int a = 0; a < answers; a++) {
+                    answerStatement.setLong(1, id * answers + a);
+                    answerStatement.setString(2, "Option " + a + " of the question " + id);
+                    answerStatement.setBoolean(3, a == 0);
+                    answerStatement.setLong(4, id);
+                    answerStatement.addBatch();
+                }
+                if (id % BATCH_SIZE == 0) {
+                    questionStatement.executeBatch();
+                    answerStatement.executeBatch();
+                }
+            }
+            questionStatement.executeBatch();
+            answerStatement.executeBatch();
+            connection.commit();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.simulator.exam.entity;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.simulator.exam.benchmark.BenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the {@link Question} and {@link Answer} equality, used by every hash based collection of entities. The
+ * answers are linked back to their question like the managed entities, the cost must not depend on their number.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EntityEqualityBenchmark {
+
+    private static final int SET_SIZE = 1000;
+
+    @Param({ "4", "16", "256" })
+    private int answers;
+
+    private Question question;
+    private Question sameQuestion;
+    private Answer answer;
+    private List<Question> questions;
+
+    @Setup
+    public void setUp() {
+        question = BenchmarkData.question(1L, answers, BenchmarkData.MODULE_PREFIX + 0);
+        sameQuestion = BenchmarkData.question(1L, answers, BenchmarkData.MODULE_PREFIX + 0);
+        answer = question.getAnswers().get(0);
+        questions = BenchmarkData.questions(SET_SIZE, answers, 10);
+        question.linkAnswers();
+        sameQuestion.linkAnswers();
+        questions.forEach(Question::linkAnswers);
+    }
+
+    @Benchmark
+    public int questionHashCode() {
+        return question.hashCode();
+    }
+
+    @Benchmark
+    public boolean questionEquals() {
+        return question.equals(sameQuestion);
+    }
+
+    @Benchmark
+    public int answerHashCode() {
+        return answer.hashCode();
+    }
+
+    @Benchmark
+    public Set<Question> questionHashSet() {
+        return new HashSet<>(questions);
+    }
+}
@@ -0,0 +1,97 @@
+package com.simulator.exam.metrics;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+/**
+ * Overhead of the {@link SqlMetricsDataSource} on a select by id of an in-memory H2 database, the cheapest statement the
+ * application runs: the plain connection, the instrumented one outside of a request and the instrumented one within
+ * a request, whose counters are opened and closed around every statement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SqlMetricsBenchmark {
+
+    private static final String SELECT = "SELECT description FROM questions WHERE id = ?";
+
+    private Connection plainConnection;
+    private Connection instrumentedConnection;
+    private PreparedStatement plainStatement;
+    private PreparedStatement instrumentedStatement;
+
+    @Setup
+    public void setUp() throws SQLException {
+        final JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:sql-metrics;DB_CLOSE_DELAY=-1");
+        final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", new SimpleMeterRegistry());
+
+        plainConnection = dataSource.getConnection();
+        try (Statement statement = plainConnection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS questions (id BIGINT PRIMARY KEY, description VARCHAR(255))");
+            statement.execute("MERGE INTO questions VALUES (1, 'Question 1')");
+        }
+        instrumentedConnection = new SqlMetricsDataSource(dataSource,
+                beanFactory.getBeanProvider(MeterRegistry.class)).getConnection();
+        plainStatement = plainConnection.prepareStatement(SELECT);
+        instrumentedStatement = instrumentedConnection.prepareStatement(SELECT);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        plainConnection.close();
+        instrumentedConnection.close();
+    }
+
+    @Benchmark
+    public String plainSelect() throws SQLException {
+        return select(plainStatement);
+    }
+
+    @Benchmark
+    public String instrumentedSelect() throws SQLException {
+        return select(instrumentedStatement);
+    }
+
+    @Benchmark
+    public String instrumentedRequestSelect() throws SQLException {
+        RequestMetrics.open();
+        try {
+            return select(instrumentedStatement);
+        } finally {
+            RequestMetrics.close();
+        }
+    }
+
+    private static String select(final PreparedStatement statement) throws SQLException {
+        statement.setLong(1, 1L);
+        try (ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.simulator.exam.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.entity.Answer;
+import com.simulator.exam.repository.QuestionAnswerRow;
+import com.simulator.exam.util.ExamUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Footprint of the answer options with and without the option pool of the mapping, on the bundled module files
+ * ({@code bundled}) and on a synthetic bank of a million questions ({@code synthetic}): every fifth question is a
+ * True / False question, the others have a correct answer of their own and three distractors picked among 20000
+ * shared ones. The setup prints the retained heap of the questions mapped from rows bringing their own copy of every
+ * option, as read from the database, with and without the pool, and the size of the option values of the answers table
+ * against option ids plus a table of the distinct options. The benchmarks time the two mappings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class AnswerOptionFootprintBenchmark {
+
+    private static final int SYNTHETIC_QUESTIONS = 1_000_000;
+    private static final int SHARED_DISTRACTORS = 20_000;
+
+    @Param({ "bundled", "synthetic" })
+    private String bank;
+
+    private List<List<String>> options;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // the loaders log every parsed file
+        Logger.getLogger("application.logger").setLevel(java.util.logging.Level.WARNING);
+        options = "bundled".equals(bank) ? bundledOptions() : syntheticOptions();
+
+        final Set<String> distinct = new HashSet<>();
+        long answers = 0;
+        long valueBytes = 0;
+        for (final List<String> questionOptions : options) {
+            for (final String option : questionOptions) {
+                answers++;
+                valueBytes += option.getBytes(StandardCharsets.UTF_8).length;
+                distinct.add(option);
+            }
+        }
+        long distinctBytes = 0;
+        for (final String option : distinct) {
+            distinctBytes += option.getBytes(StandardCharsets.UTF_8).length;
+        }
+
+        final long freshHeap = retainedHeap(this::mapFresh);
+        final long pooledHeap = retainedHeap(this::mapPooled);
+        // a varchar value is stored with a one byte header below 127 bytes, an id is a bigint
+        final long columnBytes = valueBytes + answers;
+        final long normalizedBytes = 8L * answers + distinctBytes + 9L * distinct.size();
+        System.out.printf("%n%s: %d answers, %d distinct options (%.1f%%)%n", bank, answers, distinct.size(),
+                100.0 * distinct.size() / answers);
+        System.out.printf("heap of the mapped questions: %.1f MB without the pool, %.1f MB with the pool%n",
+                freshHeap / 1e6, pooledHeap / 1e6);
+        System.out.printf("option column: %.1f MB of values, %.1f MB of ids and distinct option rows (before the "
+                + "unique index on the text)%n", columnBytes / 1e6, normalizedBytes / 1e6);
+    }
+
+    @Benchmark
+    public List<QuestionDo> mapFresh() {
+        final Map<Long, QuestionDo> questions = new LinkedHashMap<>();
+        for (final QuestionAnswerRow row : rows()) {
+            final QuestionDo question = questions.computeIfAbsent(row.getQuestionId(),
+                    id -> new QuestionDo(id, row.getDescription(), new ArrayList<>(), row.getModuleName()));
+            question.getAnswers().add(new AnswerDo(row.getAnswerId(), row.getOption(),
+                    Boolean.TRUE.equals(row.getCorrect())));
+        }
+        return new ArrayList<>(questions.values());
+    }
+
+    @Benchmark
+    public List<QuestionDo> mapPooled() {
+        return QuestionRowMapper.toQuestions(rows());
+    }
+
+    /**
+     * Rows as read from the database, every row brings its own copy of its option. The description is shared, it is
+     * the same for both mappings.
+     */
+    private List<QuestionAnswerRow> rows() {
+        final List<QuestionAnswerRow> rows = new ArrayList<>();
+        long answerId = 0;
+        for (int question = 0; question < options.size(); question++) {
+            final List<String> questionOptions = options.get(question);
+            for (int answer = 0; answer < questionOptions.size(); answer++) {
+                rows.add(new QuestionAnswerRow((long) question, "Question", bank, answerId++,
+                        new String(questionOptions.get(answer)), answer == 0));
+            }
+        }
+        return rows;
+    }
+
+    private static long retainedHeap(final Supplier<List<QuestionDo>> mapping) {
+        final long before = usedHeapAfterGc();
+        final List<QuestionDo> questions = mapping.get();
+        final long after = usedHeapAfterGc();
+        if (questions.isEmpty()) {
+            throw new IllegalStateException("No question mapped");
+        }
+        return after - before;
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static List<List<String>> bundledOptions() throws IOException {
+        final List<List<String>> options = new ArrayList<>();
+        for (final String file : List.of("Module_1.yaml", "Module_2.yaml")) {
+            try (InputStream stream = AnswerOptionFootprintBenchmark.class.getResourceAsStream(
+                    "/questions-files/" + file)) {
+                ExamUtils.streamQuestionsFromYaml(stream, file, 500, chunk -> chunk.forEach(question -> options.add(
+                        question.getAnswers().stream().map(Answer::getOption).toList())));
+            }
+        }
+        return options;
+    }
+
+    private static List<List<String>> syntheticOptions() {
+        final List<List<String>> options = new ArrayList<>(SYNTHETIC_QUESTIONS);
+        for (int i = 0; i < SYNTHETIC_QUESTIONS; i++) {
+            if (i % 5 == 0) {
+                options.add(List.of("True", "False"));
+                continue;
+            }
+            final List<String> questionOptions = new ArrayList<>(4);
+            questionOptions.add("The correct answer of the generated question number " + i);
+            for (int d = 1; d <= 3; d++) {
+                final int distractor = Math.floorMod(i * 31 + d * 7919, SHARED_DISTRACTORS);
+                questionOptions.add("A distractor shared by the questions, number " + distractor);
+            }
+            options.add(questionOptions);
+        }
+        return options;
+    }
+}
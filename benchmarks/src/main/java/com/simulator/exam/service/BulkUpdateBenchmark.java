@@ -0,0 +1,132 @@
+package com.simulator.exam.service;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import com.simulator.exam.ExamApplication;
+import com.simulator.exam.benchmark.BenchmarkData;
+import com.simulator.exam.entity.Answer;
+import com.simulator.exam.entity.Question;
+import com.simulator.exam.repository.QuestionRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bulk writes of {@code rows} questions or answers, either through the managed entities and dirty checking
+ * ({@code entity}) or through the set based JDBC batches ({@code bulk}). Every invocation writes to a freshly
+ * inserted bank, so the benchmarks measure single shots.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+public class BulkUpdateBenchmark {
+
+    private static final int MODULES = 10;
+    private static final int ANSWERS = 2;
+    private static final int BANK_SIZE = 20_000;
+
+    @Param({ "100", "1000", "10000" })
+    private int rows;
+
+    @Param({ "entity", "bulk" })
+    private String path;
+
+    private ConfigurableApplicationContext context;
+    private QuestionService questionService;
+    private AnswerService answerService;
+    private QuestionRepository questionRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Question> questionUpdates;
+    private List<Long> questionIds;
+    private List<Answer> answerUpdates;
+
+    @Setup
+    public void setUp() {
+        // neither the cache nor the exam pools, the benchmark only measures the writes
+        context = new SpringApplicationBuilder(ExamApplication.class).web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=jdbc:h2:mem:bulk-benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa", "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop", "--logging.level.root=WARN",
+                        "--logging.level.application.logger=WARN", "--app.question.cache.enabled=false",
+                        "--app.exam.pool.enabled=false");
+        questionService = context.getBean(QuestionService.class);
+        answerService = context.getBean(AnswerService.class);
+        questionRepository = context.getBean(QuestionRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        questionUpdates = new ArrayList<>(rows);
+        questionIds = new ArrayList<>(rows);
+        answerUpdates = new ArrayList<>(rows);
+        for (long id = 1; id <= rows; id++) {
+            questionUpdates.add(new Question(id, "Updated question number " + id + " of the bank?", null, null));
+            questionIds.add(id);
+            answerUpdates.add(new Answer(id * ANSWERS, "Updated option of the question " + id, false));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void resetBank() throws SQLException {
+        jdbcTemplate.execute("DELETE FROM answers");
+        jdbcTemplate.execute("DELETE FROM questions");
+        BenchmarkData.insertBank(context.getBean(DataSource.class), BANK_SIZE, ANSWERS, MODULES);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object updateQuestions() {
+        return transactionTemplate.execute(status -> "bulk".equals(path)
+                ? questionService.bulkUpdateQuestionsProperties(questionUpdates)
+                : questionService.updatedQuestionsPropertiesById(questionUpdates));
+    }
+
+    @Benchmark
+    public Object updateAnswers() {
+        return transactionTemplate.execute(status -> "bulk".equals(path)
+                ? answerService.bulkUpdateAnswers(answerUpdates)
+                : answerService.updateAnswers(answerUpdates));
+    }
+
+    @Benchmark
+    public Object deleteQuestions() {
+        return transactionTemplate.execute(status -> {
+            if ("bulk".equals(path)) {
+                return questionService.bulkDeleteQuestions(questionIds);
+            }
+            // the entity path needs the questions with their answers to cascade the delete
+            questionService.deleteGivenQuestion(questionRepository.findAllById(questionIds));
+            return null;
+        });
+    }
+}
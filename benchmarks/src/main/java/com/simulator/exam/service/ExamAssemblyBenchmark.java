@@ -0,0 +1,89 @@
+package com.simulator.exam.service;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import com.simulator.exam.ExamApplication;
+import com.simulator.exam.benchmark.BenchmarkData;
+import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.dto.QuestionsStructureDo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Random exam assembly through the application context, on an in-memory H2 database standing in for PostgreSQL. The
+ * {@code strategy} is either one of the samplers, with the question cache disabled, or {@code cache}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ExamAssemblyBenchmark {
+
+    private static final int MODULES = 10;
+    private static final int ANSWERS = 2;
+
+    @Param({ "10000", "100000", "1000000" })
+    private int bankSize;
+
+    @Param({ "indexed", "database", "cache" })
+    private String strategy;
+
+    private ConfigurableApplicationContext context;
+    private QuestionService questionService;
+    private List<QuestionsStructureDo> structure;
+
+    @Setup
+    public void setUp() throws SQLException {
+        final boolean cache = "cache".equals(strategy);
+        context = new SpringApplicationBuilder(ExamApplication.class).web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa", "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop", "--logging.level.root=WARN",
+                        "--logging.level.application.logger=WARN",
+                        "--app.question.sampling.strategy=" + (cache ? "indexed" : strategy),
+                        "--app.question.cache.enabled=" + cache);
+        BenchmarkData.insertBank(context.getBean(DataSource.class), bankSize, ANSWERS, MODULES);
+        questionService = context.getBean(QuestionService.class);
+
+        structure = new ArrayList<>();
+        for (int module = 0; module < MODULES; module++) {
+            structure.add(new QuestionsStructureDo(BenchmarkData.MODULE_PREFIX + module, 5));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<QuestionDo> randomQuestionsByModule() {
+        return questionService.getRandomQuestionsByModule(BenchmarkData.MODULE_PREFIX + 0, 20);
+    }
+
+    @Benchmark
+    public List<QuestionDo> examStructure() {
+        return questionService.getQuestionsByStructure(structure);
+    }
+}
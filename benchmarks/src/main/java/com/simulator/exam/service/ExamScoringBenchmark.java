@@ -0,0 +1,83 @@
+package com.simulator.exam.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.simulator.exam.benchmark.BenchmarkData;
+import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.QuestionDo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Grading of a submitted exam: the {@link ExamAnswerKey} of the session against a grading building the sets of the
+ * correct answers from the questions for every submission. Half of the questions of the submission are answered
+ * correctly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ExamScoringBenchmark {
+
+    private static final int ANSWERS = 4;
+
+    @Param({ "20", "100" })
+    private int examSize;
+
+    private List<QuestionDo> exam;
+    private ExamAnswerKey answerKey;
+    private Map<Long, List<Long>> submission;
+
+    @Setup
+    public void setUp() {
+        exam = BenchmarkData.questions(examSize, ANSWERS, 1).stream()
+                .map(q -> new QuestionDo(q.getId(), q.getDescription(),
+                        q.getAnswers().stream().map(a -> new AnswerDo(a.getId(), a.getOption(), a.isCorrect()))
+                                .toList(), q.getModuleName())).toList();
+        answerKey = new ExamAnswerKey(exam);
+
+        submission = new HashMap<>();
+        for (final QuestionDo question : exam) {
+            final boolean correct = ThreadLocalRandom.current().nextBoolean();
+            submission.put(question.getId(), question.getAnswers().stream()
+                    .filter(a -> a.isCorrect() == correct).map(AnswerDo::getId).toList());
+        }
+    }
+
+    @Benchmark
+    public List<Integer> answerKey() {
+        return answerKey.incorrectQuestions(submission);
+    }
+
+    @Benchmark
+    public List<Integer> answerSets() {
+        final List<Integer> incorrect = new ArrayList<>();
+        for (int q = 0; q < exam.size(); q++) {
+            final QuestionDo question = exam.get(q);
+            final Set<Long> correct = new HashSet<>();
+            question.getAnswers().stream().filter(AnswerDo::isCorrect).forEach(a -> correct.add(a.getId()));
+            if (!correct.equals(new HashSet<>(submission.getOrDefault(question.getId(), List.of())))) {
+                incorrect.add(q);
+            }
+        }
+        return incorrect;
+    }
+}
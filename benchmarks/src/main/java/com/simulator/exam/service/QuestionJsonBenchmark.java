@@ -0,0 +1,76 @@
+package com.simulator.exam.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simulator.exam.benchmark.BenchmarkData;
+import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.util.ExamUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialization of a random exam: the whole list serialized by Jackson against the array assembled from the cached
+ * JSON of every question. The cache is warmed up with the whole bank, so every question is a hit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class QuestionJsonBenchmark {
+
+    private static final int BANK_SIZE = 10_000;
+
+    @Param({ "20", "100" })
+    private int examSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private QuestionJsonCache questionJsonCache;
+    private List<QuestionDo> bank;
+
+    @Setup
+    public void setUp() {
+        bank = BenchmarkData.questions(BANK_SIZE, 4, 10).stream()
+                .map(q -> new QuestionDo(q.getId(), q.getDescription(),
+                        q.getAnswers().stream().map(a -> new AnswerDo(a.getId(), a.getOption(), a.isCorrect()))
+                                .toList(), q.getModuleName())).toList();
+        questionJsonCache = new QuestionJsonCache(objectMapper, new SimpleMeterRegistry());
+        questionJsonCache.toJsonArray(bank, questionJsonCache.version());
+    }
+
+    @Benchmark
+    public byte[] jackson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(exam());
+    }
+
+    @Benchmark
+    public byte[] fragments() {
+        return questionJsonCache.toJsonArray(exam(), questionJsonCache.version());
+    }
+
+    private List<QuestionDo> exam() {
+        final int[] picked = ExamUtils.sampleIndexes(bank.size(), examSize, ThreadLocalRandom.current());
+        final List<QuestionDo> exam = new ArrayList<>(picked.length);
+        for (final int index : picked) {
+            exam.add(bank.get(index));
+        }
+        return exam;
+    }
+}
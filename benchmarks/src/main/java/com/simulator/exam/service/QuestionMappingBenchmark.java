@@ -0,0 +1,66 @@
+package com.simulator.exam.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.simulator.exam.benchmark.BenchmarkData;
+import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.entity.Answer;
+import com.simulator.exam.entity.Question;
+import com.simulator.exam.repository.QuestionAnswerRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mapping to the DTOs returned by the API. {@code mapQuestions} groups the projection rows of the generated questions,
+ * as {@code getAllQuestions} does with the rows of the repository, while {@code mapAnswers} measures the mapping of the
+ * answer entities still used by the write paths.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class QuestionMappingBenchmark {
+
+    @Param({ "20", "1000" })
+    private int questions;
+
+    private AnswerService answerService;
+    private List<QuestionAnswerRow> rows;
+    private List<Answer> answers;
+
+    @Setup
+    public void setUp() {
+        final List<Question> bank = BenchmarkData.questions(questions, 4, 10);
+        rows = new ArrayList<>();
+        bank.forEach(q -> q.getAnswers().forEach(a -> rows.add(new QuestionAnswerRow(q.getId(), q.getDescription(),
+                q.getModuleName(), a.getId(), a.getOption(), a.isCorrect()))));
+
+        answerService = new AnswerServiceImpl(null, null, event -> {
+        });
+        answers = bank.get(0).getAnswers();
+    }
+
+    @Benchmark
+    public List<QuestionDo> mapQuestions() {
+        return QuestionRowMapper.toQuestions(rows);
+    }
+
+    @Benchmark
+    public List<AnswerDo> mapAnswers() {
+        return answerService.mapAnswersToAnswerDo(answers);
+    }
+}
@@ -0,0 +1,138 @@
+package com.simulator.exam.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.simulator.exam.benchmark.BenchmarkData;
+import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.dto.QuestionSearchPageDo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Keyword search over a generated bank: the ranking of {@link QuestionSearchServiceImpl} on its inverted index against
+ * a scan matching every question text, which is what a LIKE query does. The words follow a Zipf like distribution
+ * and every query holds two words of a random question, so it always has matches. Run in sample mode, the result
+ * holds the latency percentiles.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class QuestionSearchBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+    private static final int MODULES = 20;
+    private static final int QUERIES = 1024;
+
+    @Param({ "100000", "1000000" })
+    private int bankSize;
+
+    private QuestionSearchServiceImpl searchService;
+    private String[] texts;
+    private String[][] queries;
+    private String[][] scanQueries;
+
+    @Setup
+    public void setUp() {
+        final QuestionServiceImp questionService = new QuestionServiceImp(null, null, null, event -> {
+        }, null, null, null) {
+
+            @Override
+            public long exportQuestions(final Consumer<QuestionDo> consumer) {
+                for (long id = 0; id < bankSize; id++) {
+                    consumer.accept(question(id));
+                }
+                return bankSize;
+            }
+
+            @Override
+            public List<QuestionDo> getQuestionsByIds(final List<Long> ids) {
+                // a single projection query in the application, left out of the measure
+                return List.of();
+            }
+        };
+        searchService = new QuestionSearchServiceImpl(questionService, new SimpleMeterRegistry());
+        // the first search builds the indexes
+        searchService.search("warmup", null, 0, 20);
+
+        texts = new String[bankSize];
+        for (int id = 0; id < bankSize; id++) {
+            final QuestionDo question = question(id);
+            // padded with spaces so that the scan matches whole words
+            final StringBuilder text =
+                    new StringBuilder(" ").append(question.getDescription().toLowerCase(Locale.ROOT));
+            question.getAnswers().forEach(a -> text.append(' ').append(a.getOption().toLowerCase(Locale.ROOT)));
+            texts[id] = text.append(' ').toString();
+        }
+
+        final SplittableRandom random = new SplittableRandom(7);
+        queries = new String[QUERIES][];
+        for (int q = 0; q < QUERIES; q++) {
+            final String[] words = question(random.nextInt(bankSize)).getDescription().split(" ");
+            queries[q] = new String[] { words[random.nextInt(words.length)], words[random.nextInt(words.length)] };
+        }
+        scanQueries = new String[QUERIES][];
+        for (int q = 0; q < QUERIES; q++) {
+            scanQueries[q] = new String[] { " " + queries[q][0] + " ", " " + queries[q][1] + " " };
+        }
+    }
+
+    @Benchmark
+    public QuestionSearchPageDo invertedIndex() {
+        final String[] query = queries[ThreadLocalRandom.current().nextInt(QUERIES)];
+        return searchService.search(query[0] + " " + query[1], null, 0, 20);
+    }
+
+    @Benchmark
+    public int scan() {
+        final String[] query = scanQueries[ThreadLocalRandom.current().nextInt(QUERIES)];
+        int matches = 0;
+        for (final String text : texts) {
+            if (text.contains(query[0]) && text.contains(query[1])) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private static QuestionDo question(final long id) {
+        final SplittableRandom random = new SplittableRandom(id);
+        final List<AnswerDo> answers = new ArrayList<>(4);
+        for (int a = 0; a < 4; a++) {
+            answers.add(new AnswerDo(id * 4 + a, sentence(random, 5), a == 0));
+        }
+        return new QuestionDo(id, sentence(random, 10), answers, BenchmarkData.MODULE_PREFIX + (id % MODULES));
+    }
+
+    private static String sentence(final SplittableRandom random, final int words) {
+        final StringBuilder sentence = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                sentence.append(' ');
+            }
+            // the rank of a word is log-uniform, the first words of the vocabulary are the most frequent
+            final int rank = (int) Math.pow(VOCABULARY, random.nextDouble());
+            sentence.append("w").append(Integer.toString(rank, 36));
+        }
+        return sentence.toString();
+    }
+}
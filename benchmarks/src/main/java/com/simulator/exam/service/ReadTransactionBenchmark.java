@@ -0,0 +1,131 @@
+package com.simulator.exam.service;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import com.simulator.exam.ExamApplication;
+import com.simulator.exam.benchmark.BenchmarkData;
+import com.simulator.exam.dto.QuestionDo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Concurrent read requests with the transaction either opened around the whole request in read-write mode
+ * ({@code request}, as the former class-level {@code @Transactional} of the controllers) or by the service in
+ * read-only mode ({@code service}). Besides the time per request, every iteration prints the CPU time of the calling
+ * thread and the time a pooled connection is held per request, read from the {@code hikaricp.connections.usage}
+ * timer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ReadTransactionBenchmark {
+
+    private static final int MODULES = 10;
+    private static final int ANSWERS = 4;
+
+    @Param({ "2000" })
+    private int bankSize;
+
+    @Param({ "request", "service" })
+    private String boundary;
+
+    private ConfigurableApplicationContext context;
+    private QuestionService questionService;
+    private TransactionTemplate requestTransaction;
+    private Timer connectionUsage;
+    private ThreadMXBean threads;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong cpuNanos = new AtomicLong();
+    private long connectionCount;
+    private double connectionMillis;
+
+    @Setup
+    public void setUp() throws SQLException {
+        // neither the cache nor the exam pools, every request reaches the database
+        context = new SpringApplicationBuilder(ExamApplication.class).web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=jdbc:h2:mem:read-benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa", "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop", "--logging.level.root=WARN",
+                        "--logging.level.application.logger=WARN", "--app.question.cache.enabled=false",
+                        "--app.exam.pool.enabled=false");
+        BenchmarkData.insertBank(context.getBean(DataSource.class), bankSize, ANSWERS, MODULES);
+        questionService = context.getBean(QuestionService.class);
+        requestTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        connectionUsage = context.getBean(MeterRegistry.class).get("hikaricp.connections.usage").timer();
+        threads = ManagementFactory.getThreadMXBean();
+    }
+
+    @Setup(Level.Iteration)
+    public void startIteration() {
+        requests.set(0);
+        cpuNanos.set(0);
+        connectionCount = connectionUsage.count();
+        connectionMillis = connectionUsage.totalTime(TimeUnit.MILLISECONDS);
+    }
+
+    @TearDown(Level.Iteration)
+    public void endIteration() {
+        final long count = Math.max(1, requests.get());
+        final double heldMillis = connectionUsage.totalTime(TimeUnit.MILLISECONDS) - connectionMillis;
+        System.out.printf("%n%s: %.1f us CPU/request, %.1f us connection held/request, %d connections/request%n",
+                boundary, cpuNanos.get() / 1000.0 / count, heldMillis * 1000 / count,
+                (connectionUsage.count() - connectionCount) / count);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<QuestionDo> allQuestions() {
+        return request(questionService::getAllQuestions);
+    }
+
+    @Benchmark
+    public List<QuestionDo> randomQuestionsByModule() {
+        return request(() -> questionService.getRandomQuestionsByModule(BenchmarkData.MODULE_PREFIX + 1, 20));
+    }
+
+    private List<QuestionDo> request(final Supplier<List<QuestionDo>> read) {
+        final long start = threads.getCurrentThreadCpuTime();
+        final List<QuestionDo> result =
+                "request".equals(boundary) ? requestTransaction.execute(status -> read.get()) : read.get();
+        cpuNanos.addAndGet(threads.getCurrentThreadCpuTime() - start);
+        requests.incrementAndGet();
+        return result;
+    }
+}
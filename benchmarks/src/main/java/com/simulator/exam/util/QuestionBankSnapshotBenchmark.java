@@ -0,0 +1,83 @@
+package com.simulator.exam.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import com.simulator.exam.benchmark.BenchmarkData;
+import com.simulator.exam.dto.AnswerDo;
+import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.entity.Question;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Reading a question bank: the streaming parser of the YAML files against the memory-mapped binary snapshot, from
+ * the opening of the file to the last decoded question.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class QuestionBankSnapshotBenchmark {
+
+    private static final String MODULE_NAME = "SPRING_AOP";
+
+    @Param({ "10000", "100000" })
+    private int questions;
+
+    private byte[] yaml;
+
+    private Path snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // the loaders log every parsed file
+        Logger.getLogger("application.logger").setLevel(java.util.logging.Level.WARNING);
+        yaml = BenchmarkData.questionsYaml(questions, 4).getBytes(StandardCharsets.UTF_8);
+        snapshot = Files.createTempFile("questions-benchmark", ".qbs");
+        try (QuestionBankSnapshotWriter writer = new QuestionBankSnapshotWriter(snapshot)) {
+            for (final Question question : BenchmarkData.questions(questions, 4, 1)) {
+                writer.add(new QuestionDo(question.getId(), question.getDescription(), question.getAnswers().stream()
+                        .map(answer -> new AnswerDo(answer.getId(), answer.getOption(), answer.isCorrect())).toList(),
+                        MODULE_NAME));
+            }
+            writer.finish();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshot);
+    }
+
+    @Benchmark
+    public long yaml(final Blackhole blackhole) {
+        return ExamUtils.streamQuestionsFromYaml(new ByteArrayInputStream(yaml), MODULE_NAME, 500,
+                blackhole::consume);
+    }
+
+    @Benchmark
+    public List<QuestionDo> snapshot() {
+        return QuestionBankSnapshotReader.open(snapshot).getQuestions(MODULE_NAME);
+    }
+}
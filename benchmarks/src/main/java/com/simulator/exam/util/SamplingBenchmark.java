@@ -0,0 +1,69 @@
+package com.simulator.exam.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * In-memory part of the random question picking: the sampling of the indexed sampler against a shuffle of the whole
+ * bank, the work {@code order by random()} does on the database side.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SamplingBenchmark {
+
+    private static final int QUESTIONS_PER_EXAM = 20;
+
+    @Param({ "10000", "100000", "1000000" })
+    private int bankSize;
+
+    private long[] ids;
+
+    @Setup
+    public void setUp() {
+        final SplittableRandom random = new SplittableRandom(42);
+        ids = new long[bankSize];
+        for (int i = 0; i < bankSize; i++) {
+            ids[i] = random.nextLong(Long.MAX_VALUE);
+        }
+    }
+
+    @Benchmark
+    public long[] sampleIndexes() {
+        final int[] picked = ExamUtils.sampleIndexes(ids.length, QUESTIONS_PER_EXAM, ThreadLocalRandom.current());
+        final long[] result = new long[picked.length];
+        for (int i = 0; i < picked.length; i++) {
+            result[i] = ids[picked[i]];
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Long> shuffleAll() {
+        final List<Long> all = new ArrayList<>(ids.length);
+        for (final long id : ids) {
+            all.add(id);
+        }
+        Collections.shuffle(all, ThreadLocalRandom.current());
+        return all.subList(0, QUESTIONS_PER_EXAM);
+    }
+}
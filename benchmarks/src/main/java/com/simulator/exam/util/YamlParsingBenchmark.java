@@ -0,0 +1,74 @@
+package com.simulator.exam.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import com.simulator.exam.benchmark.BenchmarkData;
+import com.simulator.exam.entity.Question;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Parsing of a questions file: the tree loader used by the local file import against the streaming parser used by the
+ * uploads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class YamlParsingBenchmark {
+
+    private static final String MODULE_NAME = "SPRING_AOP";
+
+    @Param({ "100", "10000" })
+    private int questions;
+
+    private byte[] yaml;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // the loaders log every parsed file
+        Logger.getLogger("application.logger").setLevel(java.util.logging.Level.WARNING);
+        yaml = BenchmarkData.questionsYaml(questions, 4).getBytes(StandardCharsets.UTF_8);
+        file = Files.createTempFile("questions-benchmark", ".yaml");
+        Files.write(file, yaml);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public List<Question> loadTree() {
+        return ExamUtils.getAllQuestionsFromYamlLocaleFile(file.toString(), MODULE_NAME);
+    }
+
+    @Benchmark
+    public long stream(final Blackhole blackhole) {
+        return ExamUtils.streamQuestionsFromYaml(new ByteArrayInputStream(yaml), MODULE_NAME, 500,
+                blackhole::consume);
+    }
+}
@@ -0,0 +1,107 @@
+package com.simulator.exam.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simulator.exam.dto.QuestionsStructureDo;
+import com.simulator.exam.entity.Question;
+
+/**
+ * Builds the requests of the scenarios on the questions of the bank.
+ */
+final class ExamTraffic {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String BOUNDARY = "exam-load-test-boundary";
+
+    private final URI base;
+    private final SyntheticBank bank;
+    private final LoadTestSettings settings;
+    private final ObjectMapper mapper;
+
+    ExamTraffic(final URI base, final SyntheticBank bank, final LoadTestSettings settings, final ObjectMapper mapper) {
+        this.base = base;
+        this.bank = bank;
+        this.settings = settings;
+        this.mapper = mapper;
+    }
+
+    /**
+     * @param scenario the scenario
+     * @param random   the random of the traffic
+     * @return the next request of the scenario
+     */
+    HttpRequest request(final Scenario scenario, final Random random) throws JsonProcessingException {
+        return switch (scenario) {
+            case RANDOM -> HttpRequest.newBuilder(base.resolve("/v1/questions/random?module="
+                            + URLEncoder.encode(module(random), StandardCharsets.UTF_8) + "&numberOfQuestions="
+                            + settings.getExamQuestions()))
+                    .timeout(REQUEST_TIMEOUT).GET().build();
+            case EXAM_STRUCTURE -> json("GET", "/v1/questions/exam-structure", structure(random));
+            case BULK_UPDATE -> json("PUT", "/v1/questions/bulk", bulkUpdate(random));
+            case IMPORT -> HttpRequest.newBuilder(base.resolve("/v1/questions/import/from-file/"
+                            + URLEncoder.encode(module(random), StandardCharsets.UTF_8)))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                    .POST(HttpRequest.BodyPublishers.ofString(multipart(bank.importYaml(settings.getImportSize())),
+                            StandardCharsets.UTF_8))
+                    .build();
+        };
+    }
+
+    private HttpRequest json(final String method, final String path, final Object body)
+            throws JsonProcessingException {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private List<QuestionsStructureDo> structure(final Random random) {
+        final List<String> modules = new ArrayList<>(bank.getModules());
+        final int count = Math.min(settings.getStructureModules(), modules.size());
+        final List<QuestionsStructureDo> structure = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final String module = modules.remove(random.nextInt(modules.size()));
+            structure.add(new QuestionsStructureDo(module, Math.max(1, settings.getExamQuestions() / count)));
+        }
+        return structure;
+    }
+
+    /**
+     * Rewrites the description and the module of random questions with their own values, so the updates can run
+     * forever without conflicting with each other. The questions are sorted by id, as a client batching its updates
+     * would, so two concurrent updates lock their rows in the same order.
+     */
+    private List<Question> bulkUpdate(final Random random) {
+        final TreeMap<Long, Question> questions = new TreeMap<>();
+        final int count = Math.min(settings.getBulkSize(), bank.size());
+        while (questions.size() < count) {
+            final Question question = bank.questionAt(random.nextInt(bank.size()));
+            questions.put(question.getId(), question);
+        }
+        return new ArrayList<>(questions.values());
+    }
+
+    private String module(final Random random) {
+        return bank.getModules().get(random.nextInt(bank.getModules().size()));
+    }
+
+    private static String multipart(final String yaml) {
+        return "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"load-test.yaml\"\r\n"
+                + "Content-Type: application/x-yaml\r\n\r\n"
+                + yaml + "\r\n"
+                + "--" + BOUNDARY + "--\r\n";
+    }
+}
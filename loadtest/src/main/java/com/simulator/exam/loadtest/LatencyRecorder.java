@@ -0,0 +1,150 @@
+package com.simulator.exam.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.lang.Nullable;
+
+/**
+ * Latencies and outcomes of the measured requests, per scenario. A latency runs from the time the request was
+ * scheduled to be sent to the time its response was received, so the time a request waits behind a slow one is
+ * counted instead of being hidden by the late send.
+ */
+final class LatencyRecorder {
+
+    /** Status recorded for the requests which failed without response, timeouts included. */
+    static final int NO_RESPONSE = -1;
+
+    private final Map<Scenario, Endpoint> endpoints = new EnumMap<>(Scenario.class);
+
+    LatencyRecorder() {
+        for (final Scenario scenario : Scenario.values()) {
+            endpoints.put(scenario, new Endpoint());
+        }
+    }
+
+    /**
+     * @param scenario     the scenario of the request
+     * @param latencyNanos the time from the scheduled send to the response
+     * @param status       the status of the response, {@link #NO_RESPONSE} when it failed
+     */
+    void record(final Scenario scenario, final long latencyNanos, final int status) {
+        final Endpoint endpoint = endpoints.get(scenario);
+        endpoint.latencies.recordValue(Math.max(0, latencyNanos));
+        endpoint.statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    /**
+     * @param scenario the scenario of a request not sent, too many requests were waiting for a response
+     */
+    void recordDropped(final Scenario scenario) {
+        endpoints.get(scenario).dropped.increment();
+    }
+
+    /**
+     * Prints the report of the run and writes it as JSON when a file is given.
+     *
+     * @param duration  the measured duration
+     * @param targetRps the requested rate
+     * @param out       the stream the table is printed to
+     * @param report    the file of the JSON report, may be null
+     */
+    void report(final Duration duration, final int targetRps, final PrintStream out,
+            @Nullable final String report) throws IOException {
+        final double seconds = duration.toNanos() / 1e9;
+        final List<Map<String, Object>> rows = new ArrayList<>();
+        final Histogram total = new Histogram(3);
+        long totalDropped = 0;
+        long totalErrors = 0;
+        for (final Map.Entry<Scenario, Endpoint> entry : endpoints.entrySet()) {
+            final Endpoint endpoint = entry.getValue();
+            final long dropped = endpoint.dropped.sum();
+            if (endpoint.latencies.getTotalCount() == 0 && dropped == 0) {
+                continue;
+            }
+            total.add(endpoint.latencies);
+            totalDropped += dropped;
+            totalErrors += endpoint.errors();
+            rows.add(row(entry.getKey().getKey(), entry.getKey().getEndpoint(), endpoint.latencies, seconds,
+                    endpoint.errors(), dropped, endpoint.statusCounts()));
+        }
+        rows.add(row("total", "", total, seconds, totalErrors, totalDropped, Map.of()));
+
+        out.printf("%nTarget %d req/s for %s%n", targetRps, duration);
+        out.printf("%-15s %9s %9s %8s %8s %9s %9s %9s %9s%n", "scenario", "requests", "req/s", "errors", "dropped",
+                "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (final Map<String, Object> row : rows) {
+            out.printf("%-15s %9d %9.1f %8d %8d %9.2f %9.2f %9.2f %9.2f%n", row.get("scenario"), row.get("requests"),
+                    row.get("throughput"), row.get("errors"), row.get("dropped"), row.get("p50Millis"),
+                    row.get("p99Millis"), row.get("p999Millis"), row.get("maxMillis"));
+        }
+        rows.stream().filter(row -> !((Map<?, ?>) row.get("statuses")).isEmpty())
+                .forEach(row -> out.printf("%-15s statuses %s%n", row.get("scenario"), row.get("statuses")));
+
+        if (report != null) {
+            final Path path = Path.of(report);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            final Map<String, Object> document = new LinkedHashMap<>();
+            document.put("targetRps", targetRps);
+            document.put("durationSeconds", seconds);
+            document.put("scenarios", rows);
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(path.toFile(), document);
+            out.printf("Report written to %s%n", path.toAbsolutePath());
+        }
+    }
+
+    private static Map<String, Object> row(final String scenario, final String endpoint, final Histogram latencies,
+            final double seconds, final long errors, final long dropped, final Map<Integer, Long> statuses) {
+        final Map<String, Object> row = new LinkedHashMap<>();
+        row.put("scenario", scenario);
+        row.put("endpoint", endpoint);
+        row.put("requests", latencies.getTotalCount());
+        row.put("throughput", latencies.getTotalCount() / seconds);
+        row.put("errors", errors);
+        row.put("dropped", dropped);
+        row.put("p50Millis", millis(latencies.getValueAtPercentile(50)));
+        row.put("p99Millis", millis(latencies.getValueAtPercentile(99)));
+        row.put("p999Millis", millis(latencies.getValueAtPercentile(99.9)));
+        row.put("maxMillis", millis(latencies.getMaxValue()));
+        row.put("statuses", statuses);
+        return row;
+    }
+
+    private static double millis(final long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static final class Endpoint {
+
+        private final ConcurrentHistogram latencies = new ConcurrentHistogram(3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder dropped = new LongAdder();
+
+        private long errors() {
+            return statuses.entrySet().stream().filter(e -> e.getKey() == NO_RESPONSE || e.getKey() >= 400)
+                    .mapToLong(e -> e.getValue().sum()).sum();
+        }
+
+        private Map<Integer, Long> statusCounts() {
+            final Map<Integer, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            return counts;
+        }
+    }
+}
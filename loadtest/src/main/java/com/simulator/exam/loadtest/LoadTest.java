@@ -0,0 +1,141 @@
+package com.simulator.exam.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simulator.exam.ExamApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Replays a mix of exam traffic on the REST endpoints at a fixed rate and reports the throughput and the latency
+ * percentiles per endpoint. The requests are sent on a schedule, whatever the number of requests waiting for a
+ * response, so a slow application sees the same traffic as a fast one and its queues show in the latencies. See
+ * {@link LoadTestSettings} for the arguments.
+ */
+public final class LoadTest {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(35);
+
+    private LoadTest() {
+    }
+
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        final LoadTestSettings settings = LoadTestSettings.parse(args);
+        // the restart class loader of the devtools would start the application a second time
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        ConfigurableApplicationContext context = null;
+        try {
+            URI base = settings.getTarget();
+            if (base == null) {
+                context = start(settings);
+                base = URI.create("http://localhost:" + ((WebServerApplicationContext) context).getWebServer()
+                        .getPort());
+            }
+            run(settings, base);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(final LoadTestSettings settings) {
+        final List<String> arguments = new ArrayList<>(List.of("--server.port=0",
+                "--spring.datasource.url=" + settings.getDatabaseUrl(),
+                "--spring.datasource.username=" + settings.getDatabaseUsername(),
+                "--spring.datasource.password=" + settings.getDatabasePassword(),
+                "--spring.jpa.hibernate.ddl-auto=" + (settings.isInMemoryDatabase() ? "create-drop" : "update"),
+                "--logging.level.root=WARN", "--logging.level.application.logger=ERROR"));
+        arguments.addAll(settings.getApplicationArguments());
+        return new SpringApplicationBuilder(ExamApplication.class).logStartupInfo(false)
+                .run(arguments.toArray(new String[0]));
+    }
+
+    private static void run(final LoadTestSettings settings, final URI base) throws IOException, InterruptedException {
+        final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        final ObjectMapper mapper = new ObjectMapper();
+        final SyntheticBank bank = new SyntheticBank(Long.toString(System.currentTimeMillis(), 36).toUpperCase(),
+                settings.getAnswers());
+
+        final long seedStart = System.nanoTime();
+        if (settings.getBankSize() > 0) {
+            bank.seed(client, base, mapper, settings.getBankSize(), settings.getModules());
+        }
+        bank.load(client, base, mapper, settings.getBankSize() > 0);
+        System.out.printf("%d questions on %d modules ready in %d ms%n", bank.size(), bank.getModules().size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart));
+
+        final LatencyRecorder recorder = new LatencyRecorder();
+        System.out.printf("Replaying %d req/s on %s for %s after a warmup of %s%n", settings.getRps(), base,
+                settings.getDuration(), settings.getWarmup());
+        replay(settings, client, new ExamTraffic(base, bank, settings, mapper), recorder);
+        recorder.report(settings.getDuration(), settings.getRps(), System.out, settings.getReport());
+    }
+
+    /**
+     * Sends the requests on their schedule and records the requests scheduled after the warmup. A request is dropped
+     * instead of sent when too many are waiting for a response, the run then measures the limit of the client rather
+     * than the application.
+     */
+    private static void replay(final LoadTestSettings settings, final HttpClient client, final ExamTraffic traffic,
+            final LatencyRecorder recorder) throws IOException, InterruptedException {
+        final Random random = new Random(settings.getSeed());
+        final AtomicInteger inFlight = new AtomicInteger();
+        final long start = System.nanoTime();
+        final long measuredFrom = start + settings.getWarmup().toNanos();
+        final long end = measuredFrom + settings.getDuration().toNanos();
+
+        for (long request = 0;; request++) {
+            final long scheduled = start + request * 1_000_000_000L / settings.getRps();
+            if (scheduled >= end) {
+                break;
+            }
+            waitUntil(scheduled);
+            final Scenario scenario = settings.getMix().next(random);
+            final boolean measured = scheduled >= measuredFrom;
+            if (inFlight.get() >= settings.getMaxInFlight()) {
+                if (measured) {
+                    recorder.recordDropped(scenario);
+                }
+                continue;
+            }
+
+            final HttpRequest httpRequest = traffic.request(scenario, random);
+            inFlight.incrementAndGet();
+            client.sendAsync(httpRequest, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                inFlight.decrementAndGet();
+                if (measured) {
+                    recorder.record(scenario, System.nanoTime() - scheduled,
+                            response == null ? LatencyRecorder.NO_RESPONSE : response.statusCode());
+                }
+            });
+        }
+
+        // the requests time out before the drain does, every measured request is recorded
+        final long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void waitUntil(final long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
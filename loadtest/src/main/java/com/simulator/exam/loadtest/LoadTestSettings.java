@@ -0,0 +1,115 @@
+package com.simulator.exam.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import org.springframework.lang.Nullable;
+
+/**
+ * Settings of a load test, given as {@code --name=value} arguments. The arguments which are not settings of the load
+ * test, like {@code --app.question.mapped-store.enabled=true}, are passed to the application when it is started.
+ * <ul>
+ * <li>{@code target}: url of a running application, the application is started in process when empty</li>
+ * <li>{@code database-url}, {@code database-username}, {@code database-password}: database of the started
+ * application, an in-memory H2 database by default. The PostgreSQL of locale-deployment/docker-compose.yml is
+ * {@code jdbc:postgresql://localhost:6432/exam} with test / test</li>
+ * <li>{@code bank-size}, {@code modules}, {@code answers}: synthetic bank seeded before the run, none when the bank
+ * size is 0</li>
+ * <li>{@code rps}, {@code warmup}, {@code duration}: request rate and ISO-8601 durations of the run, the requests of
+ * the warmup are not reported</li>
+ * <li>{@code mix}: weights of the scenarios, e.g. {@code random:60,exam-structure:30,bulk-update:8,import:2}</li>
+ * <li>{@code exam-questions}, {@code structure-modules}, {@code bulk-size}, {@code import-size}: size of the exams,
+ * number of modules of an exam structure, questions per bulk update and per imported file</li>
+ * <li>{@code max-in-flight}: requests waiting for a response above which the new requests are dropped</li>
+ * <li>{@code seed}: seed of the traffic, two runs with the same settings send the same requests</li>
+ * <li>{@code report}: file of the JSON report</li>
+ * </ul>
+ */
+@Getter
+final class LoadTestSettings {
+
+    private static final String IN_MEMORY_DATABASE = "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1";
+
+    @Nullable
+    private URI target;
+    private String databaseUrl = IN_MEMORY_DATABASE;
+    private String databaseUsername = "sa";
+    private String databasePassword = "";
+    private int bankSize = 10_000;
+    private int modules = 10;
+    private int answers = 4;
+    private int rps = 200;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(60);
+    private TrafficMix mix = TrafficMix.parse("random:60,exam-structure:30,bulk-update:8,import:2");
+    private int examQuestions = 20;
+    private int structureModules = 3;
+    private int bulkSize = 50;
+    private int importSize = 20;
+    private int maxInFlight = 1000;
+    private long seed = 42;
+    @Nullable
+    private String report;
+    private final List<String> applicationArguments = new ArrayList<>();
+
+    private LoadTestSettings() {
+    }
+
+    /**
+     * Parses the arguments of the load test.
+     *
+     * @param args the {@code --name=value} arguments
+     * @return the settings
+     * @throws IllegalArgumentException when an argument is malformed
+     */
+    static LoadTestSettings parse(final String... args) {
+        final LoadTestSettings settings = new LoadTestSettings();
+        for (final String arg : args) {
+            final int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException(String.format("Expected --name=value but got %s", arg));
+            }
+            final String value = arg.substring(separator + 1);
+            switch (arg.substring(2, separator)) {
+                case "target" -> settings.target = value.isEmpty() ? null : URI.create(value);
+                case "database-url" -> settings.databaseUrl = value;
+                case "database-username" -> settings.databaseUsername = value;
+                case "database-password" -> settings.databasePassword = value;
+                case "bank-size" -> settings.bankSize = positive(arg, value, true);
+                case "modules" -> settings.modules = positive(arg, value, false);
+                case "answers" -> settings.answers = positive(arg, value, false);
+                case "rps" -> settings.rps = positive(arg, value, false);
+                case "warmup" -> settings.warmup = Duration.parse(value);
+                case "duration" -> settings.duration = Duration.parse(value);
+                case "mix" -> settings.mix = TrafficMix.parse(value);
+                case "exam-questions" -> settings.examQuestions = positive(arg, value, false);
+                case "structure-modules" -> settings.structureModules = positive(arg, value, false);
+                case "bulk-size" -> settings.bulkSize = positive(arg, value, false);
+                case "import-size" -> settings.importSize = positive(arg, value, false);
+                case "max-in-flight" -> settings.maxInFlight = positive(arg, value, false);
+                case "seed" -> settings.seed = Long.parseLong(value);
+                case "report" -> settings.report = value.isEmpty() ? null : value;
+                default -> settings.applicationArguments.add(arg);
+            }
+        }
+        return settings;
+    }
+
+    /**
+     * @return whether the database is the in-memory one, dropped with the application
+     */
+    boolean isInMemoryDatabase() {
+        return databaseUrl.startsWith("jdbc:h2:mem:");
+    }
+
+    private static int positive(final String arg, final String value, final boolean zeroAllowed) {
+        final int number = Integer.parseInt(value);
+        if (number < 0 || number == 0 && !zeroAllowed) {
+            throw new IllegalArgumentException(String.format("%s must be positive", arg));
+        }
+        return number;
+    }
+}
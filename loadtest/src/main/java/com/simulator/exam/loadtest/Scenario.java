@@ -0,0 +1,37 @@
+package com.simulator.exam.loadtest;
+
+/**
+ * The requests replayed by the load test, reported separately.
+ */
+enum Scenario {
+
+    RANDOM("random", "GET /v1/questions/random?module&numberOfQuestions"),
+    EXAM_STRUCTURE("exam-structure", "GET /v1/questions/exam-structure"),
+    BULK_UPDATE("bulk-update", "PUT /v1/questions/bulk"),
+    IMPORT("import", "POST /v1/questions/import/from-file/{moduleName}");
+
+    private final String key;
+    private final String endpoint;
+
+    Scenario(final String key, final String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    String getEndpoint() {
+        return endpoint;
+    }
+
+    static Scenario of(final String key) {
+        for (final Scenario scenario : values()) {
+            if (scenario.key.equals(key)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Unknown scenario %s", key));
+    }
+}
@@ -0,0 +1,166 @@
+package com.simulator.exam.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simulator.exam.dto.QuestionDo;
+import com.simulator.exam.dto.QuestionPageDo;
+import com.simulator.exam.entity.Answer;
+import com.simulator.exam.entity.Question;
+
+/**
+ * Synthetic question bank of a load test. The questions are seeded through the REST api, their descriptions and
+ * modules carry the id of the run so the runs on a persistent database don't collide. The ids of the questions are
+ * then read back page by page for the bulk updates.
+ */
+final class SyntheticBank {
+
+    private static final int SEED_CHUNK = 500;
+    private static final int PAGE_SIZE = 500;
+
+    private final String runId;
+    private final int answers;
+    private final AtomicLong imported = new AtomicLong();
+
+    private List<String> modules = List.of();
+    private long[] ids = new long[0];
+    private String[] descriptions = new String[0];
+    private String[] questionModules = new String[0];
+
+    SyntheticBank(final String runId, final int answers) {
+        this.runId = runId;
+        this.answers = answers;
+    }
+
+    /**
+     * Seeds the bank, the questions are spread evenly on the modules.
+     *
+     * @param client  the http client
+     * @param base    the url of the application
+     * @param mapper  the JSON mapper
+     * @param size    the number of questions
+     * @param modules the number of modules
+     */
+    void seed(final HttpClient client, final URI base, final ObjectMapper mapper, final int size, final int modules)
+            throws IOException, InterruptedException {
+        for (int from = 0; from < size; from += SEED_CHUNK) {
+            final List<Question> chunk = new ArrayList<>(SEED_CHUNK);
+            for (int i = from; i < Math.min(size, from + SEED_CHUNK); i++) {
+                chunk.add(question("Load test question " + i + " of the run " + runId + "?", module(i % modules)));
+            }
+            send(client, HttpRequest.newBuilder(base.resolve("/v1/questions"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(chunk))).build());
+        }
+    }
+
+    /**
+     * Reads the questions of the bank back. Only the seeded modules are kept after a seed, otherwise the whole bank
+     * of the application is used.
+     *
+     * @param client the http client
+     * @param base   the url of the application
+     * @param mapper the JSON mapper
+     * @param seeded whether the bank was seeded by this run
+     */
+    void load(final HttpClient client, final URI base, final ObjectMapper mapper, final boolean seeded)
+            throws IOException, InterruptedException {
+        final List<QuestionDo> questions = new ArrayList<>();
+        Long after = null;
+        do {
+            final HttpResponse<byte[]> response = send(client, HttpRequest.newBuilder(base.resolve(
+                    "/v1/questions?size=" + PAGE_SIZE + (after == null ? "" : "&after=" + after))).GET().build());
+            final QuestionPageDo page = mapper.readValue(response.body(), QuestionPageDo.class);
+            page.getQuestions().stream()
+                    .filter(q -> q.getModuleName() != null && (!seeded || q.getModuleName().startsWith(module(""))))
+                    .forEach(questions::add);
+            after = page.getNextCursor();
+        } while (after != null);
+
+        final Set<String> names = new LinkedHashSet<>();
+        ids = new long[questions.size()];
+        descriptions = new String[questions.size()];
+        questionModules = new String[questions.size()];
+        for (int i = 0; i < questions.size(); i++) {
+            ids[i] = questions.get(i).getId();
+            descriptions[i] = questions.get(i).getDescription();
+            questionModules[i] = questions.get(i).getModuleName();
+            names.add(questionModules[i]);
+        }
+        modules = List.copyOf(names);
+        if (modules.isEmpty()) {
+            throw new IllegalStateException("The bank has no question with a module to replay the traffic on");
+        }
+    }
+
+    /**
+     * Builds a question file of new questions, the descriptions are unique within the run.
+     *
+     * @param questions the number of questions
+     * @return the YAML document
+     */
+    String importYaml(final int questions) {
+        final StringBuilder yaml = new StringBuilder(questions * (90 + answers * 60));
+        yaml.append("questions:\n");
+        for (int i = 0; i < questions; i++) {
+            final long number = imported.incrementAndGet();
+            yaml.append("  - description: \"Load test import ").append(number).append(" of the run ").append(runId)
+                    .append("?\"\n");
+            yaml.append("    answers:\n");
+            for (int a = 0; a < answers; a++) {
+                yaml.append("      - option: \"Option ").append(a).append(" of the import ").append(number)
+                        .append("\"\n");
+                yaml.append("        correct: ").append(a == 0).append('\n');
+            }
+        }
+        return yaml.toString();
+    }
+
+    List<String> getModules() {
+        return modules;
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * @param index the index of a question
+     * @return the question with its id, its description and its module, without answers
+     */
+    Question questionAt(final int index) {
+        return new Question(ids[index], descriptions[index], questionModules[index], null);
+    }
+
+    private Question question(final String description, final String module) {
+        final List<Answer> answerList = new ArrayList<>(answers);
+        for (int a = 0; a < answers; a++) {
+            answerList.add(new Answer("Option " + a + " of " + description, a == 0));
+        }
+        return new Question(description, answerList, module);
+    }
+
+    private String module(final Object suffix) {
+        return "LOADTEST_" + runId + "_" + suffix;
+    }
+
+    private static HttpResponse<byte[]> send(final HttpClient client, final HttpRequest request)
+            throws IOException, InterruptedException {
+        final HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(String.format("%s %s answered %d: %s", request.method(), request.uri(),
+                    response.statusCode(), new String(response.body(), StandardCharsets.UTF_8)));
+        }
+        return response;
+    }
+}
@@ -0,0 +1,68 @@
+package com.simulator.exam.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Weighted mix of the scenarios, every request picks its scenario independently with the probability of its weight.
+ */
+final class TrafficMix {
+
+    private final Scenario[] scenarios;
+    private final int[] cumulativeWeights;
+
+    private TrafficMix(final Scenario[] scenarios, final int[] cumulativeWeights) {
+        this.scenarios = scenarios;
+        this.cumulativeWeights = cumulativeWeights;
+    }
+
+    /**
+     * Parses a mix such as {@code random:60,exam-structure:30,bulk-update:8,import:2}, a scenario which is not listed
+     * is not sent.
+     *
+     * @param mix the weights of the scenarios
+     * @return the mix
+     * @throws IllegalArgumentException when the mix is malformed or has no positive weight
+     */
+    static TrafficMix parse(final String mix) {
+        final List<Scenario> scenarios = new ArrayList<>();
+        final List<Integer> weights = new ArrayList<>();
+        for (final String entry : mix.split(",")) {
+            final String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException(String.format("Expected scenario:weight but got %s", entry));
+            }
+            final int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                scenarios.add(Scenario.of(parts[0].trim()));
+                weights.add(weight);
+            }
+        }
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException(String.format("The mix %s has no positive weight", mix));
+        }
+
+        final int[] cumulativeWeights = new int[weights.size()];
+        int total = 0;
+        for (int i = 0; i < weights.size(); i++) {
+            total += weights.get(i);
+            cumulativeWeights[i] = total;
+        }
+        return new TrafficMix(scenarios.toArray(new Scenario[0]), cumulativeWeights);
+    }
+
+    /**
+     * @param random the random of the traffic
+     * @return the scenario of the next request
+     */
+    Scenario next(final Random random) {
+        final int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return scenarios[i];
+            }
+        }
+        throw new IllegalStateException("Weight " + pick + " out of the mix");
+    }
+}